@@ -24,7 +24,7 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.config.ConfigurableBeanFactory;
 import org.springframework.context.annotation.Scope;
 import org.springframework.stereotype.Component;
-import org.symphonyoss.integration.api.client.SymphonyApiClient;
+import org.symphonyoss.integration.api.client.instrumentation.InstrumentedSymphonyApiClient;
 import org.symphonyoss.integration.exception.MissingConfigurationException;
 import org.symphonyoss.integration.logging.LogMessageSource;
 import org.symphonyoss.integration.model.yaml.IntegrationProperties;
@@ -35,7 +35,7 @@ import org.symphonyoss.integration.model.yaml.IntegrationProperties;
  */
 @Component
 @Scope(value = ConfigurableBeanFactory.SCOPE_PROTOTYPE)
-public class AgentApiClient extends SymphonyApiClient {
+public class AgentApiClient extends InstrumentedSymphonyApiClient {
 
   private static final String SERVICE_NAME = "Agent";
 
@@ -17,6 +17,7 @@
 package org.symphonyoss.integration.agent.api.client;
 
 import org.symphonyoss.integration.api.client.HttpApiClient;
+import org.symphonyoss.integration.api.client.instrumentation.ApiCallOperation;
 import org.symphonyoss.integration.api.client.json.JsonEntitySerializer;
 import org.symphonyoss.integration.exception.RemoteApiException;
 import org.symphonyoss.integration.logging.LogMessageSource;
@@ -95,6 +96,8 @@ public class V2MessageApiClient extends BaseMessageApiClient {
     headerParams.put(SESSION_TOKEN_HEADER_PARAM, sessionToken);
     headerParams.put(KM_TOKEN_HEADER_PARAM, kmToken);
 
+    ApiCallOperation.set("v2Message.postMessage");
+
     return apiClient.doPost(path, headerParams, Collections.<String, String>emptyMap(), message, Message.class);
   }
 
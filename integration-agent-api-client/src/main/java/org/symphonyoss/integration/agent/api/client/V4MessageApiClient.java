@@ -23,6 +23,7 @@ import static org.symphonyoss.integration.agent.api.client.properties.V4MessageA
 import org.apache.commons.lang3.StringUtils;
 import org.glassfish.jersey.media.multipart.FormDataMultiPart;
 import org.symphonyoss.integration.api.client.HttpApiClient;
+import org.symphonyoss.integration.api.client.instrumentation.ApiCallOperation;
 import org.symphonyoss.integration.api.client.form.MultiPartEntitySerializer;
 import org.symphonyoss.integration.exception.RemoteApiException;
 import org.symphonyoss.integration.logging.LogMessageSource;
@@ -121,6 +122,8 @@ public class V4MessageApiClient extends BaseMessageApiClient {
         multiPart.field(DATA_BODY, entityJSON, TEXT_PLAIN_TYPE);
       }
 
+      ApiCallOperation.set("v4Message.postMessage");
+
       return apiClient.doPost(path, headerParams, Collections.<String, String>emptyMap(), multiPart, Message.class);
     } catch (IOException e) {
       String errorMessage = logMessage.getMessage(POST_FAILURE, streamId, e.getMessage());
@@ -0,0 +1,77 @@
+/**
+ * Copyright 2016-2017 Symphony Integrations - Symphony LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.symphonyoss.integration.api.client.instrumentation;
+
+import static org.symphonyoss.integration.metrics.IntegrationMetricsConstants.BASE_METRIC_NAME;
+
+import com.codahale.metrics.MetricRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Records the latency and the outcome of the calls performed by the HTTP API clients.
+ *
+ * Each logical operation gets a timer named {@code <base>.api.<service>.<operation>} and one meter
+ * per status family (2xx, 4xx, 5xx or error when the remote API couldn't be reached), so it's
+ * possible to tell which dependency is consuming the latency budget of the requests.
+ */
+@Component
+public class ApiCallMetrics {
+
+  public static final String SUCCESS_FAMILY = "2xx";
+
+  public static final String ERROR_FAMILY = "error";
+
+  private static final String API = "api";
+
+  private static final int MIN_STATUS_CODE = 100;
+
+  private static final int MAX_STATUS_CODE = 599;
+
+  @Autowired
+  private MetricRegistry metricRegistry;
+
+  /**
+   * Records a call to the remote API.
+   * @param service Service name (POD, Agent, Key Manager, ...)
+   * @param operation Logical operation
+   * @param duration Call duration (in nanoseconds)
+   * @param statusFamily Status family
+   */
+  public void record(String service, String operation, long duration, String statusFamily) {
+    metricRegistry.timer(MetricRegistry.name(BASE_METRIC_NAME, API, service, operation))
+        .update(duration, TimeUnit.NANOSECONDS);
+    metricRegistry.meter(MetricRegistry.name(BASE_METRIC_NAME, API, service, operation,
+        statusFamily)).mark();
+  }
+
+  /**
+   * Retrieves the status family of an HTTP status code.
+   * @param code HTTP status code
+   * @return Status family (e.g. 4xx) or error if the code isn't a valid HTTP status
+   */
+  public static String getStatusFamily(int code) {
+    if (code < MIN_STATUS_CODE || code > MAX_STATUS_CODE) {
+      return ERROR_FAMILY;
+    }
+
+    return (code / 100) + "xx";
+  }
+
+}
@@ -0,0 +1,53 @@
+/**
+ * Copyright 2016-2017 Symphony Integrations - Symphony LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.symphonyoss.integration.api.client.instrumentation;
+
+/**
+ * Holds the logical operation of the next API call performed by the current thread.
+ *
+ * The API clients call the remote services through the {@code HttpApiClient} interface, so each
+ * call site names its operation here right before the call. The name is consumed by
+ * {@link InstrumentedSymphonyApiClient} when the call is performed. Calls without a name are
+ * recorded under the HTTP method only, the request path is never used to build the metric names.
+ */
+public final class ApiCallOperation {
+
+  private static final ThreadLocal<String> OPERATION = new ThreadLocal<>();
+
+  private ApiCallOperation() {}
+
+  /**
+   * Names the logical operation of the next API call performed by the current thread.
+   * @param operation Logical operation (e.g. integrationInstance.getInstanceById)
+   */
+  public static void set(String operation) {
+    OPERATION.set(operation);
+  }
+
+  /**
+   * Retrieves and clears the logical operation named for the current thread.
+   * @param method HTTP method, used when the call site hasn't named the operation
+   * @return Logical operation
+   */
+  static String consume(String method) {
+    String operation = OPERATION.get();
+    OPERATION.remove();
+
+    return operation != null ? operation : method;
+  }
+
+}
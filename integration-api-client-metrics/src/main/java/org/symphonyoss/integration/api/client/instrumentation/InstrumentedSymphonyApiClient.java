@@ -0,0 +1,118 @@
+/**
+ * Copyright 2016-2017 Symphony Integrations - Symphony LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.symphonyoss.integration.api.client.instrumentation;
+
+import static org.symphonyoss.integration.api.client.instrumentation.ApiCallMetrics.ERROR_FAMILY;
+import static org.symphonyoss.integration.api.client.instrumentation.ApiCallMetrics.SUCCESS_FAMILY;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.symphonyoss.integration.api.client.SymphonyApiClient;
+import org.symphonyoss.integration.exception.RemoteApiException;
+
+import java.util.Map;
+
+/**
+ * Symphony API client that records the latency and the status family of every GET, POST and PUT
+ * call through {@link ApiCallMetrics}, tagged by service and logical operation.
+ *
+ * The logical operation is named by each call site through {@link ApiCallOperation}, so the metric
+ * names never depend on the request path and its identifiers or tokens.
+ */
+public abstract class InstrumentedSymphonyApiClient extends SymphonyApiClient {
+
+  private static final String GET = "GET";
+
+  private static final String POST = "POST";
+
+  private static final String PUT = "PUT";
+
+  private final String serviceName;
+
+  @Autowired
+  private ApiCallMetrics apiCallMetrics;
+
+  public InstrumentedSymphonyApiClient(String serviceName) {
+    super(serviceName);
+    this.serviceName = serviceName;
+  }
+
+  @Override
+  public <T> T doGet(String path, Map<String, String> headerParams,
+      Map<String, String> queryParams, Class<T> returnType) throws RemoteApiException {
+    String operation = ApiCallOperation.consume(GET);
+    long start = System.nanoTime();
+    String statusFamily = ERROR_FAMILY;
+
+    try {
+      T result = super.doGet(path, headerParams, queryParams, returnType);
+      statusFamily = SUCCESS_FAMILY;
+      return result;
+    } catch (RemoteApiException e) {
+      statusFamily = ApiCallMetrics.getStatusFamily(e.getCode());
+      throw e;
+    } finally {
+      record(operation, start, statusFamily);
+    }
+  }
+
+  @Override
+  public <T> T doPost(String path, Map<String, String> headerParams,
+      Map<String, String> queryParams, Object payload, Class<T> returnType)
+      throws RemoteApiException {
+    String operation = ApiCallOperation.consume(POST);
+    long start = System.nanoTime();
+    String statusFamily = ERROR_FAMILY;
+
+    try {
+      T result = super.doPost(path, headerParams, queryParams, payload, returnType);
+      statusFamily = SUCCESS_FAMILY;
+      return result;
+    } catch (RemoteApiException e) {
+      statusFamily = ApiCallMetrics.getStatusFamily(e.getCode());
+      throw e;
+    } finally {
+      record(operation, start, statusFamily);
+    }
+  }
+
+  @Override
+  public <T> T doPut(String path, Map<String, String> headerParams,
+      Map<String, String> queryParams, Object payload, Class<T> returnType)
+      throws RemoteApiException {
+    String operation = ApiCallOperation.consume(PUT);
+    long start = System.nanoTime();
+    String statusFamily = ERROR_FAMILY;
+
+    try {
+      T result = super.doPut(path, headerParams, queryParams, payload, returnType);
+      statusFamily = SUCCESS_FAMILY;
+      return result;
+    } catch (RemoteApiException e) {
+      statusFamily = ApiCallMetrics.getStatusFamily(e.getCode());
+      throw e;
+    } finally {
+      record(operation, start, statusFamily);
+    }
+  }
+
+  private void record(String operation, long start, String statusFamily) {
+    if (apiCallMetrics != null) {
+      apiCallMetrics.record(serviceName, operation, System.nanoTime() - start, statusFamily);
+    }
+  }
+
+}
@@ -0,0 +1,68 @@
+/**
+ * Copyright 2016-2017 Symphony Integrations - Symphony LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.symphonyoss.integration.api.client.instrumentation;
+
+import static org.junit.Assert.assertEquals;
+import static org.symphonyoss.integration.metrics.IntegrationMetricsConstants.BASE_METRIC_NAME;
+
+import com.codahale.metrics.MetricRegistry;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.InjectMocks;
+import org.mockito.Spy;
+import org.mockito.runners.MockitoJUnitRunner;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Unit test for {@link ApiCallMetrics}
+ */
+@RunWith(MockitoJUnitRunner.class)
+public class ApiCallMetricsTest {
+
+  private static final String SERVICE = "POD";
+
+  private static final String OPERATION = "integrationInstance.getInstanceById";
+
+  @Spy
+  private MetricRegistry metricRegistry = new MetricRegistry();
+
+  @InjectMocks
+  private ApiCallMetrics metrics;
+
+  @Test
+  public void testRecord() {
+    metrics.record(SERVICE, OPERATION, TimeUnit.MILLISECONDS.toNanos(10), "2xx");
+    metrics.record(SERVICE, OPERATION, TimeUnit.MILLISECONDS.toNanos(20), "5xx");
+
+    String name = MetricRegistry.name(BASE_METRIC_NAME, "api", SERVICE, OPERATION);
+
+    assertEquals(2, metricRegistry.timer(name).getCount());
+    assertEquals(1, metricRegistry.meter(MetricRegistry.name(name, "2xx")).getCount());
+    assertEquals(1, metricRegistry.meter(MetricRegistry.name(name, "5xx")).getCount());
+  }
+
+  @Test
+  public void testStatusFamily() {
+    assertEquals("2xx", ApiCallMetrics.getStatusFamily(204));
+    assertEquals("4xx", ApiCallMetrics.getStatusFamily(404));
+    assertEquals("5xx", ApiCallMetrics.getStatusFamily(503));
+    assertEquals(ApiCallMetrics.ERROR_FAMILY, ApiCallMetrics.getStatusFamily(0));
+    assertEquals(ApiCallMetrics.ERROR_FAMILY, ApiCallMetrics.getStatusFamily(-1));
+  }
+
+}
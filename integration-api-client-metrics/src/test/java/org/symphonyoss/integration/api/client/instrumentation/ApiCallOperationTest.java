@@ -0,0 +1,45 @@
+/**
+ * Copyright 2016-2017 Symphony Integrations - Symphony LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.symphonyoss.integration.api.client.instrumentation;
+
+import static org.junit.Assert.assertEquals;
+
+import org.junit.Test;
+
+/**
+ * Unit test for {@link ApiCallOperation}
+ */
+public class ApiCallOperationTest {
+
+  private static final String OPERATION = "integrationInstance.getInstanceById";
+
+  private static final String GET = "GET";
+
+  @Test
+  public void testConsume() {
+    ApiCallOperation.set(OPERATION);
+
+    assertEquals(OPERATION, ApiCallOperation.consume(GET));
+    assertEquals(GET, ApiCallOperation.consume(GET));
+  }
+
+  @Test
+  public void testUnnamedOperation() {
+    assertEquals(GET, ApiCallOperation.consume(GET));
+  }
+
+}
@@ -17,6 +17,7 @@
 package org.symphonyoss.integration.auth.api.client;
 
 import org.symphonyoss.integration.api.client.HttpApiClient;
+import org.symphonyoss.integration.api.client.instrumentation.ApiCallOperation;
 import org.symphonyoss.integration.auth.api.model.Token;
 import org.symphonyoss.integration.exception.RemoteApiException;
 
@@ -43,6 +44,8 @@ public class AuthenticationApiClient {
 
     Map<String, String> queryParams = new HashMap<>();
 
+    ApiCallOperation.set("authentication.authenticate");
+
     return apiClient.doPost(path, headerParams, queryParams, null, Token.class);
   }
 
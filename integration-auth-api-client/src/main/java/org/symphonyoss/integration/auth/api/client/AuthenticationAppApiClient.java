@@ -30,6 +30,7 @@ import static org.symphonyoss.integration.auth.api.properties.AuthApiClientPrope
 import static org.symphonyoss.integration.auth.api.properties.AuthApiClientProperties.UNEXPECTED_MESSAGE_SOLUTION;
 
 import org.symphonyoss.integration.api.client.HttpApiClient;
+import org.symphonyoss.integration.api.client.instrumentation.ApiCallOperation;
 import org.symphonyoss.integration.auth.api.exception.InvalidAppTokenException;
 import org.symphonyoss.integration.auth.api.exception.UnauthorizedAppException;
 import org.symphonyoss.integration.auth.api.exception.UnexpectedAppAuthenticationException;
@@ -79,6 +80,8 @@ public class AuthenticationAppApiClient {
       AppToken token = new AppToken();
       token.setAppToken(appToken);
 
+      ApiCallOperation.set("authenticationApp.authenticate");
+
       return apiClient.doPost(AUTHENTICATE_PATH, headerParams, queryParams, token, AppToken.class);
     } catch (RemoteApiException e) {
       if (e.getCode() == Response.Status.UNAUTHORIZED.getStatusCode()) {
@@ -113,6 +116,7 @@ public class AuthenticationAppApiClient {
 
     Map<String, String> queryParams = new HashMap<>();
     try {
+      ApiCallOperation.set("authenticationApp.getPodPublicCertificate");
       return apiClient.doGet(CERTIFICATE_PATH, headerParams, queryParams, PodCertificate.class);
     } catch (RemoteApiException e) {
       if (e.getCode() == Response.Status.UNAUTHORIZED.getStatusCode()) {
@@ -25,7 +25,7 @@ import static org.symphonyoss.integration.auth.api.properties.AuthApiClientPrope
 import org.apache.commons.lang3.StringUtils;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
-import org.symphonyoss.integration.api.client.SymphonyApiClient;
+import org.symphonyoss.integration.api.client.instrumentation.InstrumentedSymphonyApiClient;
 import org.symphonyoss.integration.exception.MissingConfigurationException;
 import org.symphonyoss.integration.logging.LogMessageSource;
 import org.symphonyoss.integration.model.yaml.IntegrationProperties;
@@ -35,7 +35,7 @@ import org.symphonyoss.integration.model.yaml.IntegrationProperties;
  * Created by rsanchez on 22/02/17.
  */
 @Component
-public class KmAuthHttpApiClient extends SymphonyApiClient {
+public class KmAuthHttpApiClient extends InstrumentedSymphonyApiClient {
 
   private static final String SERVICE_NAME = "Key Manager Auth";
 
@@ -25,7 +25,7 @@ import org.springframework.stereotype.Component;
 import org.symphonyoss.integration.api.client.AppAuthenticationProxyApiClient;
 import org.symphonyoss.integration.api.client.ConnectivityApiClientDecorator;
 import org.symphonyoss.integration.api.client.HttpApiClient;
-import org.symphonyoss.integration.api.client.SymphonyApiClient;
+import org.symphonyoss.integration.api.client.instrumentation.InstrumentedSymphonyApiClient;
 import org.symphonyoss.integration.api.client.json.JsonEntitySerializer;
 import org.symphonyoss.integration.api.client.metrics.ApiMetricsController;
 import org.symphonyoss.integration.api.client.metrics.MetricsHttpApiClient;
@@ -41,7 +41,7 @@ import org.symphonyoss.integration.model.yaml.IntegrationProperties;
  * Created by rsanchez on 22/02/17.
  */
 @Component
-public class PodAuthAppHttpApiClient extends SymphonyApiClient {
+public class PodAuthAppHttpApiClient extends InstrumentedSymphonyApiClient {
 
   private static final String SERVICE_NAME = "POD Session Manager";
 
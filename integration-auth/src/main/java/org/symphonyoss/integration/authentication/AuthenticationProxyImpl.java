@@ -47,6 +47,8 @@ import org.symphonyoss.integration.auth.api.client.PodAuthHttpApiClient;
 import org.symphonyoss.integration.auth.api.model.Token;
 import org.symphonyoss.integration.authentication.exception.UnregisteredSessionTokenException;
 import org.symphonyoss.integration.authentication.exception.UnregisteredUserAuthException;
+import org.symphonyoss.integration.authentication.jfr.AuthenticationEvent;
+import org.symphonyoss.integration.authentication.jfr.AuthenticationEvents;
 import org.symphonyoss.integration.exception.RemoteApiException;
 import org.symphonyoss.integration.exception.authentication.AuthenticationException;
 import org.symphonyoss.integration.exception.authentication.ConnectivityException;
@@ -113,17 +115,28 @@ public class AuthenticationProxyImpl implements AuthenticationProxy {
 
   @Override
   public void authenticate(String userId) throws AuthenticationException {
+    authenticate(userId, false);
+  }
+
+  private void authenticate(String userId, boolean reAuthentication)
+      throws AuthenticationException {
     UserAuthenticationContext context = contextForUser(userId);
 
     if (!context.isAuthenticated()) {
       LOG.info("Authenticate {}", userId);
 
+      AuthenticationEvent event = AuthenticationEvents.newAuthenticationEvent();
+      event.begin();
+
+      boolean success = false;
+
       try {
         Token sessionToken = sbeAuthApi.authenticate(userId);
         Token keyManagerToken = keyManagerAuthApi.authenticate(userId);
 
         context.setToken(
             new AuthenticationToken(sessionToken.getToken(), keyManagerToken.getToken()));
+        success = true;
       } catch (RemoteApiException e) {
         checkAndThrowException(e, userId);
       } catch (ConnectivityException e) {
@@ -132,6 +145,8 @@ public class AuthenticationProxyImpl implements AuthenticationProxy {
         throw new UnexpectedAuthException(
             logMessage.getMessage(UNEXPECTED_SESSION_TOKEN_MESSAGE, userId), e,
             logMessage.getMessage(UNEXPECTED_SESSION_TOKEN_SOLUTION));
+      } finally {
+        event.finish(userId, reAuthentication, success);
       }
     }
 
@@ -221,7 +236,7 @@ public class AuthenticationProxyImpl implements AuthenticationProxy {
     if (validateResponseCode(Status.UNAUTHORIZED, remoteApiException.getCode())) {
       if (shouldInvalidateSession(userId)) {
         invalidate(userId);
-        authenticate(userId);
+        authenticate(userId, true);
       }
     } else {
       throw remoteApiException;
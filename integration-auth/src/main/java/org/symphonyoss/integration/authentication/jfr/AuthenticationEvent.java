@@ -0,0 +1,37 @@
+/**
+ * Copyright 2016-2017 Symphony Integrations - Symphony LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.symphonyoss.integration.authentication.jfr;
+
+/**
+ * Event for the authentication of an integration user on the POD and Key Manager.
+ */
+public interface AuthenticationEvent {
+
+  /**
+   * Starts the timing of the event.
+   */
+  void begin();
+
+  /**
+   * Ends the event and commits it if the event is enabled and exceeds the threshold.
+   * @param userId Integration user
+   * @param reAuthentication Whether the session was invalidated before authenticating
+   * @param success Whether the authentication succeeded
+   */
+  void finish(String userId, boolean reAuthentication, boolean success);
+
+}
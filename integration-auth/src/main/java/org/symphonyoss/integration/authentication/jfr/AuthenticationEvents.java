@@ -0,0 +1,79 @@
+/**
+ * Copyright 2016-2017 Symphony Integrations - Symphony LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.symphonyoss.integration.authentication.jfr;
+
+import org.symphonyoss.integration.jfr.FlightRecorderUtils;
+
+/**
+ * Creates the authentication events, recorded by the Flight Recorder when the running JDK ships
+ * the event API.
+ */
+public class AuthenticationEvents {
+
+  private static final boolean RECORDED = FlightRecorderUtils.isAvailable();
+
+  private AuthenticationEvents() {}
+
+  /**
+   * Creates a new authentication event.
+   * @return Authentication event
+   */
+  public static AuthenticationEvent newAuthenticationEvent() {
+    if (RECORDED) {
+      return new FlightRecorderAuthenticationEvent();
+    }
+
+    return NoOpAuthenticationEvent.INSTANCE;
+  }
+
+  /**
+   * Creates a new JWT verification event.
+   * @return JWT verification event
+   */
+  public static JwtVerificationEvent newJwtVerificationEvent() {
+    if (RECORDED) {
+      return new FlightRecorderJwtVerificationEvent();
+    }
+
+    return NoOpJwtVerificationEvent.INSTANCE;
+  }
+
+  private static final class NoOpAuthenticationEvent implements AuthenticationEvent {
+
+    private static final NoOpAuthenticationEvent INSTANCE = new NoOpAuthenticationEvent();
+
+    @Override
+    public void begin() {}
+
+    @Override
+    public void finish(String userId, boolean reAuthentication, boolean success) {}
+
+  }
+
+  private static final class NoOpJwtVerificationEvent implements JwtVerificationEvent {
+
+    private static final NoOpJwtVerificationEvent INSTANCE = new NoOpJwtVerificationEvent();
+
+    @Override
+    public void begin() {}
+
+    @Override
+    public void finish(String configurationId, boolean success) {}
+
+  }
+
+}
@@ -0,0 +1,65 @@
+/**
+ * Copyright 2016-2017 Symphony Integrations - Symphony LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.symphonyoss.integration.authentication.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+
+/**
+ * Flight Recorder event for the authentication of an integration user on the POD and Key Manager.
+ */
+@Name("org.symphonyoss.integration.Authentication")
+@Label("Authentication")
+@Category({ "Symphony Integration Bridge", "Authentication" })
+@Description("Authentication of an integration user on the POD and Key Manager")
+@StackTrace(false)
+@Threshold("0 ms")
+public class FlightRecorderAuthenticationEvent extends Event implements AuthenticationEvent {
+
+  @Label("User")
+  private String userId;
+
+  @Label("Re-authentication")
+  private boolean reAuthentication;
+
+  @Label("Success")
+  private boolean success;
+
+  /**
+   * Ends the event and commits it if the event is enabled and exceeds the threshold.
+   * @param userId Integration user
+   * @param reAuthentication Whether the session was invalidated before authenticating
+   * @param success Whether the authentication succeeded
+   */
+  @Override
+  public void finish(String userId, boolean reAuthentication, boolean success) {
+    end();
+
+    if (shouldCommit()) {
+      this.userId = userId;
+      this.reAuthentication = reAuthentication;
+      this.success = success;
+      commit();
+    }
+  }
+
+}
@@ -0,0 +1,60 @@
+/**
+ * Copyright 2016-2017 Symphony Integrations - Symphony LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.symphonyoss.integration.authentication.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+
+/**
+ * Flight Recorder event for the verification of the JWT sent by the applications.
+ */
+@Name("org.symphonyoss.integration.JwtVerification")
+@Label("JWT Verification")
+@Category({ "Symphony Integration Bridge", "Authentication" })
+@Description("Signature verification and parsing of an application JWT")
+@StackTrace(false)
+@Threshold("1 ms")
+public class FlightRecorderJwtVerificationEvent extends Event implements JwtVerificationEvent {
+
+  @Label("Configuration Id")
+  private String configurationId;
+
+  @Label("Success")
+  private boolean success;
+
+  /**
+   * Ends the event and commits it if the event is enabled and exceeds the threshold.
+   * @param configurationId Application identifier
+   * @param success Whether the JWT is valid
+   */
+  @Override
+  public void finish(String configurationId, boolean success) {
+    end();
+
+    if (shouldCommit()) {
+      this.configurationId = configurationId;
+      this.success = success;
+      commit();
+    }
+  }
+
+}
@@ -2,6 +2,7 @@ package org.symphonyoss.integration.authentication.jwt;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.common.cache.Cache;
 import com.google.common.cache.CacheBuilder;
 import com.google.common.cache.CacheLoader;
 import com.google.common.cache.LoadingCache;
@@ -12,6 +13,7 @@ import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
 import org.apache.commons.lang3.StringUtils;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.env.Environment;
 import org.springframework.stereotype.Component;
 import org.symphonyoss.integration.Integration;
 import org.symphonyoss.integration.api.client.json.JsonUtils;
@@ -21,6 +23,8 @@ import org.symphonyoss.integration.authentication.api.jwt.JwtAuthentication;
 import org.symphonyoss.integration.authentication.api.model.AppToken;
 import org.symphonyoss.integration.authentication.api.model.JwtPayload;
 import org.symphonyoss.integration.authentication.api.model.PodCertificate;
+import org.symphonyoss.integration.authentication.jfr.AuthenticationEvents;
+import org.symphonyoss.integration.authentication.jfr.JwtVerificationEvent;
 import org.symphonyoss.integration.exception.RemoteApiException;
 import org.symphonyoss.integration.exception.authentication.ExpirationException;
 import org.symphonyoss.integration.exception.authentication.MalformedParameterException;
@@ -36,6 +40,7 @@ import org.symphonyoss.integration.pod.api.model.PodInfo;
 import org.symphonyoss.integration.service.IntegrationBridge;
 import org.symphonyoss.integration.utils.RsaKeyUtils;
 import org.symphonyoss.integration.utils.TokenUtils;
+import org.symphonyoss.integration.warmup.CacheWarmUp;
 
 import java.security.PublicKey;
 import java.util.Date;
@@ -46,10 +51,20 @@ import javax.annotation.PostConstruct;
 /**
  * Service class responsible for handling JWT authentication stuff.
  *
+ * The app token pairs created by this node are kept in a bounded local store for a short time, so
+ * validating them doesn't require a round-trip to the POD. Pairs missing from the local store, such
+ * as the ones created by other nodes, are retrieved from the POD.
+ *
+ * <pre>
+ * app_token_store:
+ *   ttl_seconds: 300
+ *   max_entries: 10000
+ * </pre>
+ *
  * Created by rsanchez on 28/07/17.
  */
 @Component
-public class JwtAuthenticationImpl implements JwtAuthentication {
+public class JwtAuthenticationImpl implements JwtAuthentication, CacheWarmUp {
 
   private static final String AUTHORIZATION_HEADER_PREFIX = "BEARER ";
 
@@ -65,10 +80,23 @@ public class JwtAuthenticationImpl implements JwtAuthentication {
   private static final String JWT_TOKEN_EMPTY = "integration.auth.jwt.empty";
   private static final String JWT_TOKEN_EMPTY_SOLUTION = JWT_TOKEN_EMPTY + ".solution";
 
+  public static final String APP_TOKEN_TTL_KEY = "app_token_store.ttl_seconds";
+
+  public static final String APP_TOKEN_MAX_ENTRIES_KEY = "app_token_store.max_entries";
+
+  public static final long DEFAULT_APP_TOKEN_TTL_SECONDS = 300;
+
+  public static final long DEFAULT_APP_TOKEN_MAX_ENTRIES = 10000;
+
+  private static final char APP_TOKEN_KEY_SEPARATOR = ':';
+
   private static final String INTEGRATION_UNAVAILABLE = "integration.auth.integration.unavailable";
   private static final String INTEGRATION_UNAVAILABLE_SOLUTION =
       INTEGRATION_UNAVAILABLE + ".solution";
 
+  @Autowired
+  private Environment environment;
+
   @Autowired
   private LogMessageSource logMessage;
 
@@ -102,6 +130,11 @@ public class JwtAuthenticationImpl implements JwtAuthentication {
 
   private LoadingCache<String, PublicKey> podPublicSignatureVerifierCache;
 
+  /**
+   * App token pairs indexed by configuration ID and app token
+   */
+  private Cache<String, AppToken> appTokens;
+
   private PodInfo podInfo;
 
   /**
@@ -112,6 +145,7 @@ public class JwtAuthenticationImpl implements JwtAuthentication {
     this.apiClient = new IntegrationAuthApiClient(integrationHttpApiClient, logMessage);
     this.podInfoClient = new PodInfoClient(symphonyHttpApiClient, logMessage);
     initializeCache(properties.getPublicPodCertificateCacheDuration());
+    initializeAppTokenStore();
   }
 
   /**
@@ -135,6 +169,21 @@ public class JwtAuthenticationImpl implements JwtAuthentication {
     });
   }
 
+  /**
+   * Initializes the local store for the app token pairs.
+   */
+  private void initializeAppTokenStore() {
+    long ttl = environment.getProperty(APP_TOKEN_TTL_KEY, Long.class,
+        DEFAULT_APP_TOKEN_TTL_SECONDS);
+    long maxEntries = environment.getProperty(APP_TOKEN_MAX_ENTRIES_KEY, Long.class,
+        DEFAULT_APP_TOKEN_MAX_ENTRIES);
+
+    this.appTokens = CacheBuilder.newBuilder()
+        .maximumSize(maxEntries)
+        .expireAfterWrite(ttl, TimeUnit.SECONDS)
+        .build();
+  }
+
   /**
    * Retrieve an integration by a configuration ID.
    * @param configurationId Configuration ID.
@@ -208,12 +257,14 @@ public class JwtAuthenticationImpl implements JwtAuthentication {
     String sessionToken = authenticationProxy.getSessionToken(integration.getSettings().getType());
     apiClient.saveAppAuthenticationToken(sessionToken, configurationId, bothTokens);
 
+    appTokens.put(getAppTokenKey(configurationId, appToken), bothTokens);
+
     return appToken;
   }
 
   /**
    * Validate if the Symphony previously generated token by the app token and the SBE token are
-   * valid.
+   * valid. The local store is checked first, falling back to the POD on a miss.
    * @param configurationId Application identifier.
    * @param applicationToken App token generated by the "authenticate" service.
    * @return <code>true</code> if the token pair is valid.
@@ -221,16 +272,30 @@ public class JwtAuthenticationImpl implements JwtAuthentication {
   public boolean isValidTokenPair(String configurationId, String applicationToken,
       String symphonyToken) {
     Integration integration = getIntegrationAndCheckAvailability(configurationId);
-    String sessionToken = authenticationProxy.getSessionToken(integration.getSettings().getType());
 
-    AppToken bothTokens = apiClient.getAppAuthenticationToken(sessionToken, configurationId,
-        applicationToken);
+    String key = getAppTokenKey(configurationId, applicationToken);
+    AppToken bothTokens = appTokens.getIfPresent(key);
+
     if (bothTokens == null) {
-      return false;
+      String sessionToken =
+          authenticationProxy.getSessionToken(integration.getSettings().getType());
+
+      bothTokens = apiClient.getAppAuthenticationToken(sessionToken, configurationId,
+          applicationToken);
+      if (bothTokens == null) {
+        return false;
+      }
+
+      appTokens.put(key, bothTokens);
     }
+
     return symphonyToken.equals(bothTokens.getSymphonyToken());
   }
 
+  private String getAppTokenKey(String configurationId, String applicationToken) {
+    return configurationId + APP_TOKEN_KEY_SEPARATOR + applicationToken;
+  }
+
   /**
    * Validate if the sent JWT is valid by checking its signer and decodification and then return it.
    * @param configurationId Application identifier.
@@ -238,6 +303,21 @@ public class JwtAuthenticationImpl implements JwtAuthentication {
    * @return JwtPayload parsed;
    */
   public JwtPayload parseJwtPayload(String configurationId, String jwt) {
+    JwtVerificationEvent event = AuthenticationEvents.newJwtVerificationEvent();
+    event.begin();
+
+    boolean success = false;
+
+    try {
+      JwtPayload payload = verifyJwtPayload(configurationId, jwt);
+      success = true;
+      return payload;
+    } finally {
+      event.finish(configurationId, success);
+    }
+  }
+
+  private JwtPayload verifyJwtPayload(String configurationId, String jwt) {
     Integration integration = getIntegrationAndCheckAvailability(configurationId);
     String appId = properties.getApplicationId(integration.getSettings().getType());
 
@@ -269,6 +349,24 @@ public class JwtAuthenticationImpl implements JwtAuthentication {
     }
   }
 
+  /**
+   * Loads the pod public certificate and the pod info used to validate the requests sent to the
+   * integration, so the first request after the bootstrap doesn't pay for them.
+   * @param configurationId Application identifier.
+   * @param integrationUser Integration user
+   */
+  @Override
+  public void warmUp(String configurationId, String integrationUser) {
+    Integration integration = getIntegrationAndCheckAvailability(configurationId);
+    String appId = properties.getApplicationId(integration.getSettings().getType());
+
+    podPublicSignatureVerifierCache.getUnchecked(appId);
+
+    if (podInfo == null) {
+      podInfo = getPodInfo(configurationId);
+    }
+  }
+
   @Override
   public boolean checkPodInfo(String configurationId, String podId) {
     if (StringUtils.isEmpty(podId)) {
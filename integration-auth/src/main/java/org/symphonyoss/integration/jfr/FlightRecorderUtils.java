@@ -0,0 +1,51 @@
+/**
+ * Copyright 2016-2017 Symphony Integrations - Symphony LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.symphonyoss.integration.jfr;
+
+/**
+ * Utility methods for the Flight Recorder events.
+ *
+ * The event API (jdk.jfr) is only shipped with JDK 8u262 or later. The events are created through
+ * factories that fall back to no-op implementations when the API is missing, so the application
+ * still runs on older JDK updates, just without recording them.
+ */
+public class FlightRecorderUtils {
+
+  private static final String EVENT_CLASS = "jdk.jfr.Event";
+
+  private static final boolean AVAILABLE = checkAvailability();
+
+  private FlightRecorderUtils() {}
+
+  /**
+   * Checks if the Flight Recorder event API is available in the running JDK.
+   * @return true if the events can be recorded, false otherwise
+   */
+  public static boolean isAvailable() {
+    return AVAILABLE;
+  }
+
+  private static boolean checkAvailability() {
+    try {
+      Class.forName(EVENT_CLASS, false, FlightRecorderUtils.class.getClassLoader());
+      return true;
+    } catch (ClassNotFoundException | LinkageError e) {
+      return false;
+    }
+  }
+
+}
@@ -0,0 +1,32 @@
+/**
+ * Copyright 2016-2017 Symphony Integrations - Symphony LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.symphonyoss.integration.warmup;
+
+/**
+ * Implemented by the services that can load their caches ahead of the first request sent to an
+ * integration. The warm-up is performed right after the integration bootstrap.
+ */
+public interface CacheWarmUp {
+
+  /**
+   * Loads the data used to serve the requests sent to the integration.
+   * @param configurationId Integration identifier
+   * @param integrationUser Integration user
+   */
+  void warmUp(String configurationId, String integrationUser);
+
+}
@@ -5,6 +5,7 @@ import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
 import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 
@@ -20,6 +21,7 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Spy;
 import org.mockito.runners.MockitoJUnitRunner;
+import org.springframework.core.env.StandardEnvironment;
 import org.springframework.test.util.ReflectionTestUtils;
 import org.symphonyoss.integration.Integration;
 import org.symphonyoss.integration.authentication.AuthenticationProxy;
@@ -62,6 +64,7 @@ public class JwtAuthenticationImplTest {
   private static final String MOCK_SYMPHONY_TOKEN = "mockSymphonyToken";
   private static final String MOCK_CONFIG_ID = "mockConfigId";
   private static final String MOCK_APP_ID = "mockAppId";
+  private static final String MOCK_USER = "jiraWebHookIntegration";
   private static final Long USER_ID = 12345L;
   private static final Integer PUBLIC_CERT_CACHE_DURATION = 60;
   private static final String MOCK_POD_ID = "111";
@@ -70,6 +73,9 @@ public class JwtAuthenticationImplTest {
   private static final String POD_ID = "podId";
   private static final String EXTERNAL_POD_ID = "externalPodId";
 
+  @Spy
+  private StandardEnvironment environment = new StandardEnvironment();
+
   @Mock
   private LogMessageSource logMessage;
 
@@ -133,6 +139,7 @@ public class JwtAuthenticationImplTest {
     doReturn(PUBLIC_CERT_CACHE_DURATION).when(properties).getPublicPodCertificateCacheDuration();
     ReflectionTestUtils.invokeMethod(jwtAuthentication, "initializeCache",
         PUBLIC_CERT_CACHE_DURATION);
+    ReflectionTestUtils.invokeMethod(jwtAuthentication, "initializeAppTokenStore");
   }
 
   private void prepareJwtScenario(boolean expiredJwt) {
@@ -226,6 +233,37 @@ public class JwtAuthenticationImplTest {
     assertTrue(result);
   }
 
+  @Test
+  public void testIsValidTokenPairLocalStore() {
+    doReturn(MOCK_APP_TOKEN).when(tokenUtils).generateToken();
+    doReturn(mockAppToken).when(appAuthenticationService).authenticate(MOCK_APP_ID,
+        MOCK_APP_TOKEN);
+
+    String appToken = jwtAuthentication.authenticate(MOCK_CONFIG_ID);
+
+    assertTrue(jwtAuthentication.isValidTokenPair(MOCK_CONFIG_ID, appToken, MOCK_SYMPHONY_TOKEN));
+    assertFalse(jwtAuthentication.isValidTokenPair(MOCK_CONFIG_ID, appToken, MOCK_APP_TOKEN));
+
+    verify(apiClient).saveAppAuthenticationToken(MOCK_SESSION_TOKEN, MOCK_CONFIG_ID,
+        mockAppToken);
+    verify(apiClient, never()).getAppAuthenticationToken(MOCK_SESSION_TOKEN, MOCK_CONFIG_ID,
+        MOCK_APP_TOKEN);
+  }
+
+  @Test
+  public void testIsValidTokenPairStoresPodLookup() {
+    doReturn(mockAppToken).when(apiClient).getAppAuthenticationToken(
+        MOCK_SESSION_TOKEN, MOCK_CONFIG_ID, MOCK_APP_TOKEN);
+
+    assertTrue(jwtAuthentication.isValidTokenPair(
+        MOCK_CONFIG_ID, MOCK_APP_TOKEN, MOCK_SYMPHONY_TOKEN));
+    assertTrue(jwtAuthentication.isValidTokenPair(
+        MOCK_CONFIG_ID, MOCK_APP_TOKEN, MOCK_SYMPHONY_TOKEN));
+
+    verify(apiClient, times(1)).getAppAuthenticationToken(MOCK_SESSION_TOKEN, MOCK_CONFIG_ID,
+        MOCK_APP_TOKEN);
+  }
+
   @Test
   public void testIsInvalidTokenPair() {
     doReturn(MOCK_APP_TOKEN).when(tokenUtils).generateToken();
@@ -299,4 +337,25 @@ public class JwtAuthenticationImplTest {
     verify(podInfoClient, times(1)).getPodInfo(MOCK_SESSION_TOKEN);
   }
 
+  @Test
+  public void testWarmUp() {
+    ReflectionTestUtils.setField(jwtAuthentication, "podInfo", null);
+    doReturn(mockPublicKey).when(rsaKeyUtils).getPublicKeyFromCertificate(null);
+
+    Map<String, Object> data = new HashMap<>();
+    data.put(POD_ID, MOCK_POD_ID);
+    data.put(EXTERNAL_POD_ID, MOCK_POD_ID);
+
+    doReturn(new PodInfo(data)).when(podInfoClient).getPodInfo(MOCK_SESSION_TOKEN);
+
+    jwtAuthentication.warmUp(MOCK_CONFIG_ID, MOCK_USER);
+
+    LoadingCache cache = (LoadingCache) ReflectionTestUtils.getField(jwtAuthentication,
+        "podPublicSignatureVerifierCache");
+    assertEquals(1, cache.size());
+
+    assertTrue(jwtAuthentication.checkPodInfo(MOCK_CONFIG_ID, MOCK_POD_ID));
+    verify(podInfoClient, times(1)).getPodInfo(MOCK_SESSION_TOKEN);
+  }
+
 }
@@ -0,0 +1,134 @@
+/**
+ * Copyright 2016-2017 Symphony Integrations - Symphony LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.symphonyoss.integration.authentication;
+
+import static org.symphonyoss.integration.benchmark.Stubs.stub;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.symphonyoss.integration.logging.LogMessageSource;
+import org.symphonyoss.integration.model.yaml.IntegrationProperties;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import javax.ws.rs.client.Client;
+
+/**
+ * Benchmarks the token lookups performed by {@link AuthenticationProxyImpl} with many registered
+ * integration users.
+ *
+ * Every user is authenticated twice during the setup, so the lookups by session token can be
+ * measured for both the current and the previous tokens.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AuthenticationProxyBenchmark {
+
+  @Param({"10", "100", "1000"})
+  private int users;
+
+  private AuthenticationProxyImpl authenticationProxy;
+
+  private String[] userIds;
+
+  private String[] sessionTokens;
+
+  private String[] previousSessionTokens;
+
+  @Setup
+  @SuppressWarnings("unchecked")
+  public void setup() {
+    this.authenticationProxy = new AuthenticationProxyImpl();
+    ReflectionTestUtils.setField(authenticationProxy, "properties",
+        stub(IntegrationProperties.class));
+    ReflectionTestUtils.setField(authenticationProxy, "logMessage", stub(LogMessageSource.class));
+
+    this.userIds = new String[users];
+    this.sessionTokens = new String[users];
+    this.previousSessionTokens = new String[users];
+
+    for (int i = 0; i < users; i++) {
+      userIds[i] = "integration" + i + "WebHookIntegration";
+      authenticationProxy.registerUser(userIds[i], null, null);
+    }
+
+    Map<String, UserAuthenticationContext> authContexts =
+        (Map<String, UserAuthenticationContext>) ReflectionTestUtils.getField(authenticationProxy,
+            "authContexts");
+
+    for (int i = 0; i < users; i++) {
+      previousSessionTokens[i] = "previousSessionToken" + i;
+      sessionTokens[i] = "sessionToken" + i;
+
+      UserAuthenticationContext context = authContexts.get(userIds[i]);
+      context.setToken(new AuthenticationToken(previousSessionTokens[i], "kmToken" + i));
+      context.setToken(new AuthenticationToken(sessionTokens[i], "kmToken" + i));
+    }
+  }
+
+  @Benchmark
+  public AuthenticationToken getToken(Cursor cursor) {
+    return authenticationProxy.getToken(userIds[cursor.next(users)]);
+  }
+
+  @Benchmark
+  public String getSessionToken(Cursor cursor) {
+    return authenticationProxy.getSessionToken(userIds[cursor.next(users)]);
+  }
+
+  @Benchmark
+  public Client httpClientForSessionToken(Cursor cursor) {
+    return authenticationProxy.httpClientForSessionToken(sessionTokens[cursor.next(users)]);
+  }
+
+  @Benchmark
+  public Client httpClientForPreviousSessionToken(Cursor cursor) {
+    return authenticationProxy.httpClientForSessionToken(
+        previousSessionTokens[cursor.next(users)]);
+  }
+
+  /**
+   * Rotates the looked up user on each invocation, so all the registered users are exercised.
+   */
+  @State(Scope.Thread)
+  public static class Cursor {
+
+    private int position;
+
+    int next(int size) {
+      position = (position + 1) % size;
+      return position;
+    }
+
+  }
+
+}
@@ -0,0 +1,138 @@
+/**
+ * Copyright 2016-2017 Symphony Integrations - Symphony LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.symphonyoss.integration.authentication.jwt;
+
+import static org.mockito.Mockito.doReturn;
+import static org.symphonyoss.integration.benchmark.Stubs.stub;
+
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.impl.crypto.RsaProvider;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.symphonyoss.integration.Integration;
+import org.symphonyoss.integration.authentication.api.AppAuthenticationProxy;
+import org.symphonyoss.integration.authentication.api.model.JwtPayload;
+import org.symphonyoss.integration.authentication.api.model.PodCertificate;
+import org.symphonyoss.integration.logging.LogMessageSource;
+import org.symphonyoss.integration.model.config.IntegrationSettings;
+import org.symphonyoss.integration.model.yaml.IntegrationProperties;
+import org.symphonyoss.integration.service.IntegrationBridge;
+import org.symphonyoss.integration.utils.RsaKeyUtils;
+
+import java.security.KeyPair;
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks the JWT verification performed by {@link JwtAuthenticationImpl#parseJwtPayload}.
+ *
+ * The pod public certificate is replaced by a key pair generated during the setup, so the
+ * benchmark measures the signature verification and the payload deserialization only.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtAuthenticationBenchmark {
+
+  private static final String CONFIGURATION_ID = "575062074b54ba5e759c0fd9";
+
+  private static final String INTEGRATION_TYPE = "jiraWebHookIntegration";
+
+  private static final String APP_ID = "jira";
+
+  private static final String AUTHORIZATION_HEADER_PREFIX = "Bearer ";
+
+  private static final int KEY_SIZE = 2048;
+
+  private static final int CACHE_DURATION = 60;
+
+  private JwtAuthenticationImpl jwtAuthentication;
+
+  private String jwt;
+
+  private String authorizationHeader;
+
+  @Setup
+  public void setup() {
+    KeyPair keyPair = RsaProvider.generateKeyPair(KEY_SIZE);
+
+    this.jwt = Jwts.builder()
+        .setSubject("12345")
+        .setExpiration(new Date(System.currentTimeMillis() + TimeUnit.DAYS.toMillis(1)))
+        .setAudience("www.symphony.com")
+        .setIssuer("Symphony Communication Services LLC.")
+        .signWith(SignatureAlgorithm.RS512, keyPair.getPrivate())
+        .compact();
+
+    this.authorizationHeader = AUTHORIZATION_HEADER_PREFIX + jwt;
+
+    IntegrationSettings settings = stub(IntegrationSettings.class);
+    doReturn(INTEGRATION_TYPE).when(settings).getType();
+
+    Integration integration = stub(Integration.class);
+    doReturn(settings).when(integration).getSettings();
+
+    IntegrationBridge integrationBridge = stub(IntegrationBridge.class);
+    doReturn(integration).when(integrationBridge).getIntegrationById(CONFIGURATION_ID);
+
+    IntegrationProperties properties = stub(IntegrationProperties.class);
+    doReturn(APP_ID).when(properties).getApplicationId(INTEGRATION_TYPE);
+
+    PodCertificate certificate = new PodCertificate();
+
+    AppAuthenticationProxy appAuthenticationService = stub(AppAuthenticationProxy.class);
+    doReturn(certificate).when(appAuthenticationService).getPodPublicCertificate(APP_ID);
+
+    RsaKeyUtils rsaKeyUtils = stub(RsaKeyUtils.class);
+    doReturn(keyPair.getPublic()).when(rsaKeyUtils)
+        .getPublicKeyFromCertificate(certificate.getCertificate());
+
+    this.jwtAuthentication = new JwtAuthenticationImpl();
+    ReflectionTestUtils.setField(jwtAuthentication, "logMessage", stub(LogMessageSource.class));
+    ReflectionTestUtils.setField(jwtAuthentication, "integrationBridge", integrationBridge);
+    ReflectionTestUtils.setField(jwtAuthentication, "properties", properties);
+    ReflectionTestUtils.setField(jwtAuthentication, "appAuthenticationService",
+        appAuthenticationService);
+    ReflectionTestUtils.setField(jwtAuthentication, "rsaKeyUtils", rsaKeyUtils);
+    ReflectionTestUtils.invokeMethod(jwtAuthentication, "initializeCache", CACHE_DURATION);
+  }
+
+  @Benchmark
+  public JwtPayload parseJwtPayload() {
+    return jwtAuthentication.parseJwtPayload(CONFIGURATION_ID, jwt);
+  }
+
+  @Benchmark
+  public Long getUserIdFromAuthorizationHeader() {
+    return jwtAuthentication.getUserIdFromAuthorizationHeader(CONFIGURATION_ID,
+        authorizationHeader);
+  }
+
+}
@@ -0,0 +1,74 @@
+/**
+ * Copyright 2016-2017 Symphony Integrations - Symphony LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.symphonyoss.integration.benchmark;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.IOException;
+
+/**
+ * Entry point of the benchmarks jar. It accepts the regular JMH command line options and always
+ * enables the GC profiler, so the allocation rate is reported together with the timings.
+ *
+ * The results are written in JSON format to be compared between builds, unless the result file
+ * or format are set through the command line (-rf and -rff options).
+ *
+ * <pre>
+ * java -jar integration-benchmarks/target/benchmarks.jar [regexp] [JMH options]
+ * </pre>
+ */
+public class BenchmarkRunner {
+
+  public static final String DEFAULT_RESULT_FILE = "jmh-result.json";
+
+  public static void main(String[] args)
+      throws CommandLineOptionException, RunnerException, IOException {
+    CommandLineOptions commandLine = new CommandLineOptions(args);
+
+    if (commandLine.shouldHelp()) {
+      commandLine.showHelp();
+      return;
+    }
+
+    if (commandLine.shouldList()) {
+      new Runner(commandLine).list();
+      return;
+    }
+
+    ChainedOptionsBuilder options = new OptionsBuilder()
+        .parent(commandLine)
+        .addProfiler(GCProfiler.class);
+
+    if (!commandLine.getResultFormat().hasValue()) {
+      options.resultFormat(ResultFormatType.JSON);
+    }
+
+    if (!commandLine.getResult().hasValue()) {
+      options.result(DEFAULT_RESULT_FILE);
+    }
+
+    new Runner(options.build()).run();
+  }
+
+}
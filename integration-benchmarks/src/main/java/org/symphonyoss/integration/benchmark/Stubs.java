@@ -0,0 +1,41 @@
+/**
+ * Copyright 2016-2017 Symphony Integrations - Symphony LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.symphonyoss.integration.benchmark;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.withSettings;
+
+/**
+ * Creates the stubbed collaborators used by the benchmarks.
+ *
+ * The stubs don't record their invocations, otherwise the benchmarks would measure the mock
+ * bookkeeping and keep growing the heap during the measurement iterations.
+ */
+public final class Stubs {
+
+  private Stubs() {}
+
+  /**
+   * Creates a stub for the given type.
+   * @param type Class or interface to be stubbed
+   * @return Stub instance
+   */
+  public static <T> T stub(Class<T> type) {
+    return mock(type, withSettings().stubOnly());
+  }
+
+}
@@ -0,0 +1,140 @@
+/**
+ * Copyright 2016-2017 Symphony Integrations - Symphony LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.symphonyoss.integration.config;
+
+import static org.symphonyoss.integration.benchmark.Stubs.stub;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.core.env.MapPropertySource;
+import org.springframework.core.env.StandardEnvironment;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.symphonyoss.integration.logging.LogMessageSource;
+import org.symphonyoss.integration.model.config.IntegrationInstance;
+import org.symphonyoss.integration.model.config.IntegrationSettings;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks the lookups performed by {@link LocalIntegrationService}.
+ *
+ * The configuration file is generated during the setup with the given number of integrations,
+ * each one having a single instance. The lookups target the last integration of the file.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LocalIntegrationServiceBenchmark {
+
+  private static final String FILENAME_KEY = "config.filename";
+
+  private static final String USER_ID = "benchmark";
+
+  @Param({"10", "100", "1000"})
+  private int integrations;
+
+  private LocalIntegrationService integrationService;
+
+  private File configurationFile;
+
+  private String configurationId;
+
+  private String integrationType;
+
+  private String instanceId;
+
+  @Setup
+  public void setup() throws IOException {
+    ObjectMapper mapper = new ObjectMapper();
+    ObjectNode repository = mapper.createObjectNode();
+    ArrayNode configurations = repository.putArray("configurations");
+    ArrayNode instances = repository.putArray("instances");
+
+    for (int i = 0; i < integrations; i++) {
+      this.configurationId = String.format("575062074b54ba5e7%07d", i);
+      this.integrationType = "integration" + i + "WebHookIntegration";
+      this.instanceId = String.valueOf(1000 + i);
+
+      configurations.addObject()
+          .put("configurationId", configurationId)
+          .put("type", integrationType)
+          .put("name", "Integration " + i)
+          .put("enabled", true)
+          .put("visible", true);
+
+      instances.addObject()
+          .put("instanceId", instanceId)
+          .put("configurationId", configurationId)
+          .put("name", "Instance " + i)
+          .put("creatorId", USER_ID)
+          .put("optionalProperties", "{\"owner\":\"" + USER_ID + "\",\"streams\":[]}");
+    }
+
+    this.configurationFile = File.createTempFile("configuration", ".json");
+    mapper.writeValue(configurationFile, repository);
+
+    StandardEnvironment environment = new StandardEnvironment();
+    environment.getPropertySources().addFirst(new MapPropertySource("benchmark",
+        Collections.<String, Object>singletonMap(FILENAME_KEY,
+            configurationFile.getAbsolutePath())));
+
+    this.integrationService = new LocalIntegrationService();
+    ReflectionTestUtils.setField(integrationService, "environment", environment);
+    ReflectionTestUtils.setField(integrationService, "logMessage", stub(LogMessageSource.class));
+    integrationService.init();
+  }
+
+  @TearDown
+  public void tearDown() {
+    configurationFile.delete();
+  }
+
+  @Benchmark
+  public IntegrationSettings getIntegrationById() {
+    return integrationService.getIntegrationById(configurationId, USER_ID);
+  }
+
+  @Benchmark
+  public IntegrationSettings getIntegrationByType() {
+    return integrationService.getIntegrationByType(integrationType, USER_ID);
+  }
+
+  @Benchmark
+  public IntegrationInstance getInstanceById() {
+    return integrationService.getInstanceById(configurationId, instanceId, USER_ID);
+  }
+
+}
@@ -0,0 +1,81 @@
+/**
+ * Copyright 2016-2017 Symphony Integrations - Symphony LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.symphonyoss.integration.core.bridge;
+
+import static org.symphonyoss.integration.benchmark.Stubs.stub;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.symphonyoss.integration.logging.LogMessageSource;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks the parsing of the instance optional properties performed by
+ * {@link StreamServiceImpl#getStreams(String)}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class StreamServiceBenchmark {
+
+  @Param({"1", "10", "100"})
+  private int streams;
+
+  private StreamServiceImpl streamService;
+
+  private String optionalProperties;
+
+  @Setup
+  public void setup() {
+    this.streamService = new StreamServiceImpl();
+    ReflectionTestUtils.setField(streamService, "logMessage", stub(LogMessageSource.class));
+
+    StringBuilder builder = new StringBuilder("{\"lastPostedDate\":1461508603000,");
+    builder.append("\"owner\":\"7627861917905\",\"streamType\":\"CHATROOM\",\"streams\":[");
+
+    for (int i = 0; i < streams; i++) {
+      if (i > 0) {
+        builder.append(',');
+      }
+
+      builder.append("\"stream").append(i).append("_qvMMOjEdA\"");
+    }
+
+    this.optionalProperties = builder.append("]}").toString();
+  }
+
+  @Benchmark
+  public List<String> getStreams() {
+    return streamService.getStreams(optionalProperties);
+  }
+
+}
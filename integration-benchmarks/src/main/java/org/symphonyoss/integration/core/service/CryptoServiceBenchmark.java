@@ -0,0 +1,82 @@
+/**
+ * Copyright 2016-2017 Symphony Integrations - Symphony LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.symphonyoss.integration.core.service;
+
+import static org.symphonyoss.integration.benchmark.Stubs.stub;
+
+import org.apache.commons.lang3.StringUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.symphonyoss.integration.exception.CryptoException;
+import org.symphonyoss.integration.logging.LogMessageSource;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks the encryption and decryption performed by {@link CryptoServiceImpl}.
+ *
+ * Both operations derive the AES key through PBKDF2, so they take a few milliseconds each.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CryptoServiceBenchmark {
+
+  private static final String KEY = "d9a2f8b1c3e64a7f";
+
+  @Param({"64", "4096"})
+  private int textSize;
+
+  private CryptoServiceImpl cryptoService;
+
+  private String plainText;
+
+  private String encryptedText;
+
+  @Setup
+  public void setup() throws CryptoException {
+    this.cryptoService = new CryptoServiceImpl();
+    ReflectionTestUtils.setField(cryptoService, "logMessage", stub(LogMessageSource.class));
+
+    this.plainText = StringUtils.repeat('x', textSize);
+    this.encryptedText = cryptoService.encrypt(plainText, KEY);
+  }
+
+  @Benchmark
+  public String encrypt() throws CryptoException {
+    return cryptoService.encrypt(plainText, KEY);
+  }
+
+  @Benchmark
+  public String decrypt() throws CryptoException {
+    return cryptoService.decrypt(encryptedText, KEY);
+  }
+
+}
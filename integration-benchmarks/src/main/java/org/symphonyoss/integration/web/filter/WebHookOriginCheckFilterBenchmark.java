@@ -0,0 +1,147 @@
+/**
+ * Copyright 2016-2017 Symphony Integrations - Symphony LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.symphonyoss.integration.web.filter;
+
+import static org.mockito.Mockito.doReturn;
+import static org.symphonyoss.integration.benchmark.Stubs.stub;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.mock.web.MockFilterConfig;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.mock.web.MockServletContext;
+import org.springframework.web.context.WebApplicationContext;
+import org.symphonyoss.integration.Integration;
+import org.symphonyoss.integration.logging.LogMessageSource;
+import org.symphonyoss.integration.model.yaml.IntegrationProperties;
+
+import java.io.IOException;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.ServletRequest;
+import javax.servlet.ServletResponse;
+
+/**
+ * Benchmarks the whitelist checks performed by {@link WebHookOriginCheckFilter}.
+ *
+ * The request origins always match an IP address of the whitelist, so the benchmark doesn't
+ * depend on DNS lookups.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class WebHookOriginCheckFilterBenchmark {
+
+  private static final String INTEGRATION_TYPE = "jiraWebHookIntegration";
+
+  private static final String WEBHOOK_URL = WebHookOriginCheckFilter.URL_PATTERN
+      + INTEGRATION_TYPE + "/575062074b54ba5e759c0fd9/1234";
+
+  private static final String FORWARD_HEADER = "x-forwarded-for";
+
+  private static final String ALLOWED_ADDRESS = "192.30.252.40";
+
+  private static final String FORWARDED_ADDRESSES = "10.30.224.40, 168.140.252.55, "
+      + ALLOWED_ADDRESS;
+
+  private static final FilterChain NOOP_CHAIN = new FilterChain() {
+    @Override
+    public void doFilter(ServletRequest request, ServletResponse response) {
+      // Nothing to do
+    }
+  };
+
+  @Param({"10", "100", "1000"})
+  private int whiteListSize;
+
+  private WebHookOriginCheckFilter filter;
+
+  private MockHttpServletRequest remoteAddressRequest;
+
+  private MockHttpServletRequest forwardedRequest;
+
+  private MockHttpServletResponse response;
+
+  @Setup
+  public void setup() throws ServletException {
+    Set<String> integrationWhiteList = new HashSet<>();
+    Set<String> globalWhiteList = new HashSet<>();
+
+    for (int i = 0; i < whiteListSize; i++) {
+      integrationWhiteList.add("10.0." + (i / 256) + "." + (i % 256));
+      globalWhiteList.add("integration" + i + ".symphony.com");
+    }
+
+    integrationWhiteList.add(ALLOWED_ADDRESS);
+
+    Integration integration = stub(Integration.class);
+    doReturn(integrationWhiteList).when(integration).getIntegrationWhiteList();
+
+    IntegrationProperties properties = stub(IntegrationProperties.class);
+    doReturn(globalWhiteList).when(properties).getGlobalWhiteList();
+
+    WebApplicationContext springContext = stub(WebApplicationContext.class);
+    doReturn(integration).when(springContext).getBean(INTEGRATION_TYPE, Integration.class);
+    doReturn(properties).when(springContext).getBean(IntegrationProperties.class);
+    doReturn(stub(LogMessageSource.class)).when(springContext).getBean(LogMessageSource.class);
+
+    MockServletContext servletContext = new MockServletContext();
+    servletContext.setAttribute(WebApplicationContext.ROOT_WEB_APPLICATION_CONTEXT_ATTRIBUTE,
+        springContext);
+
+    this.filter = new WebHookOriginCheckFilter();
+    filter.init(new MockFilterConfig(servletContext));
+
+    this.remoteAddressRequest = new MockHttpServletRequest("POST", WEBHOOK_URL);
+    remoteAddressRequest.setRemoteAddr(ALLOWED_ADDRESS);
+
+    this.forwardedRequest = new MockHttpServletRequest("POST", WEBHOOK_URL);
+    forwardedRequest.addHeader(FORWARD_HEADER, FORWARDED_ADDRESSES);
+
+    this.response = new MockHttpServletResponse();
+  }
+
+  @Benchmark
+  public MockHttpServletResponse checkRemoteAddress() throws IOException, ServletException {
+    filter.doFilter(remoteAddressRequest, response, NOOP_CHAIN);
+    return response;
+  }
+
+  @Benchmark
+  public MockHttpServletResponse checkForwardedAddresses() throws IOException, ServletException {
+    filter.doFilter(forwardedRequest, response, NOOP_CHAIN);
+    return response;
+  }
+
+}
@@ -0,0 +1,147 @@
+/**
+ * Copyright 2016-2017 Symphony Integrations - Symphony LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.symphonyoss.integration.web.resource;
+
+import static org.symphonyoss.integration.benchmark.Stubs.stub;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.core.env.StandardEnvironment;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.symphonyoss.integration.logging.LogMessageSource;
+import org.symphonyoss.integration.web.payload.WebHookPayloadReader;
+import org.symphonyoss.integration.webhook.WebHookPayload;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks the extraction of the webhook payload from the HTTP request performed by
+ * {@link WebHookDispatcherResource}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class WebHookPayloadBenchmark {
+
+  private static final String INTEGRATION_TYPE = "jiraWebHookIntegration";
+
+  private static final String WEBHOOK_URL =
+      "/integration/v1/whi/jiraWebHookIntegration/575062074b54ba5e759c0fd9/1234";
+
+  private static final String EVENT_HEADER = "X-Atlassian-Webhook-Identifier";
+
+  private static final String USER_PARAMETER = "user_id";
+
+  @Param({"1024", "65536", "1048576"})
+  private int payloadSize;
+
+  private WebHookDispatcherResource resource;
+
+  private WebHookPayloadReader reader;
+
+  private MockHttpServletRequest request;
+
+  private String body;
+
+  @Setup
+  public void setup() {
+    this.resource = new WebHookDispatcherResource();
+
+    this.reader = new WebHookPayloadReader();
+    ReflectionTestUtils.setField(reader, "environment", new StandardEnvironment());
+    ReflectionTestUtils.setField(reader, "logMessage", stub(LogMessageSource.class));
+
+    this.body = buildBody(payloadSize);
+
+    this.request = new MockHttpServletRequest("POST", WEBHOOK_URL);
+    request.setContentType("application/json");
+    request.setCharacterEncoding(StandardCharsets.UTF_8.name());
+    request.setContent(body.getBytes(StandardCharsets.UTF_8));
+    request.addHeader("User-Agent", "Atlassian HttpClient 0.23.0 / JIRA-7.2.2");
+    request.addHeader(EVENT_HEADER, "4021");
+    request.addHeader("X-Forwarded-For", "192.30.252.40");
+    request.addParameter(USER_PARAMETER, "admin");
+    request.addParameter("user_key", "admin");
+  }
+
+  private String buildBody(int size) {
+    StringBuilder builder = new StringBuilder(size + 64);
+    builder.append("{\"webhookEvent\":\"jira:issue_updated\",\"comments\":[");
+
+    int index = 0;
+
+    while (builder.length() < size) {
+      if (index > 0) {
+        builder.append(',');
+      }
+
+      builder.append("{\"id\":").append(index++)
+          .append(",\"body\":\"Comment with a\u00e7\u00e3o\"}");
+    }
+
+    return builder.append("]}").toString();
+  }
+
+  @Benchmark
+  public WebHookPayload retrieveWebHookPayload() {
+    return resource.retrieveWebHookPayload(request, body);
+  }
+
+  @Benchmark
+  public void retrieveWebHookPayloadAndLookup(Blackhole blackhole) {
+    WebHookPayload payload = resource.retrieveWebHookPayload(request, body);
+
+    blackhole.consume(payload.getHeaders().get(EVENT_HEADER));
+    blackhole.consume(payload.getParameters().get(USER_PARAMETER));
+  }
+
+  @Benchmark
+  public void retrieveWebHookPayloadAndIterate(Blackhole blackhole) {
+    WebHookPayload payload = resource.retrieveWebHookPayload(request, body);
+
+    for (Map.Entry<String, String> header : payload.getHeaders().entrySet()) {
+      blackhole.consume(header);
+    }
+
+    for (Map.Entry<String, String> parameter : payload.getParameters().entrySet()) {
+      blackhole.consume(parameter);
+    }
+  }
+
+  @Benchmark
+  public String readBody() throws IOException {
+    return reader.readBody(INTEGRATION_TYPE, request);
+  }
+
+}
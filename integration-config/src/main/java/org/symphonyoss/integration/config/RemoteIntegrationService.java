@@ -31,6 +31,8 @@ import static org.symphonyoss.integration.config.properties.RemoteIntegrationSer
 import static org.symphonyoss.integration.config.properties.RemoteIntegrationServiceProperties.UNHEALTH_API;
 import static org.symphonyoss.integration.config.properties.RemoteIntegrationServiceProperties.UNHEALTH_API_SOLUTION;
 
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 import org.symphonyoss.integration.authentication.AuthenticationProxy;
@@ -43,21 +45,48 @@ import org.symphonyoss.integration.model.config.IntegrationInstance;
 import org.symphonyoss.integration.model.config.IntegrationSettings;
 import org.symphonyoss.integration.pod.api.client.ConfigurationApiClient;
 import org.symphonyoss.integration.pod.api.client.ConfigurationInstanceApiClient;
+import org.symphonyoss.integration.pod.api.client.IntegrationInstanceApiClient;
 import org.symphonyoss.integration.pod.api.client.PodHttpApiClient;
+import org.symphonyoss.integration.pod.api.model.IntegrationInstanceList;
 import org.symphonyoss.integration.pod.api.model.IntegrationInstanceSubmissionCreate;
 import org.symphonyoss.integration.pod.api.model.IntegrationInstanceSubmissionUpdate;
 import org.symphonyoss.integration.pod.api.model.IntegrationSubmissionCreate;
 import org.symphonyoss.integration.service.IntegrationService;
+import org.symphonyoss.integration.warmup.CacheWarmUp;
+
+import java.util.concurrent.TimeUnit;
 
 import javax.annotation.PostConstruct;
 
 /**
  * Reads configurations from any configured server.
  *
+ * The instances pre-fetched during the integration bootstrap are served once by
+ * {@link #getInstanceById(String, String, String)}, so the first webhook of each instance after a
+ * restart doesn't wait for the remote lookup.
+ *
  * Created by mquilzini on 26/05/16.
  */
 @Component
-public class RemoteIntegrationService implements IntegrationService {
+public class RemoteIntegrationService implements IntegrationService, CacheWarmUp {
+
+  /**
+   * Page size used to list the integration instances
+   */
+  public static final int INSTANCES_PAGE_SIZE = 100;
+
+  /**
+   * Maximum number of pre-fetched instances. The pre-fetch stops once it's reached, the remaining
+   * instances are retrieved on demand.
+   */
+  public static final int PREFETCHED_INSTANCES_MAX_SIZE = 10000;
+
+  /**
+   * Time to keep the pre-fetched instances (in minutes)
+   */
+  private static final long PREFETCHED_INSTANCE_DURATION = 5;
+
+  private static final char KEY_SEPARATOR = ':';
 
   @Autowired
   private AuthenticationProxy authenticationProxy;
@@ -72,11 +101,19 @@ public class RemoteIntegrationService implements IntegrationService {
 
   private ConfigurationInstanceApiClient instanceApiClient;
 
+  private IntegrationInstanceApiClient integrationInstanceApiClient;
+
+  private final Cache<String, IntegrationInstance> prefetchedInstances = CacheBuilder.newBuilder()
+      .expireAfterWrite(PREFETCHED_INSTANCE_DURATION, TimeUnit.MINUTES)
+      .maximumSize(PREFETCHED_INSTANCES_MAX_SIZE)
+      .build();
+
   @Override
   @PostConstruct
   public void init() {
     configurationApiClient = new ConfigurationApiClient(client,logMessage);
     instanceApiClient = new ConfigurationInstanceApiClient(client,logMessage);
+    integrationInstanceApiClient = new IntegrationInstanceApiClient(client, logMessage);
   }
 
   @Override
@@ -145,6 +182,13 @@ public class RemoteIntegrationService implements IntegrationService {
   @Override
   public IntegrationInstance getInstanceById(String configurationId, String instanceId,
       String userId) {
+    IntegrationInstance prefetched =
+        prefetchedInstances.asMap().remove(getInstanceKey(configurationId, instanceId));
+
+    if (prefetched != null) {
+      return prefetched;
+    }
+
     try {
       return instanceApiClient.getInstanceById(authenticationProxy.getSessionToken(userId),
           configurationId, instanceId);
@@ -162,8 +206,58 @@ public class RemoteIntegrationService implements IntegrationService {
     }
   }
 
+  @Override
+  public void warmUp(String configurationId, String integrationUser) {
+    prefetchInstances(configurationId, integrationUser);
+  }
+
+  /**
+   * Pre-fetches the instances of the integration using paged requests, up to
+   * {@link #PREFETCHED_INSTANCES_MAX_SIZE} instances.
+   * @param configurationId Integration identifier
+   * @param userId User identifier
+   * @return Number of instances pre-fetched
+   */
+  public int prefetchInstances(String configurationId, String userId) {
+    String sessionToken = authenticationProxy.getSessionToken(userId);
+
+    int offset = 0;
+
+    try {
+      while (true) {
+        IntegrationInstanceList page = integrationInstanceApiClient.listInstances(sessionToken,
+            configurationId, offset, INSTANCES_PAGE_SIZE);
+
+        if (page == null) {
+          return offset;
+        }
+
+        for (IntegrationInstance instance : page) {
+          prefetchedInstances.put(getInstanceKey(configurationId, instance.getInstanceId()),
+              instance);
+        }
+
+        offset += page.size();
+
+        if (page.size() < INSTANCES_PAGE_SIZE || offset >= PREFETCHED_INSTANCES_MAX_SIZE) {
+          return offset;
+        }
+      }
+    } catch (RemoteApiException e) {
+      checkExceptionCodeForbidden(e);
+      throw getUnknownException(e);
+    }
+  }
+
+  private String getInstanceKey(String configurationId, String instanceId) {
+    return configurationId + KEY_SEPARATOR + instanceId;
+  }
+
   @Override
   public IntegrationInstance save(IntegrationInstance instance, String userId) {
+    prefetchedInstances.invalidate(
+        getInstanceKey(instance.getConfigurationId(), instance.getInstanceId()));
+
     if (instanceExists(instance, userId)) {
       return updateInstance(instance, userId);
     } else {
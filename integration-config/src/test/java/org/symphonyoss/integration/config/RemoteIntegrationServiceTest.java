@@ -20,9 +20,12 @@ import static javax.ws.rs.core.Response.Status.BAD_REQUEST;
 import static javax.ws.rs.core.Response.Status.FORBIDDEN;
 import static org.junit.Assert.assertEquals;
 import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyInt;
 import static org.mockito.Matchers.eq;
 import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import org.junit.Before;
@@ -41,6 +44,8 @@ import org.symphonyoss.integration.model.config.IntegrationInstance;
 import org.symphonyoss.integration.model.config.IntegrationSettings;
 import org.symphonyoss.integration.pod.api.client.ConfigurationApiClient;
 import org.symphonyoss.integration.pod.api.client.ConfigurationInstanceApiClient;
+import org.symphonyoss.integration.pod.api.client.IntegrationInstanceApiClient;
+import org.symphonyoss.integration.pod.api.model.IntegrationInstanceList;
 import org.symphonyoss.integration.pod.api.model.IntegrationInstanceSubmissionCreate;
 import org.symphonyoss.integration.pod.api.model.IntegrationInstanceSubmissionUpdate;
 import org.symphonyoss.integration.pod.api.model.IntegrationSubmissionCreate;
@@ -75,6 +80,9 @@ public class RemoteIntegrationServiceTest {
   @Mock
   private ConfigurationInstanceApiClient instanceApiClient;
 
+  @Mock
+  private IntegrationInstanceApiClient integrationInstanceApiClient;
+
   @Mock
   private LogMessageSource logMesagge;
 
@@ -234,6 +242,69 @@ public class RemoteIntegrationServiceTest {
     assertEquals(expectedConfigurationInstance, result);
   }
 
+  @Test
+  public void testPrefetchInstances() throws Exception {
+    int pageSize = RemoteIntegrationService.INSTANCES_PAGE_SIZE;
+
+    IntegrationInstanceList firstPage = new IntegrationInstanceList();
+
+    for (int i = 0; i < pageSize; i++) {
+      IntegrationInstance instance = buildInstance();
+      instance.setInstanceId(INSTANCE_ID + i);
+      firstPage.add(instance);
+    }
+
+    IntegrationInstanceList lastPage = new IntegrationInstanceList();
+    lastPage.add(buildInstance());
+
+    doReturn(firstPage).when(integrationInstanceApiClient)
+        .listInstances(TOKEN, CONFIGURATION_ID, 0, pageSize);
+    doReturn(lastPage).when(integrationInstanceApiClient)
+        .listInstances(TOKEN, CONFIGURATION_ID, pageSize, pageSize);
+
+    assertEquals(pageSize + 1,
+        remoteIntegrationService.prefetchInstances(CONFIGURATION_ID, USER_ID));
+
+    IntegrationInstance result =
+        remoteIntegrationService.getInstanceById(CONFIGURATION_ID, INSTANCE_ID, USER_ID);
+
+    assertEquals(lastPage.get(0), result);
+    verify(instanceApiClient, never()).getInstanceById(TOKEN, CONFIGURATION_ID, INSTANCE_ID);
+
+    // The pre-fetched instance is served only once
+    remoteIntegrationService.getInstanceById(CONFIGURATION_ID, INSTANCE_ID, USER_ID);
+    verify(instanceApiClient).getInstanceById(TOKEN, CONFIGURATION_ID, INSTANCE_ID);
+  }
+
+  @Test
+  public void testPrefetchInstancesMaxSize() throws Exception {
+    int pageSize = RemoteIntegrationService.INSTANCES_PAGE_SIZE;
+
+    IntegrationInstanceList page = new IntegrationInstanceList();
+
+    for (int i = 0; i < pageSize; i++) {
+      IntegrationInstance instance = buildInstance();
+      instance.setInstanceId(INSTANCE_ID + i);
+      page.add(instance);
+    }
+
+    doReturn(page).when(integrationInstanceApiClient)
+        .listInstances(eq(TOKEN), eq(CONFIGURATION_ID), anyInt(), eq(pageSize));
+
+    assertEquals(RemoteIntegrationService.PREFETCHED_INSTANCES_MAX_SIZE,
+        remoteIntegrationService.prefetchInstances(CONFIGURATION_ID, USER_ID));
+  }
+
+  @Test(expected = ForbiddenUserException.class)
+  public void testPrefetchInstancesForbidden() throws Exception {
+    RemoteApiException apiException =
+        new RemoteApiException(FORBIDDEN.getStatusCode(), "Forbidden user");
+    doThrow(apiException).when(integrationInstanceApiClient).listInstances(TOKEN,
+        CONFIGURATION_ID, 0, RemoteIntegrationService.INSTANCES_PAGE_SIZE);
+
+    remoteIntegrationService.prefetchInstances(CONFIGURATION_ID, USER_ID);
+  }
+
   @Test(expected = RemoteConfigurationException.class)
   public void testSaveInstanceCreateFailed() throws Exception {
     IntegrationInstance instance = buildInstance();
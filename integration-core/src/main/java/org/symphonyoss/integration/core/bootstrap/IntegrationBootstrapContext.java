@@ -47,6 +47,8 @@ import org.springframework.stereotype.Component;
 import org.symphonyoss.integration.Integration;
 import org.symphonyoss.integration.authentication.AuthenticationProxy;
 import org.symphonyoss.integration.core.NullIntegration;
+import org.symphonyoss.integration.core.jfr.BootstrapEvent;
+import org.symphonyoss.integration.core.jfr.CoreEvents;
 import org.symphonyoss.integration.core.runnable.IntegrationAbstractRunnable;
 import org.symphonyoss.integration.event.HealthCheckEventData;
 import org.symphonyoss.integration.exception.IntegrationRuntimeException;
@@ -134,6 +136,12 @@ public class IntegrationBootstrapContext implements IntegrationBootstrap {
   @Autowired
   private LogMessageSource logMessage;
 
+  @Autowired
+  private IntegrationWarmUp warmUp;
+
+  @Autowired
+  private IntegrationDrain drain;
+
   /**
    * Atomic  Integer used to control when the application should log its health.
    * The application health should only be logged after the last default integration finishes
@@ -305,13 +313,21 @@ public class IntegrationBootstrapContext implements IntegrationBootstrap {
   }
 
   /**
-   * Perform the integration setup
+   * Perform the integration setup. The integration is reported as warming up by the health check
+   * until its caches are loaded.
    * @param info
    */
   private void setupIntegration(IntegrationBootstrapInfo info) {
     String integrationUser = info.getConfigurationType();
     Integration integration = info.getIntegration();
 
+    BootstrapEvent event = CoreEvents.newBootstrapEvent();
+    event.begin();
+
+    boolean success = false;
+
+    applicationsHealthIndicator.setReady(integrationUser, false);
+
     try {
       integration.onCreate(integrationUser);
 
@@ -320,9 +336,12 @@ public class IntegrationBootstrapContext implements IntegrationBootstrap {
 
       metricsController.addIntegrationTimer(integrationUser);
 
+      warmUp.warmUp(integrationUser, integration);
+
       LOGGER.info(logMessage.getMessage(INTEGRATION_SUCCESSFULLY_BOOTSTRAPPED, integrationUser));
 
       logging.logIntegration(integration);
+      success = true;
     } catch (ConnectivityException e) {
       LOGGER.error(logMessage.getMessage(FAIL_BOOTSTRAP_INTEGRATION_RETRYING, integrationUser), e);
       integrationsToRegister.offer(info);
@@ -331,6 +350,8 @@ public class IntegrationBootstrapContext implements IntegrationBootstrap {
     } catch (IntegrationRuntimeException e) {
       LOGGER.error(logMessage.getMessage(FAIL_BOOTSTRAP_INTEGRATION, integrationUser), e);
     } finally {
+      applicationsHealthIndicator.setReady(integrationUser, true);
+      event.finish(integrationUser, success);
       logHealthCheck();
     }
   }
@@ -350,6 +371,7 @@ public class IntegrationBootstrapContext implements IntegrationBootstrap {
 
   @Override
   public void shutdown() throws IllegalStateException {
+    drain.drain();
     destroyIntegrations();
 
     this.scheduler.shutdown();
@@ -0,0 +1,263 @@
+/**
+ * Copyright 2016-2017 Symphony Integrations - Symphony LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.symphonyoss.integration.core.bootstrap;
+
+import static org.symphonyoss.integration.metrics.IntegrationMetricsConstants.BASE_METRIC_NAME;
+
+import com.codahale.metrics.Gauge;
+import com.codahale.metrics.MetricRegistry;
+import com.codahale.metrics.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.event.ContextClosedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+import org.symphonyoss.integration.core.bridge.IntegrationBridgeExceptionHandler;
+import org.symphonyoss.integration.core.delivery.DeliveryScheduler;
+import org.symphonyoss.integration.healthcheck.application.ApplicationsHealthIndicator;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.annotation.PostConstruct;
+
+/**
+ * Drains the Integration Bridge before the integrations are destroyed.
+ *
+ * Once the drain starts, the new webhook requests are rejected and the integrations are reported
+ * as draining by the health check. The shutdown waits for the in-flight webhook requests, the
+ * pending deliveries and the stream removals they scheduled to finish, up to the configured
+ * deadline, so they aren't interrupted halfway.
+ *
+ * The drain starts as soon as the application context is closing, before the components used by
+ * the in-flight requests are destroyed.
+ *
+ * <pre>
+ * drain:
+ *   enabled: true
+ *   timeout_seconds: 30
+ *   retry_after_seconds: 5
+ * </pre>
+ */
+@Component
+public class IntegrationDrain {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(IntegrationDrain.class);
+
+  public static final String ENABLED_KEY = "drain.enabled";
+
+  public static final String TIMEOUT_KEY = "drain.timeout_seconds";
+
+  public static final String RETRY_AFTER_KEY = "drain.retry_after_seconds";
+
+  public static final long DEFAULT_TIMEOUT_SECONDS = 30;
+
+  public static final long DEFAULT_RETRY_AFTER_SECONDS = 5;
+
+  private static final long POLL_INTERVAL_MILLIS = 100;
+
+  private static final String DRAIN = "drain";
+
+  private static final String IN_FLIGHT = "inFlight";
+
+  private static final String PENDING_DELIVERIES = "pendingDeliveries";
+
+  private static final String PENDING_REMOVALS = "pendingRemovals";
+
+  private static final String DRAINING = "draining";
+
+  private static final String REJECTED = "rejected";
+
+  private static final String DURATION = "duration";
+
+  @Autowired
+  private Environment environment;
+
+  @Autowired
+  private MetricRegistry metricRegistry;
+
+  @Autowired
+  private DeliveryScheduler deliveryScheduler;
+
+  @Autowired
+  private ApplicationsHealthIndicator applicationsHealthIndicator;
+
+  @Autowired
+  private IntegrationBridgeExceptionHandler exceptionHandler;
+
+  /**
+   * Number of webhook requests being handled
+   */
+  private final AtomicInteger inFlight = new AtomicInteger();
+
+  private volatile boolean draining;
+
+  @PostConstruct
+  public void init() {
+    registerGauge(IN_FLIGHT, new Gauge<Integer>() {
+      @Override
+      public Integer getValue() {
+        return inFlight.get();
+      }
+    });
+
+    registerGauge(PENDING_DELIVERIES, new Gauge<Integer>() {
+      @Override
+      public Integer getValue() {
+        return deliveryScheduler.getPendingDeliveries();
+      }
+    });
+
+    registerGauge(PENDING_REMOVALS, new Gauge<Integer>() {
+      @Override
+      public Integer getValue() {
+        return exceptionHandler.getPendingRemovals();
+      }
+    });
+
+    registerGauge(DRAINING, new Gauge<Integer>() {
+      @Override
+      public Integer getValue() {
+        return draining ? 1 : 0;
+      }
+    });
+  }
+
+  private void registerGauge(String name, Gauge<Integer> gauge) {
+    String metricName = MetricRegistry.name(BASE_METRIC_NAME, DRAIN, name);
+
+    if (!metricRegistry.getGauges().containsKey(metricName)) {
+      metricRegistry.register(metricName, gauge);
+    }
+  }
+
+  /**
+   * Registers a new webhook request unless the drain has already started. Every accepted request
+   * must be released through {@link #release()} when its handling is completed.
+   * @return true if the request was accepted or false otherwise
+   */
+  public boolean tryAcquire() {
+    inFlight.incrementAndGet();
+
+    if (draining) {
+      inFlight.decrementAndGet();
+      metricRegistry.meter(MetricRegistry.name(BASE_METRIC_NAME, DRAIN, REJECTED)).mark();
+      return false;
+    }
+
+    return true;
+  }
+
+  /**
+   * Releases a webhook request accepted by {@link #tryAcquire()}.
+   */
+  public void release() {
+    inFlight.decrementAndGet();
+  }
+
+  /**
+   * Retrieves the number of webhook requests being handled.
+   * @return Number of in-flight requests
+   */
+  public int getInFlight() {
+    return inFlight.get();
+  }
+
+  public boolean isDraining() {
+    return draining;
+  }
+
+  /**
+   * Retrieves the time the rejected senders should wait before retrying.
+   * @return Retry-After value (in seconds)
+   */
+  public long getRetryAfter() {
+    return environment.getProperty(RETRY_AFTER_KEY, Long.class, DEFAULT_RETRY_AFTER_SECONDS);
+  }
+
+  /**
+   * Starts the drain as soon as the application context is closing.
+   * @param event Context closed event
+   */
+  @EventListener
+  public void handleContextClosedEvent(ContextClosedEvent event) {
+    drain();
+  }
+
+  /**
+   * Stops accepting new webhook requests and waits for the in-flight requests, the pending
+   * deliveries and the pending stream removals to finish, up to the configured deadline. It
+   * returns immediately if the drain is disabled or it has already been performed.
+   * @return true if everything was drained before the deadline or false otherwise
+   */
+  public synchronized boolean drain() {
+    if (draining) {
+      return isIdle();
+    }
+
+    if (!environment.getProperty(ENABLED_KEY, Boolean.class, Boolean.TRUE)) {
+      return isIdle();
+    }
+
+    this.draining = true;
+    applicationsHealthIndicator.setDraining(true);
+
+    long timeout = environment.getProperty(TIMEOUT_KEY, Long.class, DEFAULT_TIMEOUT_SECONDS);
+    long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(timeout);
+
+    LOGGER.info("Draining {} in-flight requests, {} pending deliveries and {} pending stream "
+        + "removals", inFlight.get(), deliveryScheduler.getPendingDeliveries(),
+        exceptionHandler.getPendingRemovals());
+
+    Timer.Context context =
+        metricRegistry.timer(MetricRegistry.name(BASE_METRIC_NAME, DRAIN, DURATION)).time();
+
+    try {
+      while (!isIdle()) {
+        if (System.nanoTime() - deadline >= 0) {
+          LOGGER.warn("Drain deadline of {} seconds exceeded with {} in-flight requests, {} "
+              + "pending deliveries and {} pending stream removals", timeout, inFlight.get(),
+              deliveryScheduler.getPendingDeliveries(), exceptionHandler.getPendingRemovals());
+          return false;
+        }
+
+        try {
+          TimeUnit.MILLISECONDS.sleep(POLL_INTERVAL_MILLIS);
+        } catch (InterruptedException e) {
+          Thread.currentThread().interrupt();
+          LOGGER.warn("Drain interrupted with {} in-flight requests, {} pending deliveries and {} "
+              + "pending stream removals", inFlight.get(),
+              deliveryScheduler.getPendingDeliveries(), exceptionHandler.getPendingRemovals());
+          return false;
+        }
+      }
+
+      return true;
+    } finally {
+      long elapsed = context.stop();
+      LOGGER.info("Drain finished in {} ms", TimeUnit.NANOSECONDS.toMillis(elapsed));
+    }
+  }
+
+  private boolean isIdle() {
+    return inFlight.get() == 0 && deliveryScheduler.getPendingDeliveries() == 0
+        && exceptionHandler.getPendingRemovals() == 0;
+  }
+
+}
@@ -0,0 +1,201 @@
+/**
+ * Copyright 2016-2017 Symphony Integrations - Symphony LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.symphonyoss.integration.core.bootstrap;
+
+import static org.symphonyoss.integration.metrics.IntegrationMetricsConstants.BASE_METRIC_NAME;
+
+import com.codahale.metrics.MetricRegistry;
+import com.codahale.metrics.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+import org.symphonyoss.integration.Integration;
+import org.symphonyoss.integration.authentication.AuthenticationProxy;
+import org.symphonyoss.integration.authentication.api.jwt.JwtAuthentication;
+import org.symphonyoss.integration.service.IntegrationService;
+import org.symphonyoss.integration.warmup.CacheWarmUp;
+
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.annotation.PreDestroy;
+
+/**
+ * Warms up the caches used to serve the requests sent to an integration right after its
+ * bootstrap, so the first requests after a restart don't pay for the cold lookups.
+ *
+ * The warm-up authenticates the integration user, loads the pod certificate and the pod info used
+ * to verify the JWT tokens and pre-fetches the integration instances. Each step is independent and
+ * its failure is only logged, as the lookups are performed again on demand.
+ *
+ * The warm-up runs on its own threads. The bootstrap waits for it up to the timeout, after that
+ * the warm-up keeps running in the background and the bootstrap moves on.
+ *
+ * <pre>
+ * warm_up:
+ *   enabled: true
+ *   timeout_ms: 10000
+ * </pre>
+ */
+@Component
+public class IntegrationWarmUp {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(IntegrationWarmUp.class);
+
+  public static final String ENABLED_KEY = "warm_up.enabled";
+
+  public static final String TIMEOUT_KEY = "warm_up.timeout_ms";
+
+  public static final long DEFAULT_TIMEOUT_MILLIS = 10000;
+
+  private static final String WARM_UP = "warmUp";
+
+  private static final String THREAD_NAME_PREFIX = "warm-up-";
+
+  private static final int POOL_SIZE = 2;
+
+  @Autowired
+  private Environment environment;
+
+  @Autowired
+  private MetricRegistry metricRegistry;
+
+  @Autowired
+  private AuthenticationProxy authenticationProxy;
+
+  @Autowired
+  private JwtAuthentication jwtAuthentication;
+
+  @Qualifier("remoteIntegrationService")
+  @Autowired
+  private IntegrationService integrationService;
+
+  private final ExecutorService executor =
+      Executors.newFixedThreadPool(POOL_SIZE, new WarmUpThreadFactory());
+
+  @PreDestroy
+  public void destroy() {
+    executor.shutdownNow();
+  }
+
+  /**
+   * Warms up the caches used by the integration, waiting up to the warm-up timeout.
+   * @param integrationUser Integration user
+   * @param integration Integration
+   */
+  public void warmUp(final String integrationUser, Integration integration) {
+    if (!environment.getProperty(ENABLED_KEY, Boolean.class, Boolean.TRUE)) {
+      return;
+    }
+
+    final String configurationId = integration.getSettings().getConfigurationId();
+    long timeout = environment.getProperty(TIMEOUT_KEY, Long.class, DEFAULT_TIMEOUT_MILLIS);
+
+    Future<?> result = executor.submit(new Runnable() {
+      @Override
+      public void run() {
+        warmUp(integrationUser, configurationId);
+      }
+    });
+
+    try {
+      result.get(timeout, TimeUnit.MILLISECONDS);
+    } catch (TimeoutException e) {
+      LOGGER.warn("Warm-up of {} didn't finish in {} ms, it continues in the background",
+          integrationUser, timeout);
+    } catch (ExecutionException e) {
+      LOGGER.warn("Fail to warm up {}", integrationUser, e.getCause());
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  private void warmUp(String integrationUser, String configurationId) {
+    Timer.Context context =
+        metricRegistry.timer(MetricRegistry.name(BASE_METRIC_NAME, integrationUser, WARM_UP))
+            .time();
+
+    try {
+      authenticate(integrationUser);
+      loadPodInfo(integrationUser, configurationId);
+      prefetchInstances(integrationUser, configurationId);
+    } finally {
+      long elapsed = context.stop();
+      LOGGER.info("Warm-up of {} finished in {} ms", integrationUser,
+          TimeUnit.NANOSECONDS.toMillis(elapsed));
+    }
+  }
+
+  private void authenticate(String integrationUser) {
+    try {
+      authenticationProxy.authenticate(integrationUser);
+    } catch (RuntimeException e) {
+      LOGGER.warn("Fail to authenticate {} during the warm-up", integrationUser, e);
+    }
+  }
+
+  private void loadPodInfo(String integrationUser, String configurationId) {
+    if (!(jwtAuthentication instanceof CacheWarmUp)) {
+      return;
+    }
+
+    try {
+      ((CacheWarmUp) jwtAuthentication).warmUp(configurationId, integrationUser);
+    } catch (RuntimeException e) {
+      LOGGER.warn("Fail to load the pod certificate and pod info for {} during the warm-up",
+          integrationUser, e);
+    }
+  }
+
+  private void prefetchInstances(String integrationUser, String configurationId) {
+    if (!(integrationService instanceof CacheWarmUp)) {
+      return;
+    }
+
+    try {
+      ((CacheWarmUp) integrationService).warmUp(configurationId, integrationUser);
+    } catch (RuntimeException e) {
+      LOGGER.warn("Fail to pre-fetch the instances of {} during the warm-up", integrationUser, e);
+    }
+  }
+
+  /**
+   * Creates the daemon threads that run the warm-up.
+   */
+  private static final class WarmUpThreadFactory implements ThreadFactory {
+
+    private final AtomicInteger count = new AtomicInteger();
+
+    @Override
+    public Thread newThread(Runnable runnable) {
+      Thread thread = new Thread(runnable, THREAD_NAME_PREFIX + count.incrementAndGet());
+      thread.setDaemon(true);
+      return thread;
+    }
+
+  }
+
+}
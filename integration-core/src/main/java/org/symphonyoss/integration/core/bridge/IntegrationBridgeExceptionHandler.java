@@ -31,15 +31,18 @@ import static org.symphonyoss.integration.core.properties
     .IntegrationBridgeExceptionHandlerProperties.UNABLE_POST_STREAM;
 import static org.symphonyoss.integration.core.properties
     .IntegrationBridgeExceptionHandlerProperties.UPDATE_INSTANCE_NOTIFY;
+import static org.symphonyoss.integration.logging.DistributedTracingUtils.TRACE_ID;
 
 import com.fasterxml.jackson.databind.JsonNode;
 import org.apache.commons.lang3.StringUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.slf4j.MDC;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.stereotype.Component;
 import org.symphonyoss.integration.authentication.AuthenticationProxy;
+import org.symphonyoss.integration.core.runnable.IntegrationAbstractRunnable;
 import org.symphonyoss.integration.entity.model.User;
 import org.symphonyoss.integration.exception.ExceptionHandler;
 import org.symphonyoss.integration.exception.IntegrationRuntimeException;
@@ -57,10 +60,22 @@ import org.symphonyoss.integration.service.StreamService;
 import org.symphonyoss.integration.utils.WebHookConfigurationUtils;
 
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
 import javax.ws.rs.core.Response.Status;
 
 /**
@@ -96,6 +111,12 @@ public class IntegrationBridgeExceptionHandler extends ExceptionHandler {
 
   private static final String ROOMS = "rooms";
 
+  private static final String ROOM_NAME_SEPARATOR = ", ";
+
+  private static final char KEY_SEPARATOR = ':';
+
+  private static final String REMOVAL_THREAD_NAME = "stream-removal";
+
   @Autowired
   private AuthenticationProxy authenticationProxy;
 
@@ -114,11 +135,32 @@ public class IntegrationBridgeExceptionHandler extends ExceptionHandler {
   @Autowired
   private LogMessageSource logMessage;
 
+  /**
+   * Stream removals waiting to be applied, grouped by integration instance. Guarded by itself.
+   */
+  private final Map<String, StreamRemoval> pendingRemovals = new HashMap<>();
+
+  /**
+   * Single worker that applies the stream removals, so the instance saves never race each other.
+   */
+  private ExecutorService removalWorker =
+      Executors.newSingleThreadExecutor(new RemovalThreadFactory());
+
+  /**
+   * Number of stream removals scheduled and not yet applied
+   */
+  private final AtomicInteger pendingRemovalCount = new AtomicInteger();
+
   @PostConstruct
   public void init() {
     usersApi = new UserApiClient(podApiClient, logMessage);
   }
 
+  @PreDestroy
+  public void destroy() {
+    removalWorker.shutdown();
+  }
+
   public void handleRemoteApiException(RemoteApiException remoteException,
       IntegrationInstance instance, String integrationUser, String stream) {
     int code = remoteException.getCode();
@@ -128,7 +170,7 @@ public class IntegrationBridgeExceptionHandler extends ExceptionHandler {
     LOGGER.error(message, remoteException);
 
     if (forbiddenError(code)) {
-      updateStreams(instance, integrationUser, stream);
+      scheduleStreamRemoval(instance, integrationUser, stream);
     } else if (Status.BAD_REQUEST.equals(status)) {
       LOGGER.warn(logMessage.getMessage(INVALID_MESSAGE, stream, instance.getInstanceId()),
           remoteException);
@@ -140,30 +182,116 @@ public class IntegrationBridgeExceptionHandler extends ExceptionHandler {
   }
 
   /**
-   * Update the integration instance removing the stream. Needs to notify the instance owner.
-   * @param instance to determine the unreachable room name and provide info for the remaining process.
-   * @param integrationUser to remove the stream from the instance and to notify the instance owner.
-   * @param stream to be removed from the instance.
+   * Retrieves the number of stream removals scheduled and not yet applied, including the one being
+   * applied by the worker.
+   * @return Number of pending stream removals
+   */
+  public int getPendingRemovals() {
+    return pendingRemovalCount.get();
+  }
+
+  /**
+   * Queues the stream to be removed from the integration instance and returns immediately. The
+   * streams removed from the same instance while the worker is busy are coalesced, so they're
+   * applied in a single save and reported in a single notification. Only the instance identifiers
+   * are queued, the worker retrieves the current instance before removing the streams so it doesn't
+   * overwrite changes made after the message was posted.
+   * @param instance Integration instance
+   * @param integrationUser Integration user
+   * @param stream Stream to be removed from the instance
+   */
+  private void scheduleStreamRemoval(IntegrationInstance instance, String integrationUser,
+      String stream) {
+    final String key = integrationUser + KEY_SEPARATOR + instance.getConfigurationId()
+        + KEY_SEPARATOR + instance.getInstanceId();
+    boolean schedule = false;
+
+    synchronized (pendingRemovals) {
+      StreamRemoval removal = pendingRemovals.get(key);
+
+      if (removal == null) {
+        removal = new StreamRemoval(instance.getConfigurationId(), instance.getInstanceId(),
+            integrationUser);
+        pendingRemovals.put(key, removal);
+        schedule = true;
+      }
+
+      removal.streams.add(stream);
+    }
+
+    if (schedule) {
+      pendingRemovalCount.incrementAndGet();
+
+      try {
+        removalWorker.execute(new IntegrationAbstractRunnable(MDC.get(TRACE_ID)) {
+          @Override
+          protected void execute() {
+            StreamRemoval removal;
+
+            synchronized (pendingRemovals) {
+              removal = pendingRemovals.remove(key);
+            }
+
+            try {
+              applyRemoval(removal);
+            } finally {
+              pendingRemovalCount.decrementAndGet();
+            }
+          }
+        });
+      } catch (RejectedExecutionException e) {
+        pendingRemovalCount.decrementAndGet();
+        throw e;
+      }
+    }
+  }
+
+  /**
+   * Retrieves the current integration instance and removes the queued streams from it.
+   * @param removal Streams to be removed from the instance
    */
-  private void updateStreams(IntegrationInstance instance, String integrationUser, String stream) {
+  private void applyRemoval(StreamRemoval removal) {
+    IntegrationInstance instance;
+
     try {
-      String roomName = StringUtils.EMPTY;
+      instance = integrationService.getInstanceById(removal.configurationId, removal.instanceId,
+          removal.integrationUser);
+    } catch (IntegrationRuntimeException e) {
+      String solution = logMessage.getMessage(FAIL_UPDATE_STREAM_SOLUTION);
+      LOGGER.error(logMessage.getMessage(FAIL_UPDATE_STREAM), e, solution);
+      return;
+    }
+
+    updateStreams(instance, removal.integrationUser, removal.streams);
+  }
+
+  /**
+   * Update the integration instance removing the streams. Needs to notify the instance owner.
+   * @param instance to determine the unreachable room names and provide info for the remaining process.
+   * @param integrationUser to remove the streams from the instance and to notify the instance owner.
+   * @param streams to be removed from the instance.
+   */
+  private void updateStreams(IntegrationInstance instance, String integrationUser,
+      Set<String> streams) {
+    try {
+      Map<String, String> roomNames = new LinkedHashMap<>();
       Iterator<JsonNode> rooms =
           WebHookConfigurationUtils.fromJsonString(instance.getOptionalProperties())
               .path(ROOMS)
               .iterator();
       while (rooms.hasNext()) {
         JsonNode room = rooms.next();
-        // removes url unsafe chars from the streamId field, so it can be compared to the stream
+        // removes url unsafe chars from the streamId field, so it can be compared to the streams
         // being processed
         String roomStream = room.path(STREAM_ID).asText().replaceAll("/", "_").replace("==", "");
-        if (stream.equals(roomStream)) {
-          roomName = room.path(ROOM_NAME).asText();
-          break;
+        if (streams.contains(roomStream)) {
+          roomNames.put(roomStream, room.path(ROOM_NAME).asText());
         }
       }
 
-      removeStreamFromInstance(instance, integrationUser, stream);
+      String roomName = StringUtils.join(roomNames.values(), ROOM_NAME_SEPARATOR);
+
+      removeStreamsFromInstance(instance, integrationUser, streams);
       notifyInstanceOwner(instance, integrationUser, roomName);
     } catch (IntegrationRuntimeException | IOException e) {
       String solution = logMessage.getMessage(FAIL_UPDATE_STREAM_SOLUTION);
@@ -172,19 +300,19 @@ public class IntegrationBridgeExceptionHandler extends ExceptionHandler {
   }
 
   /**
-   * Remove stream from instance
+   * Remove streams from instance
    * @param instance Integration instance
    * @param integrationUser Integration user
-   * @param stream Stream that will be removed
+   * @param removedStreams Streams that will be removed
    * @throws IntegrationConfigException Reports failure to save the configuration instance
    * @throws IOException Reports failure to read or write the JSON nodes
    */
-  private void removeStreamFromInstance(IntegrationInstance instance, String integrationUser,
-      String stream) throws IOException {
+  private void removeStreamsFromInstance(IntegrationInstance instance, String integrationUser,
+      Set<String> removedStreams) throws IOException {
     String optionalProperties = instance.getOptionalProperties();
 
-    List<String> streams = streamService.getStreams(instance);
-    streams.remove(stream);
+    List<String> streams = new ArrayList<>(streamService.getStreams(instance));
+    streams.removeAll(removedStreams);
 
     JsonNode optionalPropertiesNode =
         WebHookConfigurationUtils.setStreams(optionalProperties, streams);
@@ -244,4 +372,39 @@ public class IntegrationBridgeExceptionHandler extends ExceptionHandler {
     streamService.postMessage(integrationUser, im, messageSubmission);
     LOGGER.info(logMessage.getMessage(UPDATE_INSTANCE_NOTIFY));
   }
+
+  /**
+   * Streams removed from the same integration instance waiting to be applied.
+   */
+  private static class StreamRemoval {
+
+    private final String configurationId;
+
+    private final String instanceId;
+
+    private final String integrationUser;
+
+    private final Set<String> streams = new LinkedHashSet<>();
+
+    StreamRemoval(String configurationId, String instanceId, String integrationUser) {
+      this.configurationId = configurationId;
+      this.instanceId = instanceId;
+      this.integrationUser = integrationUser;
+    }
+
+  }
+
+  /**
+   * Creates the daemon thread used to apply the stream removals.
+   */
+  private static final class RemovalThreadFactory implements ThreadFactory {
+
+    @Override
+    public Thread newThread(Runnable runnable) {
+      Thread thread = new Thread(runnable, REMOVAL_THREAD_NAME);
+      thread.setDaemon(true);
+      return thread;
+    }
+
+  }
 }
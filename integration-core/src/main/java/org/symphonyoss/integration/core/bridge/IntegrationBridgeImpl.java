@@ -34,6 +34,10 @@ import org.springframework.stereotype.Component;
 import org.symphonyoss.integration.Integration;
 import org.symphonyoss.integration.authentication.AuthenticationProxy;
 import org.symphonyoss.integration.core.bootstrap.IntegrationBootstrapContext;
+import org.symphonyoss.integration.core.delivery.DeliveryLanes;
+import org.symphonyoss.integration.core.delivery.DeliveryScheduler;
+import org.symphonyoss.integration.core.trace.RequestSpan;
+import org.symphonyoss.integration.core.trace.StageTracingUtils;
 import org.symphonyoss.integration.exception.RemoteApiException;
 import org.symphonyoss.integration.exception.authentication.ConnectivityException;
 import org.symphonyoss.integration.logging.LogMessageSource;
@@ -44,6 +48,7 @@ import org.symphonyoss.integration.service.StreamService;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.Callable;
 
 import javax.ws.rs.ProcessingException;
 import javax.ws.rs.core.Response;
@@ -65,6 +70,9 @@ public class IntegrationBridgeImpl implements IntegrationBridge {
   @Autowired
   private IntegrationBridgeExceptionHandler exceptionHandler;
 
+  @Autowired
+  private DeliveryLanes deliveryLanes;
+
   @Autowired
   private LogMessageSource logMessage;
 
@@ -158,17 +166,36 @@ public class IntegrationBridgeImpl implements IntegrationBridge {
   }
 
   /**
-   * Sends a message to a specific stream using {@link AuthenticationProxy}.
+   * Sends a message to a specific stream using {@link AuthenticationProxy}. The message is queued
+   * in the stream lane to keep the posting order, and the lanes share the Agent fairly among the
+   * integrations through the {@link DeliveryScheduler}.
    * @param integrationUser the user of integration
    * @param stream the stream identifier.
    * @param message the actual message. It's expected to be already on proper format.
    * @return Response message
    * @throws RemoteApiException
    */
-  private Message postMessage(String integrationUser, String stream, Message message)
-      throws RemoteApiException {
-    Message messageResponse = streamService.postMessage(integrationUser, stream, message);
-    LOGGER.info(logMessage.getMessage(USER_POSTED_MESSAGE,integrationUser, stream));
+  private Message postMessage(final String integrationUser, final String stream,
+      final Message message) throws RemoteApiException {
+    final RequestSpan span = StageTracingUtils.currentSpan();
+
+    Message messageResponse = deliveryLanes.execute(integrationUser, stream,
+        new Callable<Message>() {
+          @Override
+          public Message call() throws Exception {
+            StageTracingUtils.attach(span);
+
+            try {
+              return streamService.postMessage(integrationUser, stream, message);
+            } finally {
+              StageTracingUtils.detach();
+            }
+          }
+        });
+
+    if (LOGGER.isDebugEnabled()) {
+      LOGGER.debug(logMessage.getMessage(USER_POSTED_MESSAGE, integrationUser, stream));
+    }
 
     return messageResponse;
   }
@@ -38,6 +38,11 @@ import org.symphonyoss.integration.agent.api.client.V2MessageApiClient;
 import org.symphonyoss.integration.agent.api.client.V4MessageApiClient;
 import org.symphonyoss.integration.authentication.AuthenticationProxy;
 import org.symphonyoss.integration.authentication.AuthenticationToken;
+import org.symphonyoss.integration.core.jfr.CoreEvents;
+import org.symphonyoss.integration.core.jfr.MessagePostEvent;
+import org.symphonyoss.integration.core.trace.ProcessingStage;
+import org.symphonyoss.integration.core.trace.StageContext;
+import org.symphonyoss.integration.core.trace.StageTracingUtils;
 import org.symphonyoss.integration.exception.RemoteApiException;
 import org.symphonyoss.integration.healthcheck.event.ServiceVersionUpdatedEventData;
 import org.symphonyoss.integration.logging.LogMessageSource;
@@ -118,11 +123,15 @@ public class StreamServiceImpl implements StreamService {
 
   @Override
   public List<String> getStreams(String optionalProperties) {
+    StageContext stage = StageTracingUtils.startStage(ProcessingStage.GET_STREAMS);
+
     try {
       return WebHookConfigurationUtils.getStreams(optionalProperties);
     } catch (IOException e) {
       LOG.warn(logMessage.getMessage(ERROR_GET_STREAM_JSON,optionalProperties), e, ERROR_GET_STREAM_JSON_SOLUTION);
       return Collections.emptyList();
+    } finally {
+      StageTracingUtils.finishStage(stage);
     }
   }
 
@@ -139,7 +148,14 @@ public class StreamServiceImpl implements StreamService {
   @Override
   public Message postMessage(String integrationUser, String stream, Message messageSubmission)
       throws RemoteApiException {
-    AuthenticationToken authToken = authenticationProxy.getToken(integrationUser);
+    StageContext tokenStage = StageTracingUtils.startStage(ProcessingStage.GET_TOKEN);
+    AuthenticationToken authToken;
+
+    try {
+      authToken = authenticationProxy.getToken(integrationUser);
+    } finally {
+      StageTracingUtils.finishStage(tokenStage);
+    }
 
     String sessionToken = authToken.getSessionToken();
     String keyManagerToken = authToken.getKeyManagerToken();
@@ -147,7 +163,28 @@ public class StreamServiceImpl implements StreamService {
     MessageApiClient messageApi = apiResolver.get(messageSubmission.getVersion());
 
     // Post Message using Message API
-    return messageApi.postMessage(sessionToken, keyManagerToken, stream, messageSubmission);
+    StageContext postStage = StageTracingUtils.startStage(ProcessingStage.POST_MESSAGE);
+
+    MessagePostEvent event = CoreEvents.newMessagePostEvent();
+    event.begin();
+
+    boolean success = false;
+
+    try {
+      Message message =
+          messageApi.postMessage(sessionToken, keyManagerToken, stream, messageSubmission);
+      success = true;
+      return message;
+    } finally {
+      event.end();
+
+      if (event.shouldCommit()) {
+        event.commit(integrationUser, stream, String.valueOf(messageSubmission.getVersion()),
+            success);
+      }
+
+      StageTracingUtils.finishStage(postStage);
+    }
   }
 
   @Override
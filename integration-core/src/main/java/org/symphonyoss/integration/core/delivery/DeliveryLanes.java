@@ -0,0 +1,302 @@
+/**
+ * Copyright 2016-2017 Symphony Integrations - Symphony LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.symphonyoss.integration.core.delivery;
+
+import static org.symphonyoss.integration.core.properties.DeliveryLanesProperties.LANE_FULL;
+import static org.symphonyoss.integration.core.properties.DeliveryLanesProperties
+    .LANE_FULL_SOLUTION;
+import static org.symphonyoss.integration.logging.DistributedTracingUtils.TRACE_ID;
+import static org.symphonyoss.integration.metrics.IntegrationMetricsConstants.BASE_METRIC_NAME;
+
+import com.codahale.metrics.Gauge;
+import com.codahale.metrics.MetricRegistry;
+import org.slf4j.MDC;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+import org.symphonyoss.integration.exception.RemoteApiException;
+import org.symphonyoss.integration.logging.LogMessageSource;
+
+import java.util.ArrayDeque;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.FutureTask;
+
+import javax.annotation.PostConstruct;
+import javax.ws.rs.core.Response;
+
+/**
+ * Keeps the order of the messages posted to the same stream.
+ *
+ * Each pair (integration user, stream) is mapped to a serial lane: a lane hands a single delivery
+ * at a time to the {@link DeliveryScheduler}, so deliveries to different streams still run in
+ * parallel on the shared workers while the ones to the same stream are performed in arrival
+ * order. Lanes are created on demand and reclaimed as soon as they become idle.
+ *
+ * A lane holding the maximum number of pending deliveries rejects the new ones with HTTP 503, so
+ * the senders back off instead of piling up threads waiting for a slow stream.
+ *
+ * <pre>
+ * delivery_lanes:
+ *   max_depth: 100
+ * </pre>
+ */
+@Component
+public class DeliveryLanes {
+
+  public static final String MAX_DEPTH_KEY = "delivery_lanes.max_depth";
+
+  public static final int DEFAULT_MAX_DEPTH = 100;
+
+  public static final String ACTIVE_LANES = BASE_METRIC_NAME + ".delivery.activeLanes";
+
+  private static final String DELIVERY = "delivery";
+
+  private static final String REJECTED = "laneRejected";
+
+  @Autowired
+  private Environment environment;
+
+  @Autowired
+  private MetricRegistry metricRegistry;
+
+  @Autowired
+  private LogMessageSource logMessage;
+
+  @Autowired
+  private DeliveryScheduler scheduler;
+
+  /**
+   * Active lanes. The lanes and their queues are guarded by this map.
+   */
+  private final Map<LaneKey, Lane> lanes = new HashMap<>();
+
+  private int maxDepth;
+
+  @PostConstruct
+  public void init() {
+    int depth = environment.getProperty(MAX_DEPTH_KEY, Integer.class, DEFAULT_MAX_DEPTH);
+    this.maxDepth = depth > 0 ? depth : DEFAULT_MAX_DEPTH;
+
+    if (!metricRegistry.getGauges().containsKey(ACTIVE_LANES)) {
+      metricRegistry.register(ACTIVE_LANES, new Gauge<Integer>() {
+        @Override
+        public Integer getValue() {
+          return getActiveLanes();
+        }
+      });
+    }
+  }
+
+  /**
+   * Submits a delivery to the stream lane and waits for its completion.
+   * @param integrationUser Integration user
+   * @param stream Stream identifier
+   * @param delivery Delivery to be performed
+   * @return Delivery result
+   * @throws RemoteApiException Lane is full or failure to perform the delivery
+   */
+  public <T> T execute(String integrationUser, String stream, Callable<T> delivery)
+      throws RemoteApiException {
+    LaneTask<T> task = new LaneTask<>(delivery, MDC.get(TRACE_ID));
+
+    LaneKey key = new LaneKey(integrationUser, stream);
+    Lane lane;
+    boolean dispatch;
+
+    synchronized (lanes) {
+      lane = lanes.get(key);
+
+      if (lane == null) {
+        lane = new Lane(key);
+        lanes.put(key, lane);
+      }
+
+      if (lane.pending.size() >= maxDepth) {
+        metricRegistry.meter(MetricRegistry.name(BASE_METRIC_NAME, integrationUser, DELIVERY,
+            REJECTED)).mark();
+
+        int code = Response.Status.SERVICE_UNAVAILABLE.getStatusCode();
+        String message = logMessage.getMessage(LANE_FULL, stream, integrationUser,
+            String.valueOf(maxDepth));
+        String solution = logMessage.getMessage(LANE_FULL_SOLUTION);
+        throw new RemoteApiException(code, message, solution);
+      }
+
+      lane.pending.add(task);
+      dispatch = !lane.running;
+      lane.running = true;
+    }
+
+    if (dispatch) {
+      dispatchNext(lane);
+    }
+
+    return scheduler.await(integrationUser, task);
+  }
+
+  /**
+   * Retrieves the number of lanes holding pending deliveries.
+   * @return Number of active lanes
+   */
+  public int getActiveLanes() {
+    synchronized (lanes) {
+      return lanes.size();
+    }
+  }
+
+  /**
+   * Retrieves the number of deliveries waiting in the stream lane, including the one in progress.
+   * @param integrationUser Integration user
+   * @param stream Stream identifier
+   * @return Lane depth
+   */
+  public int getDepth(String integrationUser, String stream) {
+    synchronized (lanes) {
+      Lane lane = lanes.get(new LaneKey(integrationUser, stream));
+      return lane == null ? 0 : lane.pending.size();
+    }
+  }
+
+  /**
+   * Hands the head of the lane to the scheduler. The lane is reclaimed when it has nothing else
+   * to deliver. If the scheduler refuses the head, it fails and the lane moves on to the next one,
+   * so the later deliveries aren't stuck behind it.
+   * @param lane Stream lane
+   */
+  private void dispatchNext(final Lane lane) {
+    final LaneTask<?> task;
+
+    synchronized (lanes) {
+      task = lane.pending.peek();
+
+      if (task == null) {
+        lane.running = false;
+        lanes.remove(lane.key);
+        return;
+      }
+    }
+
+    try {
+      scheduler.submit(lane.key.integrationUser, task.parentTraceId, new Callable<Void>() {
+        @Override
+        public Void call() throws Exception {
+          try {
+            task.run();
+          } finally {
+            completeHead(lane);
+          }
+
+          return null;
+        }
+      });
+    } catch (RemoteApiException | RuntimeException e) {
+      task.fail(e);
+      completeHead(lane);
+    }
+  }
+
+  /**
+   * Removes the head of the lane and dispatches the next delivery.
+   * @param lane Stream lane
+   */
+  private void completeHead(Lane lane) {
+    synchronized (lanes) {
+      lane.pending.poll();
+    }
+
+    dispatchNext(lane);
+  }
+
+  /**
+   * Serial queue of a single stream.
+   */
+  private static class Lane {
+
+    private final LaneKey key;
+
+    private final Queue<LaneTask<?>> pending = new ArrayDeque<>();
+
+    private boolean running;
+
+    Lane(LaneKey key) {
+      this.key = key;
+    }
+
+  }
+
+  /**
+   * Delivery waiting in a lane. Keeps the trace id of the thread that requested it, since it's
+   * handed to the scheduler by the worker that performed the previous delivery.
+   */
+  private static class LaneTask<T> extends FutureTask<T> {
+
+    private final String parentTraceId;
+
+    LaneTask(Callable<T> callable, String parentTraceId) {
+      super(callable);
+      this.parentTraceId = parentTraceId;
+    }
+
+    /**
+     * Completes the delivery with a failure, releasing the thread waiting for it.
+     * @param cause Failure cause
+     */
+    void fail(Throwable cause) {
+      setException(cause);
+    }
+
+  }
+
+  /**
+   * Lane identifier.
+   */
+  private static final class LaneKey {
+
+    private final String integrationUser;
+
+    private final String stream;
+
+    LaneKey(String integrationUser, String stream) {
+      this.integrationUser = integrationUser;
+      this.stream = stream;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      if (this == o) {
+        return true;
+      }
+
+      if (o == null || getClass() != o.getClass()) {
+        return false;
+      }
+
+      LaneKey other = (LaneKey) o;
+      return integrationUser.equals(other.integrationUser) && stream.equals(other.stream);
+    }
+
+    @Override
+    public int hashCode() {
+      return 31 * integrationUser.hashCode() + stream.hashCode();
+    }
+
+  }
+
+}
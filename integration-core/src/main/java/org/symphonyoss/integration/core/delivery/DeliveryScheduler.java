@@ -0,0 +1,402 @@
+/**
+ * Copyright 2016-2017 Symphony Integrations - Symphony LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.symphonyoss.integration.core.delivery;
+
+import static org.symphonyoss.integration.core.properties.DeliverySchedulerProperties
+    .DELIVERY_INTERRUPTED;
+import static org.symphonyoss.integration.core.properties.DeliverySchedulerProperties
+    .DELIVERY_INTERRUPTED_SOLUTION;
+import static org.symphonyoss.integration.core.properties.DeliverySchedulerProperties
+    .DELIVERY_REJECTED;
+import static org.symphonyoss.integration.core.properties.DeliverySchedulerProperties
+    .DELIVERY_REJECTED_SOLUTION;
+import static org.symphonyoss.integration.core.properties.DeliverySchedulerProperties
+    .DELIVERY_TIMEOUT;
+import static org.symphonyoss.integration.core.properties.DeliverySchedulerProperties
+    .DELIVERY_TIMEOUT_SOLUTION;
+import static org.symphonyoss.integration.logging.DistributedTracingUtils.TRACE_ID;
+import static org.symphonyoss.integration.metrics.IntegrationMetricsConstants.BASE_METRIC_NAME;
+
+import com.codahale.metrics.Gauge;
+import com.codahale.metrics.MetricRegistry;
+import com.codahale.metrics.Timer;
+import org.slf4j.MDC;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+import org.symphonyoss.integration.core.runnable.IntegrationAbstractRunnable;
+import org.symphonyoss.integration.exception.RemoteApiException;
+import org.symphonyoss.integration.logging.LogMessageSource;
+
+import java.util.PriorityQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import javax.ws.rs.core.Response;
+
+/**
+ * Schedules the outbound deliveries of all the integrations using weighted fair queuing.
+ *
+ * Each integration has its own logical queue and every delivery receives a virtual finish tag
+ * based on the integration weight. A bounded pool of workers always dispatches the pending delivery
+ * with the smallest finish tag, so a burst from a high-volume integration can't starve the quiet
+ * ones.
+ *
+ * The ordering only takes effect when the deliveries queue up, so the pool must be smaller than the
+ * number of servlet container threads (200 by default). The default pool size matches the initial
+ * concurrency limit of the webhook requests, the number of concurrent posts the Agent is expected
+ * to sustain. A bigger pool reduces the queueing delay under bursts but lets a noisy integration
+ * take over the Agent again, while a smaller one makes the callers wait longer and may exceed the
+ * await timeout. Idle workers are released.
+ *
+ * The weights are configured per application through the YAML file:
+ *
+ * <pre>
+ * delivery_scheduler:
+ *   pool_size: 20
+ *   await_timeout_seconds: 60
+ *   weights:
+ *     jiraWebHookIntegration: 2
+ * </pre>
+ */
+@Component
+public class DeliveryScheduler {
+
+  public static final String POOL_SIZE_KEY = "delivery_scheduler.pool_size";
+
+  public static final String AWAIT_TIMEOUT_KEY = "delivery_scheduler.await_timeout_seconds";
+
+  public static final String WEIGHTS_KEY = "delivery_scheduler.weights.";
+
+  public static final int DEFAULT_POOL_SIZE = 20;
+
+  public static final long DEFAULT_AWAIT_TIMEOUT_SECONDS = 60;
+
+  private static final long WORKER_KEEP_ALIVE_SECONDS = 60;
+
+  public static final int DEFAULT_WEIGHT = 1;
+
+  private static final String DELIVERY = "delivery";
+
+  private static final String QUEUE_DEPTH = "queueDepth";
+
+  private static final String QUEUE_LATENCY = "queueLatency";
+
+  private static final String COMPONENT = "Delivery Scheduler";
+
+  @Autowired
+  private Environment environment;
+
+  @Autowired
+  private MetricRegistry metricRegistry;
+
+  @Autowired
+  private LogMessageSource logMessage;
+
+  /**
+   * Pending deliveries ordered by virtual finish tag
+   */
+  private final PriorityQueue<DeliveryTask<?>> pending = new PriorityQueue<>();
+
+  /**
+   * Per-integration queue state
+   */
+  private final ConcurrentMap<String, IntegrationQueue> queues = new ConcurrentHashMap<>();
+
+  /**
+   * Virtual time of the scheduler. It's the start tag of the last dispatched delivery.
+   */
+  private double virtualTime;
+
+  private long sequence;
+
+  /**
+   * Number of deliveries being performed by the workers
+   */
+  private final AtomicInteger running = new AtomicInteger();
+
+  private ThreadPoolExecutor workers;
+
+  private long awaitTimeout;
+
+  @PostConstruct
+  public void init() {
+    int poolSize = environment.getProperty(POOL_SIZE_KEY, Integer.class, DEFAULT_POOL_SIZE);
+    this.awaitTimeout = environment.getProperty(AWAIT_TIMEOUT_KEY, Long.class,
+        DEFAULT_AWAIT_TIMEOUT_SECONDS);
+
+    this.workers = new ThreadPoolExecutor(poolSize, poolSize, WORKER_KEEP_ALIVE_SECONDS,
+        TimeUnit.SECONDS, new LinkedBlockingQueue<Runnable>());
+    this.workers.allowCoreThreadTimeOut(true);
+  }
+
+  @PreDestroy
+  public void destroy() {
+    this.workers.shutdown();
+  }
+
+  /**
+   * Submits a delivery to the integration queue and waits for its completion.
+   * @param integrationUser Integration user
+   * @param delivery Delivery to be performed
+   * @return Delivery result
+   * @throws RemoteApiException Report failure to perform the delivery
+   */
+  public <T> T execute(String integrationUser, Callable<T> delivery) throws RemoteApiException {
+    DeliveryTask<T> task = submit(integrationUser, delivery);
+    return await(integrationUser, task);
+  }
+
+  /**
+   * Waits for the completion of a pending delivery up to the configured timeout. The delivery is
+   * cancelled if it doesn't complete in time.
+   * @param integrationUser Integration user
+   * @param task Pending delivery
+   * @return Delivery result
+   * @throws RemoteApiException Report failure to perform the delivery
+   */
+  <T> T await(String integrationUser, Future<T> task) throws RemoteApiException {
+    try {
+      return task.get(awaitTimeout, TimeUnit.SECONDS);
+    } catch (TimeoutException e) {
+      task.cancel(false);
+
+      int code = Response.Status.SERVICE_UNAVAILABLE.getStatusCode();
+      String message = logMessage.getMessage(DELIVERY_TIMEOUT, integrationUser,
+          String.valueOf(awaitTimeout));
+      String solution = logMessage.getMessage(DELIVERY_TIMEOUT_SOLUTION);
+      throw new RemoteApiException(code, message, solution);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      task.cancel(false);
+
+      int code = Response.Status.SERVICE_UNAVAILABLE.getStatusCode();
+      String message = logMessage.getMessage(DELIVERY_INTERRUPTED, integrationUser);
+      String solution = logMessage.getMessage(DELIVERY_INTERRUPTED_SOLUTION);
+      throw new RemoteApiException(code, message, solution);
+    } catch (ExecutionException e) {
+      Throwable cause = e.getCause();
+
+      if (cause instanceof RemoteApiException) {
+        throw (RemoteApiException) cause;
+      } else if (cause instanceof RuntimeException) {
+        throw (RuntimeException) cause;
+      } else if (cause instanceof Error) {
+        throw (Error) cause;
+      }
+
+      throw new IllegalStateException(COMPONENT, cause);
+    }
+  }
+
+  /**
+   * Enqueues a delivery computing its virtual start and finish tags.
+   * @param integrationUser Integration user
+   * @param delivery Delivery to be performed
+   * @return Pending delivery
+   * @throws RemoteApiException The scheduler is no longer accepting deliveries
+   */
+  public <T> DeliveryTask<T> submit(String integrationUser, Callable<T> delivery)
+      throws RemoteApiException {
+    return submit(integrationUser, MDC.get(TRACE_ID), delivery);
+  }
+
+  /**
+   * Enqueues a delivery on behalf of another thread, keeping its trace id.
+   * @param integrationUser Integration user
+   * @param parentTraceId Trace id of the thread that requested the delivery
+   * @param delivery Delivery to be performed
+   * @return Pending delivery
+   * @throws RemoteApiException The scheduler is no longer accepting deliveries
+   */
+  public <T> DeliveryTask<T> submit(String integrationUser, String parentTraceId,
+      Callable<T> delivery) throws RemoteApiException {
+    IntegrationQueue queue = getQueue(integrationUser);
+
+    synchronized (pending) {
+      double lastFinishTag = queue.lastFinishTag;
+      double startTag = Math.max(virtualTime, lastFinishTag);
+      double finishTag = startTag + 1.0 / queue.weight;
+
+      DeliveryTask<T> task = new DeliveryTask<>(integrationUser, parentTraceId, delivery, startTag,
+          finishTag, sequence++);
+
+      pending.offer(task);
+      queue.depth.incrementAndGet();
+      queue.lastFinishTag = finishTag;
+
+      try {
+        workers.execute(new DispatchRunnable());
+      } catch (RejectedExecutionException e) {
+        pending.remove(task);
+        queue.depth.decrementAndGet();
+        queue.lastFinishTag = lastFinishTag;
+
+        int code = Response.Status.SERVICE_UNAVAILABLE.getStatusCode();
+        String message = logMessage.getMessage(DELIVERY_REJECTED, integrationUser);
+        String solution = logMessage.getMessage(DELIVERY_REJECTED_SOLUTION);
+        throw new RemoteApiException(code, message, solution);
+      }
+
+      return task;
+    }
+  }
+
+  /**
+   * Retrieves the number of pending deliveries for the integration.
+   * @param integrationUser Integration user
+   * @return Number of pending deliveries
+   */
+  public int getQueueDepth(String integrationUser) {
+    IntegrationQueue queue = queues.get(integrationUser);
+    return queue == null ? 0 : queue.depth.get();
+  }
+
+  /**
+   * Retrieves the number of deliveries waiting for a worker or being performed, considering all
+   * the integrations.
+   * @return Number of pending deliveries
+   */
+  public int getPendingDeliveries() {
+    synchronized (pending) {
+      return pending.size() + running.get();
+    }
+  }
+
+  /**
+   * Retrieves the weight configured to the integration.
+   * @param integrationUser Integration user
+   * @return Integration weight
+   */
+  public int getWeight(String integrationUser) {
+    return getQueue(integrationUser).weight;
+  }
+
+  private IntegrationQueue getQueue(String integrationUser) {
+    IntegrationQueue queue = queues.get(integrationUser);
+
+    if (queue == null) {
+      IntegrationQueue newQueue = new IntegrationQueue(integrationUser);
+      queue = queues.putIfAbsent(integrationUser, newQueue);
+
+      if (queue == null) {
+        queue = newQueue;
+        registerMetrics(newQueue);
+      }
+    }
+
+    return queue;
+  }
+
+  private void registerMetrics(final IntegrationQueue queue) {
+    String depthName = MetricRegistry.name(BASE_METRIC_NAME, queue.integrationUser, DELIVERY,
+        QUEUE_DEPTH);
+
+    if (!metricRegistry.getGauges().containsKey(depthName)) {
+      metricRegistry.register(depthName, new Gauge<Integer>() {
+        @Override
+        public Integer getValue() {
+          return queue.depth.get();
+        }
+      });
+    }
+  }
+
+  private int readWeight(String integrationUser) {
+    int weight = environment.getProperty(WEIGHTS_KEY + integrationUser, Integer.class,
+        DEFAULT_WEIGHT);
+    return weight > 0 ? weight : DEFAULT_WEIGHT;
+  }
+
+  /**
+   * Logical queue of a single integration.
+   */
+  private class IntegrationQueue {
+
+    private final String integrationUser;
+
+    private final int weight;
+
+    private final AtomicInteger depth = new AtomicInteger();
+
+    private final Timer latency;
+
+    /**
+     * Finish tag of the last delivery enqueued for this integration. Guarded by the pending queue.
+     */
+    private double lastFinishTag;
+
+    IntegrationQueue(String integrationUser) {
+      this.integrationUser = integrationUser;
+      this.weight = readWeight(integrationUser);
+      this.latency = metricRegistry.timer(
+          MetricRegistry.name(BASE_METRIC_NAME, integrationUser, DELIVERY, QUEUE_LATENCY));
+    }
+
+  }
+
+  /**
+   * Worker step. Every submission schedules one of these, which dispatches the pending delivery
+   * with the smallest finish tag, not necessarily the one that scheduled it.
+   */
+  private class DispatchRunnable implements Runnable {
+
+    @Override
+    public void run() {
+      final DeliveryTask<?> task;
+
+      synchronized (pending) {
+        task = pending.poll();
+
+        if (task == null) {
+          return;
+        }
+
+        virtualTime = task.getStartTag();
+        running.incrementAndGet();
+      }
+
+      IntegrationQueue queue = queues.get(task.getIntegrationUser());
+      queue.depth.decrementAndGet();
+      queue.latency.update(System.nanoTime() - task.getEnqueuedAt(), TimeUnit.NANOSECONDS);
+
+      try {
+        new IntegrationAbstractRunnable(task.getParentTraceId()) {
+          @Override
+          protected void execute() {
+            task.run();
+          }
+        }.run();
+      } finally {
+        running.decrementAndGet();
+      }
+    }
+
+  }
+
+}
@@ -0,0 +1,86 @@
+/**
+ * Copyright 2016-2017 Symphony Integrations - Symphony LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.symphonyoss.integration.core.delivery;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.FutureTask;
+
+/**
+ * Outbound delivery waiting in the {@link DeliveryScheduler}. Holds the virtual finish tag used to
+ * order the deliveries across the integration queues.
+ */
+public class DeliveryTask<T> extends FutureTask<T> implements Comparable<DeliveryTask<?>> {
+
+  private final String integrationUser;
+
+  private final String parentTraceId;
+
+  private final double startTag;
+
+  private final double finishTag;
+
+  private final long sequence;
+
+  private final long enqueuedAt;
+
+  public DeliveryTask(String integrationUser, String parentTraceId, Callable<T> callable,
+      double startTag, double finishTag, long sequence) {
+    super(callable);
+    this.integrationUser = integrationUser;
+    this.parentTraceId = parentTraceId;
+    this.startTag = startTag;
+    this.finishTag = finishTag;
+    this.sequence = sequence;
+    this.enqueuedAt = System.nanoTime();
+  }
+
+  public String getIntegrationUser() {
+    return integrationUser;
+  }
+
+  public String getParentTraceId() {
+    return parentTraceId;
+  }
+
+  public double getStartTag() {
+    return startTag;
+  }
+
+  public double getFinishTag() {
+    return finishTag;
+  }
+
+  public long getEnqueuedAt() {
+    return enqueuedAt;
+  }
+
+  /**
+   * Smallest finish tag goes first. Ties are broken by arrival order to keep FIFO semantics inside
+   * the same integration queue.
+   */
+  @Override
+  public int compareTo(DeliveryTask<?> other) {
+    int result = Double.compare(finishTag, other.finishTag);
+
+    if (result == 0) {
+      result = Long.compare(sequence, other.sequence);
+    }
+
+    return result;
+  }
+
+}
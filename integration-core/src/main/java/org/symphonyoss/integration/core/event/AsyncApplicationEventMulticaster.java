@@ -0,0 +1,373 @@
+/**
+ * Copyright 2016-2017 Symphony Integrations - Symphony LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.symphonyoss.integration.core.event;
+
+import static org.symphonyoss.integration.logging.DistributedTracingUtils.TRACE_ID;
+import static org.symphonyoss.integration.metrics.IntegrationMetricsConstants.BASE_METRIC_NAME;
+
+import com.codahale.metrics.MetricRegistry;
+import com.codahale.metrics.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.slf4j.MDC;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEvent;
+import org.springframework.context.PayloadApplicationEvent;
+import org.springframework.context.event.SimpleApplicationEventMulticaster;
+import org.springframework.context.support.AbstractApplicationContext;
+import org.springframework.core.ResolvableType;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+import org.symphonyoss.integration.core.runnable.IntegrationAbstractRunnable;
+import org.symphonyoss.integration.event.HealthCheckEventData;
+
+import java.util.Collections;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+
+/**
+ * Delivers the Integration Bridge events to their listeners asynchronously, so the threads that
+ * publish the events (e.g. the schedulers used by the bootstrap process) never wait for a listener
+ * performing remote calls.
+ *
+ * The events published as plain objects, like {@code HealthCheckEventData}, are dispatched on a
+ * bounded executor dedicated to the event type. Spring application events, like the context
+ * lifecycle events, are still delivered synchronously.
+ *
+ * Only the event types with a {@link MergeKey} are idempotent, like the health check requests. An
+ * event with the same merge key as another one still waiting to be dispatched is merged into it,
+ * so repeated requests (e.g. health checks for the same service) don't pile up, and the events
+ * that don't fit in the queue of their type are dropped. Every other event changes the state of
+ * its listeners (e.g. service and MessageML version updates), so it's never merged and runs on the
+ * caller thread when the queue of its type is full.
+ *
+ * <pre>
+ * event_dispatcher:
+ *   pool_size: 1
+ *   queue_size: 1000
+ * </pre>
+ */
+@Component(AbstractApplicationContext.APPLICATION_EVENT_MULTICASTER_BEAN_NAME)
+public class AsyncApplicationEventMulticaster extends SimpleApplicationEventMulticaster {
+
+  private static final Logger LOGGER =
+      LoggerFactory.getLogger(AsyncApplicationEventMulticaster.class);
+
+  public static final String POOL_SIZE_KEY = "event_dispatcher.pool_size";
+
+  public static final String QUEUE_SIZE_KEY = "event_dispatcher.queue_size";
+
+  /**
+   * A single thread per event type keeps the events of the same type in order.
+   */
+  public static final int DEFAULT_POOL_SIZE = 1;
+
+  public static final int DEFAULT_QUEUE_SIZE = 1000;
+
+  private static final long KEEP_ALIVE_SECONDS = 60;
+
+  private static final String EVENTS = "events";
+
+  private static final String LISTENERS = "listeners";
+
+  private static final String QUEUE_LATENCY = "queueLatency";
+
+  private static final String MERGED = "merged";
+
+  private static final String REJECTED = "rejected";
+
+  private static final String CALLER_RUNS = "callerRuns";
+
+  private static final String THREAD_NAME_PREFIX = "event-";
+
+  @Autowired
+  private Environment environment;
+
+  @Autowired
+  private MetricRegistry metricRegistry;
+
+  /**
+   * Executors indexed by event type
+   */
+  private final ConcurrentMap<Class<?>, ThreadPoolExecutor> executors = new ConcurrentHashMap<>();
+
+  /**
+   * Merge keys indexed by event type
+   */
+  private final ConcurrentMap<Class<?>, MergeKey<?>> mergeKeys = new ConcurrentHashMap<>();
+
+  /**
+   * Mergeable events waiting to be dispatched
+   */
+  private final Set<PendingEvent> pending =
+      Collections.newSetFromMap(new ConcurrentHashMap<PendingEvent, Boolean>());
+
+  private int poolSize;
+
+  private int queueSize;
+
+  private volatile boolean shutdown;
+
+  @PostConstruct
+  public void init() {
+    this.poolSize = Math.max(1,
+        environment.getProperty(POOL_SIZE_KEY, Integer.class, DEFAULT_POOL_SIZE));
+    this.queueSize = Math.max(1,
+        environment.getProperty(QUEUE_SIZE_KEY, Integer.class, DEFAULT_QUEUE_SIZE));
+
+    registerMergeKey(HealthCheckEventData.class, new MergeKey<HealthCheckEventData>() {
+      @Override
+      public Object getKey(HealthCheckEventData event) {
+        return event.getServiceName();
+      }
+    });
+  }
+
+  /**
+   * Makes the events of the given type mergeable.
+   * @param type Event type
+   * @param mergeKey Key that identifies the equivalent events of the type
+   */
+  public <T> void registerMergeKey(Class<T> type, MergeKey<? super T> mergeKey) {
+    mergeKeys.put(type, mergeKey);
+  }
+
+  @PreDestroy
+  public void destroy() {
+    this.shutdown = true;
+
+    for (ThreadPoolExecutor executor : executors.values()) {
+      executor.shutdown();
+    }
+  }
+
+  @Override
+  public void multicastEvent(ApplicationEvent event, ResolvableType eventType) {
+    if (shutdown || !(event instanceof PayloadApplicationEvent)) {
+      super.multicastEvent(event, eventType);
+      return;
+    }
+
+    Object payload = ((PayloadApplicationEvent<?>) event).getPayload();
+    Class<?> type = payload.getClass();
+
+    PendingEvent pendingEvent = getPendingEvent(type, payload);
+
+    if (pendingEvent != null && !pending.add(pendingEvent)) {
+      LOGGER.debug("Event merged into a pending one: {}", type.getSimpleName());
+      metricRegistry.meter(getMetricName(type, MERGED)).mark();
+      return;
+    }
+
+    try {
+      getExecutor(type).execute(
+          new DispatchRunnable(MDC.get(TRACE_ID), event, eventType, type, pendingEvent));
+    } catch (RejectedExecutionException e) {
+      if (pendingEvent != null) {
+        pending.remove(pendingEvent);
+        metricRegistry.meter(getMetricName(type, REJECTED)).mark();
+        LOGGER.warn("Event queue is full, discarding event: {}", type.getSimpleName());
+      } else {
+        metricRegistry.meter(getMetricName(type, CALLER_RUNS)).mark();
+        LOGGER.warn("Event queue is full, handling event on the caller thread: {}",
+            type.getSimpleName());
+        super.multicastEvent(event, eventType);
+      }
+    }
+  }
+
+  /**
+   * Creates the pending event used to merge the equivalent events.
+   * @param type Event type
+   * @param payload Event payload
+   * @return Pending event or null if the event type isn't mergeable
+   */
+  @SuppressWarnings("unchecked")
+  private PendingEvent getPendingEvent(Class<?> type, Object payload) {
+    MergeKey<Object> mergeKey = (MergeKey<Object>) mergeKeys.get(type);
+    return mergeKey == null ? null : new PendingEvent(type, mergeKey.getKey(payload));
+  }
+
+  /**
+   * Retrieves the number of events waiting to be dispatched.
+   * @param type Event type
+   * @return Number of pending events
+   */
+  public int getQueueDepth(Class<?> type) {
+    ThreadPoolExecutor executor = executors.get(type);
+    return executor == null ? 0 : executor.getQueue().size();
+  }
+
+  private ThreadPoolExecutor getExecutor(Class<?> type) {
+    ThreadPoolExecutor executor = executors.get(type);
+
+    if (executor == null) {
+      ThreadPoolExecutor newExecutor = new ThreadPoolExecutor(poolSize, poolSize,
+          KEEP_ALIVE_SECONDS, TimeUnit.SECONDS, new LinkedBlockingQueue<Runnable>(queueSize),
+          new EventThreadFactory(type));
+      newExecutor.allowCoreThreadTimeOut(true);
+
+      executor = executors.putIfAbsent(type, newExecutor);
+
+      if (executor == null) {
+        executor = newExecutor;
+      } else {
+        newExecutor.shutdown();
+      }
+    }
+
+    return executor;
+  }
+
+  private String getMetricName(Class<?> type, String name) {
+    return MetricRegistry.name(BASE_METRIC_NAME, EVENTS, type.getSimpleName(), name);
+  }
+
+  /**
+   * Dispatches an event to all its listeners on the executor thread.
+   */
+  private class DispatchRunnable extends IntegrationAbstractRunnable {
+
+    private final ApplicationEvent event;
+
+    private final ResolvableType eventType;
+
+    private final Class<?> type;
+
+    private final PendingEvent pendingEvent;
+
+    private final long enqueuedAt = System.nanoTime();
+
+    DispatchRunnable(String parentTraceId, ApplicationEvent event, ResolvableType eventType,
+        Class<?> type, PendingEvent pendingEvent) {
+      super(parentTraceId);
+      this.event = event;
+      this.eventType = eventType;
+      this.type = type;
+      this.pendingEvent = pendingEvent;
+    }
+
+    @Override
+    protected void execute() {
+      // From now on, an equivalent event must be dispatched again as the listeners may miss it
+      if (pendingEvent != null) {
+        pending.remove(pendingEvent);
+      }
+
+      long start = System.nanoTime();
+
+      metricRegistry.timer(getMetricName(type, QUEUE_LATENCY))
+          .update(start - enqueuedAt, TimeUnit.NANOSECONDS);
+
+      Timer.Context context = metricRegistry.timer(getMetricName(type, LISTENERS)).time();
+
+      try {
+        AsyncApplicationEventMulticaster.super.multicastEvent(event, eventType);
+      } catch (RuntimeException e) {
+        LOGGER.error("Fail to handle the event {}", type.getSimpleName(), e);
+      } finally {
+        context.stop();
+      }
+    }
+
+  }
+
+  /**
+   * Extracts the key that identifies the equivalent events of a type.
+   * @param <T> Event type
+   */
+  public interface MergeKey<T> {
+
+    /**
+     * Retrieves the merge key of the event.
+     * @param event Event payload
+     * @return Merge key
+     */
+    Object getKey(T event);
+
+  }
+
+  /**
+   * Mergeable event waiting to be dispatched, compared by type and merge key.
+   */
+  private static final class PendingEvent {
+
+    private final Class<?> type;
+
+    private final Object key;
+
+    PendingEvent(Class<?> type, Object key) {
+      this.type = type;
+      this.key = key;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      if (this == o) {
+        return true;
+      }
+
+      if (o == null || getClass() != o.getClass()) {
+        return false;
+      }
+
+      PendingEvent that = (PendingEvent) o;
+
+      return type == that.type && Objects.equals(key, that.key);
+    }
+
+    @Override
+    public int hashCode() {
+      return 31 * type.hashCode() + Objects.hashCode(key);
+    }
+
+  }
+
+  /**
+   * Creates the daemon threads used to dispatch the events of a single type.
+   */
+  private static final class EventThreadFactory implements ThreadFactory {
+
+    private final String prefix;
+
+    private final AtomicInteger counter = new AtomicInteger();
+
+    EventThreadFactory(Class<?> type) {
+      this.prefix = THREAD_NAME_PREFIX + type.getSimpleName() + "-";
+    }
+
+    @Override
+    public Thread newThread(Runnable runnable) {
+      Thread thread = new Thread(runnable, prefix + counter.incrementAndGet());
+      thread.setDaemon(true);
+      return thread;
+    }
+
+  }
+
+}
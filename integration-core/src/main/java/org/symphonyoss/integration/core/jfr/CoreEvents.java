@@ -0,0 +1,88 @@
+/**
+ * Copyright 2016-2017 Symphony Integrations - Symphony LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.symphonyoss.integration.core.jfr;
+
+import org.symphonyoss.integration.jfr.FlightRecorderUtils;
+
+/**
+ * Creates the integration core events, recorded by the Flight Recorder when the running JDK ships
+ * the event API.
+ */
+public class CoreEvents {
+
+  private static final boolean RECORDED = FlightRecorderUtils.isAvailable();
+
+  private CoreEvents() {}
+
+  /**
+   * Creates a new bootstrap event.
+   * @return Bootstrap event
+   */
+  public static BootstrapEvent newBootstrapEvent() {
+    if (RECORDED) {
+      return new FlightRecorderBootstrapEvent();
+    }
+
+    return NoOpBootstrapEvent.INSTANCE;
+  }
+
+  /**
+   * Creates a new message post event.
+   * @return Message post event
+   */
+  public static MessagePostEvent newMessagePostEvent() {
+    if (RECORDED) {
+      return new FlightRecorderMessagePostEvent();
+    }
+
+    return NoOpMessagePostEvent.INSTANCE;
+  }
+
+  private static final class NoOpBootstrapEvent implements BootstrapEvent {
+
+    private static final NoOpBootstrapEvent INSTANCE = new NoOpBootstrapEvent();
+
+    @Override
+    public void begin() {}
+
+    @Override
+    public void finish(String integrationUser, boolean success) {}
+
+  }
+
+  private static final class NoOpMessagePostEvent implements MessagePostEvent {
+
+    private static final NoOpMessagePostEvent INSTANCE = new NoOpMessagePostEvent();
+
+    @Override
+    public void begin() {}
+
+    @Override
+    public void end() {}
+
+    @Override
+    public boolean shouldCommit() {
+      return false;
+    }
+
+    @Override
+    public void commit(String integrationUser, String stream, String messageMLVersion,
+        boolean success) {}
+
+  }
+
+}
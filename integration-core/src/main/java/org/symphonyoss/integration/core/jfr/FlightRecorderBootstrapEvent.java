@@ -0,0 +1,60 @@
+/**
+ * Copyright 2016-2017 Symphony Integrations - Symphony LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.symphonyoss.integration.core.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+
+/**
+ * Flight Recorder event for the bootstrap of an integration.
+ */
+@Name("org.symphonyoss.integration.Bootstrap")
+@Label("Integration Bootstrap")
+@Category({ "Symphony Integration Bridge", "Bootstrap" })
+@Description("Bootstrap attempt of an integration")
+@StackTrace(false)
+@Threshold("0 ms")
+public class FlightRecorderBootstrapEvent extends Event implements BootstrapEvent {
+
+  @Label("Integration User")
+  private String integrationUser;
+
+  @Label("Success")
+  private boolean success;
+
+  /**
+   * Ends the event and commits it if the event is enabled and exceeds the threshold.
+   * @param integrationUser Integration user
+   * @param success Whether the integration was bootstrapped
+   */
+  @Override
+  public void finish(String integrationUser, boolean success) {
+    end();
+
+    if (shouldCommit()) {
+      this.integrationUser = integrationUser;
+      this.success = success;
+      commit();
+    }
+  }
+
+}
@@ -0,0 +1,68 @@
+/**
+ * Copyright 2016-2017 Symphony Integrations - Symphony LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.symphonyoss.integration.core.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+
+/**
+ * Flight Recorder event for the messages posted to the Agent.
+ */
+@Name("org.symphonyoss.integration.MessagePost")
+@Label("Message Post")
+@Category({ "Symphony Integration Bridge", "Messages" })
+@Description("Message posted to a stream through the Agent API")
+@StackTrace(false)
+@Threshold("10 ms")
+public class FlightRecorderMessagePostEvent extends Event implements MessagePostEvent {
+
+  @Label("Integration User")
+  private String integrationUser;
+
+  @Label("Stream")
+  private String stream;
+
+  @Label("MessageML Version")
+  private String messageMLVersion;
+
+  @Label("Success")
+  private boolean success;
+
+  /**
+   * Sets the event fields and commits it. Callers must end the event and check
+   * {@link #shouldCommit()} first, so the fields are only computed when the event is recorded.
+   * @param integrationUser Integration user
+   * @param stream Stream identifier
+   * @param messageMLVersion MessageML version
+   * @param success Whether the message was posted
+   */
+  @Override
+  public void commit(String integrationUser, String stream, String messageMLVersion,
+      boolean success) {
+    this.integrationUser = integrationUser;
+    this.stream = stream;
+    this.messageMLVersion = messageMLVersion;
+    this.success = success;
+    commit();
+  }
+
+}
@@ -0,0 +1,31 @@
+/**
+ * Copyright 2016-2017 Symphony Integrations - Symphony LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.symphonyoss.integration.core.properties;
+
+import org.symphonyoss.integration.core.delivery.DeliveryScheduler;
+
+/**
+ * Exception message keys used by the component {@link DeliveryScheduler}
+ */
+public class DeliverySchedulerProperties {
+  public static final String DELIVERY_INTERRUPTED = "core.delivery.scheduler.interrupted";
+  public static final String DELIVERY_INTERRUPTED_SOLUTION = DELIVERY_INTERRUPTED + ".solution";
+  public static final String DELIVERY_TIMEOUT = "core.delivery.scheduler.timeout";
+  public static final String DELIVERY_TIMEOUT_SOLUTION = DELIVERY_TIMEOUT + ".solution";
+  public static final String DELIVERY_REJECTED = "core.delivery.scheduler.rejected";
+  public static final String DELIVERY_REJECTED_SOLUTION = DELIVERY_REJECTED + ".solution";
+}
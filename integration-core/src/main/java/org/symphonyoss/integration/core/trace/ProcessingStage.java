@@ -0,0 +1,47 @@
+/**
+ * Copyright 2016-2017 Symphony Integrations - Symphony LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.symphonyoss.integration.core.trace;
+
+/**
+ * Stages of the webhook processing timed by the {@link StageRecorder}. The message delivery
+ * stages run inside {@link #HANDLE}, so their durations are also part of it.
+ */
+public enum ProcessingStage {
+
+  ORIGIN_CHECK("originCheck"),
+
+  AVAILABILITY_CHECK("availabilityCheck"),
+
+  HANDLE("handle"),
+
+  GET_STREAMS("getStreams"),
+
+  GET_TOKEN("getToken"),
+
+  POST_MESSAGE("postMessage");
+
+  private final String metricName;
+
+  ProcessingStage(String metricName) {
+    this.metricName = metricName;
+  }
+
+  public String getMetricName() {
+    return metricName;
+  }
+
+}
@@ -0,0 +1,283 @@
+/**
+ * Copyright 2016-2017 Symphony Integrations - Symphony LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.symphonyoss.integration.core.trace;
+
+import static org.symphonyoss.integration.metrics.IntegrationMetricsConstants.BASE_METRIC_NAME;
+
+import com.codahale.metrics.MetricRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+
+/**
+ * Structured log of the requests handled by the Integration Bridge. It writes a single record per
+ * request with all the request attributes taken from the {@link RequestSpan}.
+ *
+ * The finished requests are sampled per integration and enqueued in a fixed-size buffer drained
+ * by a background writer, so the request threads never wait for the appender I/O and the records
+ * are formatted only when they're written. Sampled records are dropped while the buffer is full,
+ * but failed requests are never sampled out and are written by the request thread when they don't
+ * fit in the buffer.
+ *
+ * <pre>
+ * request_log:
+ *   enabled: true
+ *   buffer_size: 4096
+ *   sample_rate: 1.0
+ *   integrations:
+ *     jiraWebHookIntegration: 0.1
+ * </pre>
+ */
+@Component
+public class RequestLog {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(RequestLog.class);
+
+  public static final String ENABLED_KEY = "request_log.enabled";
+
+  public static final String BUFFER_SIZE_KEY = "request_log.buffer_size";
+
+  public static final String SAMPLE_RATE_KEY = "request_log.sample_rate";
+
+  public static final String INTEGRATIONS_KEY = "request_log.integrations.";
+
+  public static final int DEFAULT_BUFFER_SIZE = 4096;
+
+  public static final double DEFAULT_SAMPLE_RATE = 1.0;
+
+  private static final String REQUEST_LOG = "requestLog";
+
+  private static final String DROPPED = "dropped";
+
+  private static final String WRITER_THREAD_NAME = "request-log-writer";
+
+  @Autowired
+  private Environment environment;
+
+  @Autowired
+  private MetricRegistry metricRegistry;
+
+  /**
+   * Sample rates indexed by integration type
+   */
+  private final ConcurrentMap<String, Double> sampleRates = new ConcurrentHashMap<>();
+
+  private boolean enabled;
+
+  private double sampleRate;
+
+  private BlockingQueue<RequestSpan> buffer;
+
+  private ExecutorService writer;
+
+  @PostConstruct
+  public void init() {
+    this.enabled = environment.getProperty(ENABLED_KEY, Boolean.class, Boolean.TRUE);
+    this.sampleRate =
+        environment.getProperty(SAMPLE_RATE_KEY, Double.class, DEFAULT_SAMPLE_RATE);
+    this.sampleRates.clear();
+
+    int bufferSize = Math.max(1,
+        environment.getProperty(BUFFER_SIZE_KEY, Integer.class, DEFAULT_BUFFER_SIZE));
+    this.buffer = new ArrayBlockingQueue<>(bufferSize);
+
+    if (writer != null) {
+      writer.shutdownNow();
+      this.writer = null;
+    }
+
+    if (enabled) {
+      this.writer = Executors.newSingleThreadExecutor(new WriterThreadFactory());
+      this.writer.execute(new WriterRunnable());
+    }
+  }
+
+  @PreDestroy
+  public void destroy() {
+    if (writer != null) {
+      writer.shutdownNow();
+    }
+
+    List<RequestSpan> remaining = new ArrayList<>();
+    buffer.drainTo(remaining);
+
+    for (RequestSpan span : remaining) {
+      write(span);
+    }
+  }
+
+  public boolean isEnabled() {
+    return enabled;
+  }
+
+  /**
+   * Appends the finished request to the log. This method never blocks on the log output.
+   * @param span Request span (may be null)
+   */
+  public void append(RequestSpan span) {
+    if (!enabled || span == null) {
+      return;
+    }
+
+    boolean error = span.isError();
+
+    if (!error && !isSampled(span.getIntegration())) {
+      return;
+    }
+
+    if (buffer.offer(span)) {
+      return;
+    }
+
+    if (error) {
+      write(span);
+    } else {
+      metricRegistry.meter(MetricRegistry.name(BASE_METRIC_NAME, REQUEST_LOG, DROPPED)).mark();
+    }
+  }
+
+  /**
+   * Retrieves the sample rate configured to the integration.
+   * @param integration Integration type (may be null)
+   * @return Fraction of the successful requests written to the log
+   */
+  public double getSampleRate(String integration) {
+    if (integration == null) {
+      return sampleRate;
+    }
+
+    Double rate = sampleRates.get(integration);
+
+    if (rate == null) {
+      rate = environment.getProperty(INTEGRATIONS_KEY + integration, Double.class, sampleRate);
+      sampleRates.putIfAbsent(integration, rate);
+    }
+
+    return rate;
+  }
+
+  private boolean isSampled(String integration) {
+    double rate = getSampleRate(integration);
+    return rate >= 1.0 || (rate > 0 && ThreadLocalRandom.current().nextDouble() < rate);
+  }
+
+  /**
+   * Writes the request record. Failed requests are written at WARN level.
+   * @param span Request span
+   */
+  protected void write(RequestSpan span) {
+    if (span.isError()) {
+      if (LOGGER.isWarnEnabled()) {
+        LOGGER.warn(format(span));
+      }
+    } else if (LOGGER.isInfoEnabled()) {
+      LOGGER.info(format(span));
+    }
+  }
+
+  /**
+   * Formats the request record.
+   * @param span Request span
+   * @return Request record, e.g. trace=aAa8Uk method=POST uri=/integration/v1/whi/... status=200
+   */
+  static String format(RequestSpan span) {
+    StringBuilder record = new StringBuilder(256);
+
+    append(record, "trace", span.getTraceId());
+    append(record, "method", span.getMethod());
+    append(record, "uri", span.getUri());
+    append(record, "integration", span.getIntegration());
+    append(record, "configuration", span.getConfigurationId());
+    append(record, "hash", span.getHash());
+    append(record, "status", span.getStatus());
+    append(record, "outcome", span.getOutcome());
+    append(record, "payloadSize", span.getPayloadSize());
+    append(record, "duration",
+        TimeUnit.NANOSECONDS.toMillis(span.getTotalDuration()) + "ms");
+    append(record, "stages", StageRecorder.formatBreakdown(span));
+
+    return record.toString();
+  }
+
+  private static void append(StringBuilder record, String key, Object value) {
+    if (value == null) {
+      return;
+    }
+
+    if (record.length() > 0) {
+      record.append(' ');
+    }
+
+    record.append(key).append('=').append(value);
+  }
+
+  /**
+   * Drains the buffer until the writer is shut down.
+   */
+  private class WriterRunnable implements Runnable {
+
+    @Override
+    public void run() {
+      try {
+        while (!Thread.currentThread().isInterrupted()) {
+          RequestSpan span = buffer.take();
+
+          try {
+            write(span);
+          } catch (RuntimeException e) {
+            LOGGER.error("Fail to write the request record", e);
+          }
+        }
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+    }
+
+  }
+
+  /**
+   * Creates the daemon thread that writes the request records.
+   */
+  private static final class WriterThreadFactory implements ThreadFactory {
+
+    @Override
+    public Thread newThread(Runnable runnable) {
+      Thread thread = new Thread(runnable, WRITER_THREAD_NAME);
+      thread.setDaemon(true);
+      return thread;
+    }
+
+  }
+
+}
@@ -0,0 +1,188 @@
+/**
+ * Copyright 2016-2017 Symphony Integrations - Symphony LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.symphonyoss.integration.core.trace;
+
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Accumulates the time spent on each {@link ProcessingStage} while handling a single request.
+ * Stages may run more than once per request (e.g. one message post per stream) and on other
+ * threads, so the durations are summed atomically.
+ *
+ * The span also carries the request attributes written to the {@link RequestLog} once the
+ * request is finished.
+ */
+public class RequestSpan {
+
+  private static final int ERROR_STATUS = 400;
+
+  private final String traceId;
+
+  private final long startTime;
+
+  private final AtomicLongArray durations = new AtomicLongArray(ProcessingStage.values().length);
+
+  private final AtomicIntegerArray counts = new AtomicIntegerArray(ProcessingStage.values().length);
+
+  private volatile String integration;
+
+  private volatile String method;
+
+  private volatile String uri;
+
+  private volatile String configurationId;
+
+  private volatile String hash;
+
+  private volatile long payloadSize;
+
+  private volatile String outcome;
+
+  private volatile int status;
+
+  private volatile long totalDuration;
+
+  public RequestSpan(String traceId) {
+    this.traceId = traceId;
+    this.startTime = System.nanoTime();
+  }
+
+  /**
+   * Adds the stage execution time to the span.
+   * @param stage Processing stage
+   * @param duration Execution time (in nanoseconds)
+   */
+  public void record(ProcessingStage stage, long duration) {
+    durations.addAndGet(stage.ordinal(), duration);
+    counts.incrementAndGet(stage.ordinal());
+  }
+
+  public String getTraceId() {
+    return traceId;
+  }
+
+  public long getStartTime() {
+    return startTime;
+  }
+
+  public String getIntegration() {
+    return integration;
+  }
+
+  public void setIntegration(String integration) {
+    this.integration = integration;
+  }
+
+  public String getMethod() {
+    return method;
+  }
+
+  public String getUri() {
+    return uri;
+  }
+
+  /**
+   * Sets the HTTP request attributes.
+   * @param method HTTP method
+   * @param uri Request URI
+   */
+  public void setRequest(String method, String uri) {
+    this.method = method;
+    this.uri = uri;
+  }
+
+  public String getConfigurationId() {
+    return configurationId;
+  }
+
+  public String getHash() {
+    return hash;
+  }
+
+  public long getPayloadSize() {
+    return payloadSize;
+  }
+
+  public String getOutcome() {
+    return outcome;
+  }
+
+  /**
+   * Sets the result of the webhook handling.
+   * @param configurationId Configuration identifier
+   * @param hash Configuration instance identifier
+   * @param payloadSize Payload size (in bytes)
+   * @param outcome Request outcome
+   */
+  public void setOutcome(String configurationId, String hash, long payloadSize, String outcome) {
+    this.configurationId = configurationId;
+    this.hash = hash;
+    this.payloadSize = payloadSize;
+    this.outcome = outcome;
+  }
+
+  public int getStatus() {
+    return status;
+  }
+
+  public void setStatus(int status) {
+    this.status = status;
+  }
+
+  /**
+   * Signals the end of the request.
+   */
+  public void finish() {
+    this.totalDuration = System.nanoTime() - startTime;
+  }
+
+  /**
+   * Retrieves the total time spent on the request.
+   * @return Execution time (in nanoseconds) or zero if the span isn't finished
+   */
+  public long getTotalDuration() {
+    return totalDuration;
+  }
+
+  /**
+   * Checks if the request failed. Failed requests are always written to the request log.
+   * @return true if the response has an error status code or false otherwise
+   */
+  public boolean isError() {
+    return status >= ERROR_STATUS;
+  }
+
+  /**
+   * Retrieves the total time spent on the stage.
+   * @param stage Processing stage
+   * @return Execution time (in nanoseconds)
+   */
+  public long getDuration(ProcessingStage stage) {
+    return durations.get(stage.ordinal());
+  }
+
+  /**
+   * Retrieves how many times the stage was executed.
+   * @param stage Processing stage
+   * @return Number of executions
+   */
+  public int getCount(ProcessingStage stage) {
+    return counts.get(stage.ordinal());
+  }
+
+}
@@ -0,0 +1,43 @@
+/**
+ * Copyright 2016-2017 Symphony Integrations - Symphony LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.symphonyoss.integration.core.trace;
+
+/**
+ * Execution of a {@link ProcessingStage} started by {@link StageTracingUtils#startStage}.
+ */
+public final class StageContext {
+
+  private final RequestSpan span;
+
+  private final ProcessingStage stage;
+
+  private final long startTime;
+
+  StageContext(RequestSpan span, ProcessingStage stage) {
+    this.span = span;
+    this.stage = stage;
+    this.startTime = System.nanoTime();
+  }
+
+  /**
+   * Adds the elapsed time to the request span.
+   */
+  void finish() {
+    span.record(stage, System.nanoTime() - startTime);
+  }
+
+}
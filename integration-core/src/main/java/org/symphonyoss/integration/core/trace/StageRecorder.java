@@ -0,0 +1,182 @@
+/**
+ * Copyright 2016-2017 Symphony Integrations - Symphony LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.symphonyoss.integration.core.trace;
+
+import static org.symphonyoss.integration.logging.DistributedTracingUtils.TRACE_ID;
+import static org.symphonyoss.integration.metrics.IntegrationMetricsConstants.BASE_METRIC_NAME;
+
+import com.codahale.metrics.MetricRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.slf4j.MDC;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import javax.annotation.PostConstruct;
+
+/**
+ * Records the latency breakdown of the webhook requests. Each request gets a {@link RequestSpan}
+ * tied to its trace id, and when the request completes every {@link ProcessingStage} it went
+ * through is recorded in a timer per integration.
+ *
+ * A sample of the requests slower than the configured threshold are logged with the breakdown.
+ * The finished spans are also appended to the {@link RequestLog}, which keeps working when the
+ * stage timers are disabled.
+ *
+ * <pre>
+ * stage_tracing:
+ *   enabled: true
+ *   slow_threshold_ms: 2000
+ *   slow_sample_rate: 0.1
+ * </pre>
+ */
+@Component
+public class StageRecorder {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(StageRecorder.class);
+
+  public static final String ENABLED_KEY = "stage_tracing.enabled";
+
+  public static final String SLOW_THRESHOLD_KEY = "stage_tracing.slow_threshold_ms";
+
+  public static final String SLOW_SAMPLE_RATE_KEY = "stage_tracing.slow_sample_rate";
+
+  public static final long DEFAULT_SLOW_THRESHOLD = 2000L;
+
+  public static final double DEFAULT_SLOW_SAMPLE_RATE = 0.1;
+
+  private static final String STAGE = "stage";
+
+  @Autowired
+  private Environment environment;
+
+  @Autowired
+  private MetricRegistry metricRegistry;
+
+  @Autowired
+  private RequestLog requestLog;
+
+  private boolean enabled;
+
+  private long slowThreshold;
+
+  private double slowSampleRate;
+
+  @PostConstruct
+  public void init() {
+    this.enabled = environment.getProperty(ENABLED_KEY, Boolean.class, Boolean.TRUE);
+
+    long thresholdMillis =
+        environment.getProperty(SLOW_THRESHOLD_KEY, Long.class, DEFAULT_SLOW_THRESHOLD);
+    this.slowThreshold = TimeUnit.MILLISECONDS.toNanos(thresholdMillis);
+
+    this.slowSampleRate =
+        environment.getProperty(SLOW_SAMPLE_RATE_KEY, Double.class, DEFAULT_SLOW_SAMPLE_RATE);
+  }
+
+  /**
+   * Starts the span of the request handled by the current thread using the trace id available in
+   * the MDC.
+   * @return Request span or null if both the stage tracing and the request log are disabled
+   */
+  public RequestSpan startSpan() {
+    if (!enabled && !requestLog.isEnabled()) {
+      return null;
+    }
+
+    RequestSpan span = new RequestSpan(MDC.get(TRACE_ID));
+    StageTracingUtils.attach(span);
+
+    return span;
+  }
+
+  /**
+   * Finishes the request span, recording the stage timers of the integration that handled the
+   * request. Requests that weren't handled by an integration are not recorded.
+   * @param span Request span (may be null)
+   */
+  public void finishSpan(RequestSpan span) {
+    if (span == null) {
+      return;
+    }
+
+    if (StageTracingUtils.currentSpan() == span) {
+      StageTracingUtils.detach();
+    }
+
+    span.finish();
+    requestLog.append(span);
+
+    String integration = span.getIntegration();
+
+    if (!enabled || integration == null) {
+      return;
+    }
+
+    long total = span.getTotalDuration();
+
+    for (ProcessingStage stage : ProcessingStage.values()) {
+      if (span.getCount(stage) > 0) {
+        String name = MetricRegistry.name(BASE_METRIC_NAME, integration, STAGE,
+            stage.getMetricName());
+        metricRegistry.timer(name).update(span.getDuration(stage), TimeUnit.NANOSECONDS);
+      }
+    }
+
+    if (total >= slowThreshold && ThreadLocalRandom.current().nextDouble() < slowSampleRate) {
+      LOGGER.warn("Slow request {} for integration {}: {} ms {}", span.getTraceId(), integration,
+          TimeUnit.NANOSECONDS.toMillis(total), formatBreakdown(span));
+    }
+  }
+
+  /**
+   * Formats the stages executed by the request.
+   * @param span Request span
+   * @return Stage breakdown, e.g. [handle=1530 ms, postMessage=1490 ms (x2)]
+   */
+  static String formatBreakdown(RequestSpan span) {
+    StringBuilder breakdown = new StringBuilder("[");
+
+    for (ProcessingStage stage : ProcessingStage.values()) {
+      int count = span.getCount(stage);
+
+      if (count == 0) {
+        continue;
+      }
+
+      if (breakdown.length() > 1) {
+        breakdown.append(", ");
+      }
+
+      breakdown.append(stage.getMetricName())
+          .append('=')
+          .append(TimeUnit.NANOSECONDS.toMillis(span.getDuration(stage)))
+          .append(" ms");
+
+      if (count > 1) {
+        breakdown.append(" (x").append(count).append(')');
+      }
+    }
+
+    return breakdown.append(']').toString();
+  }
+
+}
@@ -0,0 +1,111 @@
+/**
+ * Copyright 2016-2017 Symphony Integrations - Symphony LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.symphonyoss.integration.core.trace;
+
+/**
+ * Utility methods to time the processing stages of the request handled by the current thread.
+ *
+ * The request span is bound to the thread the same way the trace id is kept in the MDC, so the
+ * components that hand work over to other threads must attach the span there as well.
+ */
+public class StageTracingUtils {
+
+  private static final ThreadLocal<RequestSpan> CURRENT_SPAN = new ThreadLocal<>();
+
+  private StageTracingUtils() {}
+
+  /**
+   * Retrieves the request span bound to the current thread.
+   * @return Request span or null if the current thread isn't handling a traced request
+   */
+  public static RequestSpan currentSpan() {
+    return CURRENT_SPAN.get();
+  }
+
+  /**
+   * Binds the request span to the current thread.
+   * @param span Request span (may be null)
+   */
+  public static void attach(RequestSpan span) {
+    if (span == null) {
+      CURRENT_SPAN.remove();
+    } else {
+      CURRENT_SPAN.set(span);
+    }
+  }
+
+  /**
+   * Unbinds the request span from the current thread.
+   */
+  public static void detach() {
+    CURRENT_SPAN.remove();
+  }
+
+  /**
+   * Sets the integration that is handling the current request.
+   * @param integration Integration type
+   */
+  public static void setIntegration(String integration) {
+    RequestSpan span = CURRENT_SPAN.get();
+
+    if (span != null) {
+      span.setIntegration(integration);
+    }
+  }
+
+  /**
+   * Sets the result of the webhook handled by the current request.
+   * @param configurationId Configuration identifier
+   * @param hash Configuration instance identifier
+   * @param payloadSize Payload size (in bytes)
+   * @param outcome Request outcome
+   */
+  public static void setOutcome(String configurationId, String hash, long payloadSize,
+      String outcome) {
+    RequestSpan span = CURRENT_SPAN.get();
+
+    if (span != null) {
+      span.setOutcome(configurationId, hash, payloadSize, outcome);
+    }
+  }
+
+  /**
+   * Signals the beginning of a processing stage.
+   * @param stage Processing stage
+   * @return Stage context or null if the current thread isn't handling a traced request
+   */
+  public static StageContext startStage(ProcessingStage stage) {
+    RequestSpan span = CURRENT_SPAN.get();
+
+    if (span == null) {
+      return null;
+    }
+
+    return new StageContext(span, stage);
+  }
+
+  /**
+   * Signals the end of a processing stage.
+   * @param context Stage context (may be null)
+   */
+  public static void finishStage(StageContext context) {
+    if (context != null) {
+      context.finish();
+    }
+  }
+
+}
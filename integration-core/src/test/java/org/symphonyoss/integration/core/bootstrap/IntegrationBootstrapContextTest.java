@@ -32,6 +32,7 @@ import org.apache.commons.lang3.StringUtils;
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
+import org.mockito.InOrder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Mockito;
@@ -49,6 +50,7 @@ import org.symphonyoss.integration.exception.IntegrationRuntimeException;
 import org.symphonyoss.integration.exception.authentication.ConnectivityException;
 import org.symphonyoss.integration.exception.bootstrap.RetryLifecycleException;
 import org.symphonyoss.integration.healthcheck.AsyncCompositeHealthEndpoint;
+import org.symphonyoss.integration.healthcheck.application.ApplicationsHealthIndicator;
 import org.symphonyoss.integration.logging.LogMessageSource;
 import org.symphonyoss.integration.metrics.IntegrationMetricsController;
 import org.symphonyoss.integration.model.config.IntegrationSettings;
@@ -104,6 +106,15 @@ public class IntegrationBootstrapContextTest {
   @Mock
   private AsyncCompositeHealthEndpoint asyncCompositeHealthEndpoint;
 
+  @Mock
+  private ApplicationsHealthIndicator applicationsHealthIndicator;
+
+  @Mock
+  private IntegrationWarmUp warmUp;
+
+  @Mock
+  private IntegrationDrain drain;
+
   @InjectMocks
   private IntegrationBootstrapContext integrationBootstrapContext =
       new IntegrationBootstrapContext();
@@ -189,6 +200,20 @@ public class IntegrationBootstrapContextTest {
 
   }
 
+  /**
+   * Tests if the integration is reported as ready only after the warm-up.
+   */
+  @Test
+  public void testWarmUpBeforeReady() {
+    this.integrationBootstrapContext.initIntegrations();
+
+    InOrder inOrder = Mockito.inOrder(applicationsHealthIndicator, integration, warmUp);
+    inOrder.verify(applicationsHealthIndicator).setReady(TEST_USER, false);
+    inOrder.verify(integration).onCreate(TEST_USER);
+    inOrder.verify(warmUp).warmUp(TEST_USER, integration);
+    inOrder.verify(applicationsHealthIndicator).setReady(TEST_USER, true);
+  }
+
   /**
    * Tests if {@link IntegrationBootstrapContext} is behaving correctly when it does not find any
    * Integrations to bootstrap.
@@ -368,6 +393,20 @@ public class IntegrationBootstrapContextTest {
     assertNull(this.integrationBootstrapContext.getIntegrationById(CONFIGURATION_ID));
   }
 
+  /**
+   * The in-flight requests and pending deliveries must be drained before the integrations are
+   * destroyed.
+   */
+  @Test
+  public void testShutdownDrainsBeforeDestroy() throws InterruptedException {
+    testStartupBootstrappingOneIntegration();
+    this.integrationBootstrapContext.shutdown();
+
+    InOrder inOrder = Mockito.inOrder(drain, integration);
+    inOrder.verify(drain).drain();
+    inOrder.verify(integration).onDestroy();
+  }
+
   /**
    * Validates the flow to remove the integration
    */
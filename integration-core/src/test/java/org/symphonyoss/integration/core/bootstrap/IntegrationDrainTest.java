@@ -0,0 +1,155 @@
+/**
+ * Copyright 2016-2017 Symphony Integrations - Symphony LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.symphonyoss.integration.core.bootstrap;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.atLeast;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.symphonyoss.integration.metrics.IntegrationMetricsConstants.BASE_METRIC_NAME;
+
+import com.codahale.metrics.MetricRegistry;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.runners.MockitoJUnitRunner;
+import org.springframework.core.env.MapPropertySource;
+import org.springframework.core.env.StandardEnvironment;
+import org.symphonyoss.integration.core.bridge.IntegrationBridgeExceptionHandler;
+import org.symphonyoss.integration.core.delivery.DeliveryScheduler;
+import org.symphonyoss.integration.healthcheck.application.ApplicationsHealthIndicator;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Unit test for {@link IntegrationDrain}
+ */
+@RunWith(MockitoJUnitRunner.class)
+public class IntegrationDrainTest {
+
+  private static final String DRAINING_GAUGE = BASE_METRIC_NAME + ".drain.draining";
+
+  private static final String IN_FLIGHT_GAUGE = BASE_METRIC_NAME + ".drain.inFlight";
+
+  private static final String REJECTED_METER = BASE_METRIC_NAME + ".drain.rejected";
+
+  @Spy
+  private StandardEnvironment environment = new StandardEnvironment();
+
+  @Spy
+  private MetricRegistry metricRegistry = new MetricRegistry();
+
+  @Mock
+  private DeliveryScheduler deliveryScheduler;
+
+  @Mock
+  private ApplicationsHealthIndicator applicationsHealthIndicator;
+
+  @Mock
+  private IntegrationBridgeExceptionHandler exceptionHandler;
+
+  @InjectMocks
+  private IntegrationDrain drain;
+
+  private Map<String, Object> properties = new HashMap<>();
+
+  @Before
+  public void init() {
+    environment.getPropertySources().addFirst(new MapPropertySource("test", properties));
+    drain.init();
+  }
+
+  @Test
+  public void testAcquireAndRelease() {
+    assertTrue(drain.tryAcquire());
+    assertEquals(1, drain.getInFlight());
+    assertEquals(1, metricRegistry.getGauges().get(IN_FLIGHT_GAUGE).getValue());
+
+    drain.release();
+
+    assertEquals(0, drain.getInFlight());
+  }
+
+  @Test
+  public void testRejectWhileDraining() {
+    assertTrue(drain.drain());
+    assertTrue(drain.isDraining());
+    assertEquals(1, metricRegistry.getGauges().get(DRAINING_GAUGE).getValue());
+    verify(applicationsHealthIndicator).setDraining(true);
+
+    assertFalse(drain.tryAcquire());
+    assertEquals(0, drain.getInFlight());
+    assertEquals(1, metricRegistry.meter(REJECTED_METER).getCount());
+  }
+
+  @Test
+  public void testDrainWaitsForInFlightRequests() {
+    assertTrue(drain.tryAcquire());
+
+    new Thread() {
+      @Override
+      public void run() {
+        try {
+          sleep(200);
+        } catch (InterruptedException e) {
+          interrupt();
+        } finally {
+          drain.release();
+        }
+      }
+    }.start();
+
+    assertTrue(drain.drain());
+    assertEquals(0, drain.getInFlight());
+  }
+
+  @Test
+  public void testDrainDeadline() {
+    properties.put(IntegrationDrain.TIMEOUT_KEY, 0);
+    doReturn(1).when(deliveryScheduler).getPendingDeliveries();
+
+    assertFalse(drain.drain());
+    assertTrue(drain.isDraining());
+  }
+
+  @Test
+  public void testDrainWaitsForPendingRemovals() {
+    properties.put(IntegrationDrain.TIMEOUT_KEY, 5);
+    doReturn(1).doReturn(1).doReturn(0).when(exceptionHandler).getPendingRemovals();
+
+    assertTrue(drain.drain());
+    verify(exceptionHandler, atLeast(3)).getPendingRemovals();
+  }
+
+  @Test
+  public void testDrainDisabled() {
+    properties.put(IntegrationDrain.ENABLED_KEY, false);
+
+    assertTrue(drain.drain());
+    assertFalse(drain.isDraining());
+    assertTrue(drain.tryAcquire());
+    verify(applicationsHealthIndicator, never()).setDraining(true);
+  }
+
+}
@@ -0,0 +1,154 @@
+/**
+ * Copyright 2016-2017 Symphony Integrations - Symphony LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.symphonyoss.integration.core.bootstrap;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyZeroInteractions;
+import static org.symphonyoss.integration.metrics.IntegrationMetricsConstants.BASE_METRIC_NAME;
+
+import com.codahale.metrics.MetricRegistry;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.runners.MockitoJUnitRunner;
+import org.mockito.stubbing.Answer;
+import org.springframework.core.env.MapPropertySource;
+import org.springframework.core.env.StandardEnvironment;
+import org.symphonyoss.integration.Integration;
+import org.symphonyoss.integration.authentication.AuthenticationProxy;
+import org.symphonyoss.integration.authentication.api.jwt.JwtAuthentication;
+import org.symphonyoss.integration.exception.config.RemoteConfigurationException;
+import org.symphonyoss.integration.model.config.IntegrationSettings;
+import org.symphonyoss.integration.service.IntegrationService;
+import org.symphonyoss.integration.warmup.CacheWarmUp;
+
+import java.util.Collections;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Unit test for {@link IntegrationWarmUp}
+ */
+@RunWith(MockitoJUnitRunner.class)
+public class IntegrationWarmUpTest {
+
+  private static final String INTEGRATION_USER = "jiraWebHookIntegration";
+
+  private static final String CONFIGURATION_ID = "57756bca4b54433738037005";
+
+  @Spy
+  private StandardEnvironment environment = new StandardEnvironment();
+
+  @Spy
+  private MetricRegistry metricRegistry = new MetricRegistry();
+
+  @Mock
+  private AuthenticationProxy authenticationProxy;
+
+  @Mock(extraInterfaces = CacheWarmUp.class)
+  private JwtAuthentication jwtAuthentication;
+
+  @Mock(extraInterfaces = CacheWarmUp.class)
+  private IntegrationService integrationService;
+
+  @Mock
+  private Integration integration;
+
+  @InjectMocks
+  private IntegrationWarmUp warmUp;
+
+  @Before
+  public void init() {
+    IntegrationSettings settings = new IntegrationSettings();
+    settings.setConfigurationId(CONFIGURATION_ID);
+
+    doReturn(settings).when(integration).getSettings();
+  }
+
+  @After
+  public void finish() {
+    warmUp.destroy();
+  }
+
+  @Test
+  public void testWarmUp() {
+    warmUp.warmUp(INTEGRATION_USER, integration);
+
+    verify(authenticationProxy).authenticate(INTEGRATION_USER);
+    verify((CacheWarmUp) jwtAuthentication).warmUp(CONFIGURATION_ID, INTEGRATION_USER);
+    verify((CacheWarmUp) integrationService).warmUp(CONFIGURATION_ID, INTEGRATION_USER);
+
+    String timer = MetricRegistry.name(BASE_METRIC_NAME, INTEGRATION_USER, "warmUp");
+    assertEquals(1, metricRegistry.timer(timer).getCount());
+  }
+
+  @Test
+  public void testFailuresDontStopTheWarmUp() {
+    doThrow(RemoteConfigurationException.class).when((CacheWarmUp) jwtAuthentication)
+        .warmUp(anyString(), anyString());
+
+    warmUp.warmUp(INTEGRATION_USER, integration);
+
+    verify((CacheWarmUp) integrationService).warmUp(CONFIGURATION_ID, INTEGRATION_USER);
+  }
+
+  @Test
+  public void testTimeout() throws InterruptedException {
+    environment.getPropertySources().addFirst(new MapPropertySource("test",
+        Collections.<String, Object>singletonMap(IntegrationWarmUp.TIMEOUT_KEY, 10)));
+
+    final CountDownLatch release = new CountDownLatch(1);
+
+    doAnswer(new Answer<Void>() {
+      @Override
+      public Void answer(InvocationOnMock invocation) throws Throwable {
+        release.await(5, TimeUnit.SECONDS);
+        return null;
+      }
+    }).when((CacheWarmUp) integrationService).warmUp(CONFIGURATION_ID, INTEGRATION_USER);
+
+    long start = System.nanoTime();
+    warmUp.warmUp(INTEGRATION_USER, integration);
+    long elapsed = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+    assertTrue(elapsed < TimeUnit.SECONDS.toMillis(5));
+
+    release.countDown();
+  }
+
+  @Test
+  public void testDisabled() {
+    environment.getPropertySources().addFirst(new MapPropertySource("test",
+        Collections.<String, Object>singletonMap(IntegrationWarmUp.ENABLED_KEY, false)));
+
+    warmUp.warmUp(INTEGRATION_USER, integration);
+
+    verifyZeroInteractions(authenticationProxy, jwtAuthentication, integrationService);
+  }
+
+}
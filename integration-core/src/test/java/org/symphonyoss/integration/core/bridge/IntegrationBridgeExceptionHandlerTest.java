@@ -17,6 +17,7 @@
 package org.symphonyoss.integration.core.bridge;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 import static org.mockito.Matchers.any;
 import static org.mockito.Matchers.anyLong;
@@ -25,6 +26,8 @@ import static org.mockito.Matchers.eq;
 import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
@@ -34,6 +37,7 @@ import org.junit.runner.RunWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Spy;
+import org.mockito.internal.util.reflection.Whitebox;
 import org.mockito.invocation.InvocationOnMock;
 import org.mockito.runners.MockitoJUnitRunner;
 import org.mockito.stubbing.Answer;
@@ -53,6 +57,10 @@ import org.symphonyoss.integration.service.StreamService;
 
 import java.io.IOException;
 import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Test class responsible to test the flows in the {@link IntegrationBridgeExceptionHandler}.
@@ -67,6 +75,10 @@ public class IntegrationBridgeExceptionHandlerTest {
 
   private static final String INSTANCE_NAME = "Project 1";
 
+  private static final String CONFIGURATION_ID = "57756bca4b54433738037005";
+
+  private static final String INSTANCE_ID = "57bf7a4a4b54433738037011";
+
   private static final String DISPLAY_NAME = "JIRA";
 
   private static final String STREAM = "81NYrj5fWcB2BxlVZQmeRX___qjLh236dA";
@@ -75,6 +87,8 @@ public class IntegrationBridgeExceptionHandlerTest {
 
   private static final String STREAM_ID_ALT = "dsaDSAD1S56D/1Q0//WqjLdsA==";
 
+  private static final String STREAM_ALT = "dsaDSAD1S56D_1Q0__WqjLdsA";
+
   private static final String IM = "im";
 
   private static final String USER_ID = "268745369";
@@ -102,10 +116,15 @@ public class IntegrationBridgeExceptionHandlerTest {
 
   private IntegrationInstance savedInstance;
 
+  private ExecutorService removalWorker;
+
   @Before
   public void setup() {
     this.messagePosted = "";
     this.savedInstance = null;
+
+    this.removalWorker = Executors.newSingleThreadExecutor();
+    Whitebox.setInternalState(exceptionHandler, "removalWorker", removalWorker);
   }
 
   @Test
@@ -118,7 +137,8 @@ public class IntegrationBridgeExceptionHandlerTest {
   }
 
   @Test
-  public void testForbiddenConfigurationException() throws IntegrationConfigException, IOException {
+  public void testForbiddenConfigurationException() throws IntegrationConfigException, IOException,
+      InterruptedException {
     IntegrationInstance instance = mockInstance();
 
     doThrow(SaveConfigurationException.class).when(integrationService).save(any(IntegrationInstance.class),
@@ -126,6 +146,7 @@ public class IntegrationBridgeExceptionHandlerTest {
 
     exceptionHandler.handleRemoteApiException(new RemoteApiException(403, new RuntimeException()),
         instance, INTEGRATION_USER, STREAM);
+    awaitRemovals();
     assertTrue(messagePosted.isEmpty());
   }
 
@@ -137,7 +158,7 @@ public class IntegrationBridgeExceptionHandlerTest {
 
     IntegrationInstance instance = new IntegrationInstance();
     instance.setOptionalProperties(optionalProperties);
-    return instance;
+    return mockCurrentInstance(instance);
   }
 
   private IntegrationInstance mockInstanceAlt() throws JsonProcessingException {
@@ -149,12 +170,13 @@ public class IntegrationBridgeExceptionHandlerTest {
     IntegrationInstance instance = new IntegrationInstance();
     instance.setName(INSTANCE_NAME);
     instance.setOptionalProperties(optionalProperties);
-    return instance;
+    return mockCurrentInstance(instance);
   }
 
   @Test
   public void testForbiddenCreateIMException()
-      throws RemoteApiException, IntegrationConfigException, IOException {
+      throws RemoteApiException, IntegrationConfigException, IOException,
+      InterruptedException {
     IntegrationInstance instance = mockInstance();
 
     mockIntegrationService();
@@ -163,6 +185,7 @@ public class IntegrationBridgeExceptionHandlerTest {
 
     exceptionHandler.handleRemoteApiException(new RemoteApiException(403, new RuntimeException()),
         instance, INTEGRATION_USER, STREAM);
+    awaitRemovals();
 
     List<String> streams =
         WebHookConfigurationUtils.getStreams(savedInstance.getOptionalProperties());
@@ -184,7 +207,7 @@ public class IntegrationBridgeExceptionHandlerTest {
 
   @Test
   public void testForbiddenPostMessageSuccessfully() throws IntegrationConfigException,
-      IOException, RemoteApiException {
+      IOException, RemoteApiException, InterruptedException {
     IntegrationInstance instance = mockInstance();
 
     mockIntegrationService();
@@ -212,6 +235,7 @@ public class IntegrationBridgeExceptionHandlerTest {
 
     exceptionHandler.handleRemoteApiException(new RemoteApiException(403, new RuntimeException()),
         instance, INTEGRATION_USER, STREAM);
+    awaitRemovals();
 
     List<String> streams =
         WebHookConfigurationUtils.getStreams(savedInstance.getOptionalProperties());
@@ -224,7 +248,8 @@ public class IntegrationBridgeExceptionHandlerTest {
 
   @Test
   public void testForbiddenPostMessageSuccessfullyForUndeterminedRoom()
-      throws RemoteApiException, IntegrationConfigException, IOException {
+      throws RemoteApiException, IntegrationConfigException, IOException,
+      InterruptedException {
     IntegrationInstance instance = mockInstanceAlt();
 
     mockIntegrationService();
@@ -252,6 +277,7 @@ public class IntegrationBridgeExceptionHandlerTest {
 
     exceptionHandler.handleRemoteApiException(new RemoteApiException(403, new RuntimeException()),
         instance, INTEGRATION_USER, STREAM);
+    awaitRemovals();
 
     List<String> streams =
         WebHookConfigurationUtils.getStreams(savedInstance.getOptionalProperties());
@@ -262,6 +288,124 @@ public class IntegrationBridgeExceptionHandlerTest {
         messagePosted);
   }
 
+  @Test
+  public void testForbiddenRemovalsCoalesced() throws Exception {
+    IntegrationInstance instance = mockInstanceMultipleRooms();
+
+    mockIntegrationService();
+
+    when(authenticationProxy.getSessionToken(INTEGRATION_USER)).thenReturn(TOKEN);
+
+    Stream resultIM = new Stream();
+    resultIM.setId(IM);
+    doReturn(resultIM).when(streamService).createIM(INTEGRATION_USER, new Long(USER_ID));
+
+    User userInfo = new User();
+    userInfo.setDisplayName(DISPLAY_NAME);
+    when(usersApi.getUserByUsername(TOKEN, INTEGRATION_USER)).thenReturn(userInfo);
+
+    doAnswer(new Answer<Message>() {
+      @Override
+      public Message answer(InvocationOnMock invocationOnMock) throws Throwable {
+        Message messageSubmission = (Message) invocationOnMock.getArguments()[2];
+        messagePosted = messageSubmission.getMessage();
+        return new Message();
+      }
+    }).when(streamService).postMessage(eq(INTEGRATION_USER), eq(IM), any(Message.class));
+
+    // keeps the worker busy while the removals are queued
+    final CountDownLatch release = new CountDownLatch(1);
+    removalWorker.execute(new Runnable() {
+      @Override
+      public void run() {
+        try {
+          release.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+          Thread.currentThread().interrupt();
+        }
+      }
+    });
+
+    exceptionHandler.handleRemoteApiException(new RemoteApiException(403, new RuntimeException()),
+        instance, INTEGRATION_USER, STREAM);
+    exceptionHandler.handleRemoteApiException(new RemoteApiException(403, new RuntimeException()),
+        instance, INTEGRATION_USER, STREAM_ALT);
+    exceptionHandler.handleRemoteApiException(new RemoteApiException(403, new RuntimeException()),
+        instance, INTEGRATION_USER, STREAM);
+
+    assertEquals(1, exceptionHandler.getPendingRemovals());
+
+    release.countDown();
+    awaitRemovals();
+
+    assertEquals(0, exceptionHandler.getPendingRemovals());
+    verify(integrationService, times(1)).save(any(IntegrationInstance.class), anyString());
+    verify(streamService, times(1)).postMessage(eq(INTEGRATION_USER), eq(IM), any(Message.class));
+
+    List<String> streams =
+        WebHookConfigurationUtils.getStreams(savedInstance.getOptionalProperties());
+    assertTrue(streams.isEmpty());
+    assertEquals(
+        "<messageML>JIRA has been removed from Test Room, Other Room, I can no longer post "
+            + "messages in Test Room, Other Room unless I am reconfigured to do so.</messageML>",
+        messagePosted);
+  }
+
+  private IntegrationInstance mockInstanceMultipleRooms() throws JsonProcessingException {
+    String optionalProperties =
+        "{ \"lastPostedDate\": 1, \"owner\": \"" + USER_ID + "\", \"streams\": [ \"" + STREAM
+            + "\", \"" + STREAM_ALT + "\"], \"streamType\" : \"CHATROOM\" , \"rooms\" : [ { "
+            + "\"streamId\" : \"" + STREAM_ID + "\" , \"roomName\" : \"Test Room\"}, { "
+            + "\"streamId\" : \"" + STREAM_ID_ALT + "\" , \"roomName\" : \"Other Room\"}]}";
+
+    IntegrationInstance instance = new IntegrationInstance();
+    instance.setName(INSTANCE_NAME);
+    instance.setOptionalProperties(optionalProperties);
+    return mockCurrentInstance(instance);
+  }
+
+  /**
+   * Sets the instance identifiers and returns the instance as the current one stored.
+   */
+  private IntegrationInstance mockCurrentInstance(IntegrationInstance instance) {
+    instance.setConfigurationId(CONFIGURATION_ID);
+    instance.setInstanceId(INSTANCE_ID);
+
+    doReturn(instance).when(integrationService)
+        .getInstanceById(CONFIGURATION_ID, INSTANCE_ID, INTEGRATION_USER);
+
+    return instance;
+  }
+
+  @Test
+  public void testForbiddenRemovalAppliedToCurrentInstance() throws Exception {
+    // the room was added to the instance after the snapshot was taken
+    IntegrationInstance snapshot = mockInstance();
+    IntegrationInstance current = mockInstanceMultipleRooms();
+
+    mockIntegrationService();
+
+    doThrow(RemoteApiException.class).when(streamService).createIM(anyString(), anyLong());
+
+    exceptionHandler.handleRemoteApiException(new RemoteApiException(403, new RuntimeException()),
+        snapshot, INTEGRATION_USER, STREAM);
+    awaitRemovals();
+
+    verify(integrationService, times(1)).getInstanceById(CONFIGURATION_ID, INSTANCE_ID,
+        INTEGRATION_USER);
+    assertSame(current, savedInstance);
+
+    List<String> streams =
+        WebHookConfigurationUtils.getStreams(savedInstance.getOptionalProperties());
+    assertEquals(1, streams.size());
+    assertEquals(STREAM_ALT, streams.get(0));
+  }
+
+  private void awaitRemovals() throws InterruptedException {
+    removalWorker.shutdown();
+    assertTrue(removalWorker.awaitTermination(5, TimeUnit.SECONDS));
+  }
+
   @Test
   public void testInternalServerException() {
     exceptionHandler.handleRemoteApiException(new RemoteApiException(500, new RuntimeException()),
@@ -27,18 +27,25 @@ import static org.mockito.Matchers.eq;
 import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.doThrow;
 
+import com.codahale.metrics.MetricRegistry;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import org.hamcrest.Matchers;
+import org.junit.After;
 import org.junit.Assert;
+import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Spy;
+import org.mockito.internal.util.reflection.Whitebox;
 import org.mockito.runners.MockitoJUnitRunner;
+import org.springframework.core.env.StandardEnvironment;
 import org.symphonyoss.integration.Integration;
 import org.symphonyoss.integration.core.NullIntegration;
 import org.symphonyoss.integration.core.bootstrap.IntegrationBootstrapContext;
+import org.symphonyoss.integration.core.delivery.DeliveryLanes;
+import org.symphonyoss.integration.core.delivery.DeliveryScheduler;
 import org.symphonyoss.integration.exception.RemoteApiException;
 import org.symphonyoss.integration.exception.authentication.ConnectivityException;
 import org.symphonyoss.integration.logging.LogMessageSource;
@@ -84,6 +91,33 @@ public class IntegrationBridgeTest {
   @Mock
   private LogMessageSource logMessage;
 
+  @Spy
+  private DeliveryLanes deliveryLanes = new DeliveryLanes();
+
+  private DeliveryScheduler deliveryScheduler = new DeliveryScheduler();
+
+  @Before
+  public void init() {
+    StandardEnvironment environment = new StandardEnvironment();
+    MetricRegistry metricRegistry = new MetricRegistry();
+
+    Whitebox.setInternalState(deliveryScheduler, "environment", environment);
+    Whitebox.setInternalState(deliveryScheduler, "metricRegistry", metricRegistry);
+    Whitebox.setInternalState(deliveryScheduler, "logMessage", logMessage);
+    deliveryScheduler.init();
+
+    Whitebox.setInternalState(deliveryLanes, "environment", environment);
+    Whitebox.setInternalState(deliveryLanes, "metricRegistry", metricRegistry);
+    Whitebox.setInternalState(deliveryLanes, "logMessage", logMessage);
+    Whitebox.setInternalState(deliveryLanes, "scheduler", deliveryScheduler);
+    deliveryLanes.init();
+  }
+
+  @After
+  public void destroy() {
+    deliveryScheduler.destroy();
+  }
+
   @Test
   public void testSendMessageWithoutStreamsConfigured() throws RemoteApiException {
     doReturn(Collections.EMPTY_LIST).when(streamService).getStreams(any(IntegrationInstance.class));
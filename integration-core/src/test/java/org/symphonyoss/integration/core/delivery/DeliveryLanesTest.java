@@ -0,0 +1,260 @@
+/**
+ * Copyright 2016-2017 Symphony Integrations - Symphony LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.symphonyoss.integration.core.delivery;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import com.codahale.metrics.MetricRegistry;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.internal.util.reflection.Whitebox;
+import org.mockito.runners.MockitoJUnitRunner;
+import org.springframework.core.env.MapPropertySource;
+import org.springframework.core.env.StandardEnvironment;
+import org.symphonyoss.integration.exception.RemoteApiException;
+import org.symphonyoss.integration.logging.LogMessageSource;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Unit test for {@link DeliveryLanes}
+ */
+@RunWith(MockitoJUnitRunner.class)
+public class DeliveryLanesTest {
+
+  private static final String INTEGRATION_USER = "jiraWebHookIntegration";
+
+  private static final String STREAM = "stream1";
+
+  private static final String OTHER_STREAM = "stream2";
+
+  private static final int MAX_DEPTH = 2;
+
+  private static final int DELIVERIES = 20;
+
+  @Spy
+  private StandardEnvironment environment = new StandardEnvironment();
+
+  @Spy
+  private MetricRegistry metricRegistry = new MetricRegistry();
+
+  @Mock
+  private LogMessageSource logMessage;
+
+  @InjectMocks
+  private DeliveryLanes lanes;
+
+  private DeliveryScheduler deliveryScheduler = new DeliveryScheduler();
+
+  private ExecutorService senders = Executors.newCachedThreadPool();
+
+  @Before
+  public void init() {
+    Map<String, Object> properties = new HashMap<>();
+    properties.put(DeliveryScheduler.POOL_SIZE_KEY, 4);
+    properties.put(DeliveryLanes.MAX_DEPTH_KEY, MAX_DEPTH);
+
+    environment.getPropertySources().addFirst(new MapPropertySource("test", properties));
+
+    Whitebox.setInternalState(deliveryScheduler, "environment", environment);
+    Whitebox.setInternalState(deliveryScheduler, "metricRegistry", metricRegistry);
+    Whitebox.setInternalState(deliveryScheduler, "logMessage", logMessage);
+    deliveryScheduler.init();
+
+    Whitebox.setInternalState(lanes, "scheduler", deliveryScheduler);
+    lanes.init();
+  }
+
+  @After
+  public void destroy() {
+    senders.shutdownNow();
+    deliveryScheduler.destroy();
+  }
+
+  @Test
+  public void testExecute() throws RemoteApiException {
+    String result = lanes.execute(INTEGRATION_USER, STREAM, new Callable<String>() {
+      @Override
+      public String call() throws Exception {
+        return STREAM;
+      }
+    });
+
+    assertEquals(STREAM, result);
+    assertEquals(0, lanes.getActiveLanes());
+  }
+
+  @Test(expected = RemoteApiException.class)
+  public void testExecuteRemoteApiException() throws RemoteApiException {
+    lanes.execute(INTEGRATION_USER, STREAM, new Callable<String>() {
+      @Override
+      public String call() throws Exception {
+        throw new RemoteApiException(403, "Forbidden");
+      }
+    });
+  }
+
+  @Test
+  public void testOrderInsideLane() throws Exception {
+    final List<Integer> order = Collections.synchronizedList(new ArrayList<Integer>());
+    final CountDownLatch release = new CountDownLatch(1);
+
+    Future<?> first = send(STREAM, new Callable<Integer>() {
+      @Override
+      public Integer call() throws Exception {
+        release.await(5, TimeUnit.SECONDS);
+        order.add(0);
+        return 0;
+      }
+    });
+
+    waitDepth(STREAM, 1);
+
+    Future<?> second = send(STREAM, new Callable<Integer>() {
+      @Override
+      public Integer call() throws Exception {
+        order.add(1);
+        return 1;
+      }
+    });
+
+    waitDepth(STREAM, 2);
+
+    // other streams aren't blocked by the busy lane
+    assertEquals(OTHER_STREAM, lanes.execute(INTEGRATION_USER, OTHER_STREAM,
+        new Callable<String>() {
+          @Override
+          public String call() throws Exception {
+            return OTHER_STREAM;
+          }
+        }));
+
+    release.countDown();
+    first.get(5, TimeUnit.SECONDS);
+    second.get(5, TimeUnit.SECONDS);
+
+    assertEquals(2, order.size());
+    assertEquals(Integer.valueOf(0), order.get(0));
+    assertEquals(Integer.valueOf(1), order.get(1));
+    assertEquals(0, lanes.getActiveLanes());
+  }
+
+  @Test
+  public void testSequentialSenders() throws Exception {
+    final List<Integer> order = Collections.synchronizedList(new ArrayList<Integer>());
+
+    for (int i = 0; i < DELIVERIES; i++) {
+      final int value = i;
+      lanes.execute(INTEGRATION_USER, STREAM, new Callable<Integer>() {
+        @Override
+        public Integer call() throws Exception {
+          order.add(value);
+          return value;
+        }
+      });
+    }
+
+    for (int i = 0; i < DELIVERIES; i++) {
+      assertEquals(Integer.valueOf(i), order.get(i));
+    }
+  }
+
+  @Test
+  public void testLaneFull() throws Exception {
+    final CountDownLatch release = new CountDownLatch(1);
+    Callable<Integer> blocked = new Callable<Integer>() {
+      @Override
+      public Integer call() throws Exception {
+        release.await(5, TimeUnit.SECONDS);
+        return 0;
+      }
+    };
+
+    Future<?> first = send(STREAM, blocked);
+    waitDepth(STREAM, 1);
+
+    Future<?> second = send(STREAM, blocked);
+    waitDepth(STREAM, MAX_DEPTH);
+
+    try {
+      lanes.execute(INTEGRATION_USER, STREAM, blocked);
+      fail();
+    } catch (RemoteApiException e) {
+      assertEquals(503, e.getCode());
+    } finally {
+      release.countDown();
+    }
+
+    first.get(5, TimeUnit.SECONDS);
+    second.get(5, TimeUnit.SECONDS);
+  }
+
+  @Test
+  public void testSchedulerRejection() {
+    deliveryScheduler.destroy();
+
+    try {
+      lanes.execute(INTEGRATION_USER, STREAM, new Callable<String>() {
+        @Override
+        public String call() throws Exception {
+          return STREAM;
+        }
+      });
+      fail();
+    } catch (RemoteApiException e) {
+      assertEquals(503, e.getCode());
+      assertEquals(0, lanes.getActiveLanes());
+      assertEquals(0, lanes.getDepth(INTEGRATION_USER, STREAM));
+    }
+  }
+
+  private Future<?> send(final String stream, final Callable<Integer> delivery) {
+    return senders.submit(new Callable<Integer>() {
+      @Override
+      public Integer call() throws Exception {
+        return lanes.execute(INTEGRATION_USER, stream, delivery);
+      }
+    });
+  }
+
+  private void waitDepth(String stream, int depth) throws InterruptedException {
+    long deadline = System.currentTimeMillis() + TimeUnit.SECONDS.toMillis(5);
+
+    while (lanes.getDepth(INTEGRATION_USER, stream) < depth) {
+      assertTrue(System.currentTimeMillis() < deadline);
+      TimeUnit.MILLISECONDS.sleep(10);
+    }
+  }
+
+}
@@ -0,0 +1,288 @@
+/**
+ * Copyright 2016-2017 Symphony Integrations - Symphony LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.symphonyoss.integration.core.delivery;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import com.codahale.metrics.MetricRegistry;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.runners.MockitoJUnitRunner;
+import org.springframework.core.env.MapPropertySource;
+import org.springframework.core.env.StandardEnvironment;
+import org.symphonyoss.integration.exception.RemoteApiException;
+import org.symphonyoss.integration.logging.LogMessageSource;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Unit test for {@link DeliveryScheduler}
+ */
+@RunWith(MockitoJUnitRunner.class)
+public class DeliverySchedulerTest {
+
+  private static final String NOISY_INTEGRATION = "githubWebHookIntegration";
+
+  private static final String QUIET_INTEGRATION = "zapierWebHookIntegration";
+
+  @Spy
+  private StandardEnvironment environment = new StandardEnvironment();
+
+  @Spy
+  private MetricRegistry metricRegistry = new MetricRegistry();
+
+  @Mock
+  private LogMessageSource logMessage;
+
+  @InjectMocks
+  private DeliveryScheduler scheduler;
+
+  @Before
+  public void init() {
+    Map<String, Object> properties = new HashMap<>();
+    properties.put(DeliveryScheduler.POOL_SIZE_KEY, 1);
+    properties.put(DeliveryScheduler.AWAIT_TIMEOUT_KEY, 1);
+    properties.put(DeliveryScheduler.WEIGHTS_KEY + QUIET_INTEGRATION, 4);
+
+    environment.getPropertySources().addFirst(new MapPropertySource("test", properties));
+
+    scheduler.init();
+  }
+
+  @After
+  public void destroy() {
+    scheduler.destroy();
+  }
+
+  @Test
+  public void testWeight() {
+    assertEquals(DeliveryScheduler.DEFAULT_WEIGHT, scheduler.getWeight(NOISY_INTEGRATION));
+    assertEquals(4, scheduler.getWeight(QUIET_INTEGRATION));
+  }
+
+  @Test
+  public void testExecute() throws RemoteApiException {
+    String result = scheduler.execute(NOISY_INTEGRATION, new Callable<String>() {
+      @Override
+      public String call() throws Exception {
+        return NOISY_INTEGRATION;
+      }
+    });
+
+    assertEquals(NOISY_INTEGRATION, result);
+    assertEquals(0, scheduler.getQueueDepth(NOISY_INTEGRATION));
+  }
+
+  @Test(expected = RemoteApiException.class)
+  public void testExecuteRemoteApiException() throws RemoteApiException {
+    scheduler.execute(NOISY_INTEGRATION, new Callable<String>() {
+      @Override
+      public String call() throws Exception {
+        throw new RemoteApiException(403, "Forbidden");
+      }
+    });
+  }
+
+  @Test
+  public void testQuietIntegrationIsNotStarved() throws Exception {
+    final CountDownLatch started = new CountDownLatch(1);
+    final CountDownLatch release = new CountDownLatch(1);
+    final List<String> order = Collections.synchronizedList(new ArrayList<String>());
+
+    DeliveryTask<String> blocker = scheduler.submit(NOISY_INTEGRATION, new Callable<String>() {
+      @Override
+      public String call() throws Exception {
+        started.countDown();
+        release.await(5, TimeUnit.SECONDS);
+        return NOISY_INTEGRATION;
+      }
+    });
+
+    assertTrue(started.await(5, TimeUnit.SECONDS));
+
+    List<DeliveryTask<String>> tasks = new ArrayList<>();
+
+    for (int i = 0; i < 3; i++) {
+      tasks.add(scheduler.submit(NOISY_INTEGRATION, new RecordingCallable(NOISY_INTEGRATION, order)));
+    }
+
+    tasks.add(scheduler.submit(QUIET_INTEGRATION, new RecordingCallable(QUIET_INTEGRATION, order)));
+
+    assertEquals(3, scheduler.getQueueDepth(NOISY_INTEGRATION));
+    assertEquals(1, scheduler.getQueueDepth(QUIET_INTEGRATION));
+    assertEquals(5, scheduler.getPendingDeliveries());
+
+    release.countDown();
+    blocker.get(5, TimeUnit.SECONDS);
+
+    for (DeliveryTask<String> task : tasks) {
+      task.get(5, TimeUnit.SECONDS);
+    }
+
+    assertEquals(4, order.size());
+    assertEquals(QUIET_INTEGRATION, order.get(0));
+    assertEquals(0, scheduler.getQueueDepth(NOISY_INTEGRATION));
+    assertEquals(0, scheduler.getQueueDepth(QUIET_INTEGRATION));
+  }
+
+  @Test
+  public void testQuietIntegrationOvertakesWeightedBacklog() throws Exception {
+    Map<String, Object> properties = new HashMap<>();
+    properties.put(DeliveryScheduler.WEIGHTS_KEY + NOISY_INTEGRATION, 2);
+
+    environment.getPropertySources().replace("test", new MapPropertySource("test", properties));
+
+    scheduler.destroy();
+    scheduler.init();
+
+    CountDownLatch started = new CountDownLatch(DeliveryScheduler.DEFAULT_POOL_SIZE);
+    CountDownLatch releaseFirst = new CountDownLatch(1);
+    CountDownLatch release = new CountDownLatch(1);
+    List<String> order = Collections.synchronizedList(new ArrayList<String>());
+
+    // Saturates the default pool with the noisy integration
+    List<DeliveryTask<String>> blockers = new ArrayList<>();
+    blockers.add(scheduler.submit(NOISY_INTEGRATION, new BlockingCallable(started, releaseFirst)));
+
+    for (int i = 1; i < DeliveryScheduler.DEFAULT_POOL_SIZE; i++) {
+      blockers.add(scheduler.submit(NOISY_INTEGRATION, new BlockingCallable(started, release)));
+    }
+
+    assertTrue(started.await(5, TimeUnit.SECONDS));
+
+    List<DeliveryTask<String>> tasks = new ArrayList<>();
+
+    for (int i = 0; i < 6; i++) {
+      tasks.add(scheduler.submit(NOISY_INTEGRATION,
+          new RecordingCallable(NOISY_INTEGRATION, order)));
+    }
+
+    tasks.add(scheduler.submit(QUIET_INTEGRATION, new RecordingCallable(QUIET_INTEGRATION, order)));
+
+    assertEquals(6, scheduler.getQueueDepth(NOISY_INTEGRATION));
+    assertEquals(1, scheduler.getQueueDepth(QUIET_INTEGRATION));
+
+    // A single worker drains the backlog, so the deliveries are performed in dispatch order
+    releaseFirst.countDown();
+
+    for (DeliveryTask<String> task : tasks) {
+      task.get(5, TimeUnit.SECONDS);
+    }
+
+    release.countDown();
+
+    for (DeliveryTask<String> blocker : blockers) {
+      blocker.get(5, TimeUnit.SECONDS);
+    }
+
+    // The noisy integration has twice the weight, so the quiet one waits for a single delivery
+    assertEquals(7, order.size());
+    assertEquals(QUIET_INTEGRATION, order.get(1));
+  }
+
+  @Test
+  public void testRejectedAfterDestroy() {
+    scheduler.destroy();
+
+    try {
+      scheduler.submit(NOISY_INTEGRATION, new RecordingCallable(NOISY_INTEGRATION,
+          new ArrayList<String>()));
+      fail();
+    } catch (RemoteApiException e) {
+      assertEquals(503, e.getCode());
+      assertEquals(0, scheduler.getQueueDepth(NOISY_INTEGRATION));
+      assertEquals(0, scheduler.getPendingDeliveries());
+    }
+  }
+
+  @Test
+  public void testAwaitTimeout() throws Exception {
+    final CountDownLatch release = new CountDownLatch(1);
+
+    DeliveryTask<String> blocker = scheduler.submit(NOISY_INTEGRATION, new Callable<String>() {
+      @Override
+      public String call() throws Exception {
+        release.await(5, TimeUnit.SECONDS);
+        return NOISY_INTEGRATION;
+      }
+    });
+
+    try {
+      scheduler.execute(QUIET_INTEGRATION, new RecordingCallable(QUIET_INTEGRATION,
+          new ArrayList<String>()));
+      fail();
+    } catch (RemoteApiException e) {
+      assertEquals(503, e.getCode());
+    } finally {
+      release.countDown();
+    }
+
+    blocker.get(5, TimeUnit.SECONDS);
+  }
+
+  private static final class BlockingCallable implements Callable<String> {
+
+    private final CountDownLatch started;
+
+    private final CountDownLatch release;
+
+    BlockingCallable(CountDownLatch started, CountDownLatch release) {
+      this.started = started;
+      this.release = release;
+    }
+
+    @Override
+    public String call() throws Exception {
+      started.countDown();
+      release.await(5, TimeUnit.SECONDS);
+      return NOISY_INTEGRATION;
+    }
+  }
+
+  private static final class RecordingCallable implements Callable<String> {
+
+    private final String integration;
+
+    private final List<String> order;
+
+    RecordingCallable(String integration, List<String> order) {
+      this.integration = integration;
+      this.order = order;
+    }
+
+    @Override
+    public String call() throws Exception {
+      order.add(integration);
+      return integration;
+    }
+  }
+
+}
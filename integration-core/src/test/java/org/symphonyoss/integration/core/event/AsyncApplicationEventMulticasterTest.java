@@ -0,0 +1,294 @@
+/**
+ * Copyright 2016-2017 Symphony Integrations - Symphony LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.symphonyoss.integration.core.event;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
+import static org.symphonyoss.integration.metrics.IntegrationMetricsConstants.BASE_METRIC_NAME;
+
+import com.codahale.metrics.MetricRegistry;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.InjectMocks;
+import org.mockito.Spy;
+import org.mockito.runners.MockitoJUnitRunner;
+import org.springframework.context.ApplicationEvent;
+import org.springframework.context.ApplicationListener;
+import org.springframework.context.PayloadApplicationEvent;
+import org.springframework.context.event.ContextRefreshedEvent;
+import org.springframework.context.support.StaticApplicationContext;
+import org.springframework.core.env.MapPropertySource;
+import org.springframework.core.env.StandardEnvironment;
+import org.symphonyoss.integration.core.event.AsyncApplicationEventMulticaster.MergeKey;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Unit test for {@link AsyncApplicationEventMulticaster}
+ */
+@RunWith(MockitoJUnitRunner.class)
+public class AsyncApplicationEventMulticasterTest {
+
+  private static final String SERVICE = "Agent";
+
+  private static final String OTHER_SERVICE = "POD";
+
+  @Spy
+  private StandardEnvironment environment = new StandardEnvironment();
+
+  @Spy
+  private MetricRegistry metricRegistry = new MetricRegistry();
+
+  @InjectMocks
+  private AsyncApplicationEventMulticaster multicaster;
+
+  private RecordingListener listener = new RecordingListener();
+
+  @Before
+  public void init() {
+    multicaster.init();
+    multicaster.addApplicationListener(listener);
+    multicaster.registerMergeKey(TestEvent.class, new MergeKey<TestEvent>() {
+      @Override
+      public Object getKey(TestEvent event) {
+        return event.serviceName;
+      }
+    });
+  }
+
+  @After
+  public void destroy() {
+    multicaster.destroy();
+  }
+
+  @Test
+  public void testPayloadEventIsAsynchronous() throws InterruptedException {
+    multicaster.multicastEvent(mockEvent(SERVICE));
+
+    assertTrue(listener.received.await(5, TimeUnit.SECONDS));
+    assertEquals(1, listener.payloads.size());
+    assertEquals(new TestEvent(SERVICE), listener.payloads.get(0));
+    assertNotEquals(Thread.currentThread(), listener.thread);
+  }
+
+  @Test
+  public void testApplicationEventIsSynchronous() {
+    multicaster.multicastEvent(new ContextRefreshedEvent(new StaticApplicationContext()));
+
+    assertEquals(Thread.currentThread(), listener.thread);
+  }
+
+  @Test
+  public void testMergePendingEvents() throws InterruptedException {
+    listener.release = new CountDownLatch(1);
+
+    multicaster.multicastEvent(mockEvent(SERVICE));
+    assertTrue(listener.started.await(5, TimeUnit.SECONDS));
+
+    // The listener is blocked, so these events wait in the queue
+    multicaster.multicastEvent(mockEvent(SERVICE));
+    multicaster.multicastEvent(mockEvent(SERVICE));
+    multicaster.multicastEvent(mockEvent(OTHER_SERVICE));
+
+    assertEquals(2, multicaster.getQueueDepth(TestEvent.class));
+
+    String merged = MetricRegistry.name(BASE_METRIC_NAME, "events",
+        TestEvent.class.getSimpleName(), "merged");
+    assertEquals(1, metricRegistry.meter(merged).getCount());
+
+    listener.received = new CountDownLatch(3);
+    listener.release.countDown();
+
+    assertTrue(listener.received.await(5, TimeUnit.SECONDS));
+    assertEquals(3, listener.payloads.size());
+    assertEquals(new TestEvent(OTHER_SERVICE), listener.payloads.get(2));
+  }
+
+  @Test
+  public void testStateEventsAreNotMerged() throws InterruptedException {
+    listener.release = new CountDownLatch(1);
+
+    multicaster.multicastEvent(new PayloadApplicationEvent<>(this, new StateEvent(SERVICE)));
+    assertTrue(listener.started.await(5, TimeUnit.SECONDS));
+
+    multicaster.multicastEvent(new PayloadApplicationEvent<>(this, new StateEvent(SERVICE)));
+    multicaster.multicastEvent(new PayloadApplicationEvent<>(this, new StateEvent(SERVICE)));
+
+    assertEquals(2, multicaster.getQueueDepth(StateEvent.class));
+
+    listener.received = new CountDownLatch(3);
+    listener.release.countDown();
+
+    assertTrue(listener.received.await(5, TimeUnit.SECONDS));
+    assertEquals(3, listener.payloads.size());
+  }
+
+  @Test
+  public void testStateEventRunsOnCallerWhenQueueIsFull() throws InterruptedException {
+    Map<String, Object> properties = new HashMap<>();
+    properties.put(AsyncApplicationEventMulticaster.QUEUE_SIZE_KEY, 1);
+    environment.getPropertySources().addFirst(new MapPropertySource("test", properties));
+
+    multicaster.init();
+
+    CountDownLatch release = new CountDownLatch(1);
+    listener.release = release;
+
+    multicaster.multicastEvent(new PayloadApplicationEvent<>(this, new StateEvent(SERVICE)));
+    assertTrue(listener.started.await(5, TimeUnit.SECONDS));
+
+    // Only the dispatch thread waits, the queue holds one event
+    listener.release = null;
+    multicaster.multicastEvent(new PayloadApplicationEvent<>(this, new StateEvent(SERVICE)));
+    multicaster.multicastEvent(new PayloadApplicationEvent<>(this, new StateEvent(OTHER_SERVICE)));
+
+    assertEquals(Thread.currentThread(), listener.thread);
+    assertEquals(new StateEvent(OTHER_SERVICE), listener.payloads.get(0));
+
+    String callerRuns = MetricRegistry.name(BASE_METRIC_NAME, "events",
+        StateEvent.class.getSimpleName(), "callerRuns");
+    assertEquals(1, metricRegistry.meter(callerRuns).getCount());
+
+    listener.received = new CountDownLatch(2);
+    release.countDown();
+
+    assertTrue(listener.received.await(5, TimeUnit.SECONDS));
+    assertEquals(3, listener.payloads.size());
+  }
+
+  @Test
+  public void testMergeableEventDroppedWhenQueueIsFull() throws InterruptedException {
+    Map<String, Object> properties = new HashMap<>();
+    properties.put(AsyncApplicationEventMulticaster.QUEUE_SIZE_KEY, 1);
+    environment.getPropertySources().addFirst(new MapPropertySource("test", properties));
+
+    multicaster.init();
+
+    listener.release = new CountDownLatch(1);
+
+    multicaster.multicastEvent(mockEvent(SERVICE));
+    assertTrue(listener.started.await(5, TimeUnit.SECONDS));
+
+    multicaster.multicastEvent(mockEvent(SERVICE));
+    multicaster.multicastEvent(mockEvent(OTHER_SERVICE));
+
+    String rejected = MetricRegistry.name(BASE_METRIC_NAME, "events",
+        TestEvent.class.getSimpleName(), "rejected");
+    assertEquals(1, metricRegistry.meter(rejected).getCount());
+
+    listener.received = new CountDownLatch(2);
+    listener.release.countDown();
+
+    assertTrue(listener.received.await(5, TimeUnit.SECONDS));
+    assertEquals(2, listener.payloads.size());
+    assertEquals(new TestEvent(SERVICE), listener.payloads.get(1));
+  }
+
+  private PayloadApplicationEvent<TestEvent> mockEvent(String serviceName) {
+    return new PayloadApplicationEvent<>(this, new TestEvent(serviceName));
+  }
+
+  public static final class TestEvent {
+
+    private final String serviceName;
+
+    TestEvent(String serviceName) {
+      this.serviceName = serviceName;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      return o instanceof TestEvent && serviceName.equals(((TestEvent) o).serviceName);
+    }
+
+    @Override
+    public int hashCode() {
+      return serviceName.hashCode();
+    }
+
+  }
+
+  /**
+   * Event without merge key, like the service version updates.
+   */
+  public static final class StateEvent {
+
+    private final String serviceName;
+
+    StateEvent(String serviceName) {
+      this.serviceName = serviceName;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      return o instanceof StateEvent && serviceName.equals(((StateEvent) o).serviceName);
+    }
+
+    @Override
+    public int hashCode() {
+      return serviceName.hashCode();
+    }
+
+  }
+
+  private static final class RecordingListener implements ApplicationListener<ApplicationEvent> {
+
+    private final List<Object> payloads = Collections.synchronizedList(new ArrayList<Object>());
+
+    private final CountDownLatch started = new CountDownLatch(1);
+
+    private volatile CountDownLatch received = new CountDownLatch(1);
+
+    private volatile CountDownLatch release;
+
+    private volatile Thread thread;
+
+    @Override
+    public void onApplicationEvent(ApplicationEvent event) {
+      this.thread = Thread.currentThread();
+
+      if (!(event instanceof PayloadApplicationEvent)) {
+        return;
+      }
+
+      CountDownLatch latch = release;
+      started.countDown();
+
+      try {
+        if (latch != null) {
+          latch.await(5, TimeUnit.SECONDS);
+        }
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+
+      payloads.add(((PayloadApplicationEvent<?>) event).getPayload());
+      received.countDown();
+    }
+
+  }
+
+}
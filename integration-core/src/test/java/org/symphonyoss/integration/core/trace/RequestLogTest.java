@@ -0,0 +1,201 @@
+/**
+ * Copyright 2016-2017 Symphony Integrations - Symphony LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.symphonyoss.integration.core.trace;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.symphonyoss.integration.metrics.IntegrationMetricsConstants.BASE_METRIC_NAME;
+
+import com.codahale.metrics.MetricRegistry;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.InjectMocks;
+import org.mockito.Spy;
+import org.mockito.runners.MockitoJUnitRunner;
+import org.springframework.core.env.MapPropertySource;
+import org.springframework.core.env.StandardEnvironment;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Unit test for {@link RequestLog}
+ */
+@RunWith(MockitoJUnitRunner.class)
+public class RequestLogTest {
+
+  private static final String SAMPLED_INTEGRATION = "jiraWebHookIntegration";
+
+  private static final String MUTED_INTEGRATION = "githubWebHookIntegration";
+
+  @Spy
+  private StandardEnvironment environment = new StandardEnvironment();
+
+  @Spy
+  private MetricRegistry metricRegistry = new MetricRegistry();
+
+  @InjectMocks
+  private RecordingRequestLog requestLog = new RecordingRequestLog();
+
+  private Map<String, Object> properties = new HashMap<>();
+
+  @Before
+  public void init() {
+    properties.put(RequestLog.BUFFER_SIZE_KEY, 1);
+    properties.put(RequestLog.INTEGRATIONS_KEY + MUTED_INTEGRATION, 0.0);
+
+    environment.getPropertySources().addFirst(new MapPropertySource("test", properties));
+
+    requestLog.init();
+  }
+
+  @After
+  public void destroy() {
+    requestLog.release.countDown();
+    requestLog.destroy();
+  }
+
+  @Test
+  public void testSampleRate() {
+    assertEquals(RequestLog.DEFAULT_SAMPLE_RATE, requestLog.getSampleRate(null), 0);
+    assertEquals(RequestLog.DEFAULT_SAMPLE_RATE,
+        requestLog.getSampleRate(SAMPLED_INTEGRATION), 0);
+    assertEquals(0.0, requestLog.getSampleRate(MUTED_INTEGRATION), 0);
+  }
+
+  @Test
+  public void testSampledOut() throws InterruptedException {
+    RequestSpan muted = mockSpan(MUTED_INTEGRATION, 200);
+    RequestSpan sampled = mockSpan(SAMPLED_INTEGRATION, 200);
+
+    requestLog.append(muted);
+    requestLog.append(sampled);
+
+    // The records are written in order, so the muted one was never enqueued
+    assertSame(sampled, requestLog.written.poll(5, TimeUnit.SECONDS));
+  }
+
+  @Test
+  public void testErrorIsNeverSampledOut() throws InterruptedException {
+    RequestSpan error = mockSpan(MUTED_INTEGRATION, 500);
+
+    requestLog.append(error);
+
+    assertSame(error, requestLog.written.poll(5, TimeUnit.SECONDS));
+  }
+
+  @Test
+  public void testBufferFull() throws InterruptedException {
+    RequestSpan blocker = mockSpan(SAMPLED_INTEGRATION, 200);
+    RequestSpan buffered = mockSpan(SAMPLED_INTEGRATION, 200);
+    RequestSpan dropped = mockSpan(SAMPLED_INTEGRATION, 200);
+    RequestSpan error = mockSpan(SAMPLED_INTEGRATION, 503);
+
+    requestLog.blocker = blocker;
+    requestLog.append(blocker);
+
+    assertTrue(requestLog.started.await(5, TimeUnit.SECONDS));
+
+    requestLog.append(buffered);
+    requestLog.append(dropped);
+    requestLog.append(error);
+
+    // The error is written by the caller thread while the writer is blocked
+    assertSame(error, requestLog.written.poll());
+    assertEquals(1, metricRegistry.meter(
+        MetricRegistry.name(BASE_METRIC_NAME, "requestLog", "dropped")).getCount());
+
+    requestLog.release.countDown();
+
+    assertSame(blocker, requestLog.written.poll(5, TimeUnit.SECONDS));
+    assertSame(buffered, requestLog.written.poll(5, TimeUnit.SECONDS));
+    assertNull(requestLog.written.poll());
+  }
+
+  @Test
+  public void testDisabled() {
+    properties.put(RequestLog.ENABLED_KEY, false);
+    requestLog.init();
+
+    requestLog.append(mockSpan(SAMPLED_INTEGRATION, 500));
+
+    assertTrue(requestLog.written.isEmpty());
+  }
+
+  @Test
+  public void testFormat() {
+    RequestSpan span = mockSpan(SAMPLED_INTEGRATION, 200);
+    span.setRequest("POST", "/integration/v1/whi/jiraWebHookIntegration/123/abc");
+    span.setOutcome("123", "abc", 1024, "delivered");
+    span.record(ProcessingStage.HANDLE, TimeUnit.MILLISECONDS.toNanos(15));
+    span.finish();
+
+    String record = RequestLog.format(span);
+
+    assertTrue(record.startsWith("trace=aAa8Uk method=POST "
+        + "uri=/integration/v1/whi/jiraWebHookIntegration/123/abc "
+        + "integration=jiraWebHookIntegration configuration=123 hash=abc status=200 "
+        + "outcome=delivered payloadSize=1024 duration="));
+    assertTrue(record.endsWith("stages=[handle=15 ms]"));
+  }
+
+  private RequestSpan mockSpan(String integration, int status) {
+    RequestSpan span = new RequestSpan("aAa8Uk");
+    span.setIntegration(integration);
+    span.setStatus(status);
+    return span;
+  }
+
+  /**
+   * Request log that keeps the written records instead of sending them to the logger.
+   */
+  private static final class RecordingRequestLog extends RequestLog {
+
+    private final BlockingQueue<RequestSpan> written = new LinkedBlockingQueue<>();
+
+    private final CountDownLatch started = new CountDownLatch(1);
+
+    private final CountDownLatch release = new CountDownLatch(1);
+
+    private volatile RequestSpan blocker;
+
+    @Override
+    protected void write(RequestSpan span) {
+      if (span == blocker) {
+        started.countDown();
+
+        try {
+          release.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+          Thread.currentThread().interrupt();
+        }
+      }
+
+      written.add(span);
+    }
+
+  }
+
+}
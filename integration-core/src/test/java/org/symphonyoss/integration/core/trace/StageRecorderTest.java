@@ -0,0 +1,140 @@
+/**
+ * Copyright 2016-2017 Symphony Integrations - Symphony LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.symphonyoss.integration.core.trace;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.verify;
+import static org.symphonyoss.integration.logging.DistributedTracingUtils.TRACE_ID;
+import static org.symphonyoss.integration.metrics.IntegrationMetricsConstants.BASE_METRIC_NAME;
+
+import com.codahale.metrics.MetricRegistry;
+import com.codahale.metrics.Timer;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.runners.MockitoJUnitRunner;
+import org.slf4j.MDC;
+import org.springframework.core.env.MapPropertySource;
+import org.springframework.core.env.StandardEnvironment;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Unit test for {@link StageRecorder}
+ */
+@RunWith(MockitoJUnitRunner.class)
+public class StageRecorderTest {
+
+  private static final String INTEGRATION = "jiraWebHookIntegration";
+
+  private static final String TRACE = "aAa8Uk";
+
+  @Spy
+  private StandardEnvironment environment = new StandardEnvironment();
+
+  @Spy
+  private MetricRegistry metricRegistry = new MetricRegistry();
+
+  @Mock
+  private RequestLog requestLog;
+
+  @InjectMocks
+  private StageRecorder stageRecorder;
+
+  private Map<String, Object> properties = new HashMap<>();
+
+  @Before
+  public void init() {
+    properties.put(StageRecorder.SLOW_THRESHOLD_KEY, 0L);
+    properties.put(StageRecorder.SLOW_SAMPLE_RATE_KEY, 1.0);
+
+    environment.getPropertySources().addFirst(new MapPropertySource("test", properties));
+
+    stageRecorder.init();
+  }
+
+  @After
+  public void cleanUp() {
+    StageTracingUtils.detach();
+    MDC.clear();
+  }
+
+  @Test
+  public void testStagesRecordedPerIntegration() {
+    MDC.put(TRACE_ID, TRACE);
+
+    RequestSpan span = stageRecorder.startSpan();
+
+    assertSame(span, StageTracingUtils.currentSpan());
+    assertEquals(TRACE, span.getTraceId());
+
+    StageTracingUtils.setIntegration(INTEGRATION);
+
+    StageTracingUtils.finishStage(StageTracingUtils.startStage(ProcessingStage.HANDLE));
+    StageTracingUtils.finishStage(StageTracingUtils.startStage(ProcessingStage.POST_MESSAGE));
+    StageTracingUtils.finishStage(StageTracingUtils.startStage(ProcessingStage.POST_MESSAGE));
+
+    assertEquals(2, span.getCount(ProcessingStage.POST_MESSAGE));
+
+    stageRecorder.finishSpan(span);
+
+    assertNull(StageTracingUtils.currentSpan());
+    assertEquals(1, getTimer(ProcessingStage.HANDLE).getCount());
+    assertEquals(1, getTimer(ProcessingStage.POST_MESSAGE).getCount());
+    assertEquals(0, getTimer(ProcessingStage.GET_TOKEN).getCount());
+    assertTrue(span.getTotalDuration() > 0);
+
+    verify(requestLog).append(span);
+  }
+
+  @Test
+  public void testSpanWithoutIntegration() {
+    RequestSpan span = stageRecorder.startSpan();
+
+    StageTracingUtils.finishStage(StageTracingUtils.startStage(ProcessingStage.ORIGIN_CHECK));
+    stageRecorder.finishSpan(span);
+
+    assertTrue(metricRegistry.getTimers().isEmpty());
+    verify(requestLog).append(span);
+  }
+
+  @Test
+  public void testDisabled() {
+    properties.put(StageRecorder.ENABLED_KEY, false);
+    stageRecorder.init();
+
+    assertNull(stageRecorder.startSpan());
+    assertNull(StageTracingUtils.startStage(ProcessingStage.HANDLE));
+
+    StageTracingUtils.finishStage(null);
+    stageRecorder.finishSpan(null);
+  }
+
+  private Timer getTimer(ProcessingStage stage) {
+    return metricRegistry.timer(
+        MetricRegistry.name(BASE_METRIC_NAME, INTEGRATION, "stage", stage.getMetricName()));
+  }
+
+}
@@ -27,22 +27,59 @@ import org.symphonyoss.integration.model.healthcheck.IntegrationHealth;
  * In summary, this class must return a {@link Health} object based on {@link IntegrationHealth}
  * object.
  *
+ * While the integration is warming up, the status is reported as {@link #WARMING_UP}, so the
+ * integration isn't considered active before it's able to serve requests without cold caches.
+ * During the shutdown, the status is reported as {@link #DRAINING} while the in-flight requests
+ * are finished, so the load balancers stop routing new requests to this instance.
+ *
  * Created by rsanchez on 19/01/17.
  */
 public class IntegrationHealthIndicatorAdapter implements HealthIndicator {
 
+  public static final String WARMING_UP = "WARMING_UP";
+
+  public static final String DRAINING = "DRAINING";
+
   private static final String DETAIL = "detail";
 
   private Integration integration;
 
+  private volatile boolean ready = true;
+
+  private volatile boolean draining;
+
   public IntegrationHealthIndicatorAdapter(Integration integration) {
     this.integration = integration;
   }
 
+  public boolean isReady() {
+    return ready;
+  }
+
+  public void setReady(boolean ready) {
+    this.ready = ready;
+  }
+
+  public boolean isDraining() {
+    return draining;
+  }
+
+  public void setDraining(boolean draining) {
+    this.draining = draining;
+  }
+
   @Override
   public Health health() {
     IntegrationHealth healthStatus = integration.getHealthStatus();
-    return Health.status(healthStatus.getStatus()).withDetail(DETAIL, healthStatus).build();
+    String status = healthStatus.getStatus();
+
+    if (draining) {
+      status = DRAINING;
+    } else if (!ready) {
+      status = WARMING_UP;
+    }
+
+    return Health.status(status).withDetail(DETAIL, healthStatus).build();
   }
 
 }
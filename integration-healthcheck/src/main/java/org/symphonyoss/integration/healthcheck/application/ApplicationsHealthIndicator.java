@@ -28,6 +28,7 @@ import org.symphonyoss.integration.model.yaml.ApplicationState;
 import org.symphonyoss.integration.model.yaml.IntegrationProperties;
 
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 import javax.annotation.PostConstruct;
 
@@ -46,6 +47,12 @@ public class ApplicationsHealthIndicator extends AsyncCompositeHealthIndicator {
   @Autowired(required = false)
   private Map<String, Integration> integrations;
 
+  /**
+   * Health indicators indexed by component
+   */
+  private final Map<String, IntegrationHealthIndicatorAdapter> adapters =
+      new ConcurrentHashMap<>();
+
   @Autowired
   public ApplicationsHealthIndicator(LogMessageSource logMessageSource) {
     super(new ApplicationsHealthAggregator(), logMessageSource);
@@ -67,7 +74,11 @@ public class ApplicationsHealthIndicator extends AsyncCompositeHealthIndicator {
         Integration integration = integrations.get(component);
 
         if ((integration != null) && (ApplicationState.PROVISIONED.equals(app.getState()))) {
-          addHealthIndicator(component, new IntegrationHealthIndicatorAdapter(integration));
+          IntegrationHealthIndicatorAdapter adapter =
+              new IntegrationHealthIndicatorAdapter(integration);
+
+          adapters.put(component, adapter);
+          addHealthIndicator(component, adapter);
         }
       }
 
@@ -75,4 +86,29 @@ public class ApplicationsHealthIndicator extends AsyncCompositeHealthIndicator {
 
   }
 
+  /**
+   * Sets whether the integration is ready to serve requests. Integrations that aren't ready are
+   * reported as warming up.
+   * @param component Integration component
+   * @param ready true if the integration is ready or false otherwise
+   */
+  public void setReady(String component, boolean ready) {
+    IntegrationHealthIndicatorAdapter adapter = adapters.get(component);
+
+    if (adapter != null) {
+      adapter.setReady(ready);
+    }
+  }
+
+  /**
+   * Sets whether the Integration Bridge is draining the in-flight requests before the shutdown.
+   * All the integrations are reported as draining meanwhile.
+   * @param draining true if the Integration Bridge is draining or false otherwise
+   */
+  public void setDraining(boolean draining) {
+    for (IntegrationHealthIndicatorAdapter adapter : adapters.values()) {
+      adapter.setDraining(draining);
+    }
+  }
+
 }
@@ -16,6 +16,7 @@
 
 package org.symphonyoss.integration.healthcheck.services;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import com.github.zafarkhaja.semver.ParseException;
 import com.github.zafarkhaja.semver.Version;
 import org.apache.commons.lang3.StringUtils;
@@ -45,6 +46,8 @@ public class IntegrationBridgeService {
 
   private String minVersion;
 
+  private ServiceLatency latency;
+
   public IntegrationBridgeService(String minVersion) {
     this.minVersion = minVersion;
   }
@@ -73,6 +76,20 @@ public class IntegrationBridgeService {
     return minVersion;
   }
 
+  /**
+   * Latency measured by the background health probes. It's not part of the service identity, so
+   * it's ignored by {@link #equals(Object)}.
+   * @return Service latency or null if the service wasn't probed yet
+   */
+  @JsonInclude(JsonInclude.Include.NON_NULL)
+  public ServiceLatency getLatency() {
+    return latency;
+  }
+
+  public void setLatency(ServiceLatency latency) {
+    this.latency = latency;
+  }
+
   public Compability getCompatibility() {
     if (StringUtils.isEmpty(currentVersion)) {
       return Compability.NOK;
@@ -129,6 +146,7 @@ public class IntegrationBridgeService {
         "connectivity=" + connectivity +
         ", currentVersion='" + currentVersion + '\'' +
         ", minVersion='" + minVersion + '\'' +
+        ", latency=" + latency +
         '}';
   }
 }
@@ -24,7 +24,13 @@ import static org.symphonyoss.integration.healthcheck.properties.HealthCheckProp
     .PROCESSING_EXCEPTION;
 import static org.symphonyoss.integration.healthcheck.properties.HealthCheckProperties
     .UNREGISTERED_USER;
+import static org.symphonyoss.integration.metrics.IntegrationMetricsConstants.BASE_METRIC_NAME;
 
+import com.codahale.metrics.Gauge;
+import com.codahale.metrics.Meter;
+import com.codahale.metrics.MetricRegistry;
+import com.codahale.metrics.RatioGauge;
+import com.codahale.metrics.Timer;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.google.common.cache.CacheBuilder;
 import com.google.common.cache.CacheLoader;
@@ -40,6 +46,7 @@ import org.springframework.boot.actuate.health.HealthIndicator;
 import org.springframework.boot.actuate.health.Status;
 import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.context.event.EventListener;
+import org.springframework.core.env.Environment;
 import org.symphonyoss.integration.authentication.AuthenticationProxy;
 import org.symphonyoss.integration.authentication.exception.UnregisteredUserAuthException;
 import org.symphonyoss.integration.event.HealthCheckEventData;
@@ -52,9 +59,13 @@ import org.symphonyoss.integration.model.yaml.IntegrationProperties;
 
 import java.io.IOException;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
 import java.util.concurrent.TimeUnit;
 
 import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
 import javax.ws.rs.ProcessingException;
 import javax.ws.rs.client.Client;
 import javax.ws.rs.client.Invocation;
@@ -64,6 +75,18 @@ import javax.ws.rs.core.Response;
 /**
  * Abstract class that holds common methods to all service health indicators.
  *
+ * Each indicator probes its service in background, so the health information and the latency of
+ * the dependency are known before someone asks for them. The probes run on a fixed interval while
+ * the service is up and back off exponentially while it's down. The round-trip time of the probes
+ * and the share of successful probes are published as metrics and in the health details.
+ *
+ * <pre>
+ * health_probe:
+ *   enabled: true
+ *   interval_seconds: 20
+ *   max_backoff_seconds: 300
+ * </pre>
+ *
  * Created by rsanchez on 27/01/17.
  */
 public abstract class ServiceHealthIndicator implements HealthIndicator {
@@ -85,6 +108,38 @@ public abstract class ServiceHealthIndicator implements HealthIndicator {
    */
   private static final int SERVICE_CACHE_PERIOD_SECS = 20;
 
+  public static final String PROBE_ENABLED_KEY = "health_probe.enabled";
+
+  public static final String PROBE_INTERVAL_KEY = "health_probe.interval_seconds";
+
+  public static final String PROBE_MAX_BACKOFF_KEY = "health_probe.max_backoff_seconds";
+
+  public static final long DEFAULT_PROBE_INTERVAL_SECS = SERVICE_CACHE_PERIOD_SECS;
+
+  public static final long DEFAULT_PROBE_MAX_BACKOFF_SECS = 300;
+
+  /**
+   * Maximum exponent of the backoff, so the delay can't overflow.
+   */
+  private static final int MAX_BACKOFF_EXPONENT = 16;
+
+  /**
+   * Number of recent health checks used to compute the success ratio.
+   */
+  private static final int SUCCESS_RATIO_WINDOW = 100;
+
+  private static final String HEALTH = "health";
+
+  private static final String RTT = "rtt";
+
+  private static final String SUCCESS = "success";
+
+  private static final String FAILURE = "failure";
+
+  private static final String SUCCESS_RATIO = "successRatio";
+
+  private static final String THREAD_NAME_PREFIX = "health-probe-";
+
   @Autowired
   protected IntegrationProperties properties;
 
@@ -97,6 +152,12 @@ public abstract class ServiceHealthIndicator implements HealthIndicator {
   @Autowired
   private LogMessageSource logMessageSource;
 
+  @Autowired
+  private MetricRegistry metricRegistry;
+
+  @Autowired
+  private Environment environment;
+
   /**
    * Cache for the service information.
    */
@@ -104,8 +165,53 @@ public abstract class ServiceHealthIndicator implements HealthIndicator {
 
   private String currentVersion;
 
+  /**
+   * HTTP client resolved on the first health check that found a registered integration user.
+   */
+  private volatile Client httpClient;
+
+  private Timer roundTripTime;
+
+  private Meter successes;
+
+  private Meter failures;
+
+  /**
+   * Outcome of the recent health checks. Guarded by itself.
+   */
+  private final boolean[] outcomes = new boolean[SUCCESS_RATIO_WINDOW];
+
+  private int nextOutcome;
+
+  private int outcomeCount;
+
+  private volatile ScheduledExecutorService prober;
+
   @PostConstruct
   public void init() {
+    this.httpClient = null;
+
+    synchronized (outcomes) {
+      this.nextOutcome = 0;
+      this.outcomeCount = 0;
+    }
+
+    String metricName = MetricRegistry.name(BASE_METRIC_NAME, HEALTH, getServiceName());
+    this.roundTripTime = metricRegistry.timer(MetricRegistry.name(metricName, RTT));
+    this.successes = metricRegistry.meter(MetricRegistry.name(metricName, SUCCESS));
+    this.failures = metricRegistry.meter(MetricRegistry.name(metricName, FAILURE));
+
+    String ratioName = MetricRegistry.name(metricName, SUCCESS_RATIO);
+
+    if (!metricRegistry.getGauges().containsKey(ratioName)) {
+      metricRegistry.register(ratioName, new Gauge<Double>() {
+        @Override
+        public Double getValue() {
+          return getSuccessRatio();
+        }
+      });
+    }
+
     serviceInfoCache = CacheBuilder.newBuilder().expireAfterWrite(SERVICE_CACHE_PERIOD_SECS,
         TimeUnit.SECONDS).build(new CacheLoader<String, IntegrationBridgeService>() {
       @Override
@@ -117,6 +223,92 @@ public abstract class ServiceHealthIndicator implements HealthIndicator {
         return null;
       }
     });
+
+    startProber();
+  }
+
+  @PreDestroy
+  public void destroy() {
+    if (prober != null) {
+      prober.shutdownNow();
+      prober = null;
+    }
+  }
+
+  /**
+   * Starts the background prober, unless it's disabled or already running.
+   */
+  private synchronized void startProber() {
+    boolean enabled = environment.getProperty(PROBE_ENABLED_KEY, Boolean.class, Boolean.TRUE);
+
+    if (!enabled || prober != null) {
+      return;
+    }
+
+    long interval = getProbeInterval();
+
+    this.prober = Executors.newSingleThreadScheduledExecutor(new ProbeThreadFactory());
+    this.prober.schedule(new ProbeRunnable(interval), interval, TimeUnit.SECONDS);
+  }
+
+  private long getProbeInterval() {
+    long interval = environment.getProperty(PROBE_INTERVAL_KEY, Long.class,
+        DEFAULT_PROBE_INTERVAL_SECS);
+    return interval > 0 ? interval : DEFAULT_PROBE_INTERVAL_SECS;
+  }
+
+  /**
+   * Computes the delay until the next probe. It grows exponentially with the number of consecutive
+   * failures, up to the maximum backoff.
+   * @param interval Probe interval (in seconds)
+   * @param consecutiveFailures Number of consecutive failed probes
+   * @return Delay (in seconds)
+   */
+  protected long getProbeDelay(long interval, int consecutiveFailures) {
+    if (consecutiveFailures <= 0) {
+      return interval;
+    }
+
+    long maxBackoff = environment.getProperty(PROBE_MAX_BACKOFF_KEY, Long.class,
+        DEFAULT_PROBE_MAX_BACKOFF_SECS);
+    long delay = interval << Math.min(consecutiveFailures, MAX_BACKOFF_EXPONENT);
+
+    return Math.max(interval, Math.min(delay, maxBackoff));
+  }
+
+  /**
+   * Share of the recent health checks that got a successful response.
+   * @return Success ratio or NaN if there was no health check yet
+   */
+  private double getSuccessRatio() {
+    int success = 0;
+    int total;
+
+    synchronized (outcomes) {
+      total = outcomeCount;
+
+      for (int i = 0; i < total; i++) {
+        if (outcomes[i]) {
+          success++;
+        }
+      }
+    }
+
+    return RatioGauge.Ratio.of(success, total).getValue();
+  }
+
+  private void recordOutcome(boolean success) {
+    if (success) {
+      successes.mark();
+    } else {
+      failures.mark();
+    }
+
+    synchronized (outcomes) {
+      outcomes[nextOutcome] = success;
+      nextOutcome = (nextOutcome + 1) % outcomes.length;
+      outcomeCount = Math.min(outcomeCount + 1, outcomes.length);
+    }
   }
 
   /**
@@ -130,7 +322,7 @@ public abstract class ServiceHealthIndicator implements HealthIndicator {
     LOG.debug("Handle health-check event. Service name: {}", serviceName);
 
     if (serviceName.equals(event.getServiceName())) {
-      retrieveServiceInfo();
+      serviceInfoCache.put(serviceName, retrieveServiceInfo());
     }
   }
 
@@ -172,6 +364,11 @@ public abstract class ServiceHealthIndicator implements HealthIndicator {
       service.setCurrentVersion(version);
     }
 
+    if (roundTripTime.getCount() > 0) {
+      service.setLatency(new ServiceLatency(roundTripTime.getCount(), getSuccessRatio(),
+          roundTripTime.getSnapshot()));
+    }
+
     return service;
   }
 
@@ -223,22 +420,44 @@ public abstract class ServiceHealthIndicator implements HealthIndicator {
           .request()
           .accept(MediaType.APPLICATION_JSON_TYPE);
 
+      long start = System.nanoTime();
+
       Response response = invocationBuilder.get();
       Response.Status status = Response.Status.fromStatusCode(response.getStatus());
 
-      return OK.equals(status) ? response.readEntity(String.class) : null;
+      roundTripTime.update(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+
+      if (OK.equals(status)) {
+        recordOutcome(true);
+        return response.readEntity(String.class);
+      }
+
+      recordOutcome(false);
+      return null;
     } catch (ProcessingException e) {
+      recordOutcome(false);
       LOG.error(logMessageSource.getMessage(PROCESSING_EXCEPTION, getHealthCheckUrl(), e.getMessage()), e);
       return null;
     }
   }
 
   /**
-   * Gets the HTTP client to be used on health checks, looking on the YAML file for a
-   * integration already been provisioned.
-   * @return the user name.
+   * Gets the HTTP client to be used on health checks. The client is resolved once, looking on the
+   * YAML file for a integration already been provisioned, and reused by the next checks.
+   * @return HTTP client or null if there is no registered integration user yet
    */
   private Client getHttpClient() {
+    Client client = httpClient;
+
+    if (client == null) {
+      client = resolveHttpClient();
+      httpClient = client;
+    }
+
+    return client;
+  }
+
+  private Client resolveHttpClient() {
     for (Application app : this.properties.getApplications().values()) {
       if (StringUtils.isEmpty(app.getComponent())) {
         continue;
@@ -298,4 +517,61 @@ public abstract class ServiceHealthIndicator implements HealthIndicator {
     return currentVersion;
   }
 
+  /**
+   * Background probe. It refreshes the service information and schedules the next probe, backing
+   * off while the service is down.
+   */
+  private class ProbeRunnable implements Runnable {
+
+    private final long interval;
+
+    private int consecutiveFailures;
+
+    ProbeRunnable(long interval) {
+      this.interval = interval;
+    }
+
+    @Override
+    public void run() {
+      try {
+        IntegrationBridgeService service = retrieveServiceInfo();
+        serviceInfoCache.put(getServiceName(), service);
+
+        if (Status.UP.getCode().equals(service.getConnectivity())) {
+          consecutiveFailures = 0;
+        } else {
+          consecutiveFailures++;
+        }
+      } catch (RuntimeException e) {
+        consecutiveFailures++;
+        LOG.error("Fail to probe the service {}", getServiceName(), e);
+      } finally {
+        scheduleNext();
+      }
+    }
+
+    private void scheduleNext() {
+      ScheduledExecutorService executor = prober;
+
+      if (executor != null && !executor.isShutdown()) {
+        executor.schedule(this, getProbeDelay(interval, consecutiveFailures), TimeUnit.SECONDS);
+      }
+    }
+
+  }
+
+  /**
+   * Creates the daemon thread used to probe the service.
+   */
+  private final class ProbeThreadFactory implements ThreadFactory {
+
+    @Override
+    public Thread newThread(Runnable runnable) {
+      Thread thread = new Thread(runnable, THREAD_NAME_PREFIX + getServiceName());
+      thread.setDaemon(true);
+      return thread;
+    }
+
+  }
+
 }
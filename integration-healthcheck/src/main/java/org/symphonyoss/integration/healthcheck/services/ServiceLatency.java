@@ -0,0 +1,91 @@
+/**
+ * Copyright 2016-2017 Symphony Integrations - Symphony LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.symphonyoss.integration.healthcheck.services;
+
+import com.codahale.metrics.Snapshot;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Latency and availability of a service measured by the background health probes.
+ *
+ * The round-trip times are reported in milliseconds and the success ratio is the share of the
+ * recent probes that got a successful response.
+ */
+public class ServiceLatency {
+
+  private final long samples;
+
+  private final double successRatio;
+
+  private final double median;
+
+  private final double p95;
+
+  private final double p99;
+
+  private final double max;
+
+  public ServiceLatency(long samples, double successRatio, Snapshot snapshot) {
+    this.samples = samples;
+    this.successRatio = successRatio;
+    this.median = toMillis(snapshot.getMedian());
+    this.p95 = toMillis(snapshot.get95thPercentile());
+    this.p99 = toMillis(snapshot.get99thPercentile());
+    this.max = toMillis(snapshot.getMax());
+  }
+
+  private static double toMillis(double nanos) {
+    return nanos / TimeUnit.MILLISECONDS.toNanos(1);
+  }
+
+  public long getSamples() {
+    return samples;
+  }
+
+  public double getSuccessRatio() {
+    return successRatio;
+  }
+
+  public double getMedian() {
+    return median;
+  }
+
+  public double getP95() {
+    return p95;
+  }
+
+  public double getP99() {
+    return p99;
+  }
+
+  public double getMax() {
+    return max;
+  }
+
+  @Override
+  public String toString() {
+    return "ServiceLatency{" +
+        "samples=" + samples +
+        ", successRatio=" + successRatio +
+        ", median=" + median +
+        ", p95=" + p95 +
+        ", p99=" + p99 +
+        ", max=" + max +
+        '}';
+  }
+}
@@ -39,4 +39,37 @@ public class IntegrationHealthIndicatorAdapterTest {
     assertEquals(expected, adapter.health());
   }
 
+  @Test
+  public void testWarmingUp() {
+    IntegrationHealth health = new IntegrationHealth();
+    health.setStatus(IntegrationStatus.ACTIVE.name());
+
+    doReturn(health).when(integration).getHealthStatus();
+
+    adapter.setReady(false);
+
+    Health expected = Health.status(IntegrationHealthIndicatorAdapter.WARMING_UP)
+        .withDetail("detail", health)
+        .build();
+
+    assertEquals(expected, adapter.health());
+  }
+
+  @Test
+  public void testDraining() {
+    IntegrationHealth health = new IntegrationHealth();
+    health.setStatus(IntegrationStatus.ACTIVE.name());
+
+    doReturn(health).when(integration).getHealthStatus();
+
+    adapter.setReady(false);
+    adapter.setDraining(true);
+
+    Health expected = Health.status(IntegrationHealthIndicatorAdapter.DRAINING)
+        .withDetail("detail", health)
+        .build();
+
+    assertEquals(expected, adapter.health());
+  }
+
 }
@@ -46,6 +46,8 @@ public class ApplicationsHealthIndicatorTest {
 
   private static final String INTEGRATION_USER = "testUser";
 
+  private static final String COMPONENT = "testWebHookIntegration";
+
   @Autowired
   private TestWebHookIntegration integration;
 
@@ -73,4 +75,34 @@ public class ApplicationsHealthIndicatorTest {
     Health health = healthIndicator.health();
     assertEquals(Status.UP, health.getStatus());
   }
+
+  @Test
+  public void testWarmingUp() {
+    integration.setStatus(new Status(IntegrationStatus.ACTIVE.name()));
+
+    healthIndicator.setReady(COMPONENT, false);
+
+    try {
+      assertEquals(Status.DOWN, healthIndicator.health().getStatus());
+    } finally {
+      healthIndicator.setReady(COMPONENT, true);
+    }
+
+    assertEquals(Status.UP, healthIndicator.health().getStatus());
+  }
+
+  @Test
+  public void testDraining() {
+    integration.setStatus(new Status(IntegrationStatus.ACTIVE.name()));
+
+    healthIndicator.setDraining(true);
+
+    try {
+      assertEquals(Status.DOWN, healthIndicator.health().getStatus());
+    } finally {
+      healthIndicator.setDraining(false);
+    }
+
+    assertEquals(Status.UP, healthIndicator.health().getStatus());
+  }
 }
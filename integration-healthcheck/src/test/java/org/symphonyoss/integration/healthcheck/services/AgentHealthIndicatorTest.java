@@ -18,6 +18,7 @@ package org.symphonyoss.integration.healthcheck.services;
 
 import static org.junit.Assert.assertEquals;
 
+import com.codahale.metrics.MetricRegistry;
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
@@ -42,7 +43,8 @@ import org.symphonyoss.integration.model.yaml.IntegrationProperties;
 @RunWith(SpringRunner.class)
 @SpringBootTest
 @EnableConfigurationProperties
-@ContextConfiguration(classes = {IntegrationProperties.class, AgentHealthIndicator.class})
+@ContextConfiguration(classes = {IntegrationProperties.class, AgentHealthIndicator.class,
+    MetricRegistry.class})
 public class AgentHealthIndicatorTest {
 
   private static final String MOCK_VERSION = "1.45.0-SNAPSHOT";
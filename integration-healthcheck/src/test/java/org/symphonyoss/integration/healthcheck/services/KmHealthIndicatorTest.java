@@ -18,6 +18,7 @@ package org.symphonyoss.integration.healthcheck.services;
 
 import static org.junit.Assert.assertEquals;
 
+import com.codahale.metrics.MetricRegistry;
 import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.mockito.Mock;
@@ -38,7 +39,8 @@ import org.symphonyoss.integration.model.yaml.IntegrationProperties;
 @RunWith(SpringRunner.class)
 @SpringBootTest
 @EnableConfigurationProperties
-@ContextConfiguration(classes = {IntegrationProperties.class, KmHealthIndicator.class})
+@ContextConfiguration(classes = {IntegrationProperties.class, KmHealthIndicator.class,
+    MetricRegistry.class})
 public class KmHealthIndicatorTest {
 
   private static final String MOCK_VERSION = "1.45.0";
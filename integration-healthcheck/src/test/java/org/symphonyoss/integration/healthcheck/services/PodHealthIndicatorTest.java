@@ -18,6 +18,7 @@ package org.symphonyoss.integration.healthcheck.services;
 
 import static org.junit.Assert.assertEquals;
 
+import com.codahale.metrics.MetricRegistry;
 import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -37,7 +38,8 @@ import org.symphonyoss.integration.model.yaml.IntegrationProperties;
 @RunWith(SpringRunner.class)
 @SpringBootTest
 @EnableConfigurationProperties
-@ContextConfiguration(classes = {IntegrationProperties.class, PodHealthIndicator.class})
+@ContextConfiguration(classes = {IntegrationProperties.class, PodHealthIndicator.class,
+    MetricRegistry.class})
 public class PodHealthIndicatorTest {
 
   private static final String MOCK_VERSION = "1.44.0";
@@ -17,6 +17,7 @@
 package org.symphonyoss.integration.healthcheck.services;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
 import static org.mockito.Matchers.any;
@@ -26,6 +27,7 @@ import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.verify;
 
+import com.codahale.metrics.MetricRegistry;
 import org.apache.commons.lang3.StringUtils;
 import org.junit.Before;
 import org.junit.Test;
@@ -61,7 +63,8 @@ import javax.ws.rs.core.Response;
 @RunWith(SpringRunner.class)
 @SpringBootTest
 @EnableConfigurationProperties
-@ContextConfiguration(classes = {IntegrationProperties.class, PodHealthIndicator.class})
+@ContextConfiguration(classes = {IntegrationProperties.class, PodHealthIndicator.class,
+    MetricRegistry.class})
 public class ServiceHealthIndicatorTest {
 
   private static final String MOCK_VERSION = "1.44.0";
@@ -234,4 +237,31 @@ public class ServiceHealthIndicatorTest {
     assertEquals(MOCK_CURRENT_VERSION, currentVersion);
   }
 
+  @Test
+  public void testLatencyDetails() {
+    mockServiceUp();
+
+    Health result = healthIndicator.health();
+    IntegrationBridgeService service =
+        (IntegrationBridgeService) result.getDetails().get(healthIndicator.getServiceName());
+
+    ServiceLatency latency = service.getLatency();
+
+    assertNotNull(latency);
+    assertTrue(latency.getSamples() > 0);
+    assertTrue(latency.getMax() >= latency.getMedian());
+    assertEquals(1.0, latency.getSuccessRatio(), 0.0);
+  }
+
+  @Test
+  public void testProbeDelay() {
+    long interval = ServiceHealthIndicator.DEFAULT_PROBE_INTERVAL_SECS;
+
+    assertEquals(interval, healthIndicator.getProbeDelay(interval, 0));
+    assertEquals(interval * 2, healthIndicator.getProbeDelay(interval, 1));
+    assertEquals(interval * 8, healthIndicator.getProbeDelay(interval, 3));
+    assertEquals(ServiceHealthIndicator.DEFAULT_PROBE_MAX_BACKOFF_SECS,
+        healthIndicator.getProbeDelay(interval, 100));
+  }
+
 }
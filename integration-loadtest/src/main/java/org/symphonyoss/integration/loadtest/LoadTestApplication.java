@@ -0,0 +1,323 @@
+/**
+ * Copyright 2016-2017 Symphony Integrations - Symphony LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.symphonyoss.integration.loadtest;
+
+import static org.symphonyoss.integration.loadtest.stub.StubFixtures.CONFIGURATION_ID;
+import static org.symphonyoss.integration.loadtest.stub.StubFixtures.INSTANCE_ID;
+
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.context.embedded.EmbeddedWebApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.symphonyoss.integration.loadtest.driver.LoadDriver;
+import org.symphonyoss.integration.loadtest.driver.LoadReport;
+import org.symphonyoss.integration.loadtest.driver.WebHookRequest;
+import org.symphonyoss.integration.loadtest.driver.WebHookTraffic;
+import org.symphonyoss.integration.loadtest.replay.WebHookReplay;
+import org.symphonyoss.integration.loadtest.stub.StubBehavior;
+import org.symphonyoss.integration.loadtest.stub.StubFixtures;
+import org.symphonyoss.integration.loadtest.stub.StubServer;
+import org.symphonyoss.integration.loadtest.stub.StubService;
+import org.symphonyoss.integration.loadtest.stub.SymphonyStubHandler;
+import org.symphonyoss.integration.service.IntegrationBridge;
+import org.symphonyoss.integration.web.IntegrationBridgeApplication;
+import org.symphonyoss.integration.web.listener.ApplicationReadyListener;
+import org.symphonyoss.integration.web.listener.BootstrapApplicationListener;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import javax.net.ssl.SSLContext;
+
+/**
+ * End-to-end load test harness. It starts embedded stubs of the POD, Agent and Key Manager, boots
+ * the full Integration Bridge application against them and replays webhook traffic with a
+ * multi-threaded load driver. Everything runs on the loopback interface, so no network access is
+ * required.
+ *
+ * The harness is configured through system properties:
+ *
+ * <pre>
+ * -Dloadtest.work_dir=target/loadtest
+ * -Dloadtest.driver.threads=16
+ * -Dloadtest.driver.warmup_seconds=10
+ * -Dloadtest.driver.duration_seconds=60
+ * -Dloadtest.driver.payloads=/path/to/payloads
+ * -Dloadtest.driver.capture=/path/to/capture
+ * -Dloadtest.stubs.threads=64
+ * -Dloadtest.stubs.latency_ms=20
+ * </pre>
+ *
+ * The remaining arguments are passed to the Integration Bridge application.
+ */
+public class LoadTestApplication {
+
+  public static final String WORK_DIR_KEY = "loadtest.work_dir";
+
+  public static final String DRIVER_THREADS_KEY = "loadtest.driver.threads";
+
+  public static final String WARMUP_KEY = "loadtest.driver.warmup_seconds";
+
+  public static final String DURATION_KEY = "loadtest.driver.duration_seconds";
+
+  public static final String PAYLOADS_KEY = "loadtest.driver.payloads";
+
+  public static final String CAPTURE_KEY = "loadtest.driver.capture";
+
+  public static final String STUB_THREADS_KEY = "loadtest.stubs.threads";
+
+  public static final String BRIDGE_PORT_KEY = "loadtest.bridge.port";
+
+  public static final String BOOTSTRAP_TIMEOUT_KEY = "loadtest.bootstrap_timeout_seconds";
+
+  private static final String DEFAULT_WORK_DIR = "target/loadtest";
+
+  private static final int DEFAULT_DRIVER_THREADS = 16;
+
+  private static final long DEFAULT_WARMUP_SECONDS = 10;
+
+  private static final long DEFAULT_DURATION_SECONDS = 60;
+
+  private static final int DEFAULT_STUB_THREADS = 64;
+
+  private static final int DEFAULT_BRIDGE_PORT = 0;
+
+  private static final long DEFAULT_BOOTSTRAP_TIMEOUT_SECONDS = 120;
+
+  private static final long BOOTSTRAP_POLL_MILLIS = 500;
+
+  private static final String APPLICATION_ID = "loadtest";
+
+  private static final String USER_KEY_STORE_FILE = "loadtest.p12";
+
+  private static final String CONFIG_FILE = "application.yaml";
+
+  private static final String REPORT_FILE = "loadtest-report.json";
+
+  private static final String LOOPBACK = "127.0.0.1";
+
+  private static final String WEBHOOK_URL = "http://%s:%d/integration/v1/whi/%s/%s/%s";
+
+  private final File workDir;
+
+  private final Map<StubService, StubServer> stubs = new EnumMap<>(StubService.class);
+
+  private ConfigurableApplicationContext context;
+
+  public LoadTestApplication(File workDir) {
+    this.workDir = workDir;
+  }
+
+  public static void main(String[] args) throws Exception {
+    File workDir = new File(System.getProperty(WORK_DIR_KEY, DEFAULT_WORK_DIR)).getAbsoluteFile();
+    LoadTestApplication application = new LoadTestApplication(workDir);
+
+    LoadReport report = application.run(args);
+    report.print(System.out);
+
+    // Non-daemon threads started by the Integration Bridge may outlive the application context
+    System.exit(report.getRequests() > 0 ? 0 : 1);
+  }
+
+  /**
+   * Starts the stubs and the Integration Bridge, runs the load driver and shuts everything down.
+   * @param args Integration Bridge arguments
+   * @return Load test report
+   */
+  public LoadReport run(String[] args) throws Exception {
+    if (!workDir.exists() && !workDir.mkdirs()) {
+      throw new IOException("Cannot create the work directory " + workDir);
+    }
+
+    int driverThreads = Integer.getInteger(DRIVER_THREADS_KEY, DEFAULT_DRIVER_THREADS);
+    List<WebHookRequest> requests = loadTraffic();
+
+    LoadTestCertificates certificates = new LoadTestCertificates(workDir);
+    certificates.generate(USER_KEY_STORE_FILE, LoadTestWebHookIntegration.INTEGRATION_TYPE);
+
+    configureSystemProperties(certificates, driverThreads);
+
+    try {
+      startStubs(certificates.createServerContext());
+      writeConfiguration();
+
+      int port = startBridge(args);
+
+      URL url = new URL(String.format(WEBHOOK_URL, LOOPBACK, port,
+          LoadTestWebHookIntegration.INTEGRATION_TYPE, CONFIGURATION_ID, INSTANCE_ID));
+
+      LoadDriver driver = new LoadDriver(url, requests, driverThreads,
+          Long.getLong(WARMUP_KEY, DEFAULT_WARMUP_SECONDS),
+          Long.getLong(DURATION_KEY, DEFAULT_DURATION_SECONDS));
+
+      LoadReport report = driver.run();
+
+      for (StubServer stub : stubs.values()) {
+        report.addStub(stub.getHandler());
+      }
+
+      report.write(new File(workDir, REPORT_FILE));
+
+      return report;
+    } finally {
+      stop();
+    }
+  }
+
+  /**
+   * Loads the requests from a webhook capture log, a payloads directory or the built-in sample
+   * payload, in this order.
+   */
+  private List<WebHookRequest> loadTraffic() throws IOException {
+    String capture = System.getProperty(CAPTURE_KEY);
+
+    if (capture != null) {
+      Set<String> redactedHeaders =
+          WebHookReplay.parseHeaders(System.getProperty(WebHookReplay.REDACT_HEADERS_KEY));
+      return WebHookTraffic.loadCapture(new File(capture), redactedHeaders);
+    }
+
+    String payloads = System.getProperty(PAYLOADS_KEY);
+    return WebHookTraffic.load(payloads == null ? null : new File(payloads));
+  }
+
+  /**
+   * The Integration Bridge reads the certificates from the work directory and trusts the stubs
+   * through the default trust manager.
+   */
+  private void configureSystemProperties(LoadTestCertificates certificates, int driverThreads) {
+    System.setProperty(LoadTestIntegrationUtils.CERTS_DIR_KEY,
+        workDir.getAbsolutePath() + File.separator);
+    System.setProperty("javax.net.ssl.trustStore", certificates.getTrustStore().getAbsolutePath());
+    System.setProperty("javax.net.ssl.trustStorePassword", LoadTestCertificates.PASSWORD);
+
+    if (System.getProperty("logs.basedir") == null) {
+      System.setProperty("logs.basedir", new File(workDir, "logs").getAbsolutePath());
+    }
+
+    // The JDK keeps only 5 idle connections per destination by default
+    if (System.getProperty("http.maxConnections") == null) {
+      System.setProperty("http.maxConnections", String.valueOf(driverThreads));
+    }
+  }
+
+  private void startStubs(SSLContext sslContext) throws IOException {
+    int threads = Integer.getInteger(STUB_THREADS_KEY, DEFAULT_STUB_THREADS);
+    StubFixtures fixtures = new StubFixtures(LoadTestWebHookIntegration.INTEGRATION_TYPE);
+
+    for (StubService service : StubService.values()) {
+      SymphonyStubHandler handler = new SymphonyStubHandler(service,
+          StubBehavior.fromSystemProperties(service), fixtures);
+
+      StubServer server = new StubServer(handler, sslContext, threads);
+      server.start();
+
+      stubs.put(service, server);
+    }
+  }
+
+  /**
+   * Writes the Integration Bridge configuration pointing to the stubs.
+   */
+  private void writeConfiguration() throws IOException {
+    StringBuilder yaml = new StringBuilder();
+    yaml.append("integration_bridge:\n");
+    yaml.append("  host: localhost\n");
+    yaml.append("  domain: .localhost\n\n");
+
+    for (Map.Entry<StubService, StubServer> entry : stubs.entrySet()) {
+      yaml.append(entry.getKey().getKey()).append(":\n");
+      yaml.append("  host: localhost\n");
+      yaml.append("  port: ").append(entry.getValue().getPort()).append("\n\n");
+    }
+
+    yaml.append("applications:\n");
+    yaml.append("  ").append(APPLICATION_ID).append(":\n");
+    yaml.append("    component: ").append(LoadTestWebHookIntegration.INTEGRATION_TYPE).append("\n");
+    yaml.append("    state: PROVISIONED\n");
+    yaml.append("    keystore:\n");
+    yaml.append("      file: ").append(USER_KEY_STORE_FILE).append("\n");
+    yaml.append("      password: ").append(LoadTestCertificates.PASSWORD).append("\n");
+    yaml.append("      type: pkcs12\n");
+
+    File file = new File(workDir, CONFIG_FILE);
+
+    try (Writer writer = new OutputStreamWriter(Files.newOutputStream(file.toPath()),
+        StandardCharsets.UTF_8)) {
+      writer.write(yaml.toString());
+    }
+  }
+
+  /**
+   * Boots the Integration Bridge and waits for the load test integration to be bootstrapped.
+   * @return HTTP port of the Integration Bridge
+   */
+  private int startBridge(String[] args) throws InterruptedException {
+    List<String> bridgeArgs = new ArrayList<>();
+    bridgeArgs.add("--spring.config.location=file:" + new File(workDir, CONFIG_FILE).getPath());
+    bridgeArgs.add("--server.port=" + Integer.getInteger(BRIDGE_PORT_KEY, DEFAULT_BRIDGE_PORT));
+    bridgeArgs.add("--server.address=" + LOOPBACK);
+    bridgeArgs.add("--server.tomcat.basedir=" + new File(workDir, "tomcat").getPath());
+    bridgeArgs.add("--server.tomcat.accesslog.enabled=false");
+    bridgeArgs.add("--spring.profiles.active=loadtest");
+    bridgeArgs.addAll(Arrays.asList(args));
+
+    SpringApplication application = new SpringApplication(IntegrationBridgeApplication.class);
+    application.addListeners(new BootstrapApplicationListener());
+    application.addListeners(new ApplicationReadyListener());
+
+    this.context = application.run(bridgeArgs.toArray(new String[bridgeArgs.size()]));
+
+    IntegrationBridge bridge = context.getBean(IntegrationBridge.class);
+    long timeout = TimeUnit.SECONDS.toMillis(
+        Long.getLong(BOOTSTRAP_TIMEOUT_KEY, DEFAULT_BOOTSTRAP_TIMEOUT_SECONDS));
+    long deadline = System.currentTimeMillis() + timeout;
+
+    while (bridge.getIntegrationById(CONFIGURATION_ID) == null) {
+      if (System.currentTimeMillis() > deadline) {
+        throw new IllegalStateException("The load test integration wasn't bootstrapped after "
+            + timeout + " ms. Check the logs at " + System.getProperty("logs.basedir"));
+      }
+
+      Thread.sleep(BOOTSTRAP_POLL_MILLIS);
+    }
+
+    return ((EmbeddedWebApplicationContext) context).getEmbeddedServletContainer().getPort();
+  }
+
+  private void stop() {
+    if (context != null) {
+      context.close();
+    }
+
+    for (StubServer stub : stubs.values()) {
+      stub.stop();
+    }
+  }
+
+}
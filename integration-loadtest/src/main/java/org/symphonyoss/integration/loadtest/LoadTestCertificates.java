@@ -0,0 +1,172 @@
+/**
+ * Copyright 2016-2017 Symphony Integrations - Symphony LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.symphonyoss.integration.loadtest;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.KeyStore;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import javax.net.ssl.KeyManagerFactory;
+import javax.net.ssl.SSLContext;
+
+/**
+ * Generates the self-signed certificates used by the load test through the JDK keytool, so the
+ * harness doesn't require any certificate authority or network access.
+ *
+ * The stub certificate is issued to localhost and imported into a trust store used by the
+ * Integration Bridge. The integration user certificate is only required to bootstrap the
+ * integration, the stubs don't verify it.
+ */
+public class LoadTestCertificates {
+
+  public static final String PASSWORD = "changeit";
+
+  public static final String TRUST_STORE_FILE = "truststore.jks";
+
+  private static final String STUB_KEY_STORE_FILE = "stubs.p12";
+
+  private static final String STUB_CERTIFICATE_FILE = "stubs.cer";
+
+  private static final String STUB_ALIAS = "stubs";
+
+  private static final String PKCS12 = "PKCS12";
+
+  private static final String KEY_SIZE = "2048";
+
+  private static final String VALIDITY_DAYS = "30";
+
+  private final File directory;
+
+  public LoadTestCertificates(File directory) {
+    this.directory = directory;
+  }
+
+  /**
+   * Generates the stub certificate, the trust store and the integration user key store.
+   * @param userKeyStoreFile Integration user key store file name
+   * @param userName Integration user name
+   * @throws IOException Report failure to run the keytool
+   */
+  public void generate(String userKeyStoreFile, String userName) throws IOException {
+    File stubKeyStore = file(STUB_KEY_STORE_FILE);
+    File stubCertificate = file(STUB_CERTIFICATE_FILE);
+    File trustStore = file(TRUST_STORE_FILE);
+    File userKeyStore = file(userKeyStoreFile);
+
+    for (File generated : Arrays.asList(stubKeyStore, stubCertificate, trustStore, userKeyStore)) {
+      generated.delete();
+    }
+
+    keytool("-genkeypair", "-alias", STUB_ALIAS, "-keyalg", "RSA", "-keysize", KEY_SIZE,
+        "-validity", VALIDITY_DAYS, "-dname", "CN=localhost",
+        "-ext", "SAN=dns:localhost,ip:127.0.0.1",
+        "-storetype", PKCS12, "-keystore", stubKeyStore.getPath(),
+        "-storepass", PASSWORD, "-keypass", PASSWORD);
+
+    keytool("-exportcert", "-alias", STUB_ALIAS, "-storetype", PKCS12,
+        "-keystore", stubKeyStore.getPath(), "-storepass", PASSWORD,
+        "-file", stubCertificate.getPath());
+
+    keytool("-importcert", "-noprompt", "-alias", STUB_ALIAS,
+        "-file", stubCertificate.getPath(), "-keystore", trustStore.getPath(),
+        "-storepass", PASSWORD);
+
+    keytool("-genkeypair", "-alias", userName, "-keyalg", "RSA", "-keysize", KEY_SIZE,
+        "-validity", VALIDITY_DAYS, "-dname", "CN=" + userName,
+        "-storetype", PKCS12, "-keystore", userKeyStore.getPath(),
+        "-storepass", PASSWORD, "-keypass", PASSWORD);
+  }
+
+  /**
+   * Creates the SSL context used by the stub servers.
+   * @return Server SSL context
+   * @throws IOException Report failure to read the stub key store
+   * @throws GeneralSecurityException Report failure to initialize the SSL context
+   */
+  public SSLContext createServerContext() throws IOException, GeneralSecurityException {
+    KeyStore keyStore = KeyStore.getInstance(PKCS12);
+
+    try (InputStream input = new FileInputStream(file(STUB_KEY_STORE_FILE))) {
+      keyStore.load(input, PASSWORD.toCharArray());
+    }
+
+    KeyManagerFactory keyManagerFactory =
+        KeyManagerFactory.getInstance(KeyManagerFactory.getDefaultAlgorithm());
+    keyManagerFactory.init(keyStore, PASSWORD.toCharArray());
+
+    SSLContext sslContext = SSLContext.getInstance("TLS");
+    sslContext.init(keyManagerFactory.getKeyManagers(), null, null);
+
+    return sslContext;
+  }
+
+  public File getTrustStore() {
+    return file(TRUST_STORE_FILE);
+  }
+
+  private File file(String name) {
+    return new File(directory, name);
+  }
+
+  private void keytool(String... args) throws IOException {
+    String javaHome = System.getProperty("java.home");
+
+    List<String> command = new ArrayList<>();
+    command.add(new File(new File(javaHome, "bin"), "keytool").getPath());
+    command.addAll(Arrays.asList(args));
+
+    Process process = new ProcessBuilder(command)
+        .directory(directory)
+        .redirectErrorStream(true)
+        .start();
+
+    String output = readOutput(process.getInputStream());
+
+    try {
+      int exitCode = process.waitFor();
+
+      if (exitCode != 0) {
+        throw new IOException("keytool " + args[0] + " failed with code " + exitCode + ": "
+            + output);
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IOException("Interrupted while running keytool " + args[0], e);
+    }
+  }
+
+  private String readOutput(InputStream input) throws IOException {
+    ByteArrayOutputStream output = new ByteArrayOutputStream();
+    byte[] buffer = new byte[1024];
+    int read;
+
+    while ((read = input.read(buffer)) != -1) {
+      output.write(buffer, 0, read);
+    }
+
+    return new String(output.toByteArray(), StandardCharsets.UTF_8);
+  }
+
+}
@@ -0,0 +1,37 @@
+/**
+ * Copyright 2016-2017 Symphony Integrations - Symphony LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.symphonyoss.integration.loadtest;
+
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Component;
+import org.symphonyoss.integration.utils.IntegrationUtils;
+
+/**
+ * Reads the integration user certificates from the directory generated by the load test harness.
+ */
+@Component
+@Primary
+public class LoadTestIntegrationUtils extends IntegrationUtils {
+
+  public static final String CERTS_DIR_KEY = "loadtest.certs_dir";
+
+  @Override
+  public String getCertsDirectory() {
+    return System.getProperty(CERTS_DIR_KEY);
+  }
+
+}
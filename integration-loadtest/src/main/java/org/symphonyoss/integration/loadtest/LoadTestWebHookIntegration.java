@@ -0,0 +1,72 @@
+/**
+ * Copyright 2016-2017 Symphony Integrations - Symphony LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.symphonyoss.integration.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.apache.commons.lang3.StringEscapeUtils;
+import org.apache.commons.lang3.StringUtils;
+import org.springframework.stereotype.Component;
+import org.symphonyoss.integration.model.message.Message;
+import org.symphonyoss.integration.model.message.MessageMLVersion;
+import org.symphonyoss.integration.webhook.WebHookIntegration;
+import org.symphonyoss.integration.webhook.WebHookPayload;
+
+import java.io.IOException;
+
+/**
+ * Webhook integration deployed by the load test. It parses JSON payloads and renders a short
+ * message with the event name and the number of top-level fields, so the request goes through the same
+ * steps as a real integration without depending on any third-party payload format.
+ */
+@Component
+public class LoadTestWebHookIntegration extends WebHookIntegration {
+
+  public static final String INTEGRATION_TYPE = "loadTestWebHookIntegration";
+
+  private static final String EVENT_FIELD = "webhookEvent";
+
+  private static final String DEFAULT_EVENT = "event";
+
+  private static final ObjectMapper MAPPER = new ObjectMapper();
+
+  @Override
+  public Message parse(WebHookPayload input) {
+    String event = DEFAULT_EVENT;
+    int fields = 0;
+
+    String body = input.getBody();
+
+    if (StringUtils.isNotBlank(body)) {
+      try {
+        JsonNode node = MAPPER.readTree(body);
+        event = node.path(EVENT_FIELD).asText(DEFAULT_EVENT);
+        fields = node.size();
+      } catch (IOException e) {
+        // Not a JSON payload, renders the default event
+      }
+    }
+
+    Message message = new Message();
+    message.setMessage("<messageML>Load test <b>" + StringEscapeUtils.escapeXml10(event)
+        + "</b> with " + fields + " fields</messageML>");
+    message.setVersion(MessageMLVersion.V1);
+
+    return message;
+  }
+
+}
@@ -0,0 +1,253 @@
+/**
+ * Copyright 2016-2017 Symphony Integrations - Symphony LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.symphonyoss.integration.loadtest.driver;
+
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadInfo;
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Multi-threaded load driver. Every worker thread replays the webhook requests in a round-robin
+ * fashion against the Integration Bridge, using keep-alive connections.
+ *
+ * The latencies are recorded only after the warm-up period. The allocation rate is measured by
+ * the per-thread allocation counters of the JVM, excluding the threads created by the load test
+ * harness itself, so it approximates the allocations performed by the Integration Bridge to serve
+ * the requests.
+ */
+public class LoadDriver {
+
+  /**
+   * Prefix of the thread names owned by the load test harness.
+   */
+  public static final String HARNESS_THREAD_PREFIX = "loadtest-";
+
+  public static final String THREAD_NAME_PREFIX = HARNESS_THREAD_PREFIX + "driver-";
+
+  private static final int SIGNIFICANT_DIGITS = 3;
+
+  private final URL url;
+
+  private final List<WebHookRequest> requests;
+
+  private final int threads;
+
+  private final long warmupMillis;
+
+  private final long durationMillis;
+
+  private final AtomicBoolean running = new AtomicBoolean();
+
+  private final AtomicBoolean measuring = new AtomicBoolean();
+
+  public LoadDriver(URL url, List<WebHookRequest> requests, int threads, long warmupSeconds,
+      long durationSeconds) {
+    if (requests.isEmpty()) {
+      throw new IllegalArgumentException("There are no webhook requests to replay");
+    }
+
+    if (threads <= 0 || durationSeconds <= 0) {
+      throw new IllegalArgumentException("Threads and duration must be positive");
+    }
+
+    this.url = url;
+    this.requests = requests;
+    this.threads = threads;
+    this.warmupMillis = TimeUnit.SECONDS.toMillis(warmupSeconds);
+    this.durationMillis = TimeUnit.SECONDS.toMillis(durationSeconds);
+  }
+
+  /**
+   * Runs the warm-up and the measurement periods.
+   * @return Load test report
+   * @throws InterruptedException Driver thread was interrupted
+   */
+  public LoadReport run() throws InterruptedException {
+    List<Worker> workers = new ArrayList<>(threads);
+    running.set(true);
+
+    for (int i = 0; i < threads; i++) {
+      Worker worker = new Worker(i);
+      worker.thread.start();
+      workers.add(worker);
+    }
+
+    try {
+      Thread.sleep(warmupMillis);
+
+      Map<Long, Long> allocatedBefore = getAllocatedBytes();
+      long gcCountBefore = getCollectionCount();
+      long gcTimeBefore = getCollectionTime();
+      long start = System.nanoTime();
+
+      measuring.set(true);
+      Thread.sleep(durationMillis);
+      measuring.set(false);
+
+      long elapsedNanos = System.nanoTime() - start;
+      long allocatedBytes = getAllocatedBytesSince(allocatedBefore);
+      long gcCount = getCollectionCount() - gcCountBefore;
+      long gcTime = getCollectionTime() - gcTimeBefore;
+
+      running.set(false);
+
+      for (Worker worker : workers) {
+        worker.thread.join(WebHookClient.TIMEOUT_MILLIS);
+      }
+
+      LoadReport report = new LoadReport(threads, elapsedNanos);
+
+      for (Worker worker : workers) {
+        report.addLatencies(worker.latencies);
+        report.addStatusCounts(worker.statusCounts);
+        report.addErrors(worker.errors);
+      }
+
+      report.setAllocatedBytes(allocatedBytes);
+      report.setGcCount(gcCount);
+      report.setGcTimeMillis(gcTime);
+
+      return report;
+    } finally {
+      measuring.set(false);
+      running.set(false);
+    }
+  }
+
+  /**
+   * Retrieves the bytes allocated so far by each thread that doesn't belong to the harness.
+   */
+  private Map<Long, Long> getAllocatedBytes() {
+    com.sun.management.ThreadMXBean threadMXBean =
+        (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    long[] ids = threadMXBean.getAllThreadIds();
+    ThreadInfo[] infos = threadMXBean.getThreadInfo(ids);
+    long[] allocated = threadMXBean.getThreadAllocatedBytes(ids);
+
+    Map<Long, Long> result = new HashMap<>();
+
+    for (int i = 0; i < ids.length; i++) {
+      ThreadInfo info = infos[i];
+
+      if (info != null && allocated[i] >= 0
+          && !info.getThreadName().startsWith(HARNESS_THREAD_PREFIX)) {
+        result.put(ids[i], allocated[i]);
+      }
+    }
+
+    return result;
+  }
+
+  /**
+   * Sums the bytes allocated since the snapshot by the threads that are still alive. Threads that
+   * died during the measurement aren't accounted.
+   */
+  private long getAllocatedBytesSince(Map<Long, Long> before) {
+    long total = 0;
+
+    for (Map.Entry<Long, Long> entry : getAllocatedBytes().entrySet()) {
+      Long previous = before.get(entry.getKey());
+      total += previous == null ? entry.getValue() : entry.getValue() - previous;
+    }
+
+    return total;
+  }
+
+  private long getCollectionCount() {
+    long total = 0;
+
+    for (GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans()) {
+      total += Math.max(gc.getCollectionCount(), 0);
+    }
+
+    return total;
+  }
+
+  private long getCollectionTime() {
+    long total = 0;
+
+    for (GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans()) {
+      total += Math.max(gc.getCollectionTime(), 0);
+    }
+
+    return total;
+  }
+
+  /**
+   * Worker thread state. It's only read by the driver thread after the worker has finished.
+   */
+  private final class Worker implements Runnable {
+
+    private final Thread thread;
+
+    private final int offset;
+
+    private final Histogram latencies = new Histogram(SIGNIFICANT_DIGITS);
+
+    private final Map<Integer, Long> statusCounts = new TreeMap<>();
+
+    private long errors;
+
+    Worker(int index) {
+      this.offset = index;
+      this.thread = new Thread(this, THREAD_NAME_PREFIX + (index + 1));
+      this.thread.setDaemon(true);
+    }
+
+    @Override
+    public void run() {
+      int next = offset % requests.size();
+
+      while (running.get()) {
+        WebHookRequest request = requests.get(next);
+        next = (next + 1) % requests.size();
+
+        boolean measured = measuring.get();
+        long start = System.nanoTime();
+
+        try {
+          int status = WebHookClient.send(url, request);
+
+          if (measured) {
+            latencies.recordValue(System.nanoTime() - start);
+
+            Long count = statusCounts.get(status);
+            statusCounts.put(status, count == null ? 1 : count + 1);
+          }
+        } catch (IOException e) {
+          if (measured) {
+            errors++;
+          }
+        }
+      }
+    }
+
+  }
+
+}
@@ -0,0 +1,235 @@
+/**
+ * Copyright 2016-2017 Symphony Integrations - Symphony LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.symphonyoss.integration.loadtest.driver;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.HdrHistogram.Histogram;
+import org.symphonyoss.integration.loadtest.stub.SymphonyStubHandler;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Results of a load test run.
+ */
+public class LoadReport {
+
+  private static final double[] PERCENTILES = { 50.0, 90.0, 99.0, 99.9 };
+
+  private static final double NANOS_PER_MILLI = TimeUnit.MILLISECONDS.toNanos(1);
+
+  private static final double NANOS_PER_SECOND = TimeUnit.SECONDS.toNanos(1);
+
+  private static final double BYTES_PER_MEGABYTE = 1024 * 1024;
+
+  private final int threads;
+
+  private final long elapsedNanos;
+
+  private final Histogram latencies = new Histogram(3);
+
+  private final Map<Integer, Long> statusCounts = new TreeMap<>();
+
+  private final List<SymphonyStubHandler> stubs = new ArrayList<>();
+
+  private long errors;
+
+  private long allocatedBytes;
+
+  private long gcCount;
+
+  private long gcTimeMillis;
+
+  public LoadReport(int threads, long elapsedNanos) {
+    this.threads = threads;
+    this.elapsedNanos = elapsedNanos;
+  }
+
+  public void addLatencies(Histogram histogram) {
+    latencies.add(histogram);
+  }
+
+  public void addStatusCounts(Map<Integer, Long> counts) {
+    for (Map.Entry<Integer, Long> entry : counts.entrySet()) {
+      Long count = statusCounts.get(entry.getKey());
+      statusCounts.put(entry.getKey(), count == null ? entry.getValue() : count + entry.getValue());
+    }
+  }
+
+  public void addErrors(long errors) {
+    this.errors += errors;
+  }
+
+  public void addStub(SymphonyStubHandler stub) {
+    stubs.add(stub);
+  }
+
+  public void setAllocatedBytes(long allocatedBytes) {
+    this.allocatedBytes = allocatedBytes;
+  }
+
+  public void setGcCount(long gcCount) {
+    this.gcCount = gcCount;
+  }
+
+  public void setGcTimeMillis(long gcTimeMillis) {
+    this.gcTimeMillis = gcTimeMillis;
+  }
+
+  public long getRequests() {
+    return latencies.getTotalCount();
+  }
+
+  public long getErrors() {
+    return errors;
+  }
+
+  /**
+   * Completed requests per second.
+   */
+  public double getThroughput() {
+    return latencies.getTotalCount() / getElapsedSeconds();
+  }
+
+  /**
+   * Latency at the given percentile (in milliseconds).
+   */
+  public double getLatency(double percentile) {
+    return latencies.getValueAtPercentile(percentile) / NANOS_PER_MILLI;
+  }
+
+  public double getMaxLatency() {
+    return latencies.getMaxValue() / NANOS_PER_MILLI;
+  }
+
+  /**
+   * Megabytes allocated per second by the Integration Bridge threads.
+   */
+  public double getAllocationRate() {
+    return allocatedBytes / BYTES_PER_MEGABYTE / getElapsedSeconds();
+  }
+
+  /**
+   * Bytes allocated by the Integration Bridge threads per completed request.
+   */
+  public long getAllocatedBytesPerRequest() {
+    long requests = latencies.getTotalCount();
+    return requests == 0 ? 0 : allocatedBytes / requests;
+  }
+
+  private double getElapsedSeconds() {
+    return elapsedNanos / NANOS_PER_SECOND;
+  }
+
+  /**
+   * Prints a human-readable summary.
+   * @param out Output stream
+   */
+  public void print(PrintStream out) {
+    out.println("==================== Load test report ====================");
+    out.printf("Threads:            %d%n", threads);
+    out.printf("Duration:           %.1f s%n", getElapsedSeconds());
+    out.printf("Requests:           %d (%d I/O errors)%n", getRequests(), errors);
+    out.printf("Throughput:         %.1f req/s%n", getThroughput());
+
+    for (double percentile : PERCENTILES) {
+      out.printf("Latency p%-6s     %.3f ms%n", format(percentile) + ":", getLatency(percentile));
+    }
+
+    out.printf("Latency max:        %.3f ms%n", getMaxLatency());
+    out.printf("Status codes:       %s%n", statusCounts);
+    out.printf("Allocation rate:    %.1f MB/s (%d bytes/request)%n", getAllocationRate(),
+        getAllocatedBytesPerRequest());
+    out.printf("GC:                 %d collections, %d ms%n", gcCount, gcTimeMillis);
+
+    for (SymphonyStubHandler stub : stubs) {
+      out.printf("Stub %-20s  %d requests, %d injected errors, %d unmatched%n",
+          stub.getService().getKey() + ":", stub.getRequests(), stub.getInjectedErrors(),
+          stub.getUnmatchedRequests());
+    }
+  }
+
+  /**
+   * Writes the report as a JSON document.
+   * @param file Output file
+   * @throws IOException Report failure to write the file
+   */
+  public void write(File file) throws IOException {
+    new ObjectMapper().writerWithDefaultPrettyPrinter().writeValue(file, toJson());
+  }
+
+  ObjectNode toJson() {
+    ObjectNode node = JsonNodeFactory.instance.objectNode();
+    node.put("threads", threads);
+    node.put("durationSeconds", getElapsedSeconds());
+    node.put("requests", getRequests());
+    node.put("errors", errors);
+    node.put("throughput", getThroughput());
+
+    ObjectNode latency = node.putObject("latencyMillis");
+
+    for (double percentile : PERCENTILES) {
+      latency.put("p" + format(percentile), getLatency(percentile));
+    }
+
+    latency.put("max", getMaxLatency());
+
+    ObjectNode status = node.putObject("statusCodes");
+
+    for (Map.Entry<Integer, Long> entry : statusCounts.entrySet()) {
+      status.put(String.valueOf(entry.getKey()), entry.getValue());
+    }
+
+    ObjectNode allocation = node.putObject("allocation");
+    allocation.put("megabytesPerSecond", getAllocationRate());
+    allocation.put("bytesPerRequest", getAllocatedBytesPerRequest());
+
+    ObjectNode gc = node.putObject("gc");
+    gc.put("count", gcCount);
+    gc.put("timeMillis", gcTimeMillis);
+
+    ArrayNode stubNodes = node.putArray("stubs");
+
+    for (SymphonyStubHandler stub : stubs) {
+      ObjectNode stubNode = stubNodes.addObject();
+      stubNode.put("service", stub.getService().getKey());
+      stubNode.put("requests", stub.getRequests());
+      stubNode.put("injectedErrors", stub.getInjectedErrors());
+      stubNode.put("unmatchedRequests", stub.getUnmatchedRequests());
+    }
+
+    return node;
+  }
+
+  private String format(double percentile) {
+    if (percentile == Math.rint(percentile)) {
+      return String.valueOf((long) percentile);
+    }
+
+    return String.valueOf(percentile);
+  }
+
+}
@@ -0,0 +1,83 @@
+/**
+ * Copyright 2016-2017 Symphony Integrations - Symphony LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.symphonyoss.integration.loadtest.driver;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.util.Map;
+
+/**
+ * Sends webhook requests to the Integration Bridge using the JDK HTTP client, which keeps the
+ * connections alive between requests of the same thread.
+ */
+public final class WebHookClient {
+
+  private static final String POST = "POST";
+
+  private static final String CONTENT_TYPE = "Content-Type";
+
+  public static final int TIMEOUT_MILLIS = 30000;
+
+  private WebHookClient() {}
+
+  /**
+   * Sends a single request, reading the whole response to keep the connection reusable.
+   * @param url Webhook URL
+   * @param request Webhook request
+   * @return HTTP status code
+   * @throws IOException Report failure to send the request or read the response
+   */
+  public static int send(URL url, WebHookRequest request) throws IOException {
+    HttpURLConnection connection = (HttpURLConnection) url.openConnection();
+    connection.setRequestMethod(POST);
+    connection.setDoOutput(true);
+    connection.setConnectTimeout(TIMEOUT_MILLIS);
+    connection.setReadTimeout(TIMEOUT_MILLIS);
+    connection.setFixedLengthStreamingMode(request.getBody().length);
+    connection.setRequestProperty(CONTENT_TYPE, request.getContentType());
+
+    for (Map.Entry<String, String> header : request.getHeaders().entrySet()) {
+      connection.setRequestProperty(header.getKey(), header.getValue());
+    }
+
+    try (OutputStream output = connection.getOutputStream()) {
+      output.write(request.getBody());
+    }
+
+    int status = connection.getResponseCode();
+    InputStream input = status >= HttpURLConnection.HTTP_BAD_REQUEST
+        ? connection.getErrorStream() : connection.getInputStream();
+
+    if (input != null) {
+      try {
+        byte[] buffer = new byte[1024];
+
+        while (input.read(buffer) != -1) {
+          // Drain the response
+        }
+      } finally {
+        input.close();
+      }
+    }
+
+    return status;
+  }
+
+}
@@ -0,0 +1,62 @@
+/**
+ * Copyright 2016-2017 Symphony Integrations - Symphony LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.symphonyoss.integration.loadtest.driver;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Webhook request replayed by the load driver.
+ */
+public class WebHookRequest {
+
+  private final String name;
+
+  private final String contentType;
+
+  private final byte[] body;
+
+  private final Map<String, String> headers = new LinkedHashMap<>();
+
+  public WebHookRequest(String name, String contentType, byte[] body) {
+    this.name = name;
+    this.contentType = contentType;
+    this.body = body;
+  }
+
+  public String getName() {
+    return name;
+  }
+
+  public String getContentType() {
+    return contentType;
+  }
+
+  public byte[] getBody() {
+    return body;
+  }
+
+  public Map<String, String> getHeaders() {
+    return Collections.unmodifiableMap(headers);
+  }
+
+  public void addHeader(String name, String value) {
+    headers.put(name, value);
+  }
+
+}
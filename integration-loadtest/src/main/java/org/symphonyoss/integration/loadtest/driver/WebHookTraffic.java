@@ -0,0 +1,245 @@
+/**
+ * Copyright 2016-2017 Symphony Integrations - Symphony LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.symphonyoss.integration.loadtest.driver;
+
+import org.symphonyoss.integration.web.capture.WebHookCaptureReader;
+import org.symphonyoss.integration.web.capture.WebHookCaptureRecord;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UnsupportedEncodingException;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Loads the webhook payloads replayed by the load driver.
+ *
+ * Every file of the payloads directory is sent as a request body. The content type is derived
+ * from the file extension. A built-in JIRA-like payload is used when no directory is provided.
+ *
+ * The requests can also be rebuilt from a webhook capture log recorded by the Integration Bridge.
+ */
+public class WebHookTraffic {
+
+  public static final String SAMPLE_PAYLOAD = "loadtest/sample-payload.json";
+
+  private static final String JSON = "application/json";
+
+  private static final String XML = "application/xml";
+
+  private static final String FORM = "application/x-www-form-urlencoded";
+
+  private static final String TEXT = "text/plain";
+
+  private static final String MULTIPART = "multipart/form-data";
+
+  private static final String CONTENT_TYPE = "content-type";
+
+  private static final String CRLF = "\r\n";
+
+  /**
+   * Headers that are set by the HTTP client, so they aren't copied from the captured requests.
+   */
+  private static final Set<String> SKIPPED_HEADERS = new HashSet<>(Arrays.asList(CONTENT_TYPE,
+      "content-length", "host", "connection", "keep-alive", "transfer-encoding", "expect",
+      "upgrade", "te", "trailer"));
+
+  private WebHookTraffic() {}
+
+  /**
+   * Loads the payloads from the directory or the built-in sample payload.
+   * @param directory Payloads directory (optional)
+   * @return Webhook requests to be replayed
+   * @throws IOException Report failure to read the payloads
+   */
+  public static List<WebHookRequest> load(File directory) throws IOException {
+    if (directory == null) {
+      return Collections.singletonList(loadSample());
+    }
+
+    File[] files = directory.listFiles();
+
+    if (files == null || files.length == 0) {
+      throw new IOException("No webhook payloads found at " + directory.getAbsolutePath());
+    }
+
+    Arrays.sort(files);
+
+    List<WebHookRequest> requests = new ArrayList<>();
+
+    for (File file : files) {
+      if (file.isFile()) {
+        byte[] body = Files.readAllBytes(file.toPath());
+        requests.add(new WebHookRequest(file.getName(), getContentType(file.getName()), body));
+      }
+    }
+
+    return requests;
+  }
+
+  /**
+   * Loads all the requests of a webhook capture log.
+   * @param capture Capture segment or directory
+   * @param redactedHeaders Headers that must not be replayed (lower case)
+   * @return Webhook requests to be replayed
+   * @throws IOException Report failure to read the capture log
+   */
+  public static List<WebHookRequest> loadCapture(File capture, Set<String> redactedHeaders)
+      throws IOException {
+    WebHookCaptureReader reader = new WebHookCaptureReader(capture);
+    List<WebHookRequest> requests = new ArrayList<>();
+
+    WebHookCaptureRecord record;
+
+    while ((record = reader.next()) != null) {
+      requests.add(fromCapture(record, redactedHeaders));
+    }
+
+    if (requests.isEmpty()) {
+      throw new IOException("No webhook requests found at " + capture.getAbsolutePath());
+    }
+
+    return requests;
+  }
+
+  /**
+   * Rebuilds a captured request. Form parameters are encoded again since the bridge captures them
+   * already parsed.
+   * @param record Captured request
+   * @param redactedHeaders Headers that must not be replayed (lower case)
+   * @return Webhook request
+   */
+  public static WebHookRequest fromCapture(WebHookCaptureRecord record,
+      Set<String> redactedHeaders) {
+    String name = record.getConfigurationType() + "/" + record.getArrivalTime();
+    String contentType = record.getHeader(CONTENT_TYPE);
+    boolean multipart = contentType != null
+        && contentType.toLowerCase(Locale.ENGLISH).startsWith(MULTIPART);
+
+    WebHookRequest request;
+
+    if (record.getBody() != null) {
+      byte[] body = record.getBody().getBytes(StandardCharsets.UTF_8);
+      request = new WebHookRequest(name, contentType == null ? TEXT : contentType, body);
+    } else if (multipart) {
+      String boundary = UUID.randomUUID().toString();
+      request = new WebHookRequest(name, MULTIPART + "; boundary=" + boundary,
+          encodeMultipart(record.getParameters(), boundary));
+    } else {
+      request = new WebHookRequest(name, FORM, encodeForm(record.getParameters()));
+    }
+
+    for (Map.Entry<String, String> header : record.getHeaders().entrySet()) {
+      String headerName = header.getKey().toLowerCase(Locale.ENGLISH);
+
+      if (!SKIPPED_HEADERS.contains(headerName) && !redactedHeaders.contains(headerName)) {
+        request.addHeader(header.getKey(), header.getValue());
+      }
+    }
+
+    return request;
+  }
+
+  private static byte[] encodeForm(Map<String, String> parameters) {
+    StringBuilder form = new StringBuilder();
+
+    try {
+      for (Map.Entry<String, String> parameter : parameters.entrySet()) {
+        if (form.length() > 0) {
+          form.append('&');
+        }
+
+        form.append(URLEncoder.encode(parameter.getKey(), StandardCharsets.UTF_8.name()));
+
+        if (parameter.getValue() != null) {
+          form.append('=')
+              .append(URLEncoder.encode(parameter.getValue(), StandardCharsets.UTF_8.name()));
+        }
+      }
+    } catch (UnsupportedEncodingException e) {
+      throw new IllegalStateException(e);
+    }
+
+    return form.toString().getBytes(StandardCharsets.UTF_8);
+  }
+
+  private static byte[] encodeMultipart(Map<String, String> parameters, String boundary) {
+    StringBuilder multipart = new StringBuilder();
+
+    for (Map.Entry<String, String> parameter : parameters.entrySet()) {
+      if (parameter.getValue() == null) {
+        continue;
+      }
+
+      multipart.append("--").append(boundary).append(CRLF)
+          .append("Content-Disposition: form-data; name=\"").append(parameter.getKey())
+          .append('"').append(CRLF).append(CRLF)
+          .append(parameter.getValue()).append(CRLF);
+    }
+
+    multipart.append("--").append(boundary).append("--").append(CRLF);
+
+    return multipart.toString().getBytes(StandardCharsets.UTF_8);
+  }
+
+  private static WebHookRequest loadSample() throws IOException {
+    ClassLoader classLoader = WebHookTraffic.class.getClassLoader();
+
+    try (InputStream input = classLoader.getResourceAsStream(SAMPLE_PAYLOAD)) {
+      if (input == null) {
+        throw new IOException("Sample payload not found: " + SAMPLE_PAYLOAD);
+      }
+
+      ByteArrayOutputStream output = new ByteArrayOutputStream();
+      byte[] buffer = new byte[4096];
+      int read;
+
+      while ((read = input.read(buffer)) != -1) {
+        output.write(buffer, 0, read);
+      }
+
+      return new WebHookRequest(SAMPLE_PAYLOAD, JSON, output.toByteArray());
+    }
+  }
+
+  private static String getContentType(String fileName) {
+    String lowerCaseName = fileName.toLowerCase();
+
+    if (lowerCaseName.endsWith(".json")) {
+      return JSON;
+    } else if (lowerCaseName.endsWith(".xml")) {
+      return XML;
+    } else if (lowerCaseName.endsWith(".form")) {
+      return FORM;
+    }
+
+    return TEXT;
+  }
+
+}
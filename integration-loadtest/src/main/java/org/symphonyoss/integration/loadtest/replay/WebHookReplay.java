@@ -0,0 +1,359 @@
+/**
+ * Copyright 2016-2017 Symphony Integrations - Symphony LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.symphonyoss.integration.loadtest.replay;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+import org.symphonyoss.integration.loadtest.driver.WebHookClient;
+import org.symphonyoss.integration.loadtest.driver.WebHookRequest;
+import org.symphonyoss.integration.loadtest.driver.WebHookTraffic;
+import org.symphonyoss.integration.web.capture.WebHookCaptureReader;
+import org.symphonyoss.integration.web.capture.WebHookCaptureRecord;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.RejectedExecutionHandler;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Streams a webhook capture log back against an Integration Bridge.
+ *
+ * The requests are dispatched in the captured order, keeping the original inter-arrival times
+ * scaled by the speed factor, or as fast as the worker threads can send them when the speed is
+ * "max". Each request is sent to the same configuration and instance it was captured from.
+ *
+ * <pre>
+ * java -Dloader.main=org.symphonyoss.integration.loadtest.replay.WebHookReplay \
+ *   -Dloadtest.replay.capture=/data/capture \
+ *   -Dloadtest.replay.target=http://localhost:8080/integration \
+ *   -Dloadtest.replay.speed=2 \
+ *   -Dloadtest.redact_headers=Authorization,X-Hub-Signature \
+ *   -jar loadtest.jar
+ * </pre>
+ */
+public class WebHookReplay {
+
+  public static final String CAPTURE_KEY = "loadtest.replay.capture";
+
+  public static final String TARGET_KEY = "loadtest.replay.target";
+
+  public static final String SPEED_KEY = "loadtest.replay.speed";
+
+  public static final String THREADS_KEY = "loadtest.replay.threads";
+
+  public static final String REDACT_HEADERS_KEY = "loadtest.redact_headers";
+
+  public static final String ORIGINAL_SPEED = "original";
+
+  public static final String MAX_SPEED = "max";
+
+  private static final String DEFAULT_TARGET = "http://localhost:8080/integration";
+
+  private static final int DEFAULT_THREADS = 16;
+
+  private static final String THREAD_NAME_PREFIX = "loadtest-replay-";
+
+  private static final String WEBHOOK_PATH = "%s/v1/whi/%s/%s/%s";
+
+  private static final int QUEUE_SIZE_PER_THREAD = 4;
+
+  private static final double NANOS_PER_MILLI = TimeUnit.MILLISECONDS.toNanos(1);
+
+  private final File capture;
+
+  private final String target;
+
+  /**
+   * Speed factor or zero to replay as fast as possible.
+   */
+  private final double speed;
+
+  private final int threads;
+
+  private final Set<String> redactedHeaders;
+
+  private final Histogram latencies = new ConcurrentHistogram(3);
+
+  private final ConcurrentMap<Integer, AtomicLong> statusCounts = new ConcurrentHashMap<>();
+
+  private final AtomicLong errors = new AtomicLong();
+
+  private long maxLagNanos;
+
+  public WebHookReplay(File capture, String target, double speed, int threads,
+      Set<String> redactedHeaders) {
+    this.capture = capture;
+    this.target = target.endsWith("/") ? target.substring(0, target.length() - 1) : target;
+    this.speed = speed;
+    this.threads = threads;
+    this.redactedHeaders = redactedHeaders;
+  }
+
+  public static void main(String[] args) throws Exception {
+    String capture = System.getProperty(CAPTURE_KEY);
+
+    if (capture == null) {
+      System.err.println("Usage: -D" + CAPTURE_KEY + "=<capture directory or segment> [-D"
+          + TARGET_KEY + "=<bridge URL>] [-D" + SPEED_KEY + "=original|<factor>|max] [-D"
+          + THREADS_KEY + "=<threads>] [-D" + REDACT_HEADERS_KEY + "=<header,...>]");
+      System.exit(1);
+    }
+
+    int threads = Integer.getInteger(THREADS_KEY, DEFAULT_THREADS);
+
+    // The JDK keeps only 5 idle connections per destination by default
+    if (System.getProperty("http.maxConnections") == null) {
+      System.setProperty("http.maxConnections", String.valueOf(threads));
+    }
+
+    WebHookReplay replay = new WebHookReplay(new File(capture),
+        System.getProperty(TARGET_KEY, DEFAULT_TARGET),
+        parseSpeed(System.getProperty(SPEED_KEY, ORIGINAL_SPEED)), threads,
+        parseHeaders(System.getProperty(REDACT_HEADERS_KEY)));
+
+    long elapsedNanos = replay.run();
+    replay.print(System.out, elapsedNanos);
+  }
+
+  /**
+   * Parses the replay speed.
+   * @param value "original", "max" or a positive speed factor
+   * @return Speed factor or zero to replay as fast as possible
+   */
+  public static double parseSpeed(String value) {
+    if (ORIGINAL_SPEED.equalsIgnoreCase(value)) {
+      return 1.0;
+    } else if (MAX_SPEED.equalsIgnoreCase(value)) {
+      return 0;
+    }
+
+    double speed = Double.parseDouble(value);
+
+    if (speed <= 0) {
+      throw new IllegalArgumentException("Invalid replay speed: " + value);
+    }
+
+    return speed;
+  }
+
+  /**
+   * Parses a comma-separated list of header names.
+   * @param value Header names (optional)
+   * @return Lower case header names
+   */
+  public static Set<String> parseHeaders(String value) {
+    if (value == null || value.trim().isEmpty()) {
+      return Collections.emptySet();
+    }
+
+    Set<String> headers = new HashSet<>();
+
+    for (String header : value.split(",")) {
+      if (!header.trim().isEmpty()) {
+        headers.add(header.trim().toLowerCase(Locale.ENGLISH));
+      }
+    }
+
+    return headers;
+  }
+
+  /**
+   * Replays the capture log and waits for all the requests to complete.
+   * @return Elapsed time (in nanoseconds)
+   */
+  public long run() throws IOException, InterruptedException {
+    WebHookCaptureReader reader = new WebHookCaptureReader(capture);
+
+    ThreadPoolExecutor executor = new ThreadPoolExecutor(threads, threads, 0,
+        TimeUnit.MILLISECONDS, new ArrayBlockingQueue<Runnable>(threads * QUEUE_SIZE_PER_THREAD),
+        new ReplayThreadFactory(), new BlockingPolicy());
+
+    long start = System.nanoTime();
+    long firstArrival = -1;
+
+    try {
+      WebHookCaptureRecord record;
+
+      while ((record = reader.next()) != null) {
+        if (firstArrival < 0) {
+          firstArrival = record.getArrivalTime();
+        }
+
+        if (speed > 0) {
+          awaitSchedule(start, record.getArrivalTime() - firstArrival);
+        }
+
+        URL url = getUrl(record);
+        WebHookRequest request = WebHookTraffic.fromCapture(record, redactedHeaders);
+
+        executor.execute(new ReplayTask(url, request));
+      }
+    } finally {
+      executor.shutdown();
+      executor.awaitTermination(Long.MAX_VALUE, TimeUnit.NANOSECONDS);
+    }
+
+    return System.nanoTime() - start;
+  }
+
+  /**
+   * Waits until the scheduled time of the request, tracking how late the dispatcher is.
+   */
+  private void awaitSchedule(long start, long offsetMillis) {
+    long scheduled = start + (long) (TimeUnit.MILLISECONDS.toNanos(offsetMillis) / speed);
+    long delay = scheduled - System.nanoTime();
+
+    if (delay < 0) {
+      maxLagNanos = Math.max(maxLagNanos, -delay);
+    }
+
+    while (delay > 0) {
+      LockSupport.parkNanos(delay);
+      delay = scheduled - System.nanoTime();
+    }
+  }
+
+  private URL getUrl(WebHookCaptureRecord record) throws MalformedURLException {
+    return new URL(String.format(WEBHOOK_PATH, target, record.getConfigurationType(),
+        record.getConfigurationId(), record.getHash()));
+  }
+
+  /**
+   * Prints the replay summary.
+   * @param out Output stream
+   * @param elapsedNanos Elapsed time (in nanoseconds)
+   */
+  public void print(PrintStream out, long elapsedNanos) {
+    double seconds = elapsedNanos / (NANOS_PER_MILLI * 1000);
+    Map<Integer, Long> statuses = new TreeMap<>();
+
+    for (Map.Entry<Integer, AtomicLong> entry : statusCounts.entrySet()) {
+      statuses.put(entry.getKey(), entry.getValue().get());
+    }
+
+    out.println("==================== Replay report ====================");
+    out.printf("Duration:           %.1f s%n", seconds);
+    out.printf("Requests:           %d (%d I/O errors)%n", latencies.getTotalCount(),
+        errors.get());
+    out.printf("Throughput:         %.1f req/s%n", latencies.getTotalCount() / seconds);
+    out.printf("Latency p50:        %.3f ms%n",
+        latencies.getValueAtPercentile(50.0) / NANOS_PER_MILLI);
+    out.printf("Latency p99:        %.3f ms%n",
+        latencies.getValueAtPercentile(99.0) / NANOS_PER_MILLI);
+    out.printf("Latency max:        %.3f ms%n", latencies.getMaxValue() / NANOS_PER_MILLI);
+    out.printf("Status codes:       %s%n", statuses);
+
+    if (speed > 0) {
+      out.printf("Max dispatch lag:   %.3f ms%n", maxLagNanos / NANOS_PER_MILLI);
+    }
+  }
+
+  /**
+   * Sends a single captured request.
+   */
+  private final class ReplayTask implements Runnable {
+
+    private final URL url;
+
+    private final WebHookRequest request;
+
+    ReplayTask(URL url, WebHookRequest request) {
+      this.url = url;
+      this.request = request;
+    }
+
+    @Override
+    public void run() {
+      long start = System.nanoTime();
+
+      try {
+        int status = WebHookClient.send(url, request);
+        latencies.recordValue(System.nanoTime() - start);
+
+        AtomicLong count = statusCounts.get(status);
+
+        if (count == null) {
+          AtomicLong newCount = new AtomicLong();
+          count = statusCounts.putIfAbsent(status, newCount);
+
+          if (count == null) {
+            count = newCount;
+          }
+        }
+
+        count.incrementAndGet();
+      } catch (IOException e) {
+        errors.incrementAndGet();
+      }
+    }
+
+  }
+
+  /**
+   * Blocks the dispatcher while the workers are busy, so the capture log is streamed instead of
+   * being loaded in memory.
+   */
+  private static final class BlockingPolicy implements RejectedExecutionHandler {
+
+    @Override
+    public void rejectedExecution(Runnable runnable, ThreadPoolExecutor executor) {
+      if (executor.isShutdown()) {
+        throw new RejectedExecutionException("Replay executor is shut down");
+      }
+
+      try {
+        executor.getQueue().put(runnable);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        throw new RejectedExecutionException(e);
+      }
+    }
+
+  }
+
+  private static final class ReplayThreadFactory implements ThreadFactory {
+
+    private final AtomicInteger counter = new AtomicInteger();
+
+    @Override
+    public Thread newThread(Runnable runnable) {
+      Thread thread = new Thread(runnable, THREAD_NAME_PREFIX + counter.incrementAndGet());
+      thread.setDaemon(true);
+      return thread;
+    }
+
+  }
+
+}
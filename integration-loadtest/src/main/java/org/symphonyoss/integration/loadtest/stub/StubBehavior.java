@@ -0,0 +1,123 @@
+/**
+ * Copyright 2016-2017 Symphony Integrations - Symphony LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.symphonyoss.integration.loadtest.stub;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Latency and error injection applied by a stub to every request.
+ *
+ * The settings are read from system properties. The service-specific values override the
+ * defaults for all the stubs:
+ *
+ * <pre>
+ * -Dloadtest.stubs.latency_ms=20
+ * -Dloadtest.stubs.agent.jitter_ms=30
+ * -Dloadtest.stubs.agent.error_rate=0.01
+ * -Dloadtest.stubs.agent.error_status=503
+ * </pre>
+ */
+public class StubBehavior {
+
+  public static final String STUBS_KEY = "loadtest.stubs.";
+
+  public static final String LATENCY_KEY = "latency_ms";
+
+  public static final String JITTER_KEY = "jitter_ms";
+
+  public static final String ERROR_RATE_KEY = "error_rate";
+
+  public static final String ERROR_STATUS_KEY = "error_status";
+
+  public static final int DEFAULT_ERROR_STATUS = 503;
+
+  private final long latencyMillis;
+
+  private final long jitterMillis;
+
+  private final double errorRate;
+
+  private final int errorStatus;
+
+  public StubBehavior(long latencyMillis, long jitterMillis, double errorRate, int errorStatus) {
+    this.latencyMillis = latencyMillis;
+    this.jitterMillis = jitterMillis;
+    this.errorRate = errorRate;
+    this.errorStatus = errorStatus;
+  }
+
+  /**
+   * Reads the stub behavior for the service from the system properties.
+   * @param service Stubbed service
+   * @return Stub behavior
+   */
+  public static StubBehavior fromSystemProperties(StubService service) {
+    long latency = Long.parseLong(getProperty(service, LATENCY_KEY, "0"));
+    long jitter = Long.parseLong(getProperty(service, JITTER_KEY, "0"));
+    double errorRate = Double.parseDouble(getProperty(service, ERROR_RATE_KEY, "0"));
+    int errorStatus = Integer.parseInt(
+        getProperty(service, ERROR_STATUS_KEY, String.valueOf(DEFAULT_ERROR_STATUS)));
+
+    return new StubBehavior(latency, jitter, errorRate, errorStatus);
+  }
+
+  private static String getProperty(StubService service, String key, String defaultValue) {
+    String defaultProperty = System.getProperty(STUBS_KEY + key, defaultValue);
+    return System.getProperty(STUBS_KEY + service.getKey() + "." + key, defaultProperty);
+  }
+
+  /**
+   * Waits for the configured latency plus a random jitter.
+   * @throws InterruptedException Thread interrupted while waiting
+   */
+  public void delay() throws InterruptedException {
+    long delay = latencyMillis;
+
+    if (jitterMillis > 0) {
+      delay += ThreadLocalRandom.current().nextLong(jitterMillis + 1);
+    }
+
+    if (delay > 0) {
+      Thread.sleep(delay);
+    }
+  }
+
+  /**
+   * Decides whether the current request must fail.
+   * @return true if an error must be returned or false otherwise
+   */
+  public boolean shouldFail() {
+    return errorRate > 0 && ThreadLocalRandom.current().nextDouble() < errorRate;
+  }
+
+  public long getLatencyMillis() {
+    return latencyMillis;
+  }
+
+  public long getJitterMillis() {
+    return jitterMillis;
+  }
+
+  public double getErrorRate() {
+    return errorRate;
+  }
+
+  public int getErrorStatus() {
+    return errorStatus;
+  }
+
+}
@@ -0,0 +1,61 @@
+/**
+ * Copyright 2016-2017 Symphony Integrations - Symphony LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.symphonyoss.integration.loadtest.stub;
+
+/**
+ * Identifiers returned by the stubs. The load driver uses the same values to build the webhook
+ * URLs, so the requests always hit a configured instance.
+ */
+public class StubFixtures {
+
+  public static final String SERVICE_VERSION = "1.48.0";
+
+  public static final String CONFIGURATION_ID = "5810d144e4b0f884b709cc90";
+
+  public static final String INSTANCE_ID = "5810d1cbe4b0f884b709cc91";
+
+  public static final String STREAM_ID = "kmWx6Dtnf0K_wdIYCTc3O3___qd53HFRdA";
+
+  public static final long USER_ID = 7627861918843L;
+
+  private final String integrationType;
+
+  public StubFixtures(String integrationType) {
+    this.integrationType = integrationType;
+  }
+
+  public String getIntegrationType() {
+    return integrationType;
+  }
+
+  public String getConfigurationId() {
+    return CONFIGURATION_ID;
+  }
+
+  public String getInstanceId() {
+    return INSTANCE_ID;
+  }
+
+  public String getStreamId() {
+    return STREAM_ID;
+  }
+
+  public long getUserId() {
+    return USER_ID;
+  }
+
+}
@@ -0,0 +1,107 @@
+/**
+ * Copyright 2016-2017 Symphony Integrations - Symphony LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.symphonyoss.integration.loadtest.stub;
+
+import com.sun.net.httpserver.HttpsConfigurator;
+import com.sun.net.httpserver.HttpsServer;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.net.ssl.SSLContext;
+
+/**
+ * Embedded HTTPS server that stubs a single Symphony service. It listens on an ephemeral port of
+ * the loopback interface.
+ */
+public class StubServer {
+
+  /**
+   * Prefix of the stub thread names. The load driver doesn't account the allocations of these
+   * threads to the Integration Bridge.
+   */
+  public static final String THREAD_NAME_PREFIX = "loadtest-stub-";
+
+  private static final int BACKLOG = 1024;
+
+  private static final int STOP_DELAY_SECONDS = 1;
+
+  private final SymphonyStubHandler handler;
+
+  private final HttpsServer server;
+
+  private final ExecutorService executor;
+
+  public StubServer(SymphonyStubHandler handler, SSLContext sslContext, int threads)
+      throws IOException {
+    this.handler = handler;
+
+    InetSocketAddress address = new InetSocketAddress(InetAddress.getLoopbackAddress(), 0);
+    this.server = HttpsServer.create(address, BACKLOG);
+    this.executor = Executors.newFixedThreadPool(threads,
+        new StubThreadFactory(handler.getService()));
+
+    server.setHttpsConfigurator(new HttpsConfigurator(sslContext));
+    server.setExecutor(executor);
+    server.createContext("/", handler);
+  }
+
+  public void start() {
+    server.start();
+  }
+
+  public void stop() {
+    server.stop(STOP_DELAY_SECONDS);
+    executor.shutdownNow();
+  }
+
+  public int getPort() {
+    return server.getAddress().getPort();
+  }
+
+  public SymphonyStubHandler getHandler() {
+    return handler;
+  }
+
+  /**
+   * Names the stub threads after the stubbed service.
+   */
+  private static final class StubThreadFactory implements ThreadFactory {
+
+    private final String prefix;
+
+    private final AtomicInteger counter = new AtomicInteger();
+
+    StubThreadFactory(StubService service) {
+      this.prefix = THREAD_NAME_PREFIX + service.getKey() + "-";
+    }
+
+    @Override
+    public Thread newThread(Runnable runnable) {
+      Thread thread = new Thread(runnable, prefix + counter.incrementAndGet());
+      thread.setDaemon(true);
+      return thread;
+    }
+
+  }
+
+}
@@ -0,0 +1,49 @@
+/**
+ * Copyright 2016-2017 Symphony Integrations - Symphony LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.symphonyoss.integration.loadtest.stub;
+
+/**
+ * Symphony services replaced by the embedded stubs. Each service is served by its own HTTPS
+ * server, so the latency and the errors can be injected per service.
+ */
+public enum StubService {
+
+  POD("pod"),
+
+  AGENT("agent"),
+
+  KEY_MANAGER("key_manager"),
+
+  KEY_MANAGER_AUTH("key_manager_auth"),
+
+  SESSION_MANAGER("pod_session_manager");
+
+  private final String key;
+
+  StubService(String key) {
+    this.key = key;
+  }
+
+  /**
+   * Key used by the Integration Bridge YAML file and by the stub settings.
+   * @return Service key
+   */
+  public String getKey() {
+    return key;
+  }
+
+}
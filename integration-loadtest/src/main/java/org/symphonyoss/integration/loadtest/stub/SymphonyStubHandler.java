@@ -0,0 +1,310 @@
+/**
+ * Copyright 2016-2017 Symphony Integrations - Symphony LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.symphonyoss.integration.loadtest.stub;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Answers the Symphony API calls performed by the Integration Bridge with canned responses.
+ *
+ * The routes are matched against the end of the request path, so they don't depend on the
+ * context path used by each service. Unknown paths receive an empty JSON object.
+ */
+public class SymphonyStubHandler implements HttpHandler {
+
+  private static final Logger LOG = LoggerFactory.getLogger(SymphonyStubHandler.class);
+
+  private static final String GET = "GET";
+
+  private static final String POST = "POST";
+
+  private static final String CONTENT_TYPE = "Content-Type";
+
+  private static final String APPLICATION_JSON = "application/json";
+
+  private static final String EMPTY_JSON = "{}";
+
+  private static final int OK = 200;
+
+  private static final int SERVICE_UNAVAILABLE = 503;
+
+  private static final ObjectMapper MAPPER = new ObjectMapper();
+
+  private final StubService service;
+
+  private final StubBehavior behavior;
+
+  private final StubFixtures fixtures;
+
+  private final List<Route> routes = new ArrayList<>();
+
+  private final AtomicLong requests = new AtomicLong();
+
+  private final AtomicLong injectedErrors = new AtomicLong();
+
+  private final AtomicLong unmatchedRequests = new AtomicLong();
+
+  public SymphonyStubHandler(StubService service, StubBehavior behavior, StubFixtures fixtures) {
+    this.service = service;
+    this.behavior = behavior;
+    this.fixtures = fixtures;
+
+    switch (service) {
+      case POD:
+        addPodRoutes();
+        break;
+      case AGENT:
+        addAgentRoutes();
+        break;
+      case KEY_MANAGER:
+        addRoute(GET, "/HealthCheck/version", versionResponse());
+        break;
+      case KEY_MANAGER_AUTH:
+        addRoute(POST, "/v1/authenticate", tokenResponse("keyManagerToken"));
+        break;
+      case SESSION_MANAGER:
+        addRoute(POST, "/v1/authenticate", tokenResponse("sessionToken"));
+        break;
+      default:
+        break;
+    }
+  }
+
+  private void addPodRoutes() {
+    String settings = settingsResponse();
+    String instance = instanceResponse();
+
+    addRoute(GET, "/webcontroller/HealthCheck/version", versionResponse());
+    addRoute(GET, "/v1/configuration/type/[^/]+(/get)?", settings);
+    addRoute(GET, "/v1/(admin/)?configuration/[^/]+/instance/[^/]+(/get)?", instance);
+    addRoute(GET, "/v1/(admin/)?configuration/[^/]+/instance(/list)?", "[" + instance + "]");
+    addRoute(GET, "/v1/configuration/[^/]+(/get)?", settings);
+    addRoute(POST, "/v1/configuration(/create)?", settings);
+    addRoute(GET, "/v2/user", userResponse());
+  }
+
+  private void addAgentRoutes() {
+    addRoute(GET, "/v1/HealthCheck", agentHealthResponse());
+
+    routes.add(new Route(POST, "/v[24]/stream/([^/]+)/message/create") {
+      @Override
+      String respond(Matcher matcher) {
+        return messageResponse(matcher.group(1));
+      }
+    });
+  }
+
+  private void addRoute(String method, String pathPattern, final String response) {
+    routes.add(new Route(method, pathPattern) {
+      @Override
+      String respond(Matcher matcher) {
+        return response;
+      }
+    });
+  }
+
+  @Override
+  public void handle(HttpExchange exchange) throws IOException {
+    try {
+      drain(exchange.getRequestBody());
+      requests.incrementAndGet();
+
+      behavior.delay();
+
+      if (behavior.shouldFail()) {
+        injectedErrors.incrementAndGet();
+        send(exchange, behavior.getErrorStatus(), errorResponse(behavior.getErrorStatus()));
+        return;
+      }
+
+      String method = exchange.getRequestMethod();
+      String path = exchange.getRequestURI().getPath();
+
+      for (Route route : routes) {
+        Matcher matcher = route.match(method, path);
+
+        if (matcher != null) {
+          send(exchange, OK, route.respond(matcher));
+          return;
+        }
+      }
+
+      unmatchedRequests.incrementAndGet();
+      LOG.debug("No {} stub route for {} {}", service, method, path);
+
+      send(exchange, OK, EMPTY_JSON);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      send(exchange, SERVICE_UNAVAILABLE, errorResponse(SERVICE_UNAVAILABLE));
+    } finally {
+      exchange.close();
+    }
+  }
+
+  private void drain(InputStream input) throws IOException {
+    byte[] buffer = new byte[4096];
+
+    while (input.read(buffer) != -1) {
+      // Discard the request body
+    }
+  }
+
+  private void send(HttpExchange exchange, int status, String body) throws IOException {
+    byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+
+    exchange.getResponseHeaders().set(CONTENT_TYPE, APPLICATION_JSON);
+    exchange.sendResponseHeaders(status, bytes.length);
+
+    try (OutputStream output = exchange.getResponseBody()) {
+      output.write(bytes);
+    }
+  }
+
+  private String versionResponse() {
+    return MAPPER.createObjectNode().put("version", StubFixtures.SERVICE_VERSION).toString();
+  }
+
+  private String tokenResponse(String name) {
+    return MAPPER.createObjectNode()
+        .put("name", name)
+        .put("token", name + "-" + fixtures.getIntegrationType())
+        .toString();
+  }
+
+  private String settingsResponse() {
+    return MAPPER.createObjectNode()
+        .put("configurationId", fixtures.getConfigurationId())
+        .put("type", fixtures.getIntegrationType())
+        .put("name", "Load Test")
+        .put("description", "Load test integration")
+        .put("enabled", true)
+        .put("visible", true)
+        .toString();
+  }
+
+  private String instanceResponse() {
+    ObjectNode optionalProperties = MAPPER.createObjectNode()
+        .put("owner", fixtures.getUserId())
+        .put("streamType", "CHATROOM");
+    optionalProperties.putArray("streams").add(fixtures.getStreamId());
+
+    return MAPPER.createObjectNode()
+        .put("instanceId", fixtures.getInstanceId())
+        .put("configurationId", fixtures.getConfigurationId())
+        .put("name", "Load test instance")
+        .put("creatorId", String.valueOf(fixtures.getUserId()))
+        .put("createdDate", System.currentTimeMillis())
+        .put("optionalProperties", optionalProperties.toString())
+        .toString();
+  }
+
+  private String userResponse() {
+    return MAPPER.createObjectNode()
+        .put("id", fixtures.getUserId())
+        .put("emailAddress", "loadtest@symphony.com")
+        .put("firstName", "Load")
+        .put("lastName", "Test")
+        .put("displayName", "Load Test")
+        .put("username", fixtures.getIntegrationType())
+        .toString();
+  }
+
+  private String agentHealthResponse() {
+    return MAPPER.createObjectNode()
+        .put("podConnectivity", true)
+        .put("keyManagerConnectivity", true)
+        .put("encryptDecryptSuccess", true)
+        .put("agentServiceUser", true)
+        .put("version", StubFixtures.SERVICE_VERSION)
+        .toString();
+  }
+
+  private String messageResponse(String streamId) {
+    return MAPPER.createObjectNode()
+        .put("messageId", Long.toHexString(System.nanoTime()))
+        .put("timestamp", String.valueOf(System.currentTimeMillis()))
+        .put("message", "<messageML>Load test</messageML>")
+        .put("streamId", streamId)
+        .toString();
+  }
+
+  private String errorResponse(int status) {
+    return MAPPER.createObjectNode()
+        .put("code", status)
+        .put("message", "Error injected by the " + service + " stub")
+        .toString();
+  }
+
+  public StubService getService() {
+    return service;
+  }
+
+  public long getRequests() {
+    return requests.get();
+  }
+
+  public long getInjectedErrors() {
+    return injectedErrors.get();
+  }
+
+  public long getUnmatchedRequests() {
+    return unmatchedRequests.get();
+  }
+
+  /**
+   * Canned response bound to an HTTP method and to the end of the request path.
+   */
+  private abstract static class Route {
+
+    private final String method;
+
+    private final Pattern pattern;
+
+    Route(String method, String pathPattern) {
+      this.method = method;
+      this.pattern = Pattern.compile(".*" + pathPattern + "$");
+    }
+
+    Matcher match(String requestMethod, String path) {
+      if (!method.equalsIgnoreCase(requestMethod)) {
+        return null;
+      }
+
+      Matcher matcher = pattern.matcher(path);
+      return matcher.matches() ? matcher : null;
+    }
+
+    abstract String respond(Matcher matcher);
+
+  }
+
+}
@@ -22,6 +22,7 @@ import static org.symphonyoss.integration.pod.api.properties.AppEntitlementApiCl
     .BODY_PAYLOAD_ELEMENT_NULL_SOLUTION;
 
 import org.symphonyoss.integration.api.client.HttpApiClient;
+import org.symphonyoss.integration.api.client.instrumentation.ApiCallOperation;
 import org.symphonyoss.integration.exception.RemoteApiException;
 import org.symphonyoss.integration.logging.LogMessageSource;
 import org.symphonyoss.integration.pod.api.model.AppEntitlement;
@@ -65,6 +66,8 @@ public class AppEntitlementApiClient extends BasePodApiClient {
     Map<String, String> headerParams = new HashMap<>();
     headerParams.put(SESSION_TOKEN_HEADER_PARAM, sessionToken);
 
+    ApiCallOperation.set("appEntitlement.updateAppEntitlement");
+
     AppEntitlementList result =
         apiClient.doPost(path, headerParams, Collections.<String, String>emptyMap(), input,
             AppEntitlementList.class);
@@ -31,6 +31,7 @@ import static org.symphonyoss.integration.pod.api.properties
 
 import org.apache.commons.lang3.StringUtils;
 import org.symphonyoss.integration.api.client.HttpApiClient;
+import org.symphonyoss.integration.api.client.instrumentation.ApiCallOperation;
 import org.symphonyoss.integration.exception.RemoteApiException;
 import org.symphonyoss.integration.logging.LogMessageSource;
 import org.symphonyoss.integration.model.config.IntegrationInstance;
@@ -100,6 +101,8 @@ public abstract class BaseIntegrationInstanceApiClient extends BasePodApiClient
     Map<String, String> headerParams = new HashMap<>();
     headerParams.put(SESSION_TOKEN_HEADER_PARAM, sessionToken);
 
+    ApiCallOperation.set("integrationInstance.updateInstance");
+
     return apiClient.doPut(path, headerParams, Collections.<String, String>emptyMap(), instance,
         IntegrationInstance.class);
   }
@@ -131,6 +134,8 @@ public abstract class BaseIntegrationInstanceApiClient extends BasePodApiClient
     queryParams.put(OFFSET_QUERY_PARAM, String.valueOf(offset));
     queryParams.put(LIMIT_QUERY_PARAM, String.valueOf(limit));
 
+    ApiCallOperation.set("integrationInstance.listInstances");
+
     return apiClient.doGet(path, headerParams, queryParams, IntegrationInstanceList.class);
   }
 
@@ -163,6 +168,8 @@ public abstract class BaseIntegrationInstanceApiClient extends BasePodApiClient
     Map<String, String> headerParams = new HashMap<>();
     headerParams.put(SESSION_TOKEN_HEADER_PARAM, sessionToken);
 
+    ApiCallOperation.set("integrationInstance.getInstanceById");
+
     return apiClient.doGet(path, headerParams, Collections.<String, String>emptyMap(),
         IntegrationInstance.class);
   }
@@ -196,6 +203,8 @@ public abstract class BaseIntegrationInstanceApiClient extends BasePodApiClient
     Map<String, String> headerParams = new HashMap<>();
     headerParams.put(SESSION_TOKEN_HEADER_PARAM, sessionToken);
 
+    ApiCallOperation.set("integrationInstance.activateInstance");
+
     return apiClient.doPost(path, headerParams, Collections.<String, String>emptyMap(), null,
         IntegrationInstance.class);
   }
@@ -229,6 +238,8 @@ public abstract class BaseIntegrationInstanceApiClient extends BasePodApiClient
     Map<String, String> headerParams = new HashMap<>();
     headerParams.put(SESSION_TOKEN_HEADER_PARAM, sessionToken);
 
+    ApiCallOperation.set("integrationInstance.deactivateInstance");
+
     return apiClient.doPost(path, headerParams, Collections.<String, String>emptyMap(), null,
         IntegrationInstance.class);
   }
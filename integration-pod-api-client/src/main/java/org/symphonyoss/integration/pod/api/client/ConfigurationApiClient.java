@@ -29,6 +29,7 @@ import static org.symphonyoss.integration.pod.api.properties
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.symphonyoss.integration.api.client.HttpApiClient;
+import org.symphonyoss.integration.api.client.instrumentation.ApiCallOperation;
 import org.symphonyoss.integration.exception.RemoteApiException;
 import org.symphonyoss.integration.logging.LogMessageSource;
 import org.symphonyoss.integration.model.config.IntegrationSettings;
@@ -79,6 +80,8 @@ public class ConfigurationApiClient extends BasePodApiClient {
     Map<String, String> headerParams = new HashMap<>();
     headerParams.put(SESSION_TOKEN_HEADER_PARAM, sessionToken);
 
+    ApiCallOperation.set("configuration.createIntegration");
+
     return apiClient.doPost(path, headerParams, Collections.<String, String>emptyMap(),
         integration, IntegrationSettings.class);
   }
@@ -106,6 +109,8 @@ public class ConfigurationApiClient extends BasePodApiClient {
     Map<String, String> headerParams = new HashMap<>();
     headerParams.put(SESSION_TOKEN_HEADER_PARAM, sessionToken);
 
+    ApiCallOperation.set("configuration.getIntegrationById");
+
     return apiClient.doGet(path, headerParams, Collections.<String, String>emptyMap(),
         IntegrationSettings.class);
   }
@@ -133,6 +138,8 @@ public class ConfigurationApiClient extends BasePodApiClient {
     Map<String, String> headerParams = new HashMap<>();
     headerParams.put(SESSION_TOKEN_HEADER_PARAM, sessionToken);
 
+    ApiCallOperation.set("configuration.getIntegrationByType");
+
     return apiClient.doGet(path, headerParams, Collections.<String, String>emptyMap(),
         IntegrationSettings.class);
   }
@@ -167,6 +174,8 @@ public class ConfigurationApiClient extends BasePodApiClient {
     Map<String, String> headerParams = new HashMap<>();
     headerParams.put(SESSION_TOKEN_HEADER_PARAM, sessionToken);
 
+    ApiCallOperation.set("configuration.updateIntegration");
+
     return apiClient.doPut(path, headerParams, Collections.<String, String>emptyMap(), integration,
         IntegrationSettings.class);
   }
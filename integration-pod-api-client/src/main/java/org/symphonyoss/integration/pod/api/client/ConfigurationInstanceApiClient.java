@@ -37,6 +37,7 @@ import static org.symphonyoss.integration.pod.api.properties
 
 import org.apache.commons.lang3.StringUtils;
 import org.symphonyoss.integration.api.client.HttpApiClient;
+import org.symphonyoss.integration.api.client.instrumentation.ApiCallOperation;
 import org.symphonyoss.integration.exception.RemoteApiException;
 import org.symphonyoss.integration.logging.LogMessageSource;
 import org.symphonyoss.integration.model.config.IntegrationInstance;
@@ -90,6 +91,8 @@ public class ConfigurationInstanceApiClient extends BasePodApiClient {
     Map<String, String> headerParams = new HashMap<>();
     headerParams.put(SESSION_TOKEN_HEADER_PARAM, sessionToken);
 
+    ApiCallOperation.set("configurationInstance.createInstance");
+
     return apiClient.doPost(path, headerParams, Collections.<String, String>emptyMap(), instance,
         IntegrationInstance.class);
   }
@@ -131,6 +134,8 @@ public class ConfigurationInstanceApiClient extends BasePodApiClient {
     Map<String, String> headerParams = new HashMap<>();
     headerParams.put(SESSION_TOKEN_HEADER_PARAM, sessionToken);
 
+    ApiCallOperation.set("configurationInstance.updateInstance");
+
     return apiClient.doPut(path, headerParams, Collections.<String, String>emptyMap(), instance,
         IntegrationInstance.class);
   }
@@ -164,6 +169,8 @@ public class ConfigurationInstanceApiClient extends BasePodApiClient {
     Map<String, String> headerParams = new HashMap<>();
     headerParams.put(SESSION_TOKEN_HEADER_PARAM, sessionToken);
 
+    ApiCallOperation.set("configurationInstance.getInstanceById");
+
     return apiClient.doGet(path, headerParams, Collections.<String, String>emptyMap(),
         IntegrationInstance.class);
   }
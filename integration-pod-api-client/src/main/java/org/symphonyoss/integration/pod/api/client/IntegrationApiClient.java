@@ -28,6 +28,7 @@ import static org.symphonyoss.integration.pod.api.properties
     .BaseIntegrationInstanceApiClientProperties.MISSING_PARAMETER_WHEN_CALLING_SOLUTION;
 
 import org.symphonyoss.integration.api.client.HttpApiClient;
+import org.symphonyoss.integration.api.client.instrumentation.ApiCallOperation;
 import org.symphonyoss.integration.exception.RemoteApiException;
 import org.symphonyoss.integration.logging.LogMessageSource;
 import org.symphonyoss.integration.model.config.IntegrationSettings;
@@ -78,6 +79,8 @@ public class IntegrationApiClient extends BasePodApiClient {
     queryParams.put(OFFSET_QUERY_PARAM, String.valueOf(offset));
     queryParams.put(LIMIT_QUERY_PARAM, String.valueOf(limit));
 
+    ApiCallOperation.set("integration.listIntegrations");
+
     return apiClient.doGet(path, headerParams, queryParams, IntegrationSettingsList.class);
   }
 
@@ -104,6 +107,8 @@ public class IntegrationApiClient extends BasePodApiClient {
     Map<String, String> headerParams = new HashMap<>();
     headerParams.put(SESSION_TOKEN_HEADER_PARAM, sessionToken);
 
+    ApiCallOperation.set("integration.getIntegrationById");
+
     return apiClient.doGet(path, headerParams, Collections.<String, String>emptyMap(),
         IntegrationSettings.class);
   }
@@ -131,6 +136,8 @@ public class IntegrationApiClient extends BasePodApiClient {
     Map<String, String> headerParams = new HashMap<>();
     headerParams.put(SESSION_TOKEN_HEADER_PARAM, sessionToken);
 
+    ApiCallOperation.set("integration.getIntegrationByType");
+
     return apiClient.doGet(path, headerParams, Collections.<String, String>emptyMap(),
         IntegrationSettings.class);
   }
@@ -156,6 +163,8 @@ public class IntegrationApiClient extends BasePodApiClient {
     Map<String, String> headerParams = new HashMap<>();
     headerParams.put(SESSION_TOKEN_HEADER_PARAM, sessionToken);
 
+    ApiCallOperation.set("integration.createIntegration");
+
     return apiClient.doPost(path, headerParams, Collections.<String, String>emptyMap(),
         integration, IntegrationSettings.class);
   }
@@ -190,6 +199,8 @@ public class IntegrationApiClient extends BasePodApiClient {
     Map<String, String> headerParams = new HashMap<>();
     headerParams.put(SESSION_TOKEN_HEADER_PARAM, sessionToken);
 
+    ApiCallOperation.set("integration.updateIntegration");
+
     return apiClient.doPut(path, headerParams, Collections.<String, String>emptyMap(), integration,
         IntegrationSettings.class);
   }
@@ -215,6 +226,8 @@ public class IntegrationApiClient extends BasePodApiClient {
     Map<String, String> headerParams = new HashMap<>();
     headerParams.put(SESSION_TOKEN_HEADER_PARAM, sessionToken);
 
+    ApiCallOperation.set("integration.activateIntegration");
+
     return apiClient.doPost(path, headerParams, Collections.<String, String>emptyMap(), null,
         IntegrationSettings.class);
   }
@@ -240,6 +253,8 @@ public class IntegrationApiClient extends BasePodApiClient {
     Map<String, String> headerParams = new HashMap<>();
     headerParams.put(SESSION_TOKEN_HEADER_PARAM, sessionToken);
 
+    ApiCallOperation.set("integration.deactivateIntegration");
+
     return apiClient.doPost(path, headerParams, Collections.<String, String>emptyMap(), null,
         IntegrationSettings.class);
   }
@@ -24,6 +24,7 @@ import static org.symphonyoss.integration.pod.api.properties
     .BaseIntegrationInstanceApiClientProperties.MISSING_PARAMETER_WHEN_CALLING_SOLUTION;
 
 import org.symphonyoss.integration.api.client.HttpApiClient;
+import org.symphonyoss.integration.api.client.instrumentation.ApiCallOperation;
 import org.symphonyoss.integration.authentication.api.model.AppToken;
 import org.symphonyoss.integration.authorization.UserAuthorizationData;
 import org.symphonyoss.integration.exception.RemoteApiException;
@@ -94,6 +95,7 @@ public class IntegrationAuthApiClient extends BasePodApiClient {
     headerParams.put(SESSION_TOKEN_HEADER_PARAM, sessionToken);
 
     try {
+      ApiCallOperation.set("integrationAuth.saveUserAuthData");
       apiClient.doPost(path, headerParams, Collections.<String, String>emptyMap(), userData,
           UserAuthorizationData.class);
     } catch (RemoteApiException e) {
@@ -143,6 +145,7 @@ public class IntegrationAuthApiClient extends BasePodApiClient {
     queryParams.put(URL, url);
 
     try {
+      ApiCallOperation.set("integrationAuth.getUserAuthData");
       return apiClient.doGet(path, headerParams, queryParams, UserAuthorizationData.class);
     } catch (RemoteApiException e) {
       if (e.getCode() == Response.Status.UNAUTHORIZED.getStatusCode()) {
@@ -184,6 +187,7 @@ public class IntegrationAuthApiClient extends BasePodApiClient {
     headerParams.put(SESSION_TOKEN_HEADER_PARAM, sessionToken);
 
     try {
+      ApiCallOperation.set("integrationAuth.searchUserAuthData");
       return apiClient.doGet(path, headerParams, filter, UserAuthorizationDataList.class);
     } catch (RemoteApiException e) {
       if (e.getCode() == Response.Status.UNAUTHORIZED.getStatusCode()) {
@@ -244,6 +248,8 @@ public class IntegrationAuthApiClient extends BasePodApiClient {
       Map<String, String> headerParams = new HashMap<>();
       headerParams.put(SESSION_TOKEN_HEADER_PARAM, sessionToken);
 
+      ApiCallOperation.set("integrationAuth.saveAppAuthenticationToken");
+
       apiClient.doPost(path, headerParams, Collections.<String, String>emptyMap(), appTokenWithoutAppId,
           AppToken.class);
     } catch (RemoteApiException e) {
@@ -281,11 +287,13 @@ public class IntegrationAuthApiClient extends BasePodApiClient {
       checkParam(applicationToken, TOKEN_APPLICATION);
 
       String path = "/v1/configuration/" + apiClient.escapeString(integrationId) + "/authentication/"
-          + applicationToken;
+          + apiClient.escapeString(applicationToken);
 
       Map<String, String> headerParams = new HashMap<>();
       headerParams.put(SESSION_TOKEN_HEADER_PARAM, sessionToken);
 
+      ApiCallOperation.set("integrationAuth.getAppAuthenticationToken");
+
       return apiClient.doGet(path, headerParams, Collections.<String, String>emptyMap(),
           AppToken.class);
     } catch (RemoteApiException e) {
@@ -19,7 +19,7 @@ package org.symphonyoss.integration.pod.api.client;
 import org.apache.commons.lang3.StringUtils;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
-import org.symphonyoss.integration.api.client.SymphonyApiClient;
+import org.symphonyoss.integration.api.client.instrumentation.InstrumentedSymphonyApiClient;
 import org.symphonyoss.integration.exception.MissingConfigurationException;
 import org.symphonyoss.integration.model.yaml.IntegrationProperties;
 
@@ -28,7 +28,7 @@ import org.symphonyoss.integration.model.yaml.IntegrationProperties;
  * Created by rsanchez on 22/02/17.
  */
 @Component
-public class IntegrationHttpApiClient extends SymphonyApiClient {
+public class IntegrationHttpApiClient extends InstrumentedSymphonyApiClient {
 
   private static final String SERVICE_NAME = "Integration API";
 
@@ -27,6 +27,7 @@ import static org.symphonyoss.integration.pod.api.properties
 
 import org.apache.commons.lang3.StringUtils;
 import org.symphonyoss.integration.api.client.HttpApiClient;
+import org.symphonyoss.integration.api.client.instrumentation.ApiCallOperation;
 import org.symphonyoss.integration.exception.RemoteApiException;
 import org.symphonyoss.integration.logging.LogMessageSource;
 import org.symphonyoss.integration.model.config.IntegrationInstance;
@@ -81,6 +82,8 @@ public class IntegrationInstanceApiClient extends BaseIntegrationInstanceApiClie
     Map<String, String> headerParams = new HashMap<>();
     headerParams.put(SESSION_TOKEN_HEADER_PARAM, sessionToken);
 
+    ApiCallOperation.set("integrationInstance.createInstance");
+
     return apiClient.doPost(path, headerParams, Collections.<String, String>emptyMap(), instance,
         IntegrationInstance.class);
   }
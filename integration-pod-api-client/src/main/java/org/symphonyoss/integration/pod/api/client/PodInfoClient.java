@@ -17,6 +17,7 @@
 package org.symphonyoss.integration.pod.api.client;
 
 import org.symphonyoss.integration.api.client.HttpApiClient;
+import org.symphonyoss.integration.api.client.instrumentation.ApiCallOperation;
 import org.symphonyoss.integration.authentication.AuthenticationProxy;
 import org.symphonyoss.integration.exception.IntegrationRuntimeException;
 import org.symphonyoss.integration.exception.RemoteApiException;
@@ -70,6 +71,7 @@ public class PodInfoClient {
     headers.put(SESSION_TOKEN_HEADER, sessionToken);
 
     try {
+      ApiCallOperation.set("podInfo.getPodInfo");
       Envelope<Map<String, Object>> result =
           apiClient.doGet(POD_INFO_PATH, headers, Collections.<String, String>emptyMap(),
               Envelope.class);
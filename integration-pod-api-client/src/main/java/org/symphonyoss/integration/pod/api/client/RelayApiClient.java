@@ -22,6 +22,7 @@ import static org.symphonyoss.integration.pod.api.properties.BasePodApiClientPro
     .MISSING_PARAMETER_SOLUTION;
 
 import org.symphonyoss.integration.api.client.HttpApiClient;
+import org.symphonyoss.integration.api.client.instrumentation.ApiCallOperation;
 import org.symphonyoss.integration.exception.RemoteApiException;
 import org.symphonyoss.integration.exception.authentication.ForbiddenAuthException;
 import org.symphonyoss.integration.exception.authentication.UnauthorizedUserException;
@@ -80,6 +81,8 @@ public class RelayApiClient extends BasePodApiClient {
       headerParams.put(COOKIE_HEADER_PARAM, cookie.toString());
       Map<String, String> queryParams = new HashMap<>();
 
+      ApiCallOperation.set("relay.getUserAccountKeyManagerData");
+
       return apiClient.doGet(path, headerParams, queryParams, UserKeyManagerData.class);
     } catch (RemoteApiException e) {
       if (e.getCode() == Response.Status.UNAUTHORIZED.getStatusCode()) {
@@ -22,6 +22,7 @@ import static org.symphonyoss.integration.pod.api.properties
     .BaseIntegrationInstanceApiClientProperties.INSTANCE_EMPTY_SOLUTION;
 
 import org.symphonyoss.integration.api.client.HttpApiClient;
+import org.symphonyoss.integration.api.client.instrumentation.ApiCallOperation;
 import org.symphonyoss.integration.exception.RemoteApiException;
 import org.symphonyoss.integration.logging.LogMessageSource;
 import org.symphonyoss.integration.pod.api.model.CompanyCert;
@@ -60,6 +61,8 @@ public class SecurityApiClient extends BasePodApiClient {
     Map<String, String> headerParams = new HashMap<>();
     headerParams.put(SESSION_TOKEN_HEADER_PARAM, sessionToken);
 
+    ApiCallOperation.set("security.createCompanyCert");
+
     return apiClient.doPost(path, headerParams, Collections.<String, String>emptyMap(), cert,
         CompanyCertDetail.class);
   }
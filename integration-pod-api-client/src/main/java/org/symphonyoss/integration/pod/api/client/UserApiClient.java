@@ -26,6 +26,7 @@ import static org.symphonyoss.integration.pod.api.properties
     .BaseIntegrationInstanceApiClientProperties.MISSING_PARAMETER_WHEN_CALLING_SOLUTION;
 
 import org.symphonyoss.integration.api.client.HttpApiClient;
+import org.symphonyoss.integration.api.client.instrumentation.ApiCallOperation;
 import org.symphonyoss.integration.entity.model.User;
 import org.symphonyoss.integration.exception.RemoteApiException;
 import org.symphonyoss.integration.logging.LogMessageSource;
@@ -85,6 +86,8 @@ public class UserApiClient extends BasePodApiClient {
     queryParams.put("email", email);
     queryParams.put("local", Boolean.TRUE.toString());
 
+    ApiCallOperation.set("user.getUserByEmail");
+
     return apiClient.doGet(path, headerParams, queryParams, User.class);
   }
 
@@ -112,6 +115,8 @@ public class UserApiClient extends BasePodApiClient {
     queryParams.put("username", username);
     queryParams.put("local", Boolean.TRUE.toString());
 
+    ApiCallOperation.set("user.getUserByUsername");
+
     return apiClient.doGet(path, headerParams, queryParams, User.class);
   }
 
@@ -139,6 +144,8 @@ public class UserApiClient extends BasePodApiClient {
     queryParams.put("uid", userId.toString());
     queryParams.put("local", Boolean.TRUE.toString());
 
+    ApiCallOperation.set("user.getUserById");
+
     return apiClient.doGet(path, headerParams, queryParams, User.class);
   }
 
@@ -156,6 +163,8 @@ public class UserApiClient extends BasePodApiClient {
     Map<String, String> headerParams = new HashMap<>();
     headerParams.put(SESSION_TOKEN_HEADER_PARAM, sessionToken);
 
+    ApiCallOperation.set("user.createUser");
+
     return apiClient.doPost(path, headerParams, Collections.<String, String>emptyMap(), userInfo,
         UserDetail.class);
   }
@@ -181,6 +190,8 @@ public class UserApiClient extends BasePodApiClient {
     Map<String, String> headerParams = new HashMap<>();
     headerParams.put(SESSION_TOKEN_HEADER_PARAM, sessionToken);
 
+    ApiCallOperation.set("user.updateUser");
+
     return apiClient.doPost(path, headerParams, Collections.<String, String>emptyMap(), attributes,
         UserDetail.class);
   }
@@ -206,6 +217,8 @@ public class UserApiClient extends BasePodApiClient {
     Map<String, String> headerParams = new HashMap<>();
     headerParams.put(SESSION_TOKEN_HEADER_PARAM, sessionToken);
 
+    ApiCallOperation.set("user.updateUserAvatar");
+
     apiClient.doPost(path, headerParams, Collections.<String, String>emptyMap(), avatarUpdate,
         Map.class);
   }
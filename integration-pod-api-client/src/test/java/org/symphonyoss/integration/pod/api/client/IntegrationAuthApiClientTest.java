@@ -74,6 +74,7 @@ public class IntegrationAuthApiClientTest {
     mockAppToken = new AppToken(MOCK_INTEGRATION_ID, MOCK_APP_TOKEN, MOCK_SYMPHONY_TOKEN);
     this.apiClient = new IntegrationAuthApiClient(httpClient,logMessageSource);
     doReturn(MOCK_INTEGRATION_ID).when(httpClient).escapeString(MOCK_INTEGRATION_ID);
+    doReturn(MOCK_APP_TOKEN).when(httpClient).escapeString(MOCK_APP_TOKEN);
   }
 
   @Test(expected = RemoteApiException.class)
@@ -45,6 +45,7 @@ import org.symphonyoss.integration.provisioning.service.ApplicationService;
 import org.symphonyoss.integration.provisioning.service.CompanyCertificateService;
 import org.symphonyoss.integration.provisioning.service.ConfigurationProvisioningService;
 import org.symphonyoss.integration.provisioning.service.KeyPairService;
+import org.symphonyoss.integration.provisioning.service.ProvisioningStateService;
 import org.symphonyoss.integration.provisioning.service.UserKeyPairService;
 import org.symphonyoss.integration.provisioning.service.UserService;
 
@@ -53,6 +54,13 @@ import java.io.InputStream;
 import java.util.Collection;
 import java.util.LinkedHashMap;
 import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * Service class to coordinate the workflow to provisioning all the integrations, according
@@ -65,12 +73,16 @@ public class IntegrationProvisioningService {
 
   private static final Logger LOGGER = LoggerFactory.getLogger(IntegrationProvisioningService.class);
 
+  public static final int DEFAULT_PARALLELISM = 8;
+
   private static final String DEFAULT_AVATAR_FILENAME = "logo.png";
 
   private static final String APPS_CONTEXT = "apps";
 
   private static final String FILE_RESOURCE_PREFIX = "file://";
 
+  private static final String THREAD_NAME_PREFIX = "provisioning-";
+
   @Autowired
   private ApplicationContext context;
 
@@ -95,9 +107,18 @@ public class IntegrationProvisioningService {
   @Autowired
   private UserService userService;
 
+  @Autowired
+  private ProvisioningStateService stateService;
+
   @Value("${spring.config.name:application}")
   private String configName;
 
+  /**
+   * Maximum number of applications provisioned at the same time.
+   */
+  @Value("${provisioning.parallelism:" + DEFAULT_PARALLELISM + "}")
+  private int parallelism;
+
   @Autowired
   private LogMessageSource logMessage;
 
@@ -107,6 +128,13 @@ public class IntegrationProvisioningService {
    *
    * The provisioning process is based on an input YAML file and can be run multiple times
    * to recover from temporary errors, i.e. the provisioning process is idempotent.
+   *
+   * The applications are independent of each other, so they're provisioned concurrently on a
+   * bounded pool. The steps of a single application still run in order, and a failure only
+   * affects the application that caused it.
+   *
+   * Applications whose desired state didn't change since the last successful run are skipped,
+   * unless the '--force' or the '--generateCerts=true' argument is informed.
    * @return Success indication (boolean).
    */
   public boolean configure() {
@@ -114,8 +142,6 @@ public class IntegrationProvisioningService {
 
     Map<String, ApplicationState> summary = new LinkedHashMap<>();
 
-    String appId = StringUtils.EMPTY;
-
     try {
       Map<String, Application> applications = properties.getApplications();
 
@@ -123,26 +149,14 @@ public class IntegrationProvisioningService {
         summary.put(app, ApplicationState.SKIPPED);
       }
 
-      for (Map.Entry<String, Application> entry : applications.entrySet()) {
-        Application application = entry.getValue();
-        appId = entry.getKey();
-
-        fillInApplicationInfo(appId, application);
-
-        if (ApplicationState.PROVISIONED.equals(application.getState())) {
-          provisioningApplication(application);
-        } else {
-          disableApplication(application);
-        }
-
-        summary.put(appId, application.getState());
-      }
-    } catch (IntegrationRuntimeException e) {
-      LOGGER.error(logMessage.getMessage(APP_FAIL, appId, e.getMessage()));
-      summary.put(appId, ApplicationState.FAILED);
+      provisioningApplications(applications, summary);
+      stateService.save(applications.keySet());
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      LOGGER.error("Provisioning interrupted, the remaining applications were skipped");
     } catch (Exception e) {
-      LOGGER.error(logMessage.getMessage(APP_FAIL, appId, StringUtils.EMPTY), e);
-      summary.put(appId, ApplicationState.FAILED);
+      LOGGER.error(logMessage.getMessage(APP_FAIL, StringUtils.EMPTY, StringUtils.EMPTY), e);
+      summary.put(StringUtils.EMPTY, ApplicationState.FAILED);
     } finally {
       printSummary(summary);
     }
@@ -155,6 +169,93 @@ public class IntegrationProvisioningService {
     return !failedOrSkippedApps;
   }
 
+  /**
+   * Provisions the applications concurrently and waits for all of them, filling in the summary in
+   * the original order.
+   * @param applications Applications to be provisioned
+   * @param summary Execution summary
+   * @throws InterruptedException Provisioning was interrupted
+   */
+  private void provisioningApplications(Map<String, Application> applications,
+      Map<String, ApplicationState> summary) throws InterruptedException {
+    if (applications.isEmpty()) {
+      return;
+    }
+
+    int poolSize = Math.max(1, Math.min(parallelism, applications.size()));
+    ExecutorService executor = Executors.newFixedThreadPool(poolSize,
+        new ProvisioningThreadFactory());
+
+    try {
+      Map<String, Future<ApplicationState>> results = new LinkedHashMap<>();
+
+      for (final Map.Entry<String, Application> entry : applications.entrySet()) {
+        Future<ApplicationState> result = executor.submit(new Callable<ApplicationState>() {
+          @Override
+          public ApplicationState call() {
+            return configureApplication(entry.getKey(), entry.getValue());
+          }
+        });
+
+        results.put(entry.getKey(), result);
+      }
+
+      for (Map.Entry<String, Future<ApplicationState>> result : results.entrySet()) {
+        try {
+          summary.put(result.getKey(), result.getValue().get());
+        } catch (ExecutionException e) {
+          LOGGER.error(logMessage.getMessage(APP_FAIL, result.getKey(), StringUtils.EMPTY),
+              e.getCause());
+          summary.put(result.getKey(), ApplicationState.FAILED);
+        }
+      }
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  /**
+   * Provisions or disables a single application. Failures are logged and reported as the
+   * application state. Applications that haven't changed since the last run are skipped, keeping
+   * the state they reached on that run.
+   * @param appId Application identifier
+   * @param application Application object
+   * @return Final application state
+   */
+  private ApplicationState configureApplication(String appId, Application application) {
+    try {
+      fillInApplicationInfo(appId, application);
+
+      String desiredState = stateService.getDesiredState(application);
+      String fingerprint = stateService.getFingerprint(application, desiredState);
+      ApplicationState unchangedState = stateService.getUnchangedState(appId, fingerprint);
+
+      if (unchangedState != null) {
+        LOGGER.info("Application {} unchanged since the last provisioning", appId);
+        return unchangedState;
+      }
+
+      if (ApplicationState.PROVISIONED.equals(application.getState())) {
+        provisioningApplication(application);
+      } else {
+        disableApplication(application);
+      }
+
+      // Certificates may have been generated, so the fingerprint is computed again
+      stateService.update(appId, stateService.getFingerprint(application, desiredState),
+          application.getState());
+
+      return application.getState();
+    } catch (IntegrationRuntimeException e) {
+      LOGGER.error(logMessage.getMessage(APP_FAIL, appId, e.getMessage()));
+    } catch (Exception e) {
+      LOGGER.error(logMessage.getMessage(APP_FAIL, appId, StringUtils.EMPTY), e);
+    }
+
+    stateService.update(appId, null, ApplicationState.FAILED);
+    return ApplicationState.FAILED;
+  }
+
   /**
    * Print the summary of execution
    * @param summary
@@ -335,4 +436,20 @@ public class IntegrationProvisioningService {
     }
   }
 
+  /**
+   * Names the provisioning threads, so the interleaved log lines can be told apart.
+   */
+  private static final class ProvisioningThreadFactory implements ThreadFactory {
+
+    private final AtomicInteger counter = new AtomicInteger();
+
+    @Override
+    public Thread newThread(Runnable runnable) {
+      Thread thread = new Thread(runnable, THREAD_NAME_PREFIX + counter.incrementAndGet());
+      thread.setDaemon(true);
+      return thread;
+    }
+
+  }
+
 }
@@ -30,10 +30,17 @@ import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 /**
  * App Repository Client, interfacing all calls to it.
  *
+ * The available applications are downloaded once and kept in a snapshot indexed by appGroupId.
+ * The snapshot is updated locally when an application is created or updated through this client,
+ * so provisioning several applications doesn't download the whole catalogue for each lookup. Use
+ * {@link #refresh(String)} to discard the local changes and download the catalogue again.
+ *
  * Created by Milton Quilzini on 08/08/16.
  */
 @Component
@@ -56,12 +63,21 @@ public class AppRepositoryClient {
 
   private static final String APPS_REP_APP_GROUP_ID_PATH = "appGroupId";
 
+  private static final String APPS_REP_APP_ID_PATH = "id";
+
+  private static final String APPS_REP_APP_NAME_PATH = "name";
+
   @Autowired
   private AuthenticationProxy authenticationProxy;
 
   @Autowired
   private SymphonyHttpApiClient client;
 
+  /**
+   * Available applications indexed by appGroupId. It's null until the first lookup.
+   */
+  private volatile ConcurrentMap<String, Map<String, String>> snapshot;
+
   /**
    * Retrieves all the available applications in the Appstore repository.
    * @param userId User identifier
@@ -85,7 +101,8 @@ public class AppRepositoryClient {
   }
 
   /**
-   * Retrieves an application based on the appGroupId.
+   * Retrieves an application based on the appGroupId. The lookup is done in the local snapshot,
+   * which is downloaded on the first call.
    * @param appGroupId Application group identifier
    * @param userId User identifier
    * @return Map of the application attributes or null if have no found the application.
@@ -93,18 +110,28 @@ public class AppRepositoryClient {
    */
   public Map<String, String> getAppByAppGroupId(String appGroupId, String userId) throws
       AppRepositoryClientException {
+    return getSnapshot(userId).get(appGroupId);
+  }
+
+  /**
+   * Downloads the available applications again, replacing the local snapshot.
+   * @param userId User identifier
+   * @throws AppRepositoryClientException Failed to retrieve available applications
+   */
+  public synchronized void refresh(String userId) throws AppRepositoryClientException {
     List appsAvailable = getAppsAvailable(userId);
+    ConcurrentMap<String, Map<String, String>> apps = new ConcurrentHashMap<>();
 
     for (Object app : appsAvailable) {
       Map<String, String> appData = (Map<String, String>) app;
-      String currentAppGroupId = appData.get(APPS_REP_APP_GROUP_ID_PATH);
+      String appGroupId = appData.get(APPS_REP_APP_GROUP_ID_PATH);
 
-      if (currentAppGroupId.equals(appGroupId)) {
-        return appData;
+      if (appGroupId != null && !apps.containsKey(appGroupId)) {
+        apps.put(appGroupId, appData);
       }
     }
 
-    return null;
+    this.snapshot = apps;
   }
 
   /**
@@ -120,8 +147,9 @@ public class AppRepositoryClient {
     Envelope<AppStoreWrapper> envelope = new Envelope<>(appStoreApp);
 
     try {
-      client.doPost(APP_REPOSITORY_APP_CREATE, headers, Collections.<String, String>emptyMap(),
-          envelope, Envelope.class);
+      Envelope response = client.doPost(APP_REPOSITORY_APP_CREATE, headers,
+          Collections.<String, String>emptyMap(), envelope, Envelope.class);
+      updateSnapshot(appStoreApp, appStoreApp.getId(), response);
     } catch (RemoteApiException e) {
       throw new AppRepositoryClientException(
           "Failed to create a new app due to an error calling the server: " + e.getCode() + " "
@@ -144,7 +172,9 @@ public class AppRepositoryClient {
     Envelope<AppStoreWrapper> envelope = new Envelope<>(appStoreApp);
 
     try {
-      client.doPost(path, headers, Collections.<String, String>emptyMap(), envelope, Envelope.class);
+      Envelope response = client.doPost(path, headers, Collections.<String, String>emptyMap(),
+          envelope, Envelope.class);
+      updateSnapshot(appStoreApp, appId, response);
     } catch (RemoteApiException e) {
       throw new AppRepositoryClientException(
           "Failed to update the application " + appId + " due to an error calling the server: "
@@ -152,6 +182,55 @@ public class AppRepositoryClient {
     }
   }
 
+  private Map<String, Map<String, String>> getSnapshot(String userId)
+      throws AppRepositoryClientException {
+    Map<String, Map<String, String>> apps = snapshot;
+
+    if (apps == null) {
+      synchronized (this) {
+        if (snapshot == null) {
+          refresh(userId);
+        }
+
+        apps = snapshot;
+      }
+    }
+
+    return apps;
+  }
+
+  /**
+   * Updates the local snapshot with the application saved on the server. The server response is
+   * used when available, otherwise the attributes are taken from the request.
+   * @param appStoreApp Application object sent to the server
+   * @param appId Application identifier
+   * @param response Server response
+   */
+  private void updateSnapshot(AppStoreWrapper appStoreApp, String appId, Envelope response) {
+    ConcurrentMap<String, Map<String, String>> apps = snapshot;
+
+    if (apps == null || appStoreApp.getAppGroupId() == null) {
+      return;
+    }
+
+    Object data = response != null ? response.getData() : null;
+    Map<String, String> appData;
+
+    if (data instanceof Map) {
+      appData = (Map<String, String>) data;
+    } else {
+      appData = new HashMap<>();
+      appData.put(APPS_REP_APP_GROUP_ID_PATH, appStoreApp.getAppGroupId());
+      appData.put(APPS_REP_APP_NAME_PATH, appStoreApp.getName());
+
+      if (appId != null) {
+        appData.put(APPS_REP_APP_ID_PATH, appId);
+      }
+    }
+
+    apps.put(appStoreApp.getAppGroupId(), appData);
+  }
+
   /**
    * Get the required headers to be used by the HTTP requests.
    * @param userId User identifier
@@ -32,8 +32,6 @@ public class KeyPairProperties {
   /* Exception message keys */
   public static final String FAIL_MESSAGE = "provisioning.key.fail";
 
-  public static final String FAIL_PROCESS_MESSAGE = "provisioning.key.process.fail";
-
   public static final String FAIL_YAML_SOLUTION = "provisioning.key.fail.yaml.solution";
 
   public static final String FAIL_PERMISSION_SOLUTION = "provisioning.key.fail.permission.solution";
@@ -18,24 +18,71 @@ package org.symphonyoss.integration.provisioning.service;
 
 import static org.symphonyoss.integration.provisioning.properties.KeyPairProperties.FAIL_MESSAGE;
 import static org.symphonyoss.integration.provisioning.properties.KeyPairProperties.FAIL_PERMISSION_SOLUTION;
-import static org.symphonyoss.integration.provisioning.properties.KeyPairProperties.FAIL_PROCESS_MESSAGE;
 import static org.symphonyoss.integration.provisioning.properties.KeyPairProperties.FAIL_YAML_SOLUTION;
 import static org.symphonyoss.integration.provisioning.properties.KeyPairProperties.GENERATE_CERTIFICATE;
 
+import org.apache.commons.lang3.StringUtils;
+import org.bouncycastle.asn1.pkcs.PrivateKeyInfo;
+import org.bouncycastle.asn1.x500.X500Name;
+import org.bouncycastle.asn1.x500.X500NameBuilder;
+import org.bouncycastle.asn1.x500.style.BCStyle;
+import org.bouncycastle.cert.X509CertificateHolder;
+import org.bouncycastle.cert.X509v3CertificateBuilder;
+import org.bouncycastle.cert.jcajce.JcaX509CertificateConverter;
+import org.bouncycastle.cert.jcajce.JcaX509v3CertificateBuilder;
+import org.bouncycastle.jce.provider.BouncyCastleProvider;
+import org.bouncycastle.openssl.PEMEncryptedKeyPair;
+import org.bouncycastle.openssl.PEMKeyPair;
+import org.bouncycastle.openssl.PEMParser;
+import org.bouncycastle.openssl.jcajce.JcaPEMKeyConverter;
+import org.bouncycastle.openssl.jcajce.JcaPEMWriter;
+import org.bouncycastle.openssl.jcajce.JcaPKCS8Generator;
+import org.bouncycastle.openssl.jcajce.JceOpenSSLPKCS8DecryptorProviderBuilder;
+import org.bouncycastle.openssl.jcajce.JcePEMDecryptorProviderBuilder;
+import org.bouncycastle.operator.ContentSigner;
+import org.bouncycastle.operator.OperatorCreationException;
+import org.bouncycastle.operator.jcajce.JcaContentSignerBuilder;
+import org.bouncycastle.pkcs.PKCS8EncryptedPrivateKeyInfo;
+import org.bouncycastle.pkcs.PKCSException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.boot.ApplicationArguments;
 import org.symphonyoss.integration.logging.LogMessageSource;
-import org.symphonyoss.integration.model.yaml.Application;
 import org.symphonyoss.integration.provisioning.exception.KeyPairException;
 
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.FileReader;
 import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.security.GeneralSecurityException;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.KeyStore;
+import java.security.PrivateKey;
+import java.security.PublicKey;
+import java.security.SecureRandom;
+import java.security.Security;
+import java.security.cert.X509Certificate;
+import java.util.ArrayList;
+import java.util.Date;
 import java.util.List;
-import java.util.Scanner;
+import java.util.Locale;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Abstract service class to provide commons methods for generating private keys and certificates.
  *
+ * The keys, certificates and keystores are generated in-process with BouncyCastle, signed by the
+ * CA configured in the YAML file. The files are written to a temporary file and then moved to
+ * the certificates directory, so a failure never leaves a partial file behind.
+ *
  * Created by rsanchez on 20/10/16.
  */
 public abstract class KeyPairService {
@@ -44,6 +91,26 @@ public abstract class KeyPairService {
 
   public static final String DEFAULT_ORGANIZATION = "Symphony Communications LLC";
 
+  private static final String PROVIDER = BouncyCastleProvider.PROVIDER_NAME;
+
+  private static final String KEY_ALGORITHM = "RSA";
+
+  private static final String SIGNATURE_ALGORITHM = "SHA256WithRSA";
+
+  private static final String PKCS12 = "PKCS12";
+
+  private static final int SERIAL_NUMBER_BITS = 64;
+
+  private static final String TEMP_FILE_SUFFIX = ".tmp";
+
+  private static final SecureRandom RANDOM = new SecureRandom();
+
+  static {
+    if (Security.getProvider(PROVIDER) == null) {
+      Security.addProvider(new BouncyCastleProvider());
+    }
+  }
+
   private ApplicationArguments arguments;
 
   private LogMessageSource logMessage;
@@ -68,67 +135,230 @@ public abstract class KeyPairService {
   }
 
   /**
-   * Executes a system process.
-   * @param command Command to be executed
+   * Generates a RSA key pair.
+   * @param keySize Key size (in bits)
+   * @return RSA key pair
    */
-  protected void executeProcess(String... command) {
+  protected KeyPair generateKeyPair(int keySize) {
     try {
-      Process process = Runtime.getRuntime().exec(command);
-      process.waitFor();
-
-      validateExitValue(process);
-    } catch (IOException | InterruptedException e) {
-      throwKeyPairException(logMessage.getMessage(FAIL_MESSAGE));
+      KeyPairGenerator generator = KeyPairGenerator.getInstance(KEY_ALGORITHM);
+      generator.initialize(keySize, RANDOM);
+      return generator.generateKeyPair();
+    } catch (GeneralSecurityException e) {
+      throw keyPairException(e);
     }
   }
 
   /**
-   * Executes a system process.
-   * @param command Command to be executed
+   * Builds the certificate subject.
+   * @param commonName Common name
+   * @return Certificate subject (CN, O and C)
+   */
+  protected X500Name buildSubject(String commonName) {
+    return new X500NameBuilder(BCStyle.INSTANCE)
+        .addRDN(BCStyle.CN, commonName)
+        .addRDN(BCStyle.O, DEFAULT_ORGANIZATION)
+        .addRDN(BCStyle.C, Locale.US.getCountry())
+        .build();
+  }
+
+  /**
+   * Issues a certificate signed by the CA.
+   * @param subject Certificate subject
+   * @param publicKey Certificate public key
+   * @param caCertificate CA certificate
+   * @param caKey CA private key
+   * @param validityDays Certificate validity (in days)
+   * @return Signed certificate
    */
-  protected void executeProcess(String command) {
+  protected X509Certificate signCertificate(X500Name subject, PublicKey publicKey,
+      X509Certificate caCertificate, PrivateKey caKey, int validityDays) {
+    Date notBefore = new Date();
+    Date notAfter = new Date(notBefore.getTime() + TimeUnit.DAYS.toMillis(validityDays));
+
+    // Random serial numbers, so certificates issued in the same millisecond don't collide
+    BigInteger serialNumber = new BigInteger(SERIAL_NUMBER_BITS, RANDOM);
+    X500Name issuer = X500Name.getInstance(caCertificate.getSubjectX500Principal().getEncoded());
+
+    X509v3CertificateBuilder builder = new JcaX509v3CertificateBuilder(issuer, serialNumber,
+        notBefore, notAfter, subject, publicKey);
+
     try {
-      Process process = Runtime.getRuntime().exec(command);
-      process.waitFor();
+      ContentSigner signer =
+          new JcaContentSignerBuilder(SIGNATURE_ALGORITHM).setProvider(PROVIDER).build(caKey);
+      return new JcaX509CertificateConverter().setProvider(PROVIDER)
+          .getCertificate(builder.build(signer));
+    } catch (OperatorCreationException | GeneralSecurityException e) {
+      throw keyPairException(e);
+    }
+  }
+
+  /**
+   * Reads a PEM private key. Encrypted keys in the traditional OpenSSL and PKCS#8 formats are
+   * supported.
+   * @param fileName Private key file
+   * @param password Private key password (optional)
+   * @return Private key
+   */
+  protected PrivateKey readPrivateKey(String fileName, String password) {
+    char[] passwordChars = StringUtils.defaultString(password).toCharArray();
+    JcaPEMKeyConverter converter = new JcaPEMKeyConverter().setProvider(PROVIDER);
 
-      validateExitValue(process);
-    } catch (IOException | InterruptedException e) {
-      throwKeyPairException(logMessage.getMessage(FAIL_MESSAGE));
+    try (PEMParser parser = new PEMParser(new FileReader(fileName))) {
+      Object object = parser.readObject();
+
+      if (object instanceof PEMEncryptedKeyPair) {
+        PEMKeyPair keyPair = ((PEMEncryptedKeyPair) object).decryptKeyPair(
+            new JcePEMDecryptorProviderBuilder().setProvider(PROVIDER).build(passwordChars));
+        return converter.getKeyPair(keyPair).getPrivate();
+      } else if (object instanceof PKCS8EncryptedPrivateKeyInfo) {
+        PrivateKeyInfo keyInfo = ((PKCS8EncryptedPrivateKeyInfo) object).decryptPrivateKeyInfo(
+            new JceOpenSSLPKCS8DecryptorProviderBuilder().setProvider(PROVIDER)
+                .build(passwordChars));
+        return converter.getPrivateKey(keyInfo);
+      } else if (object instanceof PEMKeyPair) {
+        return converter.getKeyPair((PEMKeyPair) object).getPrivate();
+      } else if (object instanceof PrivateKeyInfo) {
+        return converter.getPrivateKey((PrivateKeyInfo) object);
+      }
+
+      throw new IOException("No private key found at " + fileName);
+    } catch (IOException | OperatorCreationException | PKCSException e) {
+      throw keyPairException(e);
     }
   }
 
   /**
-   * Validates the result of the execution of the system process.
-   * @param process System process
+   * Reads all the certificates of a PEM file.
+   * @param fileName Certificate file
+   * @return Certificates in the file order
    */
-  private void validateExitValue(Process process) {
-    int exitCode = process.exitValue();
-    if (exitCode != 0) {
-      LOGGER.error("Fail to execute command\n");
-
-      Scanner sc = new Scanner(process.getErrorStream());
-      while (sc.hasNextLine()) {
-        LOGGER.error(sc.nextLine());
+  protected List<X509Certificate> readCertificates(String fileName) {
+    JcaX509CertificateConverter converter = new JcaX509CertificateConverter().setProvider(PROVIDER);
+    List<X509Certificate> certificates = new ArrayList<>();
+
+    try (PEMParser parser = new PEMParser(new FileReader(fileName))) {
+      Object object;
+
+      while ((object = parser.readObject()) != null) {
+        if (object instanceof X509CertificateHolder) {
+          certificates.add(converter.getCertificate((X509CertificateHolder) object));
+        }
       }
+    } catch (IOException | GeneralSecurityException e) {
+      throw keyPairException(e);
+    }
 
-      String message = logMessage.getMessage(FAIL_PROCESS_MESSAGE, String.valueOf(process.exitValue()));
-      throwKeyPairException(message);
+    if (certificates.isEmpty()) {
+      throw keyPairException(new IOException("No certificate found at " + fileName));
     }
+
+    return certificates;
   }
 
   /**
-   * Generate temporary password
-   * @param application Application object
-   * @return Temporary password
+   * Writes the objects to a PEM file.
+   * @param fileName PEM file
+   * @param objects Certificates, keys or PEM generators
    */
-  protected String getTempPassword(Application application) {
-    return application.getId();
+  protected void writePem(String fileName, final Object... objects) {
+    writeFile(fileName, new FileContent() {
+      @Override
+      public void write(OutputStream output) throws IOException {
+        JcaPEMWriter writer =
+            new JcaPEMWriter(new OutputStreamWriter(output, StandardCharsets.US_ASCII));
+
+        for (Object object : objects) {
+          writer.writeObject(object);
+        }
+
+        writer.flush();
+      }
+    });
+  }
+
+  /**
+   * Writes an unencrypted PKCS#8 private key to a PEM file.
+   * @param fileName PEM file
+   * @param privateKey Private key
+   */
+  protected void writePrivateKey(String fileName, final PrivateKey privateKey) {
+    writeFile(fileName, new FileContent() {
+      @Override
+      public void write(OutputStream output) throws IOException {
+        JcaPEMWriter writer =
+            new JcaPEMWriter(new OutputStreamWriter(output, StandardCharsets.US_ASCII));
+        writer.writeObject(new JcaPKCS8Generator(privateKey, null));
+        writer.flush();
+      }
+    });
   }
 
-  protected void throwKeyPairException(String errorMessage) {
+  /**
+   * Writes a PKCS#12 keystore with a single private key entry.
+   * @param fileName Keystore file
+   * @param alias Entry alias
+   * @param privateKey Private key
+   * @param password Keystore password
+   * @param chain Certificate chain, starting with the private key certificate
+   */
+  protected void writeKeyStore(String fileName, final String alias, final PrivateKey privateKey,
+      final String password, final List<X509Certificate> chain) {
+    writeFile(fileName, new FileContent() {
+      @Override
+      public void write(OutputStream output) throws IOException, GeneralSecurityException {
+        char[] passwordChars = password.toCharArray();
+
+        KeyStore keyStore = KeyStore.getInstance(PKCS12);
+        keyStore.load(null, null);
+        keyStore.setKeyEntry(alias, privateKey, passwordChars,
+            chain.toArray(new X509Certificate[chain.size()]));
+        keyStore.store(output, passwordChars);
+      }
+    });
+  }
+
+  /**
+   * Writes the file atomically. The content is written to a temporary file in the same directory,
+   * which is moved to the target file only if the content was fully written.
+   */
+  private void writeFile(String fileName, FileContent content) {
+    File target = new File(fileName).getAbsoluteFile();
+    File temp = new File(target.getParentFile(),
+        "." + target.getName() + "." + UUID.randomUUID() + TEMP_FILE_SUFFIX);
+
+    try {
+      try (OutputStream output = new FileOutputStream(temp)) {
+        content.write(output);
+      }
+
+      Files.move(temp.toPath(), target.toPath(), StandardCopyOption.REPLACE_EXISTING,
+          StandardCopyOption.ATOMIC_MOVE);
+    } catch (IOException | GeneralSecurityException e) {
+      throw keyPairException(e);
+    } finally {
+      if (temp.exists() && !temp.delete()) {
+        LOGGER.warn("Cannot delete the temporary file {}", temp);
+      }
+    }
+  }
+
+  private KeyPairException keyPairException(Exception cause) {
+    LOGGER.error("Fail to generate the key pair", cause);
+
     String yamlSolution = logMessage.getMessage(FAIL_YAML_SOLUTION);
     String permissionSolution = logMessage.getMessage(FAIL_PERMISSION_SOLUTION);
 
-    throw new KeyPairException(errorMessage, yamlSolution, permissionSolution);
+    return new KeyPairException(logMessage.getMessage(FAIL_MESSAGE), cause, yamlSolution,
+        permissionSolution);
+  }
+
+  /**
+   * Content of a file written atomically.
+   */
+  private interface FileContent {
+
+    void write(OutputStream output) throws IOException, GeneralSecurityException;
+
   }
 }
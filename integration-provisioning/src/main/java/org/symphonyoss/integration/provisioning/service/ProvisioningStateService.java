@@ -0,0 +1,333 @@
+/**
+ * Copyright 2016-2017 Symphony Integrations - Symphony LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.symphonyoss.integration.provisioning.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.MapperFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.apache.commons.codec.binary.Hex;
+import org.apache.commons.lang3.StringUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.stereotype.Service;
+import org.symphonyoss.integration.provisioning.properties.KeyPairProperties;
+import org.symphonyoss.integration.model.yaml.Application;
+import org.symphonyoss.integration.model.yaml.ApplicationState;
+import org.symphonyoss.integration.model.yaml.IntegrationProperties;
+import org.symphonyoss.integration.utils.IntegrationUtils;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import javax.annotation.PostConstruct;
+
+/**
+ * Keeps the fingerprint of the desired state of each application successfully provisioned, so the
+ * next provisioning runs can skip the applications that haven't changed.
+ *
+ * The fingerprint covers the application YAML fields (including the avatar image), the
+ * Integration Bridge info and the certificates that are imported to the POD. The fingerprints are
+ * stored in a local state file, defined by the 'provisioning.state_file' property. The default is
+ * the file 'provisioning-state.properties' in the certificates directory.
+ *
+ * Running the provisioning with the '--force' argument provisions all the applications again. The
+ * same happens when the '--generateCerts=true' argument is informed, since the certificates must be
+ * generated even if the applications haven't changed.
+ */
+@Service
+public class ProvisioningStateService {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(ProvisioningStateService.class);
+
+  public static final String FORCE = "force";
+
+  public static final String DEFAULT_STATE_FILENAME = "provisioning-state.properties";
+
+  private static final String HASH_ALGORITHM = "SHA-256";
+
+  private static final String FINGERPRINT_SUFFIX = ".fingerprint";
+
+  private static final String STATE_SUFFIX = ".state";
+
+  private static final String APPLICATION = "application";
+
+  private static final String INTEGRATION_BRIDGE = "integrationBridge";
+
+  private static final String STATE_FILE_COMMENT = "Integration provisioning state";
+
+  private final ObjectMapper mapper = new ObjectMapper()
+      .configure(MapperFeature.SORT_PROPERTIES_ALPHABETICALLY, true)
+      .configure(SerializationFeature.ORDER_MAP_ENTRIES_BY_KEYS, true);
+
+  private final ApplicationArguments arguments;
+
+  private final IntegrationProperties properties;
+
+  private final IntegrationUtils utils;
+
+  private final String stateFileName;
+
+  /**
+   * Fingerprint and final state of the applications, indexed by application identifier.
+   */
+  private final ConcurrentMap<String, ProvisionedApplication> applications =
+      new ConcurrentHashMap<>();
+
+  private File stateFile;
+
+  public ProvisioningStateService(ApplicationArguments args, IntegrationProperties properties,
+      IntegrationUtils utils, @Value("${provisioning.state_file:}") String stateFileName) {
+    this.arguments = args;
+    this.properties = properties;
+    this.utils = utils;
+    this.stateFileName = stateFileName;
+  }
+
+  @PostConstruct
+  public void init() {
+    if (StringUtils.isBlank(stateFileName)) {
+      this.stateFile = new File(utils.getCertsDirectory() + DEFAULT_STATE_FILENAME);
+    } else {
+      this.stateFile = new File(stateFileName);
+    }
+
+    applications.clear();
+
+    if (!stateFile.isFile()) {
+      return;
+    }
+
+    Properties state = new Properties();
+
+    try (InputStream input = new FileInputStream(stateFile)) {
+      state.load(input);
+    } catch (IOException e) {
+      LOGGER.warn("Cannot read the provisioning state file {}. All the applications will be "
+          + "provisioned.", stateFile, e);
+      return;
+    }
+
+    for (String key : state.stringPropertyNames()) {
+      if (key.endsWith(FINGERPRINT_SUFFIX)) {
+        String appId = key.substring(0, key.length() - FINGERPRINT_SUFFIX.length());
+        String appState = state.getProperty(appId + STATE_SUFFIX);
+
+        try {
+          applications.put(appId, new ProvisionedApplication(state.getProperty(key),
+              ApplicationState.valueOf(appState)));
+        } catch (IllegalArgumentException | NullPointerException e) {
+          LOGGER.warn("Ignoring invalid provisioning state of the application {}", appId);
+        }
+      }
+    }
+  }
+
+  /**
+   * Validates if all the applications must be provisioned, regardless of the stored state.
+   * @return true if the '--force' argument was informed or false otherwise
+   */
+  public boolean isForced() {
+    if (!arguments.containsOption(FORCE)) {
+      return false;
+    }
+
+    List<String> optionValues = arguments.getOptionValues(FORCE);
+
+    if ((optionValues == null) || (optionValues.isEmpty())) {
+      return true;
+    }
+
+    return Boolean.valueOf(optionValues.get(0));
+  }
+
+  /**
+   * Validates if the certificates must be generated on this run.
+   * @return true if the '--generateCerts=true' argument was informed or false otherwise
+   */
+  public boolean isGeneratingCertificates() {
+    List<String> optionValues =
+        arguments.getOptionValues(KeyPairProperties.GENERATE_CERTIFICATE);
+
+    if ((optionValues == null) || (optionValues.isEmpty())) {
+      return false;
+    }
+
+    return Boolean.valueOf(optionValues.get(0));
+  }
+
+  /**
+   * Serializes the YAML fields of the application and the Integration Bridge info. It must be
+   * called before provisioning the application, as the provisioning changes some of the fields.
+   * @param application Application object
+   * @return Desired state of the application or null if it can't be serialized
+   */
+  public String getDesiredState(Application application) {
+    Map<String, Object> desiredState = new LinkedHashMap<>();
+    desiredState.put(APPLICATION, application);
+    desiredState.put(INTEGRATION_BRIDGE, properties.getIntegrationBridge());
+
+    try {
+      return mapper.writeValueAsString(desiredState);
+    } catch (JsonProcessingException e) {
+      LOGGER.warn("Cannot serialize the desired state of the application {}",
+          application.getId(), e);
+      return null;
+    }
+  }
+
+  /**
+   * Computes the fingerprint of the desired state and the certificates of the application.
+   * @param application Application object
+   * @param desiredState Desired state of the application
+   * @return Fingerprint or null if it can't be computed
+   */
+  public String getFingerprint(Application application, String desiredState) {
+    if (desiredState == null) {
+      return null;
+    }
+
+    try {
+      MessageDigest digest = MessageDigest.getInstance(HASH_ALGORITHM);
+      digest.update(desiredState.getBytes(StandardCharsets.UTF_8));
+
+      String certsDirectory = utils.getCertsDirectory();
+      updateDigest(digest, new File(certsDirectory + application.getId() + ".pem"));
+      updateDigest(digest, new File(certsDirectory + application.getId() + "_app.pem"));
+
+      return Hex.encodeHexString(digest.digest());
+    } catch (NoSuchAlgorithmException | IOException e) {
+      LOGGER.warn("Cannot compute the fingerprint of the application {}", application.getId(), e);
+      return null;
+    }
+  }
+
+  /**
+   * Retrieves the state reached by the application the last time it was provisioned with the
+   * same fingerprint.
+   * @param appId Application identifier
+   * @param fingerprint Current fingerprint
+   * @return Previous application state or null if the application must be provisioned
+   */
+  public ApplicationState getUnchangedState(String appId, String fingerprint) {
+    if (fingerprint == null || isForced() || isGeneratingCertificates()) {
+      return null;
+    }
+
+    ProvisionedApplication application = applications.get(appId);
+
+    if (application != null && fingerprint.equals(application.fingerprint)) {
+      return application.state;
+    }
+
+    return null;
+  }
+
+  /**
+   * Records the fingerprint of an application successfully provisioned or disabled. Any other
+   * state discards the stored fingerprint, so the application is provisioned again next time.
+   * @param appId Application identifier
+   * @param fingerprint Fingerprint of the provisioned state
+   * @param state Final application state
+   */
+  public void update(String appId, String fingerprint, ApplicationState state) {
+    if (fingerprint != null && (ApplicationState.PROVISIONED.equals(state)
+        || ApplicationState.REMOVED.equals(state))) {
+      applications.put(appId, new ProvisionedApplication(fingerprint, state));
+    } else {
+      applications.remove(appId);
+    }
+  }
+
+  /**
+   * Writes the state file. Applications that are no longer in the YAML file are dropped.
+   * @param appIds Identifiers of the applications in the YAML file
+   */
+  public void save(Iterable<String> appIds) {
+    Properties state = new Properties();
+
+    for (String appId : appIds) {
+      ProvisionedApplication application = applications.get(appId);
+
+      if (application != null) {
+        state.setProperty(appId + FINGERPRINT_SUFFIX, application.fingerprint);
+        state.setProperty(appId + STATE_SUFFIX, application.state.name());
+      }
+    }
+
+    File target = stateFile.getAbsoluteFile();
+    File temp = new File(target.getParentFile(), "." + target.getName() + ".tmp");
+
+    try {
+      try (OutputStream output = new FileOutputStream(temp)) {
+        state.store(output, STATE_FILE_COMMENT);
+      }
+
+      Files.move(temp.toPath(), target.toPath(), StandardCopyOption.REPLACE_EXISTING,
+          StandardCopyOption.ATOMIC_MOVE);
+    } catch (IOException e) {
+      LOGGER.warn("Cannot write the provisioning state file {}. The next run will provision "
+          + "all the applications.", stateFile, e);
+    } finally {
+      if (temp.exists() && !temp.delete()) {
+        LOGGER.warn("Cannot delete the temporary file {}", temp);
+      }
+    }
+  }
+
+  private void updateDigest(MessageDigest digest, File file) throws IOException {
+    if (file.isFile()) {
+      digest.update(Files.readAllBytes(file.toPath()));
+    }
+
+    digest.update((byte) 0);
+  }
+
+  /**
+   * Fingerprint and final state of an application.
+   */
+  private static final class ProvisionedApplication {
+
+    private final String fingerprint;
+
+    private final ApplicationState state;
+
+    ProvisionedApplication(String fingerprint, ApplicationState state) {
+      this.fingerprint = fingerprint;
+      this.state = state;
+    }
+
+  }
+
+}
@@ -28,7 +28,11 @@ import org.symphonyoss.integration.model.yaml.Certificate;
 import org.symphonyoss.integration.model.yaml.IntegrationProperties;
 import org.symphonyoss.integration.utils.IntegrationUtils;
 
-import java.util.Locale;
+import java.security.KeyPair;
+import java.security.PrivateKey;
+import java.security.cert.X509Certificate;
+import java.util.ArrayList;
+import java.util.List;
 
 /**
  * Service class responsible for generating user private key and certificate.
@@ -40,14 +44,9 @@ public class UserKeyPairService extends KeyPairService {
 
   private static final Logger LOGGER = LoggerFactory.getLogger(UserKeyPairService.class);
 
-  private static final String OPENSSL_GEN_KEY_CMD = "openssl genrsa -aes256 -passout pass:%s -out"
-      + " %s 2048";
+  private static final int KEY_SIZE = 2048;
 
-  private static final String OPENSSL_GEN_CERT_CMD = "openssl x509 -req -sha256 -days 2922 -in %s"
-      + " -CA %s -passin pass:%s -out %s -CAkey %s -set_serial 0x%s";
-
-  private static final String OPENSSL_PKCS12_CMD = "openssl pkcs12 -export -out %s -aes256 -in %s"
-      + " -inkey %s -passin pass:%s -passout pass:%s";
+  private static final int VALIDITY_DAYS = 2922;
 
   private final IntegrationProperties properties;
 
@@ -67,91 +66,53 @@ public class UserKeyPairService extends KeyPairService {
    */
   public void exportCertificate(IntegrationSettings settings, Application application) {
     if (shouldGenerateCertificate()) {
-      String keyFileName = generatePrivateKey(application);
-      String reqFileName = generateCSR(settings.getUsername(), application, keyFileName);
-      generateCertificate(application, keyFileName, reqFileName);
+      KeyPair keyPair = generatePrivateKey(application);
+      generateCertificate(settings.getUsername(), application, keyPair);
     }
   }
 
   /**
    * Generate private key.
    * @param application Application object
-   * @return Key filename
+   * @return User key pair
    */
-  private String generatePrivateKey(Application application) {
+  private KeyPair generatePrivateKey(Application application) {
     LOGGER.info("Generating user private key: {}", application.getComponent());
-
-    String password = getTempPassword(application);
-    String appKeyFilename = String.format("%s/%s-key.pem", System.getProperty("java.io.tmpdir"),
-        application.getId());
-
-    String genKeyPairCommand = String.format(OPENSSL_GEN_KEY_CMD, password, appKeyFilename);
-
-    executeProcess(genKeyPairCommand);
-
-    return appKeyFilename;
+    return generateKeyPair(KEY_SIZE);
   }
 
   /**
-   * Generate the Certificate Signing Request (CSR).
+   * Generate user certificate and the PKCS#12 keystore that holds it, along with the CA chain.
+   * @param username Bot username
    * @param application Application object
-   * @param appKeyFilename Key filename
-   * @return Request filename
+   * @param keyPair User key pair
    */
-  private String generateCSR(String username, Application application, String appKeyFilename) {
-    LOGGER.info("Generating certificate signing request: {}", application.getComponent());
-
-    String password = String.format("pass:%s", getTempPassword(application));
-    String subject =
-        String.format("/CN=%s/O=%s/C=%s", username, DEFAULT_ORGANIZATION, Locale.US.getCountry());
-
-    String appReqFilename = String.format("%s/%s-req.pem", System.getProperty("java.io.tmpdir"),
-        application.getId());
-
-    String[] genCSRCommand = new String[] {"openssl", "req", "-new", "-key", appKeyFilename,
-        "-passin", password, "-subj", subject, "-out", appReqFilename};
-
-    executeProcess(genCSRCommand);
-
-    return appReqFilename;
-  }
-
-  /**
-   * Generate user certificate
-   * @param application Application object
-   * @param appKeyFilename Key filename
-   * @param appReqFilename Request filename
-   */
-  private void generateCertificate(Application application, String appKeyFilename, String
-      appReqFilename) {
+  private void generateCertificate(String username, Application application, KeyPair keyPair) {
     LOGGER.info("Generating certificate: {}", application.getComponent());
 
     Certificate certificateInfo = properties.getSigningCert();
 
-    String keyPassword = getTempPassword(application);
-    String password = certificateInfo.getCaKeyPassword();
-    String passOutput = application.getKeystore().getPassword();
-    String sn = Long.toHexString(System.currentTimeMillis());
+    X509Certificate caCertificate = readCertificates(certificateInfo.getCaCertFile()).get(0);
+    PrivateKey caKey =
+        readPrivateKey(certificateInfo.getCaKeyFile(), certificateInfo.getCaKeyPassword());
+
+    X509Certificate certificate = signCertificate(buildSubject(username), keyPair.getPublic(),
+        caCertificate, caKey, VALIDITY_DAYS);
 
     String appCertFilename = utils.getCertsDirectory() + application.getId() + ".pem";
     String appPKCS12Filename = utils.getCertsDirectory() + application.getId() + ".p12";
-    String caCertFilename = certificateInfo.getCaCertFile();
-    String caCertKeyFilename = certificateInfo.getCaKeyFile();
     String caCertChain = certificateInfo.getCaCertChainFile();
 
-    String genCerticateCommand =
-        String.format(OPENSSL_GEN_CERT_CMD, appReqFilename, caCertFilename, password,
-            appCertFilename, caCertKeyFilename, sn);
-
-    executeProcess(genCerticateCommand);
+    writePem(appCertFilename, certificate);
 
-    String genPKCS12Command = String.format(OPENSSL_PKCS12_CMD, appPKCS12Filename,
-        appCertFilename, appKeyFilename, keyPassword, passOutput);
+    List<X509Certificate> chain = new ArrayList<>();
+    chain.add(certificate);
 
     if (!StringUtils.isEmpty(caCertChain)) {
-      genPKCS12Command = genPKCS12Command.concat(" -certfile ").concat(caCertChain);
+      chain.addAll(readCertificates(caCertChain));
     }
 
-    executeProcess(genPKCS12Command);
+    writeKeyStore(appPKCS12Filename, application.getId(), keyPair.getPrivate(),
+        application.getKeystore().getPassword(), chain);
   }
 }
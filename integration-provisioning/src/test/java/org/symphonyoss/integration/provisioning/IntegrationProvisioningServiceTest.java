@@ -19,12 +19,19 @@ package org.symphonyoss.integration.provisioning;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.stubbing.Answer;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.boot.test.context.SpringBootTest;
@@ -37,6 +44,7 @@ import org.symphonyoss.integration.exception.IntegrationRuntimeException;
 import org.symphonyoss.integration.logging.LogMessageSource;
 import org.symphonyoss.integration.model.config.IntegrationSettings;
 import org.symphonyoss.integration.model.yaml.Application;
+import org.symphonyoss.integration.model.yaml.ApplicationState;
 import org.symphonyoss.integration.model.yaml.IntegrationProperties;
 import org.symphonyoss.integration.provisioning.exception.ApplicationProvisioningException;
 import org.symphonyoss.integration.provisioning.exception.UserSearchException;
@@ -45,6 +53,7 @@ import org.symphonyoss.integration.provisioning.service.ApplicationService;
 import org.symphonyoss.integration.provisioning.service.CompanyCertificateService;
 import org.symphonyoss.integration.provisioning.service.ConfigurationProvisioningService;
 import org.symphonyoss.integration.provisioning.service.KeyPairService;
+import org.symphonyoss.integration.provisioning.service.ProvisioningStateService;
 import org.symphonyoss.integration.provisioning.service.UserKeyPairService;
 import org.symphonyoss.integration.provisioning.service.UserService;
 
@@ -62,6 +71,8 @@ public class IntegrationProvisioningServiceTest {
 
   private static final String MOCK_CONFIGURATION_ID = "57e82afce4b07fea0651e8ac";
 
+  private static final String FAILED_APPLICATION = "github";
+
   @Autowired
   private ApplicationContext context;
 
@@ -86,6 +97,9 @@ public class IntegrationProvisioningServiceTest {
   @MockBean
   private UserService userService;
 
+  @MockBean
+  private ProvisioningStateService stateService;
+
   @MockBean
   private LogMessageSource logMessage;
 
@@ -132,6 +146,27 @@ public class IntegrationProvisioningServiceTest {
     assertFalse(service.configure());
   }
 
+  @Test
+  public void testFailureIsolated() {
+    doAnswer(new Answer<Void>() {
+      @Override
+      public Void answer(InvocationOnMock invocation) throws Throwable {
+        Application application = (Application) invocation.getArguments()[1];
+
+        if (FAILED_APPLICATION.equals(application.getId())) {
+          throw new UserSearchException("Fail to find the bot user");
+        }
+
+        return null;
+      }
+    }).when(userService).setupBotUser(any(IntegrationSettings.class), any(Application.class));
+
+    assertFalse(service.configure());
+
+    // The other four provisioned applications complete all the steps
+    verify(companyCertificateService, times(4)).importCertificate(any(Application.class));
+  }
+
   @Test
   public void testFailRemoved() {
     doThrow(ApplicationProvisioningException.class).when(applicationService)
@@ -144,4 +179,16 @@ public class IntegrationProvisioningServiceTest {
     assertTrue(service.configure());
   }
 
+  @Test
+  public void testUnchangedApplications() {
+    doReturn(ApplicationState.PROVISIONED).when(stateService)
+        .getUnchangedState(anyString(), anyString());
+
+    assertTrue(service.configure());
+
+    verify(configurationService, never()).setupConfiguration(any(Application.class));
+    verify(applicationService, never()).updateAppSettings(any(Application.class));
+    verify(stateService, times(1)).save(any(Iterable.class));
+  }
+
 }
@@ -18,6 +18,7 @@ package org.symphonyoss.integration.provisioning.client;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertNull;
 import static org.mockito.Matchers.any;
 import static org.mockito.Matchers.eq;
@@ -194,6 +195,90 @@ public class AppRepositoryClientTest {
     assertEquals(expected, result);
   }
 
+  @Test
+  public void testGetAppGroupIdDownloadedOnce()
+      throws AppRepositoryClientException, MalformedURLException, RemoteApiException {
+    testAppsAvailable();
+
+    repository.getAppByAppGroupId(MOCK_APP_ID, DEFAULT_USER_ID);
+    repository.getAppByAppGroupId("otherApp", DEFAULT_USER_ID);
+    repository.getAppByAppGroupId(MOCK_APP_ID, DEFAULT_USER_ID);
+
+    // One call from testAppsAvailable and one to build the snapshot
+    verify(client, times(2)).doGet(APP_REPOSITORY_APPS_AVAILABLE, getRequiredHeaders(),
+        Collections.<String, String>emptyMap(), Envelope.class);
+  }
+
+  @Test
+  public void testRefresh()
+      throws AppRepositoryClientException, MalformedURLException, RemoteApiException {
+    mockAppsAvailable(new ArrayList());
+
+    assertNull(repository.getAppByAppGroupId(MOCK_APP_ID, DEFAULT_USER_ID));
+
+    List data = new ArrayList();
+    data.add(mockAppStoreResult(mockAppStoreWrapper()));
+    mockAppsAvailable(data);
+
+    assertNull(repository.getAppByAppGroupId(MOCK_APP_ID, DEFAULT_USER_ID));
+
+    repository.refresh(DEFAULT_USER_ID);
+
+    assertNotNull(repository.getAppByAppGroupId(MOCK_APP_ID, DEFAULT_USER_ID));
+  }
+
+  @Test
+  public void testCreateAppUpdatesSnapshot()
+      throws AppRepositoryClientException, MalformedURLException, RemoteApiException {
+    mockAppsAvailable(new ArrayList());
+
+    assertNull(repository.getAppByAppGroupId(MOCK_APP_ID, DEFAULT_USER_ID));
+
+    repository.createNewApp(mockAppStoreWrapper(), DEFAULT_USER_ID);
+
+    Map<String, String> result = repository.getAppByAppGroupId(MOCK_APP_ID, DEFAULT_USER_ID);
+
+    assertNotNull(result);
+    assertEquals(MOCK_APP_NAME, result.get("name"));
+
+    verify(client, times(1)).doGet(APP_REPOSITORY_APPS_AVAILABLE, getRequiredHeaders(),
+        Collections.<String, String>emptyMap(), Envelope.class);
+  }
+
+  @Test
+  public void testUpdateAppUpdatesSnapshot()
+      throws AppRepositoryClientException, MalformedURLException, RemoteApiException {
+    List data = new ArrayList();
+    data.add(mockAppStoreResult(mockAppStoreWrapper()));
+    mockAppsAvailable(data);
+
+    repository.getAppByAppGroupId(MOCK_APP_ID, DEFAULT_USER_ID);
+
+    AppStoreWrapper wrapper = mockAppStoreWrapper();
+    wrapper.setName("Updated Application");
+
+    Map<String, String> updated = mockAppStoreResult(wrapper);
+
+    Envelope<Map<String, String>> response = new Envelope<>();
+    response.setData(updated);
+
+    doReturn(response).when(client).doPost(eq(APP_REPOSITORY_APPS + "/" + MOCK_APP_ID),
+        eq(getRequiredHeaders()), eq(Collections.<String, String>emptyMap()),
+        any(Envelope.class), eq(Envelope.class));
+
+    repository.updateApp(wrapper, DEFAULT_USER_ID, MOCK_APP_ID);
+
+    assertEquals(updated, repository.getAppByAppGroupId(MOCK_APP_ID, DEFAULT_USER_ID));
+  }
+
+  private void mockAppsAvailable(List data) throws RemoteApiException {
+    Envelope<List> envelope = new Envelope<>();
+    envelope.setData(data);
+
+    doReturn(envelope).when(client).doGet(APP_REPOSITORY_APPS_AVAILABLE, getRequiredHeaders(),
+        Collections.<String, String>emptyMap(), Envelope.class);
+  }
+
   @Test(expected = AppRepositoryClientException.class)
   public void testCreateAppRemoteApiException()
       throws RemoteApiException, AppRepositoryClientException {
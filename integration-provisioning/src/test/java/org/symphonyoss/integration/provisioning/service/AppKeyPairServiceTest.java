@@ -16,30 +16,25 @@
 
 package org.symphonyoss.integration.provisioning.service;
 
-import static org.mockito.Matchers.any;
-import static org.mockito.Matchers.anyString;
-import static org.mockito.Matchers.eq;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
 import static org.mockito.Mockito.doReturn;
-import static org.mockito.Mockito.mock;
-import static org.mockito.Mockito.times;
-import static org.mockito.Mockito.verify;
-import static org.mockito.Mockito.when;
 import static org.symphonyoss.integration.provisioning.properties.KeyPairProperties
     .GENERATE_CERTIFICATE;
 
-import org.apache.commons.lang3.StringUtils;
+import org.bouncycastle.asn1.pkcs.PrivateKeyInfo;
+import org.bouncycastle.asn1.x509.SubjectPublicKeyInfo;
+import org.bouncycastle.openssl.PEMParser;
 import org.junit.Before;
+import org.junit.Rule;
 import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
 import org.junit.runner.RunWith;
 import org.mockito.Mock;
-import org.mockito.Spy;
-import org.powermock.api.mockito.PowerMockito;
-import org.powermock.core.classloader.annotations.PowerMockIgnore;
-import org.powermock.core.classloader.annotations.PrepareForTest;
-import org.powermock.modules.junit4.PowerMockRunner;
+import org.mockito.runners.MockitoJUnitRunner;
 import org.springframework.boot.ApplicationArguments;
 import org.symphonyoss.integration.logging.LogMessageSource;
-import org.symphonyoss.integration.model.config.IntegrationSettings;
 import org.symphonyoss.integration.model.yaml.Application;
 import org.symphonyoss.integration.model.yaml.Certificate;
 import org.symphonyoss.integration.model.yaml.IntegrationProperties;
@@ -47,15 +42,11 @@ import org.symphonyoss.integration.model.yaml.Keystore;
 import org.symphonyoss.integration.provisioning.exception.KeyPairException;
 import org.symphonyoss.integration.utils.IntegrationUtils;
 
-import java.io.ByteArrayInputStream;
-import java.io.IOException;
-import java.nio.file.FileSystem;
-import java.nio.file.FileSystems;
-import java.nio.file.Files;
-import java.nio.file.LinkOption;
-import java.nio.file.Path;
-import java.nio.file.attribute.PosixFileAttributeView;
-import java.nio.file.attribute.UserPrincipalLookupService;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileReader;
+import java.security.KeyStore;
+import java.security.cert.X509Certificate;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
@@ -65,9 +56,7 @@ import java.util.List;
  *
  * Created by rsanchez on 11/08/17.
  */
-@RunWith(PowerMockRunner.class)
-@PowerMockIgnore("javax.management.*")
-@PrepareForTest({KeyPairService.class})
+@RunWith(MockitoJUnitRunner.class)
 public class AppKeyPairServiceTest {
 
   private static final String MOCK_APP_TYPE = "appTest";
@@ -80,20 +69,11 @@ public class AppKeyPairServiceTest {
 
   private static final String MOCK_ROOT_KEY_FILE = "root-key.pem";
 
-  @Mock
-  private ApplicationArguments arguments;
-
-  @Mock
-  private Runtime runtime;
+  @Rule
+  public TemporaryFolder folder = new TemporaryFolder();
 
   @Mock
-  private Process process;
-
-  @Mock
-  private UserPrincipalLookupService lookupService;
-
-  @Mock
-  private PosixFileAttributeView attributeView;
+  private ApplicationArguments arguments;
 
   @Mock
   private IntegrationUtils utils;
@@ -106,122 +86,88 @@ public class AppKeyPairServiceTest {
 
   private AppKeyPairService keyPairService;
 
-  @Before
-  public void init() throws IOException {
-    keyPairService = new AppKeyPairService(arguments, logMessage, utils, properties);
-
-    PowerMockito.mockStatic(Runtime.class);
-    PowerMockito.mockStatic(FileSystems.class);
-    PowerMockito.mockStatic(Files.class);
-
-    FileSystem fileSystem = mock(FileSystem.class);
+  private MockCertificateAuthority certificateAuthority;
 
-    when(FileSystems.getDefault()).thenReturn(fileSystem);
-    when(Files.getFileAttributeView(any(Path.class), eq(PosixFileAttributeView.class),
-        eq(LinkOption.NOFOLLOW_LINKS))).thenReturn(attributeView);
-    when(Runtime.getRuntime()).thenReturn(runtime);
+  private Certificate certificateInfo;
 
-    doReturn(lookupService).when(fileSystem).getUserPrincipalLookupService();
+  @Before
+  public void init() throws Exception {
+    keyPairService = new AppKeyPairService(arguments, logMessage, utils, properties);
 
     List<String> optionValues = Arrays.asList(Boolean.TRUE.toString());
     doReturn(optionValues).when(arguments).getOptionValues(GENERATE_CERTIFICATE);
 
-    doReturn(process).when(runtime).exec(anyString());
-    doReturn(process).when(runtime).exec(any(String[].class));
+    doReturn(folder.getRoot().getAbsolutePath() + File.separator).when(utils).getCertsDirectory();
 
-    doReturn(new ByteArrayInputStream(new byte[] {})).when(process).getErrorStream();
+    File certFile = new File(folder.getRoot(), MOCK_ROOT_CERT_FILE);
+    File keyFile = new File(folder.getRoot(), MOCK_ROOT_KEY_FILE);
 
-    doReturn(StringUtils.EMPTY).when(utils).getCertsDirectory();
+    certificateAuthority = new MockCertificateAuthority(certFile, keyFile, MOCK_KEY_PASSWORD);
 
-    Certificate certificateInfo = new Certificate();
-    certificateInfo.setCaCertFile(MOCK_ROOT_CERT_FILE);
-    certificateInfo.setCaKeyFile(MOCK_ROOT_KEY_FILE);
+    certificateInfo = new Certificate();
+    certificateInfo.setCaCertFile(certFile.getAbsolutePath());
+    certificateInfo.setCaKeyFile(keyFile.getAbsolutePath());
     certificateInfo.setCaKeyPassword(MOCK_KEY_PASSWORD);
 
     doReturn(certificateInfo).when(properties).getSigningCert();
   }
 
   @Test
-  public void testShouldNotGenerateCertificate() throws InterruptedException {
+  public void testShouldNotGenerateCertificate() {
     doReturn(Collections.EMPTY_LIST).when(arguments).getOptionValues(GENERATE_CERTIFICATE);
 
     keyPairService.exportCertificate(null);
 
-    verify(process, times(0)).waitFor();
+    assertEquals(2, folder.getRoot().list().length);
   }
 
   @Test
-  public void testNullAppKeystore() throws InterruptedException {
+  public void testNullAppKeystore() {
     Application application = getApplication();
     application.setAppKeystore(null);
 
     keyPairService.exportCertificate(application);
 
-    verify(process, times(0)).waitFor();
+    assertFalse(new File(folder.getRoot(), MOCK_APP_ID + "_app.pkcs8").exists());
   }
 
   @Test(expected = KeyPairException.class)
-  public void testFailGeneratePrivateKey() throws IOException {
-    Application application = getApplication();
-
-    doReturn(-1).when(process).exitValue();
+  public void testFailReadCACertificate() {
+    certificateInfo.setCaCertFile(certificateInfo.getCaKeyFile());
 
-    keyPairService.exportCertificate(application);
+    keyPairService.exportCertificate(getApplication());
   }
 
-  @Test(expected = KeyPairException.class)
-  public void testFailGeneratePKCS8() throws IOException {
-    Application application = getApplication();
-
-    doReturn(0).doReturn(-1).when(process).exitValue();
-
-    keyPairService.exportCertificate(application);
-  }
-
-  @Test(expected = KeyPairException.class)
-  public void testFailGenerateCSR() throws IOException, InterruptedException {
-    Application application = getApplication();
-
-    doReturn(0).when(process).exitValue();
-    doReturn(0).doReturn(0).doThrow(IOException.class).when(process).waitFor();
-
-    keyPairService.exportCertificate(application);
-  }
-
-  @Test(expected = KeyPairException.class)
-  public void testFailGenerateCertificate() throws IOException, InterruptedException {
-    Application application = getApplication();
-
-    doReturn(0).doReturn(0).doReturn(0).doReturn(-1).when(process).exitValue();
-
-    keyPairService.exportCertificate(application);
-  }
-
-  @Test(expected = KeyPairException.class)
-  public void testFailGeneratePKCS12() throws IOException, InterruptedException {
-    Application application = getApplication();
+  @Test
+  public void testSuccess() throws Exception {
+    keyPairService.exportCertificate(getApplication());
 
-    doReturn(0).doReturn(0).doReturn(0).doReturn(0).doReturn(-1).when(process).exitValue();
+    try (PEMParser parser = new PEMParser(new FileReader(
+        new File(folder.getRoot(), MOCK_APP_ID + "_app.pkcs8")))) {
+      assertTrue(parser.readObject() instanceof PrivateKeyInfo);
+    }
 
-    keyPairService.exportCertificate(application);
-  }
+    try (PEMParser parser = new PEMParser(new FileReader(
+        new File(folder.getRoot(), MOCK_APP_ID + "_app_pub.pem")))) {
+      assertTrue(parser.readObject() instanceof SubjectPublicKeyInfo);
+    }
 
-  @Test(expected = KeyPairException.class)
-  public void testFailGeneratePublicKey() throws IOException, InterruptedException {
-    Application application = getApplication();
+    assertTrue(new File(folder.getRoot(), MOCK_APP_ID + "_app.pem").exists());
 
-    doReturn(0).doReturn(0).doReturn(0).doReturn(0).doReturn(0).doReturn(-1).when(process).exitValue();
+    KeyStore keyStore = KeyStore.getInstance("PKCS12");
 
-    keyPairService.exportCertificate(application);
-  }
+    try (FileInputStream input =
+        new FileInputStream(new File(folder.getRoot(), MOCK_APP_ID + "_app.p12"))) {
+      keyStore.load(input, MOCK_KEY_PASSWORD.toCharArray());
+    }
 
-  @Test
-  public void testSuccess() throws IOException {
-    Application application = getApplication();
+    X509Certificate certificate = (X509Certificate) keyStore.getCertificate(MOCK_APP_ID);
 
-    doReturn(0).when(process).exitValue();
+    assertTrue(certificate.getSubjectX500Principal().getName().startsWith("CN=" + MOCK_APP_TYPE));
+    assertEquals(certificateAuthority.getCertificate().getSubjectX500Principal(),
+        certificate.getIssuerX500Principal());
 
-    keyPairService.exportCertificate(application);
+    certificate.verify(certificateAuthority.getCertificate().getPublicKey());
   }
 
   private Application getApplication() {
@@ -0,0 +1,75 @@
+/**
+ * Copyright 2016-2017 Symphony Integrations - Symphony LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.symphonyoss.integration.provisioning.service;
+
+import org.bouncycastle.asn1.x500.X500Name;
+import org.bouncycastle.cert.jcajce.JcaX509CertificateConverter;
+import org.bouncycastle.cert.jcajce.JcaX509v3CertificateBuilder;
+import org.bouncycastle.openssl.jcajce.JcaMiscPEMGenerator;
+import org.bouncycastle.openssl.jcajce.JcaPEMWriter;
+import org.bouncycastle.openssl.jcajce.JcePEMEncryptorBuilder;
+import org.bouncycastle.operator.jcajce.JcaContentSignerBuilder;
+
+import java.io.File;
+import java.io.FileWriter;
+import java.math.BigInteger;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.cert.X509Certificate;
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Self-signed CA used by the key pair unit tests. The private key is written encrypted, as the
+ * CA keys configured in the YAML file.
+ */
+class MockCertificateAuthority {
+
+  static final String SUBJECT = "CN=Mock CA, O=Symphony Communications LLC, C=US";
+
+  private final X509Certificate certificate;
+
+  MockCertificateAuthority(File certFile, File keyFile, String password) throws Exception {
+    KeyPairGenerator generator = KeyPairGenerator.getInstance("RSA");
+    generator.initialize(1024);
+    KeyPair keyPair = generator.generateKeyPair();
+
+    X500Name subject = new X500Name(SUBJECT);
+    Date notBefore = new Date();
+    Date notAfter = new Date(notBefore.getTime() + TimeUnit.DAYS.toMillis(1));
+
+    JcaX509v3CertificateBuilder builder = new JcaX509v3CertificateBuilder(subject,
+        BigInteger.ONE, notBefore, notAfter, subject, keyPair.getPublic());
+
+    this.certificate = new JcaX509CertificateConverter().getCertificate(
+        builder.build(new JcaContentSignerBuilder("SHA256WithRSA").build(keyPair.getPrivate())));
+
+    try (JcaPEMWriter writer = new JcaPEMWriter(new FileWriter(certFile))) {
+      writer.writeObject(certificate);
+    }
+
+    try (JcaPEMWriter writer = new JcaPEMWriter(new FileWriter(keyFile))) {
+      writer.writeObject(new JcaMiscPEMGenerator(keyPair,
+          new JcePEMEncryptorBuilder("AES-256-CBC").build(password.toCharArray())));
+    }
+  }
+
+  X509Certificate getCertificate() {
+    return certificate;
+  }
+
+}
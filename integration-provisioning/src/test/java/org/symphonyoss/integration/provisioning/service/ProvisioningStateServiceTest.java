@@ -0,0 +1,221 @@
+/**
+ * Copyright 2016-2017 Symphony Integrations - Symphony LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.symphonyoss.integration.provisioning.service;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.doReturn;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+import org.springframework.boot.ApplicationArguments;
+import org.symphonyoss.integration.model.yaml.Application;
+import org.symphonyoss.integration.model.yaml.ApplicationState;
+import org.symphonyoss.integration.model.yaml.IntegrationBridge;
+import org.symphonyoss.integration.model.yaml.IntegrationProperties;
+import org.symphonyoss.integration.provisioning.properties.KeyPairProperties;
+import org.symphonyoss.integration.utils.IntegrationUtils;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.Collections;
+
+/**
+ * Unit test for {@link ProvisioningStateService}
+ */
+@RunWith(MockitoJUnitRunner.class)
+public class ProvisioningStateServiceTest {
+
+  private static final String MOCK_APP_ID = "jira";
+
+  private static final String MOCK_OTHER_APP_ID = "github";
+
+  private static final String MOCK_APP_TYPE = "jiraWebHookIntegration";
+
+  private static final String MOCK_HOST = "test.symphony.com";
+
+  @Rule
+  public TemporaryFolder folder = new TemporaryFolder();
+
+  @Mock
+  private ApplicationArguments arguments;
+
+  @Mock
+  private IntegrationProperties properties;
+
+  @Mock
+  private IntegrationUtils utils;
+
+  private ProvisioningStateService stateService;
+
+  @Before
+  public void init() {
+    IntegrationBridge integrationBridge = new IntegrationBridge();
+    integrationBridge.setHost(MOCK_HOST);
+
+    doReturn(integrationBridge).when(properties).getIntegrationBridge();
+    doReturn(folder.getRoot().getAbsolutePath() + File.separator).when(utils).getCertsDirectory();
+
+    stateService = new ProvisioningStateService(arguments, properties, utils, null);
+    stateService.init();
+  }
+
+  @Test
+  public void testNewApplication() {
+    Application application = getApplication();
+    String fingerprint = getFingerprint(application);
+
+    assertNotNull(fingerprint);
+    assertNull(stateService.getUnchangedState(MOCK_APP_ID, fingerprint));
+  }
+
+  @Test
+  public void testUnchangedApplication() {
+    Application application = getApplication();
+    String fingerprint = getFingerprint(application);
+
+    stateService.update(MOCK_APP_ID, fingerprint, ApplicationState.PROVISIONED);
+    stateService.save(Collections.singletonList(MOCK_APP_ID));
+
+    assertTrue(new File(folder.getRoot(),
+        ProvisioningStateService.DEFAULT_STATE_FILENAME).isFile());
+
+    // Simulates the next provisioning run
+    stateService.init();
+
+    assertEquals(ApplicationState.PROVISIONED,
+        stateService.getUnchangedState(MOCK_APP_ID, getFingerprint(getApplication())));
+  }
+
+  @Test
+  public void testChangedApplication() {
+    Application application = getApplication();
+    String fingerprint = getFingerprint(application);
+
+    stateService.update(MOCK_APP_ID, fingerprint, ApplicationState.PROVISIONED);
+
+    Application changed = getApplication();
+    changed.setName("JIRA Integration");
+
+    String changedFingerprint = getFingerprint(changed);
+
+    assertNotEquals(fingerprint, changedFingerprint);
+    assertNull(stateService.getUnchangedState(MOCK_APP_ID, changedFingerprint));
+  }
+
+  @Test
+  public void testChangedCertificate() throws IOException {
+    Application application = getApplication();
+    String fingerprint = getFingerprint(application);
+
+    Files.write(new File(folder.getRoot(), MOCK_APP_ID + ".pem").toPath(),
+        "certificate".getBytes(StandardCharsets.UTF_8));
+
+    assertNotEquals(fingerprint, getFingerprint(application));
+  }
+
+  @Test
+  public void testForce() {
+    Application application = getApplication();
+    String fingerprint = getFingerprint(application);
+
+    stateService.update(MOCK_APP_ID, fingerprint, ApplicationState.PROVISIONED);
+
+    doReturn(true).when(arguments).containsOption(ProvisioningStateService.FORCE);
+
+    assertTrue(stateService.isForced());
+    assertNull(stateService.getUnchangedState(MOCK_APP_ID, fingerprint));
+
+    doReturn(Arrays.asList(Boolean.FALSE.toString())).when(arguments)
+        .getOptionValues(ProvisioningStateService.FORCE);
+
+    assertFalse(stateService.isForced());
+  }
+
+  @Test
+  public void testGenerateCertificates() {
+    Application application = getApplication();
+    String fingerprint = getFingerprint(application);
+
+    stateService.update(MOCK_APP_ID, fingerprint, ApplicationState.PROVISIONED);
+
+    doReturn(Arrays.asList(Boolean.TRUE.toString())).when(arguments)
+        .getOptionValues(KeyPairProperties.GENERATE_CERTIFICATE);
+
+    assertTrue(stateService.isGeneratingCertificates());
+    assertNull(stateService.getUnchangedState(MOCK_APP_ID, fingerprint));
+
+    doReturn(Arrays.asList(Boolean.FALSE.toString())).when(arguments)
+        .getOptionValues(KeyPairProperties.GENERATE_CERTIFICATE);
+
+    assertFalse(stateService.isGeneratingCertificates());
+    assertEquals(ApplicationState.PROVISIONED,
+        stateService.getUnchangedState(MOCK_APP_ID, fingerprint));
+  }
+
+  @Test
+  public void testFailedApplication() {
+    Application application = getApplication();
+    String fingerprint = getFingerprint(application);
+
+    stateService.update(MOCK_APP_ID, fingerprint, ApplicationState.PROVISIONED);
+    stateService.update(MOCK_APP_ID, null, ApplicationState.FAILED);
+
+    assertNull(stateService.getUnchangedState(MOCK_APP_ID, fingerprint));
+  }
+
+  @Test
+  public void testRemovedFromYaml() {
+    Application application = getApplication();
+    String fingerprint = getFingerprint(application);
+
+    stateService.update(MOCK_APP_ID, fingerprint, ApplicationState.PROVISIONED);
+    stateService.save(Collections.singletonList(MOCK_OTHER_APP_ID));
+
+    stateService.init();
+
+    assertNull(stateService.getUnchangedState(MOCK_APP_ID, fingerprint));
+  }
+
+  private String getFingerprint(Application application) {
+    String desiredState = stateService.getDesiredState(application);
+    return stateService.getFingerprint(application, desiredState);
+  }
+
+  private Application getApplication() {
+    Application application = new Application();
+    application.setId(MOCK_APP_ID);
+    application.setComponent(MOCK_APP_TYPE);
+    application.setName("JIRA");
+    application.setState(ApplicationState.PROVISIONED);
+
+    return application;
+  }
+
+}
@@ -16,31 +16,21 @@
 
 package org.symphonyoss.integration.provisioning.service;
 
-import static org.mockito.Matchers.any;
-import static org.mockito.Matchers.anyString;
-import static org.mockito.Matchers.eq;
-import static org.mockito.Matchers.matches;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
 import static org.mockito.Mockito.doReturn;
-import static org.mockito.Mockito.doThrow;
-import static org.mockito.Mockito.mock;
-import static org.mockito.Mockito.mockingDetails;
-import static org.mockito.Mockito.times;
-import static org.mockito.Mockito.verify;
-import static org.mockito.Mockito.when;
 import static org.symphonyoss.integration.provisioning.properties.KeyPairProperties
     .GENERATE_CERTIFICATE;
 
-import org.apache.commons.lang3.StringUtils;
 import org.junit.Before;
+import org.junit.Rule;
 import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
 import org.junit.runner.RunWith;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Spy;
-import org.powermock.api.mockito.PowerMockito;
-import org.powermock.core.classloader.annotations.PowerMockIgnore;
-import org.powermock.core.classloader.annotations.PrepareForTest;
-import org.powermock.modules.junit4.PowerMockRunner;
+import org.mockito.runners.MockitoJUnitRunner;
 import org.springframework.boot.ApplicationArguments;
 import org.symphonyoss.integration.logging.LogMessageSource;
 import org.symphonyoss.integration.model.config.IntegrationSettings;
@@ -51,17 +41,11 @@ import org.symphonyoss.integration.model.yaml.Keystore;
 import org.symphonyoss.integration.provisioning.exception.KeyPairException;
 import org.symphonyoss.integration.utils.IntegrationUtils;
 
-import java.io.ByteArrayInputStream;
-import java.io.IOException;
-import java.nio.file.FileSystem;
-import java.nio.file.FileSystems;
-import java.nio.file.Files;
-import java.nio.file.LinkOption;
-import java.nio.file.Path;
-import java.nio.file.attribute.GroupPrincipal;
-import java.nio.file.attribute.PosixFileAttributeView;
-import java.nio.file.attribute.UserPrincipal;
-import java.nio.file.attribute.UserPrincipalLookupService;
+import java.io.File;
+import java.io.FileInputStream;
+import java.security.KeyStore;
+import java.security.PrivateKey;
+import java.security.cert.X509Certificate;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
@@ -70,9 +54,7 @@ import java.util.List;
  * Unit test for {@link UserKeyPairService}
  * Created by rsanchez on 14/06/17.
  */
-@RunWith(PowerMockRunner.class)
-@PowerMockIgnore("javax.management.*")
-@PrepareForTest({KeyPairService.class})
+@RunWith(MockitoJUnitRunner.class)
 public class UserKeyPairServiceTest {
 
   private static final String MOCK_APP_TYPE = "appTest";
@@ -85,23 +67,12 @@ public class UserKeyPairServiceTest {
 
   private static final String MOCK_CERT_FILE = "mock-cert.pem";
 
-  private static final String MOCK_CERT_CA_CHAIN_FILE = "mock-chain.pem";
+  @Rule
+  public TemporaryFolder folder = new TemporaryFolder();
 
   @Mock
   private ApplicationArguments arguments;
 
-  @Mock
-  private Runtime runtime;
-
-  @Mock
-  private Process process;
-
-  @Mock
-  private UserPrincipalLookupService lookupService;
-
-  @Mock
-  private PosixFileAttributeView attributeView;
-
   @Mock
   private IntegrationUtils utils;
 
@@ -113,121 +84,105 @@ public class UserKeyPairServiceTest {
 
   private UserKeyPairService keyPairService;
 
-  @Before
-  public void init() throws IOException {
-    keyPairService = new UserKeyPairService(arguments, logMessage, properties, utils);
+  private MockCertificateAuthority certificateAuthority;
 
-    PowerMockito.mockStatic(Runtime.class);
-    PowerMockito.mockStatic(FileSystems.class);
-    PowerMockito.mockStatic(Files.class);
+  private Certificate certificateInfo;
 
-    FileSystem fileSystem = mock(FileSystem.class);
-
-    when(FileSystems.getDefault()).thenReturn(fileSystem);
-    when(Files.getFileAttributeView(any(Path.class), eq(PosixFileAttributeView.class),
-        eq(LinkOption.NOFOLLOW_LINKS))).thenReturn(attributeView);
-    when(Runtime.getRuntime()).thenReturn(runtime);
-
-    doReturn(lookupService).when(fileSystem).getUserPrincipalLookupService();
+  @Before
+  public void init() throws Exception {
+    keyPairService = new UserKeyPairService(arguments, logMessage, properties, utils);
 
     List<String> optionValues = Arrays.asList(Boolean.TRUE.toString());
     doReturn(optionValues).when(arguments).getOptionValues(GENERATE_CERTIFICATE);
 
-    doReturn(process).when(runtime).exec(anyString());
-    doReturn(process).when(runtime).exec(any(String[].class));
+    File certFile = new File(folder.getRoot(), MOCK_CERT_FILE);
+    File keyFile = new File(folder.getRoot(), MOCK_KEY_FILE);
 
-    doReturn(new ByteArrayInputStream(new byte[] {})).when(process).getErrorStream();
+    certificateAuthority = new MockCertificateAuthority(certFile, keyFile, MOCK_KEY_PASSWORD);
 
-    Certificate certificateInfo = new Certificate();
+    certificateInfo = new Certificate();
     certificateInfo.setCaKeyPassword(MOCK_KEY_PASSWORD);
-    certificateInfo.setCaKeyFile(MOCK_KEY_FILE);
-    certificateInfo.setCaCertFile(MOCK_CERT_FILE);
-    certificateInfo.setCaCertChainFile(MOCK_CERT_CA_CHAIN_FILE);
+    certificateInfo.setCaKeyFile(keyFile.getAbsolutePath());
+    certificateInfo.setCaCertFile(certFile.getAbsolutePath());
 
     this.properties.setSigningCert(certificateInfo);
 
-    doReturn(StringUtils.EMPTY).when(utils).getCertsDirectory();
+    doReturn(folder.getRoot().getAbsolutePath() + File.separator).when(utils).getCertsDirectory();
   }
 
   @Test
-  public void testShouldNotGenerateCertificate() throws InterruptedException {
+  public void testShouldNotGenerateCertificate() {
     doReturn(Collections.EMPTY_LIST).when(arguments).getOptionValues(GENERATE_CERTIFICATE);
 
     keyPairService.exportCertificate(null, null);
 
-    verify(process, times(0)).waitFor();
+    assertFalse(new File(folder.getRoot(), MOCK_APP_ID + ".p12").exists());
   }
 
   @Test(expected = KeyPairException.class)
-  public void testFailGenerateKeyPair() throws IOException {
-    Application application = getApplication(false);
-
-    doReturn(-1).when(process).exitValue();
+  public void testFailReadCAKey() {
+    certificateInfo.setCaKeyFile(new File(folder.getRoot(), "missing.pem").getAbsolutePath());
 
-    keyPairService.exportCertificate(null, application);
+    keyPairService.exportCertificate(getSettings(), getApplication());
   }
 
-  @Test(expected = KeyPairException.class)
-  public void testFailGenerateCSR() throws IOException, InterruptedException {
-    Application application = getApplication(false);
-
-    IntegrationSettings settings = new IntegrationSettings();
-    settings.setUsername(MOCK_APP_TYPE);
+  @Test
+  public void testSuccess() throws Exception {
+    keyPairService.exportCertificate(getSettings(), getApplication());
 
-    doReturn(0).when(process).exitValue();
-    doReturn(0).doThrow(IOException.class).when(process).waitFor();
+    assertTrue(new File(folder.getRoot(), MOCK_APP_ID + ".pem").exists());
 
-    keyPairService.exportCertificate(settings, application);
-  }
+    KeyStore keyStore = loadKeyStore(MOCK_APP_ID + ".p12");
+    X509Certificate certificate = (X509Certificate) keyStore.getCertificate(MOCK_APP_ID);
 
-  @Test(expected = KeyPairException.class)
-  public void testFailGenerateCertificate() throws IOException, InterruptedException {
-    Application application = getApplication(true);
+    PrivateKey privateKey =
+        (PrivateKey) keyStore.getKey(MOCK_APP_ID, MOCK_KEY_PASSWORD.toCharArray());
 
-    IntegrationSettings settings = new IntegrationSettings();
-    settings.setUsername(MOCK_APP_TYPE);
+    assertEquals("RSA", privateKey.getAlgorithm());
+    assertTrue(certificate.getSubjectX500Principal().getName().startsWith("CN=" + MOCK_APP_TYPE));
+    assertEquals(certificateAuthority.getCertificate().getSubjectX500Principal(),
+        certificate.getIssuerX500Principal());
 
-    doReturn(0).when(process).exitValue();
-    doReturn(0).doReturn(0).doThrow(IOException.class).when(process).waitFor();
+    certificate.verify(certificateAuthority.getCertificate().getPublicKey());
 
-    keyPairService.exportCertificate(settings, application);
+    assertEquals(1, keyStore.getCertificateChain(MOCK_APP_ID).length);
   }
 
-  @Test(expected = KeyPairException.class)
-  public void testFailGeneratePKCS12() throws IOException, InterruptedException {
-    Application application = getApplication(true);
+  @Test
+  public void testSuccessWithCAChain() throws Exception {
+    certificateInfo.setCaCertChainFile(certificateInfo.getCaCertFile());
 
-    IntegrationSettings settings = new IntegrationSettings();
-    settings.setUsername(MOCK_APP_TYPE);
+    keyPairService.exportCertificate(getSettings(), getApplication());
 
-    doReturn(0).doReturn(0).doReturn(0).doReturn(-1).when(process).exitValue();
+    KeyStore keyStore = loadKeyStore(MOCK_APP_ID + ".p12");
 
-    keyPairService.exportCertificate(settings, application);
+    assertEquals(2, keyStore.getCertificateChain(MOCK_APP_ID).length);
   }
 
-  @Test
-  public void testSuccess() throws IOException {
-    Application application = getApplication(true);
+  private KeyStore loadKeyStore(String fileName) throws Exception {
+    KeyStore keyStore = KeyStore.getInstance("PKCS12");
 
-    IntegrationSettings settings = new IntegrationSettings();
-    settings.setUsername(MOCK_APP_TYPE);
-
-    doReturn(0).when(process).exitValue();
+    try (FileInputStream input = new FileInputStream(new File(folder.getRoot(), fileName))) {
+      keyStore.load(input, MOCK_KEY_PASSWORD.toCharArray());
+    }
 
-    keyPairService.exportCertificate(settings, application);
+    return keyStore;
+  }
 
+  private IntegrationSettings getSettings() {
+    IntegrationSettings settings = new IntegrationSettings();
+    settings.setUsername(MOCK_APP_TYPE);
+    return settings;
   }
 
-  private Application getApplication(boolean addKeystore) {
+  private Application getApplication() {
     Application application = new Application();
     application.setId(MOCK_APP_ID);
     application.setComponent(MOCK_APP_TYPE);
 
-    if (addKeystore) {
-      Keystore keystore = new Keystore();
-      keystore.setPassword(MOCK_KEY_PASSWORD);
-      application.setKeystore(keystore);
-    }
+    Keystore keystore = new Keystore();
+    keystore.setPassword(MOCK_KEY_PASSWORD);
+    application.setKeystore(keystore);
 
     return application;
   }
@@ -0,0 +1,150 @@
+/**
+ * Copyright 2016-2017 Symphony Integrations - Symphony LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.symphonyoss.integration.web.async;
+
+import static org.symphonyoss.integration.web.properties.AsyncRequestProperties
+    .ASYNC_REQUEST_TIMEOUT;
+import static org.symphonyoss.integration.web.properties.AsyncRequestProperties
+    .ASYNC_REQUEST_TIMEOUT_SOLUTION;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.env.Environment;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.async.WebAsyncTask;
+import org.symphonyoss.integration.logging.LogMessageSource;
+import org.symphonyoss.integration.web.exception.RequestTimeoutException;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+
+/**
+ * Runs the web resources asynchronously, releasing the servlet container threads while the
+ * downstream calls (POD, Agent, Key Manager) are in progress.
+ *
+ * The requests that take longer than the configured timeout are completed with HTTP 503 (Service
+ * Unavailable). The worker isn't interrupted, so the resources must check the timeout flag before
+ * performing side effects the client would duplicate when retrying.
+ *
+ * <pre>
+ * async_requests:
+ *   pool_size: 100
+ *   queue_capacity: 200
+ *   timeout_ms: 30000
+ * </pre>
+ */
+@Component
+public class AsyncRequestExecutor {
+
+  public static final String POOL_SIZE_KEY = "async_requests.pool_size";
+
+  public static final String QUEUE_CAPACITY_KEY = "async_requests.queue_capacity";
+
+  public static final String TIMEOUT_KEY = "async_requests.timeout_ms";
+
+  public static final int DEFAULT_POOL_SIZE = 100;
+
+  public static final int DEFAULT_QUEUE_CAPACITY = 200;
+
+  public static final long DEFAULT_TIMEOUT = 30000L;
+
+  private static final String THREAD_NAME_PREFIX = "async-request-";
+
+  @Autowired
+  private Environment environment;
+
+  @Autowired
+  private LogMessageSource logMessage;
+
+  private ThreadPoolTaskExecutor executor;
+
+  private long timeout;
+
+  @PostConstruct
+  public void init() {
+    int poolSize = environment.getProperty(POOL_SIZE_KEY, Integer.class, DEFAULT_POOL_SIZE);
+    int queueCapacity = environment.getProperty(QUEUE_CAPACITY_KEY, Integer.class,
+        DEFAULT_QUEUE_CAPACITY);
+
+    this.timeout = environment.getProperty(TIMEOUT_KEY, Long.class, DEFAULT_TIMEOUT);
+
+    this.executor = new ThreadPoolTaskExecutor();
+    this.executor.setCorePoolSize(poolSize);
+    this.executor.setMaxPoolSize(poolSize);
+    this.executor.setQueueCapacity(queueCapacity);
+    this.executor.setThreadNamePrefix(THREAD_NAME_PREFIX);
+    this.executor.initialize();
+  }
+
+  @PreDestroy
+  public void destroy() {
+    this.executor.shutdown();
+  }
+
+  /**
+   * Creates an asynchronous task to be returned by the web resources.
+   * @param callable Request handling
+   * @return Asynchronous task bound to the request executor and timeout
+   */
+  public <T> WebAsyncTask<T> submit(Callable<T> callable) {
+    return submit(callable, new AtomicBoolean());
+  }
+
+  /**
+   * Creates an asynchronous task to be returned by the web resources.
+   * @param callable Request handling
+   * @param timedOut Flag set when the request times out
+   * @return Asynchronous task bound to the request executor and timeout
+   */
+  public <T> WebAsyncTask<T> submit(Callable<T> callable, final AtomicBoolean timedOut) {
+    WebAsyncTask<T> task = new WebAsyncTask<>(timeout, executor, callable);
+
+    task.onTimeout(new Callable<T>() {
+      @Override
+      public T call() throws Exception {
+        timedOut.set(true);
+
+        String message = logMessage.getMessage(ASYNC_REQUEST_TIMEOUT, String.valueOf(timeout));
+        String solution = logMessage.getMessage(ASYNC_REQUEST_TIMEOUT_SOLUTION);
+        throw new RequestTimeoutException(message, solution);
+      }
+    });
+
+    return task;
+  }
+
+  /**
+   * Retrieves the executor used to handle the asynchronous requests.
+   * @return Request executor
+   */
+  public AsyncTaskExecutor getExecutor() {
+    return executor;
+  }
+
+  /**
+   * Retrieves the asynchronous request timeout.
+   * @return Timeout in milliseconds
+   */
+  public long getTimeout() {
+    return timeout;
+  }
+
+}
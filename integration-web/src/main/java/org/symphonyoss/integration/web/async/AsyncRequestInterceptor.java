@@ -0,0 +1,93 @@
+/**
+ * Copyright 2016-2017 Symphony Integrations - Symphony LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.symphonyoss.integration.web.async;
+
+import static org.symphonyoss.integration.logging.DistributedTracingUtils.TRACE_ID;
+
+import org.slf4j.MDC;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.async.CallableProcessingInterceptorAdapter;
+import org.symphonyoss.integration.core.trace.RequestSpan;
+import org.symphonyoss.integration.core.trace.StageTracingUtils;
+import org.symphonyoss.integration.logging.DistributedTracingUtils;
+
+import java.util.concurrent.Callable;
+
+/**
+ * Carries the request context to the thread that handles an asynchronous request.
+ *
+ * The trace id set by the WebHookTracingFilter on the container thread is continued on the worker
+ * thread, the same way the filter continues the trace id received from other services. The
+ * request span is also exposed to the worker. The servlet request isn't, since the container may
+ * recycle it once the asynchronous request times out.
+ */
+public class AsyncRequestInterceptor extends CallableProcessingInterceptorAdapter {
+
+  private static final String TRACE_ID_ATTRIBUTE = AsyncRequestInterceptor.class.getName()
+      + ".TRACE_ID";
+
+  private static final String SPAN_ATTRIBUTE = AsyncRequestInterceptor.class.getName() + ".SPAN";
+
+  /**
+   * Captures the trace id and the request span on the container thread.
+   */
+  @Override
+  public <T> void beforeConcurrentHandling(NativeWebRequest request, Callable<T> task)
+      throws Exception {
+    String traceId = MDC.get(TRACE_ID);
+
+    if (traceId != null) {
+      request.setAttribute(TRACE_ID_ATTRIBUTE, traceId, RequestAttributes.SCOPE_REQUEST);
+    }
+
+    RequestSpan span = StageTracingUtils.currentSpan();
+
+    if (span != null) {
+      request.setAttribute(SPAN_ATTRIBUTE, span, RequestAttributes.SCOPE_REQUEST);
+    }
+  }
+
+  /**
+   * Sets the trace id and the request span on the worker thread.
+   */
+  @Override
+  public <T> void preProcess(NativeWebRequest request, Callable<T> task) throws Exception {
+    String traceId =
+        (String) request.getAttribute(TRACE_ID_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+
+    if (traceId == null) {
+      DistributedTracingUtils.setMDC();
+    } else {
+      DistributedTracingUtils.setMDC(traceId);
+    }
+
+    StageTracingUtils.attach(
+        (RequestSpan) request.getAttribute(SPAN_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST));
+  }
+
+  /**
+   * Clears the worker thread.
+   */
+  @Override
+  public <T> void postProcess(NativeWebRequest request, Callable<T> task, Object concurrentResult)
+      throws Exception {
+    StageTracingUtils.detach();
+    DistributedTracingUtils.clearMDC();
+  }
+
+}
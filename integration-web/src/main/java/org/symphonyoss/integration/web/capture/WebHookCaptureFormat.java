@@ -0,0 +1,167 @@
+/**
+ * Copyright 2016-2017 Symphony Integrations - Symphony LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.symphonyoss.integration.web.capture;
+
+import org.symphonyoss.integration.webhook.WebHookPayload;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Binary format of the webhook capture log.
+ *
+ * Each segment starts with a magic number and the format version followed by the records. A
+ * record is prefixed by its length, and a zero length marks the end of the segment since the
+ * unused part of a segment is zero-filled.
+ *
+ * <pre>
+ * record = arrivalTime:long configurationType:string configurationId:string hash:string
+ *          headers:map parameters:map body:string
+ * map    = count:int (name:string value:string)*
+ * string = length:int (-1 when null) UTF-8 bytes
+ * </pre>
+ */
+public final class WebHookCaptureFormat {
+
+  /**
+   * "WHC1"
+   */
+  public static final int MAGIC = 0x57484331;
+
+  public static final int VERSION = 1;
+
+  public static final int SEGMENT_HEADER_SIZE = 8;
+
+  public static final int LENGTH_SIZE = 4;
+
+  public static final String SEGMENT_PREFIX = "webhook-capture-";
+
+  public static final String SEGMENT_SUFFIX = ".log";
+
+  private static final int NULL_LENGTH = -1;
+
+  private WebHookCaptureFormat() {}
+
+  /**
+   * Writes the segment header.
+   * @param segment Segment buffer
+   */
+  public static void writeSegmentHeader(ByteBuffer segment) {
+    segment.putInt(MAGIC);
+    segment.putInt(VERSION);
+  }
+
+  /**
+   * Reads and validates the segment header.
+   * @param segment Segment buffer
+   * @return true if the segment has a valid header or false otherwise
+   */
+  public static boolean readSegmentHeader(ByteBuffer segment) {
+    return segment.remaining() >= SEGMENT_HEADER_SIZE && segment.getInt() == MAGIC
+        && segment.getInt() == VERSION;
+  }
+
+  /**
+   * Encodes a webhook request.
+   * @throws java.nio.BufferOverflowException Buffer is too small for the record
+   */
+  public static void encode(ByteBuffer buffer, long arrivalTime, String configurationType,
+      String configurationId, String hash, WebHookPayload payload) {
+    buffer.putLong(arrivalTime);
+    putString(buffer, configurationType);
+    putString(buffer, configurationId);
+    putString(buffer, hash);
+    putMap(buffer, payload.getHeaders());
+    putMap(buffer, payload.getParameters());
+    putString(buffer, payload.getBody());
+  }
+
+  /**
+   * Decodes a webhook request.
+   * @param buffer Record buffer
+   * @return Webhook request
+   */
+  public static WebHookCaptureRecord decode(ByteBuffer buffer) {
+    long arrivalTime = buffer.getLong();
+    String configurationType = getString(buffer);
+    String configurationId = getString(buffer);
+    String hash = getString(buffer);
+    Map<String, String> headers = getMap(buffer);
+    Map<String, String> parameters = getMap(buffer);
+    String body = getString(buffer);
+
+    return new WebHookCaptureRecord(arrivalTime, configurationType, configurationId, hash, headers,
+        parameters, body);
+  }
+
+  private static void putMap(ByteBuffer buffer, Map<String, String> map) {
+    int countPosition = buffer.position();
+    int count = 0;
+
+    // Header maps are lazy views, so the entries are counted while they're written
+    buffer.putInt(0);
+
+    if (map != null) {
+      for (Map.Entry<String, String> entry : map.entrySet()) {
+        putString(buffer, entry.getKey());
+        putString(buffer, entry.getValue());
+        count++;
+      }
+    }
+
+    buffer.putInt(countPosition, count);
+  }
+
+  private static Map<String, String> getMap(ByteBuffer buffer) {
+    int count = buffer.getInt();
+    Map<String, String> map = new LinkedHashMap<>();
+
+    for (int i = 0; i < count; i++) {
+      String key = getString(buffer);
+      map.put(key, getString(buffer));
+    }
+
+    return map;
+  }
+
+  private static void putString(ByteBuffer buffer, String value) {
+    if (value == null) {
+      buffer.putInt(NULL_LENGTH);
+      return;
+    }
+
+    byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+    buffer.putInt(bytes.length);
+    buffer.put(bytes);
+  }
+
+  private static String getString(ByteBuffer buffer) {
+    int length = buffer.getInt();
+
+    if (length == NULL_LENGTH) {
+      return null;
+    }
+
+    byte[] bytes = new byte[length];
+    buffer.get(bytes);
+
+    return new String(bytes, StandardCharsets.UTF_8);
+  }
+
+}
@@ -0,0 +1,98 @@
+/**
+ * Copyright 2016-2017 Symphony Integrations - Symphony LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.symphonyoss.integration.web.capture;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+
+/**
+ * Streams the records of a webhook capture log. The segments are read in order, one at a time,
+ * so the log doesn't need to fit in memory.
+ */
+public class WebHookCaptureReader {
+
+  private final File[] segments;
+
+  private int nextSegment;
+
+  private MappedByteBuffer current;
+
+  /**
+   * Creates a reader for a single segment or for all the segments of a capture directory.
+   * @param path Segment file or capture directory
+   * @throws IOException The path doesn't exist
+   */
+  public WebHookCaptureReader(File path) throws IOException {
+    if (path.isDirectory()) {
+      this.segments = WebHookTrafficCapture.listSegments(path);
+    } else if (path.isFile()) {
+      this.segments = new File[] { path };
+    } else {
+      throw new IOException("Webhook capture not found: " + path);
+    }
+  }
+
+  /**
+   * Reads the next record.
+   * @return Next record or null if there are no more records
+   * @throws IOException Report failure to read the segments or invalid segment format
+   */
+  public WebHookCaptureRecord next() throws IOException {
+    while (true) {
+      // A zero length marks the unused part of the segment
+      if (current != null && current.remaining() >= WebHookCaptureFormat.LENGTH_SIZE) {
+        int length = current.getInt();
+
+        if (length > 0 && length <= current.remaining()) {
+          int limit = current.limit();
+          int end = current.position() + length;
+          current.limit(end);
+
+          WebHookCaptureRecord record = WebHookCaptureFormat.decode(current);
+
+          current.limit(limit);
+          current.position(end);
+          return record;
+        }
+      }
+
+      if (nextSegment == segments.length) {
+        this.current = null;
+        return null;
+      }
+
+      this.current = map(segments[nextSegment++]);
+    }
+  }
+
+  private MappedByteBuffer map(File file) throws IOException {
+    try (RandomAccessFile randomAccessFile = new RandomAccessFile(file, "r");
+        FileChannel channel = randomAccessFile.getChannel()) {
+      MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+
+      if (!WebHookCaptureFormat.readSegmentHeader(buffer)) {
+        throw new IOException("Invalid webhook capture segment: " + file);
+      }
+
+      return buffer;
+    }
+  }
+
+}
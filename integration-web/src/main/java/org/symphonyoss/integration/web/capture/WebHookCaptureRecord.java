@@ -0,0 +1,97 @@
+/**
+ * Copyright 2016-2017 Symphony Integrations - Symphony LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.symphonyoss.integration.web.capture;
+
+import java.util.Map;
+
+/**
+ * Webhook request read from the capture log.
+ */
+public class WebHookCaptureRecord {
+
+  private final long arrivalTime;
+
+  private final String configurationType;
+
+  private final String configurationId;
+
+  private final String hash;
+
+  private final Map<String, String> headers;
+
+  private final Map<String, String> parameters;
+
+  private final String body;
+
+  public WebHookCaptureRecord(long arrivalTime, String configurationType, String configurationId,
+      String hash, Map<String, String> headers, Map<String, String> parameters, String body) {
+    this.arrivalTime = arrivalTime;
+    this.configurationType = configurationType;
+    this.configurationId = configurationId;
+    this.hash = hash;
+    this.headers = headers;
+    this.parameters = parameters;
+    this.body = body;
+  }
+
+  /**
+   * Arrival time of the request (epoch milliseconds).
+   */
+  public long getArrivalTime() {
+    return arrivalTime;
+  }
+
+  public String getConfigurationType() {
+    return configurationType;
+  }
+
+  public String getConfigurationId() {
+    return configurationId;
+  }
+
+  public String getHash() {
+    return hash;
+  }
+
+  public Map<String, String> getHeaders() {
+    return headers;
+  }
+
+  /**
+   * Retrieves a header ignoring the case of its name.
+   * @param name Header name
+   * @return Header value or null if the request doesn't have it
+   */
+  public String getHeader(String name) {
+    for (Map.Entry<String, String> header : headers.entrySet()) {
+      if (header.getKey().equalsIgnoreCase(name)) {
+        return header.getValue();
+      }
+    }
+
+    return null;
+  }
+
+  public Map<String, String> getParameters() {
+    return parameters;
+  }
+
+  public String getBody() {
+    return body;
+  }
+
+}
@@ -0,0 +1,400 @@
+/**
+ * Copyright 2016-2017 Symphony Integrations - Symphony LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.symphonyoss.integration.web.capture;
+
+import static org.symphonyoss.integration.metrics.IntegrationMetricsConstants.BASE_METRIC_NAME;
+
+import com.codahale.metrics.Meter;
+import com.codahale.metrics.MetricRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+import org.symphonyoss.integration.webhook.WebHookPayload;
+
+import java.io.File;
+import java.io.FileFilter;
+import java.io.IOException;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+
+/**
+ * Opt-in capture of the inbound webhook requests. Every request is appended to a rotating binary
+ * log (see {@link WebHookCaptureFormat}) that can be replayed later against another Integration
+ * Bridge.
+ *
+ * The records are encoded into a buffer reused by the servlet threads and appended to the current
+ * segment under a short lock. The write only copies the record to the page cache. When the current
+ * segment is full a new one is created, and a background thread flushes and closes the previous
+ * segment and deletes the oldest segments beyond the configured limit.
+ *
+ * <pre>
+ * webhook_capture:
+ *   enabled: true
+ *   directory: /data/capture
+ *   segment_size: 67108864
+ *   max_segments: 8
+ * </pre>
+ *
+ * The captured requests include the headers and the body as received, so the log must be handled
+ * as sensitive data.
+ */
+@Component
+public class WebHookTrafficCapture {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(WebHookTrafficCapture.class);
+
+  public static final String ENABLED_KEY = "webhook_capture.enabled";
+
+  public static final String DIRECTORY_KEY = "webhook_capture.directory";
+
+  public static final String SEGMENT_SIZE_KEY = "webhook_capture.segment_size";
+
+  public static final String MAX_SEGMENTS_KEY = "webhook_capture.max_segments";
+
+  public static final int DEFAULT_SEGMENT_SIZE = 64 * 1024 * 1024;
+
+  public static final int DEFAULT_MAX_SEGMENTS = 8;
+
+  private static final String LOGS_BASEDIR_KEY = "logs.basedir";
+
+  private static final String DEFAULT_DIRECTORY = "capture";
+
+  private static final String CAPTURE = "capture";
+
+  private static final String RECORDS = "records";
+
+  private static final String DROPPED = "dropped";
+
+  private static final int INITIAL_BUFFER_SIZE = 16 * 1024;
+
+  private static final String CLOSER_THREAD_NAME = "webhook-capture-closer";
+
+  /**
+   * Time to wait for the pending segments to be flushed on shutdown.
+   */
+  private static final long CLOSE_TIMEOUT_SECONDS = 10;
+
+  /**
+   * Buffers bigger than this aren't kept by the servlet threads to avoid pinning memory after a
+   * large payload.
+   */
+  private static final int RETAINED_BUFFER_SIZE = 256 * 1024;
+
+  private static final ThreadLocal<ByteBuffer> BUFFERS = new ThreadLocal<>();
+
+  @Autowired
+  private Environment environment;
+
+  @Autowired
+  private MetricRegistry metricRegistry;
+
+  private volatile boolean enabled;
+
+  private File directory;
+
+  private int segmentSize;
+
+  private int maxSegments;
+
+  private Meter records;
+
+  private Meter dropped;
+
+  /**
+   * Current segment and its size. Guarded by the capture instance.
+   */
+  private FileChannel segment;
+
+  private long segmentPosition;
+
+  private long sequence;
+
+  /**
+   * Flushes and closes the full segments, so the servlet threads never wait for the disk.
+   */
+  private ExecutorService closer;
+
+  @PostConstruct
+  public void init() {
+    this.enabled = environment.getProperty(ENABLED_KEY, Boolean.class, Boolean.FALSE);
+
+    if (!enabled) {
+      return;
+    }
+
+    this.directory = new File(environment.getProperty(DIRECTORY_KEY, getDefaultDirectory()));
+    this.segmentSize = environment.getProperty(SEGMENT_SIZE_KEY, Integer.class,
+        DEFAULT_SEGMENT_SIZE);
+    this.maxSegments = Math.max(1, environment.getProperty(MAX_SEGMENTS_KEY, Integer.class,
+        DEFAULT_MAX_SEGMENTS));
+
+    this.records = metricRegistry.meter(MetricRegistry.name(BASE_METRIC_NAME, CAPTURE, RECORDS));
+    this.dropped = metricRegistry.meter(MetricRegistry.name(BASE_METRIC_NAME, CAPTURE, DROPPED));
+
+    if (!directory.isDirectory() && !directory.mkdirs()) {
+      LOGGER.error("Webhook capture disabled, cannot create the directory {}", directory);
+      this.enabled = false;
+      return;
+    }
+
+    this.closer = Executors.newSingleThreadExecutor(new CloserThreadFactory());
+
+    LOGGER.info("Capturing the webhook requests to {}", directory.getAbsolutePath());
+  }
+
+  @PreDestroy
+  public void destroy() {
+    synchronized (this) {
+      this.enabled = false;
+      closeSegment();
+    }
+
+    if (closer == null) {
+      return;
+    }
+
+    closer.shutdown();
+
+    try {
+      if (!closer.awaitTermination(CLOSE_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+        LOGGER.warn("Timed out flushing the webhook capture segments");
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  public boolean isEnabled() {
+    return enabled;
+  }
+
+  /**
+   * Appends the webhook request to the capture log. Failures are logged and the request is
+   * dropped from the log, they never affect the request processing.
+   * @param configurationType Configuration type
+   * @param configurationId Configuration identifier
+   * @param hash Configuration instance identifier
+   * @param payload Webhook payload
+   */
+  public void record(String configurationType, String configurationId, String hash,
+      WebHookPayload payload) {
+    if (!enabled) {
+      return;
+    }
+
+    long arrivalTime = System.currentTimeMillis();
+    ByteBuffer buffer = BUFFERS.get();
+
+    if (buffer == null) {
+      buffer = ByteBuffer.allocate(INITIAL_BUFFER_SIZE);
+    }
+
+    BUFFERS.remove();
+
+    try {
+      while (true) {
+        try {
+          // The record is prefixed by its length, filled in after the encoding
+          buffer.clear();
+          buffer.position(WebHookCaptureFormat.LENGTH_SIZE);
+          WebHookCaptureFormat.encode(buffer, arrivalTime, configurationType, configurationId,
+              hash, payload);
+          buffer.putInt(0, buffer.position() - WebHookCaptureFormat.LENGTH_SIZE);
+          buffer.flip();
+          break;
+        } catch (BufferOverflowException e) {
+          if (buffer.capacity() >= getMaxBufferSize()) {
+            dropped.mark();
+            LOGGER.warn("Webhook request for configuration {} is too large to be captured",
+                configurationId);
+            return;
+          }
+
+          buffer = ByteBuffer.allocate((int) Math.min(buffer.capacity() * 2L, getMaxBufferSize()));
+        }
+      }
+
+      append(buffer);
+      records.mark();
+    } catch (IOException e) {
+      dropped.mark();
+      LOGGER.warn("Fail to capture the webhook request for configuration " + configurationId, e);
+    } finally {
+      if (buffer.capacity() <= RETAINED_BUFFER_SIZE) {
+        BUFFERS.set(buffer);
+      }
+    }
+  }
+
+  /**
+   * Maximum size of a length-prefixed record that fits in an empty segment.
+   */
+  private int getMaxBufferSize() {
+    return segmentSize - WebHookCaptureFormat.SEGMENT_HEADER_SIZE;
+  }
+
+  private synchronized void append(ByteBuffer record) throws IOException {
+    if (segment == null || segmentPosition + record.remaining() > segmentSize) {
+      rotate();
+    }
+
+    try {
+      segmentPosition += write(segment, record);
+    } catch (IOException e) {
+      // The segment may hold a partial record, the next record starts a new one
+      closeSegment();
+      throw e;
+    }
+  }
+
+  /**
+   * Creates a new segment. The previous segment is closed in background.
+   */
+  private void rotate() throws IOException {
+    closeSegment();
+
+    String name = String.format("%s%d-%06d%s", WebHookCaptureFormat.SEGMENT_PREFIX,
+        System.currentTimeMillis(), sequence++, WebHookCaptureFormat.SEGMENT_SUFFIX);
+    File file = new File(directory, name);
+
+    FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.CREATE_NEW,
+        StandardOpenOption.WRITE);
+
+    try {
+      ByteBuffer header = ByteBuffer.allocate(WebHookCaptureFormat.SEGMENT_HEADER_SIZE);
+      WebHookCaptureFormat.writeSegmentHeader(header);
+      header.flip();
+
+      this.segmentPosition = write(channel, header);
+      this.segment = channel;
+    } catch (IOException e) {
+      channel.close();
+      throw e;
+    }
+  }
+
+  private int write(FileChannel channel, ByteBuffer buffer) throws IOException {
+    int written = 0;
+
+    while (buffer.hasRemaining()) {
+      written += channel.write(buffer);
+    }
+
+    return written;
+  }
+
+  /**
+   * Hands the current segment over to the closer thread, which flushes and closes it and then
+   * deletes the oldest segments beyond the limit.
+   */
+  private void closeSegment() {
+    if (segment == null) {
+      return;
+    }
+
+    final FileChannel channel = segment;
+    this.segment = null;
+
+    closer.execute(new Runnable() {
+      @Override
+      public void run() {
+        try {
+          channel.force(false);
+        } catch (IOException e) {
+          LOGGER.warn("Fail to flush the webhook capture segment", e);
+        } finally {
+          close(channel);
+        }
+
+        deleteOldSegments();
+      }
+    });
+  }
+
+  private void close(FileChannel channel) {
+    try {
+      channel.close();
+    } catch (IOException e) {
+      LOGGER.warn("Fail to close the webhook capture segment", e);
+    }
+  }
+
+  private void deleteOldSegments() {
+    File[] segments = listSegments(directory);
+
+    for (int i = 0; i < segments.length - maxSegments; i++) {
+      if (!segments[i].delete()) {
+        LOGGER.warn("Cannot delete the webhook capture segment {}", segments[i]);
+      }
+    }
+  }
+
+  private String getDefaultDirectory() {
+    String logsDir = environment.getProperty(LOGS_BASEDIR_KEY);
+    return logsDir == null ? DEFAULT_DIRECTORY : new File(logsDir, DEFAULT_DIRECTORY).getPath();
+  }
+
+  /**
+   * Lists the capture segments of the directory, oldest first.
+   * @param directory Capture directory
+   * @return Capture segments
+   */
+  public static File[] listSegments(File directory) {
+    File[] segments = directory.listFiles(new FileFilter() {
+      @Override
+      public boolean accept(File file) {
+        String name = file.getName();
+        return file.isFile() && name.startsWith(WebHookCaptureFormat.SEGMENT_PREFIX)
+            && name.endsWith(WebHookCaptureFormat.SEGMENT_SUFFIX);
+      }
+    });
+
+    if (segments == null) {
+      return new File[0];
+    }
+
+    Arrays.sort(segments);
+    return segments;
+  }
+
+  /**
+   * Creates the daemon thread that closes the capture segments.
+   */
+  private static final class CloserThreadFactory implements ThreadFactory {
+
+    @Override
+    public Thread newThread(Runnable runnable) {
+      Thread thread = new Thread(runnable, CLOSER_THREAD_NAME);
+      thread.setDaemon(true);
+      return thread;
+    }
+
+  }
+
+}
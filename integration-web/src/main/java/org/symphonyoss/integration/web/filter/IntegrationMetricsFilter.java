@@ -27,6 +27,8 @@ import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 
+import javax.servlet.AsyncEvent;
+import javax.servlet.AsyncListener;
 import javax.servlet.Filter;
 import javax.servlet.FilterChain;
 import javax.servlet.FilterConfig;
@@ -101,14 +103,29 @@ public class IntegrationMetricsFilter implements Filter {
       filterChain.doFilter(servletRequest, servletResponse);
     } finally {
       if (logRequest) {
-        metricsController.finishIntegrationExecution(webhookContext);
-
-        HttpServletResponse response = (HttpServletResponse) servletResponse;
-        metricsController.finishRequest(requestContext, response.getStatus());
+        if (servletRequest.isAsyncStarted()) {
+          // Asynchronous requests are measured until the response is completed
+          servletRequest.getAsyncContext()
+              .addListener(new FinishRequestListener(requestContext, webhookContext));
+        } else {
+          finishRequest(requestContext, webhookContext, (HttpServletResponse) servletResponse);
+        }
       }
     }
   }
 
+  /**
+   * Stops the timer contexts and logs the response status.
+   * @param requestContext Request timer context
+   * @param webhookContext Integration timer context
+   * @param response HTTP response
+   */
+  private void finishRequest(Timer.Context requestContext, Timer.Context webhookContext,
+      HttpServletResponse response) {
+    metricsController.finishIntegrationExecution(webhookContext);
+    metricsController.finishRequest(requestContext, response.getStatus());
+  }
+
   /**
    * Validates if the filter should log the execution time of the request.
    * @param pathInfo Request path info
@@ -153,5 +170,36 @@ public class IntegrationMetricsFilter implements Filter {
 
   @Override
   public void destroy() {}
+
+  /**
+   * Finishes the timer contexts when the asynchronous request is completed.
+   */
+  private class FinishRequestListener implements AsyncListener {
+
+    private final Timer.Context requestContext;
+
+    private final Timer.Context webhookContext;
+
+    FinishRequestListener(Timer.Context requestContext, Timer.Context webhookContext) {
+      this.requestContext = requestContext;
+      this.webhookContext = webhookContext;
+    }
+
+    @Override
+    public void onComplete(AsyncEvent event) throws IOException {
+      finishRequest(requestContext, webhookContext,
+          (HttpServletResponse) event.getSuppliedResponse());
+    }
+
+    @Override
+    public void onTimeout(AsyncEvent event) throws IOException {}
+
+    @Override
+    public void onError(AsyncEvent event) throws IOException {}
+
+    @Override
+    public void onStartAsync(AsyncEvent event) throws IOException {}
+
+  }
 }
 
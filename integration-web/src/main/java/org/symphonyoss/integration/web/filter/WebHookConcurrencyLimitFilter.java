@@ -0,0 +1,177 @@
+/**
+ * Copyright 2016-2017 Symphony Integrations - Symphony LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.symphonyoss.integration.web.filter;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.context.support.WebApplicationContextUtils;
+import org.symphonyoss.integration.web.limiter.LocalRejection;
+import org.symphonyoss.integration.web.limiter.WebHookConcurrencyLimiter;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import javax.servlet.AsyncEvent;
+import javax.servlet.AsyncListener;
+import javax.servlet.Filter;
+import javax.servlet.FilterChain;
+import javax.servlet.FilterConfig;
+import javax.servlet.ServletException;
+import javax.servlet.ServletRequest;
+import javax.servlet.ServletResponse;
+import javax.servlet.http.HttpServletResponse;
+import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.Response;
+
+/**
+ * Sheds the webhook requests that exceed the adaptive concurrency limit, so a slow downstream
+ * doesn't exhaust the servlet container threads. The shed requests receive an HTTP 503 (Service
+ * Unavailable) with the Retry-After header.
+ *
+ * Only the admitted requests feed the limiter. The ones marked as {@link LocalRejection} were
+ * rejected before reaching the downstream services (integration bulkhead, delivery in progress),
+ * so they release the permit without adjusting the limit. Every other server error, including the
+ * HTTP 503 returned when the Agent or the delivery lanes are overloaded, is an overload sample.
+ * The drained requests are rejected by the {@link WebHookDrainFilter} before acquiring a permit.
+ */
+public class WebHookConcurrencyLimitFilter implements Filter {
+
+  private static final String SHED_MESSAGE = "Too many concurrent requests";
+
+  @Autowired
+  private WebHookConcurrencyLimiter limiter;
+
+  /**
+   * Inject spring components.
+   * @param config Filter config
+   */
+  @Override
+  public void init(FilterConfig config) throws ServletException {
+    WebApplicationContextUtils.getRequiredWebApplicationContext(config.getServletContext())
+        .getAutowireCapableBeanFactory()
+        .autowireBean(this);
+  }
+
+  /**
+   * Invokes the next entity in the chain if the limit allows it, feeding the limiter with the
+   * request latency and status. Otherwise, returns an HTTP 503 (Service Unavailable).
+   */
+  @Override
+  public void doFilter(ServletRequest servletRequest, ServletResponse servletResponse,
+      FilterChain filterChain) throws IOException, ServletException {
+    HttpServletResponse response = (HttpServletResponse) servletResponse;
+
+    if (!limiter.tryAcquire()) {
+      writeResponse(response);
+      return;
+    }
+
+    final long start = System.nanoTime();
+    final LocalRejection rejection = new LocalRejection();
+    servletRequest.setAttribute(LocalRejection.ATTRIBUTE, rejection);
+
+    boolean handled = false;
+
+    try {
+      filterChain.doFilter(servletRequest, servletResponse);
+      handled = true;
+    } finally {
+      if (handled && servletRequest.isAsyncStarted()) {
+        // Asynchronous requests hold the permit until the response is completed
+        servletRequest.getAsyncContext().addListener(new AsyncReleaseListener(start, rejection));
+      } else {
+        release(start, rejection, response, handled, false);
+      }
+    }
+  }
+
+  /**
+   * Releases the permit feeding the limiter with the request latency and status.
+   * @param start Request start time (in nanoseconds)
+   * @param rejection Local rejection mark of the request
+   * @param response HTTP response
+   * @param handled Whether the request was handled without exceptions
+   * @param timedOut Whether the asynchronous request timed out
+   */
+  private void release(long start, LocalRejection rejection, HttpServletResponse response,
+      boolean handled, boolean timedOut) {
+    if (handled && !timedOut && rejection.isRejected()) {
+      limiter.release();
+      return;
+    }
+
+    int status = response.getStatus();
+    boolean overloaded = !handled || timedOut
+        || status >= Response.Status.INTERNAL_SERVER_ERROR.getStatusCode();
+    limiter.release(System.nanoTime() - start, TimeUnit.NANOSECONDS, overloaded);
+  }
+
+  /**
+   * Releases the permit of an asynchronous request when its response is completed. The timeouts
+   * are reported as overload, even though the timeout response is an HTTP 503.
+   */
+  private class AsyncReleaseListener implements AsyncListener {
+
+    private final long start;
+
+    private final LocalRejection rejection;
+
+    private boolean timedOut;
+
+    private boolean failed;
+
+    AsyncReleaseListener(long start, LocalRejection rejection) {
+      this.start = start;
+      this.rejection = rejection;
+    }
+
+    @Override
+    public void onComplete(AsyncEvent event) throws IOException {
+      release(start, rejection, (HttpServletResponse) event.getSuppliedResponse(), !failed,
+          timedOut);
+    }
+
+    @Override
+    public void onTimeout(AsyncEvent event) throws IOException {
+      this.timedOut = true;
+    }
+
+    @Override
+    public void onError(AsyncEvent event) throws IOException {
+      this.failed = true;
+    }
+
+    @Override
+    public void onStartAsync(AsyncEvent event) throws IOException {}
+
+  }
+
+  /**
+   * Writes the HTTP 503 (Service Unavailable) response.
+   * @param response HTTP response
+   * @throws IOException Report failure to write the http error response.
+   */
+  private void writeResponse(HttpServletResponse response) throws IOException {
+    response.setStatus(Response.Status.SERVICE_UNAVAILABLE.getStatusCode());
+    response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(limiter.getRetryAfter()));
+    response.setContentType(MediaType.TEXT_PLAIN);
+    response.getWriter().write(SHED_MESSAGE);
+  }
+
+  @Override
+  public void destroy() {}
+}
@@ -0,0 +1,116 @@
+/**
+ * Copyright 2016-2017 Symphony Integrations - Symphony LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.symphonyoss.integration.web.filter;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.context.support.WebApplicationContextUtils;
+import org.symphonyoss.integration.core.bootstrap.IntegrationDrain;
+
+import java.io.IOException;
+
+import javax.servlet.AsyncEvent;
+import javax.servlet.AsyncListener;
+import javax.servlet.Filter;
+import javax.servlet.FilterChain;
+import javax.servlet.FilterConfig;
+import javax.servlet.ServletException;
+import javax.servlet.ServletRequest;
+import javax.servlet.ServletResponse;
+import javax.servlet.http.HttpServletResponse;
+import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.Response;
+
+/**
+ * Keeps track of the in-flight webhook requests, so the shutdown can wait for them to finish.
+ * Once the drain has started, the new webhook requests receive an HTTP 503 (Service Unavailable)
+ * with the Retry-After header, so the senders retry them against another instance.
+ */
+public class WebHookDrainFilter implements Filter {
+
+  private static final String DRAINING_MESSAGE = "Integration Bridge is shutting down";
+
+  @Autowired
+  private IntegrationDrain drain;
+
+  /**
+   * Inject spring components.
+   * @param config Filter config
+   */
+  @Override
+  public void init(FilterConfig config) throws ServletException {
+    WebApplicationContextUtils.getRequiredWebApplicationContext(config.getServletContext())
+        .getAutowireCapableBeanFactory()
+        .autowireBean(this);
+  }
+
+  /**
+   * Invokes the next entity in the chain while the Integration Bridge isn't draining. Otherwise,
+   * returns an HTTP 503 (Service Unavailable).
+   */
+  @Override
+  public void doFilter(ServletRequest servletRequest, ServletResponse servletResponse,
+      FilterChain filterChain) throws IOException, ServletException {
+    if (!drain.tryAcquire()) {
+      writeResponse((HttpServletResponse) servletResponse);
+      return;
+    }
+
+    boolean handled = false;
+
+    try {
+      filterChain.doFilter(servletRequest, servletResponse);
+      handled = true;
+    } finally {
+      if (handled && servletRequest.isAsyncStarted()) {
+        // Asynchronous requests are in-flight until the response is completed
+        servletRequest.getAsyncContext().addListener(new AsyncListener() {
+          @Override
+          public void onComplete(AsyncEvent event) throws IOException {
+            drain.release();
+          }
+
+          @Override
+          public void onTimeout(AsyncEvent event) throws IOException {}
+
+          @Override
+          public void onError(AsyncEvent event) throws IOException {}
+
+          @Override
+          public void onStartAsync(AsyncEvent event) throws IOException {}
+        });
+      } else {
+        drain.release();
+      }
+    }
+  }
+
+  /**
+   * Writes the HTTP 503 (Service Unavailable) response.
+   * @param response HTTP response
+   * @throws IOException Report failure to write the http error response.
+   */
+  private void writeResponse(HttpServletResponse response) throws IOException {
+    response.setStatus(Response.Status.SERVICE_UNAVAILABLE.getStatusCode());
+    response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(drain.getRetryAfter()));
+    response.setContentType(MediaType.TEXT_PLAIN);
+    response.getWriter().write(DRAINING_MESSAGE);
+  }
+
+  @Override
+  public void destroy() {}
+}
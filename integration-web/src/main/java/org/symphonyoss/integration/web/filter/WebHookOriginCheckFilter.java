@@ -39,6 +39,9 @@ import org.springframework.beans.BeansException;
 import org.springframework.web.context.WebApplicationContext;
 import org.springframework.web.context.support.WebApplicationContextUtils;
 import org.symphonyoss.integration.Integration;
+import org.symphonyoss.integration.core.trace.ProcessingStage;
+import org.symphonyoss.integration.core.trace.StageContext;
+import org.symphonyoss.integration.core.trace.StageTracingUtils;
 import org.symphonyoss.integration.exception.ExceptionMessageFormatter;
 import org.symphonyoss.integration.logging.LogMessageSource;
 import org.symphonyoss.integration.model.yaml.IntegrationProperties;
@@ -160,22 +163,29 @@ public class WebHookOriginCheckFilter implements Filter {
     }
 
     String integrationType = path.substring(0, path.indexOf("/"));
-    Set<String> whiteList = getWhiteListByApplication(integrationType);
 
-    if (whiteList.isEmpty()) {
-      filterChain.doFilter(servletRequest, servletResponse);
-    } else {
-      String remoteAddressInfo = getOriginatingAddressInfo(request);
-      boolean allowedOrigin = verifyOrigin(remoteAddressInfo, whiteList, integrationType);
+    StageContext stage = StageTracingUtils.startStage(ProcessingStage.ORIGIN_CHECK);
+    String remoteAddressInfo = null;
+    boolean allowedOrigin = true;
 
-      if (allowedOrigin) {
-        filterChain.doFilter(servletRequest, servletResponse);
-      } else {
-        LOGGER.warn(ExceptionMessageFormatter.format(WEBHOOK_FILTER,
-            logMessage.getMessage(WEBHOOK_REQUEST_BLOCKED, remoteAddressInfo),
-            logMessage.getMessage(WEBHOOK_REQUEST_BLOCKED_SOLUTION, integrationType)));
-        writeResponse(response, remoteAddressInfo);
+    try {
+      Set<String> whiteList = getWhiteListByApplication(integrationType);
+
+      if (!whiteList.isEmpty()) {
+        remoteAddressInfo = getOriginatingAddressInfo(request);
+        allowedOrigin = verifyOrigin(remoteAddressInfo, whiteList, integrationType);
       }
+    } finally {
+      StageTracingUtils.finishStage(stage);
+    }
+
+    if (allowedOrigin) {
+      filterChain.doFilter(servletRequest, servletResponse);
+    } else {
+      LOGGER.warn(ExceptionMessageFormatter.format(WEBHOOK_FILTER,
+          logMessage.getMessage(WEBHOOK_REQUEST_BLOCKED, remoteAddressInfo),
+          logMessage.getMessage(WEBHOOK_REQUEST_BLOCKED_SOLUTION, integrationType)));
+      writeResponse(response, remoteAddressInfo);
     }
   }
 
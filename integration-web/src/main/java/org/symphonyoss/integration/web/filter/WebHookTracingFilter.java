@@ -21,10 +21,15 @@ import static org.symphonyoss.integration.logging.DistributedTracingUtils.TRACE_
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.symphonyoss.integration.core.trace.RequestSpan;
+import org.symphonyoss.integration.core.trace.StageRecorder;
+import org.symphonyoss.integration.core.trace.StageTracingUtils;
 import org.symphonyoss.integration.logging.DistributedTracingUtils;
 
 import java.io.IOException;
 
+import javax.servlet.AsyncEvent;
+import javax.servlet.AsyncListener;
 import javax.servlet.Filter;
 import javax.servlet.FilterChain;
 import javax.servlet.FilterConfig;
@@ -32,16 +37,30 @@ import javax.servlet.ServletException;
 import javax.servlet.ServletRequest;
 import javax.servlet.ServletResponse;
 import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
 
 /**
  * Add trace id to every request received by the integration bridge.
  * If it already contains a trace id, it will not override it.
+ *
+ * When a {@link StageRecorder} is provided, the filter also starts the request span used to
+ * record the latency breakdown of the request stages and the request log record.
  * Created by Milton Quilzini on 25/11/16.
  */
 public class WebHookTracingFilter implements Filter {
 
   private static final Logger LOG = LoggerFactory.getLogger(WebHookTracingFilter.class);
 
+  private final StageRecorder stageRecorder;
+
+  public WebHookTracingFilter() {
+    this(null);
+  }
+
+  public WebHookTracingFilter(StageRecorder stageRecorder) {
+    this.stageRecorder = stageRecorder;
+  }
+
   @Override
   public void init(FilterConfig config) throws ServletException {
   }
@@ -54,15 +73,77 @@ public class WebHookTracingFilter implements Filter {
 
     if (isBlank(xTraceInHeader)) {
       DistributedTracingUtils.setMDC();
-      LOG.info("Starting trace for request {}", request.getRequestURL());
+
+      if (LOG.isDebugEnabled()) {
+        LOG.debug("Starting trace for request {}", request.getRequestURL());
+      }
     } else {
       DistributedTracingUtils.setMDC(xTraceInHeader);
-      LOG.info("Continuing trace for request {}", request.getRequestURL());
+
+      if (LOG.isDebugEnabled()) {
+        LOG.debug("Continuing trace for request {}", request.getRequestURL());
+      }
+    }
+
+    RequestSpan span = stageRecorder != null ? stageRecorder.startSpan() : null;
+
+    if (span != null) {
+      span.setRequest(request.getMethod(), request.getRequestURI());
     }
-    filterChain.doFilter(servletRequest, servletResponse);
+
+    try {
+      filterChain.doFilter(servletRequest, servletResponse);
+    } finally {
+      finishSpan(servletRequest, servletResponse, span);
+    }
+
     DistributedTracingUtils.clearMDC();
   }
 
+  /**
+   * Finishes the request span. Asynchronous requests are finished when the response is completed.
+   * @param request HTTP request
+   * @param response HTTP response
+   * @param span Request span
+   */
+  private void finishSpan(ServletRequest request, ServletResponse response,
+      final RequestSpan span) {
+    if (span == null) {
+      return;
+    }
+
+    if (!request.isAsyncStarted()) {
+      setStatus(span, response);
+      stageRecorder.finishSpan(span);
+      return;
+    }
+
+    StageTracingUtils.detach();
+
+    request.getAsyncContext().addListener(new AsyncListener() {
+      @Override
+      public void onComplete(AsyncEvent event) throws IOException {
+        setStatus(span, event.getSuppliedResponse());
+        stageRecorder.finishSpan(span);
+      }
+
+      @Override
+      public void onTimeout(AsyncEvent event) throws IOException {}
+
+      @Override
+      public void onError(AsyncEvent event) throws IOException {}
+
+      @Override
+      public void onStartAsync(AsyncEvent event) throws IOException {}
+    });
+  }
+
+  private void setStatus(RequestSpan span, ServletResponse response) {
+    if (response instanceof HttpServletResponse) {
+      span.setStatus(((HttpServletResponse) response).getStatus());
+    }
+  }
+
   @Override
   public void destroy() {
   }
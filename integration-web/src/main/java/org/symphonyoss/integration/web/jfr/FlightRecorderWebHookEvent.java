@@ -0,0 +1,69 @@
+/**
+ * Copyright 2016-2017 Symphony Integrations - Symphony LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.symphonyoss.integration.web.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+
+/**
+ * Flight Recorder event for the webhook requests handled by the integrations.
+ */
+@Name("org.symphonyoss.integration.WebHook")
+@Label("WebHook")
+@Category({ "Symphony Integration Bridge", "WebHook" })
+@Description("WebHook request handled by an integration")
+@StackTrace(false)
+@Threshold("10 ms")
+public class FlightRecorderWebHookEvent extends Event implements WebHookEvent {
+
+  @Label("Configuration Id")
+  private String configurationId;
+
+  @Label("Instance Hash")
+  private String hash;
+
+  @Label("Payload Size")
+  @DataAmount
+  private long payloadSize;
+
+  @Label("Outcome")
+  private String outcome;
+
+  /**
+   * Sets the event fields and commits it. Callers must end the event and check
+   * {@link #shouldCommit()} first, so the fields are only computed when the event is recorded.
+   * @param configurationId Configuration identifier
+   * @param hash Configuration instance identifier
+   * @param payloadSize Payload size (in bytes)
+   * @param outcome Request outcome
+   */
+  @Override
+  public void commit(String configurationId, String hash, long payloadSize, String outcome) {
+    this.configurationId = configurationId;
+    this.hash = hash;
+    this.payloadSize = payloadSize;
+    this.outcome = outcome;
+    commit();
+  }
+
+}
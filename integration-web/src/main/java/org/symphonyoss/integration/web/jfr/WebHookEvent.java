@@ -0,0 +1,64 @@
+/**
+ * Copyright 2016-2017 Symphony Integrations - Symphony LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.symphonyoss.integration.web.jfr;
+
+/**
+ * Event for the webhook requests handled by the integrations.
+ */
+public interface WebHookEvent {
+
+  String DELIVERED = "delivered";
+
+  String DUPLICATE = "duplicate";
+
+  String IN_PROGRESS = "inProgress";
+
+  String TIMED_OUT = "timedOut";
+
+  String UNSUPPORTED_CONTENT_TYPE = "unsupportedContentType";
+
+  String INVALID_PAYLOAD = "invalidPayload";
+
+  String FAILED = "failed";
+
+  /**
+   * Starts the timing of the event.
+   */
+  void begin();
+
+  /**
+   * Ends the timing of the event.
+   */
+  void end();
+
+  /**
+   * Checks if the event is enabled and exceeds the threshold.
+   * @return true if the event must be committed, false otherwise
+   */
+  boolean shouldCommit();
+
+  /**
+   * Sets the event fields and commits it. Callers must end the event and check
+   * {@link #shouldCommit()} first, so the fields are only computed when the event is recorded.
+   * @param configurationId Configuration identifier
+   * @param hash Configuration instance identifier
+   * @param payloadSize Payload size (in bytes)
+   * @param outcome Request outcome
+   */
+  void commit(String configurationId, String hash, long payloadSize, String outcome);
+
+}
@@ -0,0 +1,63 @@
+/**
+ * Copyright 2016-2017 Symphony Integrations - Symphony LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.symphonyoss.integration.web.jfr;
+
+import org.symphonyoss.integration.jfr.FlightRecorderUtils;
+
+/**
+ * Creates the webhook events, recorded by the Flight Recorder when the running JDK ships the event
+ * API.
+ */
+public class WebHookEvents {
+
+  private static final boolean RECORDED = FlightRecorderUtils.isAvailable();
+
+  private WebHookEvents() {}
+
+  /**
+   * Creates a new webhook event.
+   * @return Webhook event
+   */
+  public static WebHookEvent newWebHookEvent() {
+    if (RECORDED) {
+      return new FlightRecorderWebHookEvent();
+    }
+
+    return NoOpWebHookEvent.INSTANCE;
+  }
+
+  private static final class NoOpWebHookEvent implements WebHookEvent {
+
+    private static final NoOpWebHookEvent INSTANCE = new NoOpWebHookEvent();
+
+    @Override
+    public void begin() {}
+
+    @Override
+    public void end() {}
+
+    @Override
+    public boolean shouldCommit() {
+      return false;
+    }
+
+    @Override
+    public void commit(String configurationId, String hash, long payloadSize, String outcome) {}
+
+  }
+
+}
@@ -0,0 +1,63 @@
+/**
+ * Copyright 2016-2017 Symphony Integrations - Symphony LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.symphonyoss.integration.web.limiter;
+
+import javax.servlet.ServletRequest;
+
+/**
+ * Marks a webhook request rejected locally, before reaching the downstream services (integration
+ * bulkhead full, delivery already in progress). The {@link WebHookConcurrencyLimiter} must not
+ * take the latency of these requests as a sample, otherwise every local rejection would lower the
+ * limit and cause more rejections.
+ *
+ * The mark is stored as a request attribute on the container thread, so the asynchronous workers
+ * can set it without touching the servlet request.
+ */
+public class LocalRejection {
+
+  public static final String ATTRIBUTE = LocalRejection.class.getName();
+
+  private volatile boolean rejected;
+
+  /**
+   * Retrieves the mark of the request, or a detached one if the request isn't subject to the
+   * concurrency limit.
+   * @param request HTTP request
+   * @return Local rejection mark
+   */
+  public static LocalRejection of(ServletRequest request) {
+    Object attribute = request.getAttribute(ATTRIBUTE);
+
+    if (attribute instanceof LocalRejection) {
+      return (LocalRejection) attribute;
+    }
+
+    return new LocalRejection();
+  }
+
+  /**
+   * Marks the request as rejected locally.
+   */
+  public void mark() {
+    this.rejected = true;
+  }
+
+  public boolean isRejected() {
+    return rejected;
+  }
+
+}
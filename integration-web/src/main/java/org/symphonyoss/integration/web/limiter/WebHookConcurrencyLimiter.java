@@ -0,0 +1,257 @@
+/**
+ * Copyright 2016-2017 Symphony Integrations - Symphony LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.symphonyoss.integration.web.limiter;
+
+import static org.symphonyoss.integration.metrics.IntegrationMetricsConstants.BASE_METRIC_NAME;
+
+import com.codahale.metrics.Gauge;
+import com.codahale.metrics.Meter;
+import com.codahale.metrics.Metric;
+import com.codahale.metrics.MetricRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.annotation.PostConstruct;
+
+/**
+ * Adaptive concurrency limit for the webhook requests.
+ *
+ * The limit follows an AIMD (additive increase, multiplicative decrease) algorithm driven by the
+ * observed latency. Each finished request is compared with a slowly moving average of the previous
+ * ones: when it takes longer than the average times the configured tolerance, or fails with a
+ * server error, the limit is reduced by the backoff ratio. Otherwise the limit grows by one while
+ * the in-flight requests are using at least half of it.
+ *
+ * The limit is disabled by default. The initial limit is only a starting point, the limit moves
+ * towards the concurrency the downstream services sustain within the first few hundred requests.
+ *
+ * <pre>
+ * webhook_concurrency:
+ *   enabled: true
+ *   initial_limit: 20
+ *   min_limit: 5
+ *   max_limit: 150
+ *   backoff_ratio: 0.9
+ *   latency_tolerance: 2.0
+ *   retry_after_seconds: 1
+ * </pre>
+ */
+@Component
+public class WebHookConcurrencyLimiter {
+
+  public static final String ENABLED_KEY = "webhook_concurrency.enabled";
+
+  public static final String INITIAL_LIMIT_KEY = "webhook_concurrency.initial_limit";
+
+  public static final String MIN_LIMIT_KEY = "webhook_concurrency.min_limit";
+
+  public static final String MAX_LIMIT_KEY = "webhook_concurrency.max_limit";
+
+  public static final String BACKOFF_RATIO_KEY = "webhook_concurrency.backoff_ratio";
+
+  public static final String LATENCY_TOLERANCE_KEY = "webhook_concurrency.latency_tolerance";
+
+  public static final String RETRY_AFTER_KEY = "webhook_concurrency.retry_after_seconds";
+
+  public static final int DEFAULT_INITIAL_LIMIT = 20;
+
+  public static final int DEFAULT_MIN_LIMIT = 5;
+
+  public static final int DEFAULT_MAX_LIMIT = 150;
+
+  public static final double DEFAULT_BACKOFF_RATIO = 0.9;
+
+  public static final double DEFAULT_LATENCY_TOLERANCE = 2.0;
+
+  public static final long DEFAULT_RETRY_AFTER_SECONDS = 1;
+
+  public static final String LIMIT = BASE_METRIC_NAME + ".webhook.concurrency.limit";
+
+  public static final String IN_FLIGHT = BASE_METRIC_NAME + ".webhook.concurrency.inFlight";
+
+  public static final String SHED = BASE_METRIC_NAME + ".webhook.concurrency.shed";
+
+  /**
+   * Weight of each sample in the latency average. Small values make the average follow only
+   * sustained changes.
+   */
+  private static final double SMOOTHING = 0.05;
+
+  @Autowired
+  private Environment environment;
+
+  @Autowired
+  private MetricRegistry metricRegistry;
+
+  private final AtomicInteger inFlight = new AtomicInteger();
+
+  private boolean enabled;
+
+  private int minLimit;
+
+  private int maxLimit;
+
+  private double backoffRatio;
+
+  private double latencyTolerance;
+
+  private long retryAfter;
+
+  private Meter shed;
+
+  /**
+   * Current limit. Guarded by this.
+   */
+  private double limit;
+
+  /**
+   * Average latency in nanoseconds. Guarded by this.
+   */
+  private double averageLatency;
+
+  @PostConstruct
+  public void init() {
+    this.enabled = environment.getProperty(ENABLED_KEY, Boolean.class, Boolean.FALSE);
+    this.minLimit = Math.max(1, environment.getProperty(MIN_LIMIT_KEY, Integer.class,
+        DEFAULT_MIN_LIMIT));
+    this.maxLimit = Math.max(minLimit, environment.getProperty(MAX_LIMIT_KEY, Integer.class,
+        DEFAULT_MAX_LIMIT));
+    this.backoffRatio = environment.getProperty(BACKOFF_RATIO_KEY, Double.class,
+        DEFAULT_BACKOFF_RATIO);
+    this.latencyTolerance = environment.getProperty(LATENCY_TOLERANCE_KEY, Double.class,
+        DEFAULT_LATENCY_TOLERANCE);
+    this.retryAfter = environment.getProperty(RETRY_AFTER_KEY, Long.class,
+        DEFAULT_RETRY_AFTER_SECONDS);
+
+    int initialLimit = environment.getProperty(INITIAL_LIMIT_KEY, Integer.class,
+        DEFAULT_INITIAL_LIMIT);
+    this.limit = Math.min(maxLimit, Math.max(minLimit, initialLimit));
+
+    this.shed = metricRegistry.meter(SHED);
+
+    registerGauge(LIMIT, new Gauge<Integer>() {
+      @Override
+      public Integer getValue() {
+        return getLimit();
+      }
+    });
+
+    registerGauge(IN_FLIGHT, new Gauge<Integer>() {
+      @Override
+      public Integer getValue() {
+        return getInFlight();
+      }
+    });
+  }
+
+  /**
+   * Reserves a slot for a new request.
+   * @return true if the request can be processed or false if it must be shed
+   */
+  public boolean tryAcquire() {
+    if (!enabled) {
+      inFlight.incrementAndGet();
+      return true;
+    }
+
+    while (true) {
+      int current = inFlight.get();
+
+      if (current >= getLimit()) {
+        shed.mark();
+        return false;
+      }
+
+      if (inFlight.compareAndSet(current, current + 1)) {
+        return true;
+      }
+    }
+  }
+
+  /**
+   * Releases the slot reserved by {@link #tryAcquire()} and adjusts the limit based on the request
+   * outcome.
+   * @param latency Request latency
+   * @param unit Latency time unit
+   * @param overloaded Request failed due to the lack of resources (server error)
+   */
+  public void release(long latency, TimeUnit unit, boolean overloaded) {
+    int current = inFlight.getAndDecrement();
+
+    if (enabled) {
+      update(unit.toNanos(latency), current, overloaded);
+    }
+  }
+
+  /**
+   * Releases the slot reserved by {@link #tryAcquire()} without adjusting the limit. It must be
+   * used for the requests rejected before reaching the downstream services, since their latency
+   * doesn't reflect the downstream capacity.
+   */
+  public void release() {
+    inFlight.decrementAndGet();
+  }
+
+  private synchronized void update(long latency, int inFlight, boolean overloaded) {
+    if (averageLatency == 0) {
+      averageLatency = latency;
+    }
+
+    if (overloaded || latency > averageLatency * latencyTolerance) {
+      limit = Math.max(minLimit, limit * backoffRatio);
+    } else if (inFlight * 2 >= limit) {
+      limit = Math.min(maxLimit, limit + 1);
+    }
+
+    averageLatency += (latency - averageLatency) * SMOOTHING;
+  }
+
+  private void registerGauge(String name, Metric gauge) {
+    if (!metricRegistry.getGauges().containsKey(name)) {
+      metricRegistry.register(name, gauge);
+    }
+  }
+
+  /**
+   * Retrieves the current concurrency limit.
+   * @return Maximum number of concurrent requests
+   */
+  public synchronized int getLimit() {
+    return (int) limit;
+  }
+
+  /**
+   * Retrieves the number of requests being processed.
+   * @return Number of in-flight requests
+   */
+  public int getInFlight() {
+    return inFlight.get();
+  }
+
+  /**
+   * Retrieves the number of seconds the senders should wait before retrying a shed request.
+   * @return Retry-After value in seconds
+   */
+  public long getRetryAfter() {
+    return retryAfter;
+  }
+
+}
@@ -0,0 +1,110 @@
+/**
+ * Copyright 2016-2017 Symphony Integrations - Symphony LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.symphonyoss.integration.web.metrics;
+
+import com.codahale.metrics.Snapshot;
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.HistogramIterationValue;
+
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Snapshot of the values kept by the {@link SlidingWindowHdrReservoir}.
+ */
+public class HdrSnapshot extends Snapshot {
+
+  private static final double PERCENT = 100.0;
+
+  private final Histogram histogram;
+
+  public HdrSnapshot(Histogram histogram) {
+    this.histogram = histogram;
+  }
+
+  @Override
+  public double getValue(double quantile) {
+    if (quantile < 0.0 || quantile > 1.0 || Double.isNaN(quantile)) {
+      throw new IllegalArgumentException(quantile + " is not in [0..1]");
+    }
+
+    return histogram.getValueAtPercentile(quantile * PERCENT);
+  }
+
+  /**
+   * Retrieves the distinct values recorded, within the histogram precision.
+   * @return Distinct values recorded
+   */
+  @Override
+  public long[] getValues() {
+    int size = 0;
+
+    for (HistogramIterationValue ignored : histogram.recordedValues()) {
+      size++;
+    }
+
+    long[] values = new long[size];
+    int index = 0;
+
+    for (HistogramIterationValue value : histogram.recordedValues()) {
+      values[index++] = value.getValueIteratedTo();
+    }
+
+    return values;
+  }
+
+  @Override
+  public int size() {
+    return (int) Math.min(histogram.getTotalCount(), Integer.MAX_VALUE);
+  }
+
+  @Override
+  public long getMax() {
+    return histogram.getTotalCount() == 0 ? 0 : histogram.getMaxValue();
+  }
+
+  @Override
+  public double getMean() {
+    return histogram.getTotalCount() == 0 ? 0 : histogram.getMean();
+  }
+
+  @Override
+  public long getMin() {
+    return histogram.getTotalCount() == 0 ? 0 : histogram.getMinValue();
+  }
+
+  @Override
+  public double getStdDev() {
+    return histogram.getTotalCount() == 0 ? 0 : histogram.getStdDeviation();
+  }
+
+  @Override
+  public void dump(OutputStream output) {
+    PrintWriter out = new PrintWriter(new OutputStreamWriter(output, StandardCharsets.UTF_8));
+
+    try {
+      for (long value : getValues()) {
+        out.printf("%d%n", value);
+      }
+    } finally {
+      out.close();
+    }
+  }
+
+}
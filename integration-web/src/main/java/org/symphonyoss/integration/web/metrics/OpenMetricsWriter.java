@@ -0,0 +1,326 @@
+/**
+ * Copyright 2016-2017 Symphony Integrations - Symphony LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.symphonyoss.integration.web.metrics;
+
+import com.codahale.metrics.Counter;
+import com.codahale.metrics.Gauge;
+import com.codahale.metrics.Histogram;
+import com.codahale.metrics.Meter;
+import com.codahale.metrics.Metric;
+import com.codahale.metrics.MetricRegistry;
+import com.codahale.metrics.Snapshot;
+import com.codahale.metrics.Timer;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Writes the metrics of the {@link MetricRegistry} using the Prometheus text exposition format or
+ * the OpenMetrics format.
+ *
+ * The metrics are written straight to the output, only grouped by family beforehand. Dropwizard
+ * names are sanitized to the Prometheus naming rules, gauges and counters are exposed as gauges,
+ * meters as counters and histograms and timers as summaries. Timer values are exposed in seconds.
+ *
+ * Different Dropwizard names may be sanitized to the same metric family, which must be declared
+ * only once. The family groups all of them, and their samples are told apart by the metric label
+ * holding the Dropwizard name. The summary sum is estimated from the snapshot mean, since the
+ * Dropwizard reservoirs don't keep the total of the recorded values.
+ */
+public class OpenMetricsWriter {
+
+  public static final String TEXT_CONTENT_TYPE = "text/plain; version=0.0.4; charset=utf-8";
+
+  public static final String OPEN_METRICS_MEDIA_TYPE = "application/openmetrics-text";
+
+  public static final String OPEN_METRICS_CONTENT_TYPE =
+      OPEN_METRICS_MEDIA_TYPE + "; version=1.0.0; charset=utf-8";
+
+  private static final double[] QUANTILES = { 0.5, 0.75, 0.95, 0.98, 0.99, 0.999 };
+
+  private static final double SECONDS_FACTOR = 1.0 / TimeUnit.SECONDS.toNanos(1);
+
+  private static final String GAUGE = "gauge";
+
+  private static final String COUNTER = "counter";
+
+  private static final String SUMMARY = "summary";
+
+  private static final String TOTAL_SUFFIX = "_total";
+
+  private static final String COUNT_SUFFIX = "_count";
+
+  private static final String SUM_SUFFIX = "_sum";
+
+  private static final String METRIC_LABEL = "metric";
+
+  private static final String QUANTILE_LABEL = "quantile";
+
+  private static final String SECONDS_SUFFIX = "_seconds";
+
+  private static final String EOF = "# EOF\n";
+
+  private final Writer writer;
+
+  private final boolean openMetrics;
+
+  public OpenMetricsWriter(Writer writer, boolean openMetrics) {
+    this.writer = writer;
+    this.openMetrics = openMetrics;
+  }
+
+  /**
+   * Writes all the metrics of the registry.
+   * @param registry Metric registry
+   * @throws IOException Report failure to write the metrics
+   */
+  public void write(MetricRegistry registry) throws IOException {
+    Map<String, MetricFamily> families = new LinkedHashMap<>();
+
+    for (Map.Entry<String, Metric> entry : registry.getMetrics().entrySet()) {
+      addMetric(families, entry.getKey(), entry.getValue());
+    }
+
+    for (MetricFamily family : families.values()) {
+      writeFamily(family);
+    }
+
+    if (openMetrics) {
+      writer.write(EOF);
+    }
+  }
+
+  /**
+   * Adds the metric to its family. Gauges are read here, so the families holding only gauges with
+   * non-numeric values aren't declared.
+   */
+  private void addMetric(Map<String, MetricFamily> families, String metricName, Metric metric) {
+    String name = sanitize(metricName);
+    String type;
+    Object source = metric;
+
+    if (metric instanceof Gauge) {
+      Double value = getGaugeValue((Gauge) metric);
+
+      if (value == null) {
+        return;
+      }
+
+      type = GAUGE;
+      source = value;
+    } else if (metric instanceof Counter) {
+      type = GAUGE;
+    } else if (metric instanceof Meter) {
+      type = COUNTER;
+    } else if (metric instanceof Timer) {
+      type = SUMMARY;
+      name = name + SECONDS_SUFFIX;
+    } else if (metric instanceof Histogram) {
+      type = SUMMARY;
+    } else {
+      return;
+    }
+
+    MetricFamily family = families.get(getTypeName(name, type));
+
+    // The same family can't be declared with different types
+    if (family != null && !family.type.equals(type)) {
+      name = name + '_' + type;
+      family = families.get(getTypeName(name, type));
+    }
+
+    if (family == null) {
+      family = new MetricFamily(name, type);
+      families.put(getTypeName(name, type), family);
+    }
+
+    family.sources.put(metricName, source);
+  }
+
+  private Double getGaugeValue(Gauge gauge) {
+    Object value = gauge.getValue();
+
+    if (value instanceof Number) {
+      return ((Number) value).doubleValue();
+    } else if (value instanceof Boolean) {
+      return Boolean.TRUE.equals(value) ? 1.0 : 0.0;
+    }
+
+    return null;
+  }
+
+  /**
+   * The text format declares the counter type using the sample name, the OpenMetrics uses the
+   * family name.
+   */
+  private String getTypeName(String name, String type) {
+    return COUNTER.equals(type) && !openMetrics ? name + TOTAL_SUFFIX : name;
+  }
+
+  private void writeFamily(MetricFamily family) throws IOException {
+    writeType(getTypeName(family.name, family.type), family.type);
+
+    boolean labeled = family.sources.size() > 1;
+
+    for (Map.Entry<String, Object> entry : family.sources.entrySet()) {
+      String labels = labeled ? label(METRIC_LABEL, entry.getKey()) : null;
+      Object source = entry.getValue();
+
+      if (source instanceof Double) {
+        writeSample(family.name, labels, (Double) source);
+      } else if (source instanceof Counter) {
+        writeSample(family.name, labels, ((Counter) source).getCount());
+      } else if (source instanceof Meter) {
+        writeSample(family.name + TOTAL_SUFFIX, labels, ((Meter) source).getCount());
+      } else if (source instanceof Timer) {
+        Timer timer = (Timer) source;
+        writeSummary(family.name, labels, timer.getSnapshot(), timer.getCount(), SECONDS_FACTOR);
+      } else if (source instanceof Histogram) {
+        Histogram histogram = (Histogram) source;
+        writeSummary(family.name, labels, histogram.getSnapshot(), histogram.getCount(), 1.0);
+      }
+    }
+  }
+
+  private void writeSummary(String name, String labels, Snapshot snapshot, long count,
+      double factor) throws IOException {
+    for (double quantile : QUANTILES) {
+      String quantileLabel = label(QUANTILE_LABEL, Double.toString(quantile));
+      String sampleLabels = labels == null ? quantileLabel : labels + ',' + quantileLabel;
+      writeSample(name, sampleLabels, snapshot.getValue(quantile) * factor);
+    }
+
+    writeSample(name + SUM_SUFFIX, labels, snapshot.getMean() * count * factor);
+    writeSample(name + COUNT_SUFFIX, labels, count);
+  }
+
+  private void writeType(String name, String type) throws IOException {
+    writer.write("# TYPE ");
+    writer.write(name);
+    writer.write(' ');
+    writer.write(type);
+    writer.write('\n');
+  }
+
+  private void writeSample(String name, String labels, long value) throws IOException {
+    writeSampleName(name, labels);
+    writer.write(Long.toString(value));
+    writer.write('\n');
+  }
+
+  private void writeSample(String name, String labels, double value) throws IOException {
+    writeSampleName(name, labels);
+    writeValue(value);
+    writer.write('\n');
+  }
+
+  private void writeSampleName(String name, String labels) throws IOException {
+    writer.write(name);
+
+    if (labels != null) {
+      writer.write('{');
+      writer.write(labels);
+      writer.write('}');
+    }
+
+    writer.write(' ');
+  }
+
+  private void writeValue(double value) throws IOException {
+    if (Double.isNaN(value)) {
+      writer.write("NaN");
+    } else if (Double.isInfinite(value)) {
+      writer.write(value > 0 ? "+Inf" : "-Inf");
+    } else {
+      writer.write(Double.toString(value));
+    }
+  }
+
+  /**
+   * Formats a label escaping its value.
+   * @param name Label name
+   * @param value Label value
+   * @return Formatted label
+   */
+  private static String label(String name, String value) {
+    StringBuilder label = new StringBuilder(name.length() + value.length() + 3);
+    label.append(name).append("=\"");
+
+    for (int i = 0; i < value.length(); i++) {
+      char c = value.charAt(i);
+
+      if (c == '\\' || c == '"') {
+        label.append('\\').append(c);
+      } else if (c == '\n') {
+        label.append("\\n");
+      } else {
+        label.append(c);
+      }
+    }
+
+    return label.append('"').toString();
+  }
+
+  /**
+   * Replaces the characters not allowed by the Prometheus naming rules with underscores.
+   * @param name Dropwizard metric name
+   * @return Sanitized metric name
+   */
+  static String sanitize(String name) {
+    StringBuilder sanitized = new StringBuilder(name.length() + 1);
+
+    if (name.isEmpty() || Character.isDigit(name.charAt(0))) {
+      sanitized.append('_');
+    }
+
+    for (int i = 0; i < name.length(); i++) {
+      char c = name.charAt(i);
+
+      if ((c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || (c >= '0' && c <= '9')
+          || c == '_' || c == ':') {
+        sanitized.append(c);
+      } else {
+        sanitized.append('_');
+      }
+    }
+
+    return sanitized.toString();
+  }
+
+  /**
+   * Metrics sharing the same sanitized name. The sources are the gauge values or the metrics
+   * themselves, keyed by the Dropwizard name.
+   */
+  private static final class MetricFamily {
+
+    private final String name;
+
+    private final String type;
+
+    private final Map<String, Object> sources = new LinkedHashMap<>();
+
+    MetricFamily(String name, String type) {
+      this.name = name;
+      this.type = type;
+    }
+
+  }
+
+}
@@ -28,26 +28,54 @@ import com.codahale.metrics.Meter;
 import com.codahale.metrics.MetricRegistry;
 import com.codahale.metrics.Timer;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.env.Environment;
 import org.springframework.stereotype.Component;
 import org.symphonyoss.integration.metrics.IntegrationController;
 import org.symphonyoss.integration.metrics.gauge.CounterRatio;
 
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
 
 import javax.annotation.PostConstruct;
 import javax.ws.rs.core.Response.Status;
 
 /**
  * Controller class to monitoring all the metrics related to incoming requests.
+ *
+ * The request and integration timers are backed by HdrHistogram with a sliding time window, so
+ * the tail percentiles remain accurate during bursts:
+ *
+ * <pre>
+ * request_metrics:
+ *   window_seconds: 60
+ *   window_buckets: 6
+ *   significant_digits: 2
+ * </pre>
+ *
  * Created by rsanchez on 12/12/16.
  */
 @Component
 public class RequestMetricsController implements IntegrationController {
 
+  public static final String WINDOW_KEY = "request_metrics.window_seconds";
+
+  public static final String BUCKETS_KEY = "request_metrics.window_buckets";
+
+  public static final String SIGNIFICANT_DIGITS_KEY = "request_metrics.significant_digits";
+
+  public static final long DEFAULT_WINDOW_SECONDS = 60;
+
+  public static final int DEFAULT_BUCKETS = 6;
+
+  public static final int DEFAULT_SIGNIFICANT_DIGITS = 2;
+
   @Autowired
   private MetricRegistry metricsRegistry;
 
+  @Autowired
+  private Environment environment;
+
   /**
    * Number of active requests
    */
@@ -79,7 +107,7 @@ public class RequestMetricsController implements IntegrationController {
   @PostConstruct
   public void init() {
     this.activeRequests = metricsRegistry.counter(ACTIVE_REQUESTS);
-    this.requestsTimer = metricsRegistry.timer(INCOMING_REQUESTS);
+    this.requestsTimer = timer(INCOMING_REQUESTS);
     this.otherMeter = metricsRegistry.meter(OTHER_RESPONSE_CODE);
 
     initStatusCode(Status.OK.getStatusCode(), RequestMetricsConstants.OK);
@@ -110,13 +138,40 @@ public class RequestMetricsController implements IntegrationController {
    */
   @Override
   public void initController(String integration) {
-    Timer timer = metricsRegistry.timer(MetricRegistry.name(BASE_METRIC_NAME, integration, REQUESTS));
+    Timer timer = timer(MetricRegistry.name(BASE_METRIC_NAME, integration, REQUESTS));
     timerByIntegration.put(integration, timer);
 
     CounterRatio requestsRatio = new CounterRatio(timer, requestsTimer);
     metricsRegistry.register(MetricRegistry.name(BASE_METRIC_NAME, integration, REQUESTS, RATIO), requestsRatio);
   }
 
+  /**
+   * Retrieves the timer registered with the given name or registers a new one backed by a sliding
+   * window HdrHistogram reservoir.
+   * @param name Metric name
+   * @return Timer
+   */
+  private Timer timer(String name) {
+    Timer timer = metricsRegistry.getTimers().get(name);
+
+    if (timer != null) {
+      return timer;
+    }
+
+    long window = environment.getProperty(WINDOW_KEY, Long.class, DEFAULT_WINDOW_SECONDS);
+    int buckets = environment.getProperty(BUCKETS_KEY, Integer.class, DEFAULT_BUCKETS);
+    int digits = environment.getProperty(SIGNIFICANT_DIGITS_KEY, Integer.class,
+        DEFAULT_SIGNIFICANT_DIGITS);
+
+    try {
+      return metricsRegistry.register(name,
+          new Timer(new SlidingWindowHdrReservoir(window, TimeUnit.SECONDS, buckets, digits)));
+    } catch (IllegalArgumentException e) {
+      // Registered concurrently
+      return metricsRegistry.getTimers().get(name);
+    }
+  }
+
   /**
    * Signals the beginning of the request processing. This method should increment the active
    * requests and start the timer context.
@@ -0,0 +1,142 @@
+/**
+ * Copyright 2016-2017 Symphony Integrations - Symphony LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.symphonyoss.integration.web.metrics;
+
+import com.codahale.metrics.Clock;
+import com.codahale.metrics.Reservoir;
+import com.codahale.metrics.Snapshot;
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Reservoir backed by HdrHistogram that keeps the values recorded in a sliding time window.
+ *
+ * The window is split into buckets. The values are recorded lock-free and moved into the current
+ * bucket before it rotates or when a snapshot is taken, so the percentiles reflect the whole window
+ * with the granularity of one bucket. Unlike the exponentially decaying reservoir, no value is
+ * sampled out, so the tail percentiles remain accurate during bursts.
+ */
+public class SlidingWindowHdrReservoir implements Reservoir {
+
+  private final Recorder recorder;
+
+  private final Histogram[] buckets;
+
+  private final long bucketDuration;
+
+  private final int significantDigits;
+
+  private final Clock clock;
+
+  /**
+   * Histogram reused to collect the values from the recorder. Guarded by this reservoir.
+   */
+  private Histogram intervalHistogram;
+
+  /**
+   * Index of the current bucket. Guarded by this reservoir.
+   */
+  private int currentBucket;
+
+  /**
+   * Start time of the current bucket. Guarded by this reservoir.
+   */
+  private long bucketStart;
+
+  private volatile long nextRotation;
+
+  public SlidingWindowHdrReservoir(long window, TimeUnit unit, int numberOfBuckets,
+      int significantDigits) {
+    this(window, unit, numberOfBuckets, significantDigits, Clock.defaultClock());
+  }
+
+  public SlidingWindowHdrReservoir(long window, TimeUnit unit, int numberOfBuckets,
+      int significantDigits, Clock clock) {
+    if (window <= 0 || numberOfBuckets <= 0) {
+      throw new IllegalArgumentException("Window and number of buckets must be positive");
+    }
+
+    this.recorder = new Recorder(significantDigits);
+    this.buckets = new Histogram[numberOfBuckets];
+    this.bucketDuration = Math.max(unit.toNanos(window) / numberOfBuckets, 1);
+    this.significantDigits = significantDigits;
+    this.clock = clock;
+
+    for (int i = 0; i < numberOfBuckets; i++) {
+      buckets[i] = new Histogram(significantDigits);
+    }
+
+    this.bucketStart = clock.getTick();
+    this.nextRotation = bucketStart + bucketDuration;
+  }
+
+  @Override
+  public int size() {
+    return getSnapshot().size();
+  }
+
+  @Override
+  public void update(long value) {
+    if (clock.getTick() >= nextRotation) {
+      collect();
+    }
+
+    recorder.recordValue(Math.max(value, 0));
+  }
+
+  @Override
+  public Snapshot getSnapshot() {
+    Histogram histogram = new Histogram(significantDigits);
+
+    synchronized (this) {
+      collect();
+
+      for (Histogram bucket : buckets) {
+        histogram.add(bucket);
+      }
+    }
+
+    return new HdrSnapshot(histogram);
+  }
+
+  /**
+   * Moves the values recorded so far into the current bucket and rotates the expired buckets.
+   * The rotation is checked before recording a value, so the values pending in the recorder always
+   * belong to the current bucket.
+   */
+  private synchronized void collect() {
+    intervalHistogram = recorder.getIntervalHistogram(intervalHistogram);
+    buckets[currentBucket].add(intervalHistogram);
+
+    long elapsed = clock.getTick() - bucketStart;
+
+    if (elapsed >= bucketDuration) {
+      long expired = elapsed / bucketDuration;
+
+      for (int i = 0; i < Math.min(expired, buckets.length); i++) {
+        currentBucket = (currentBucket + 1) % buckets.length;
+        buckets[currentBucket].reset();
+      }
+
+      bucketStart += expired * bucketDuration;
+      nextRotation = bucketStart + bucketDuration;
+    }
+  }
+
+}
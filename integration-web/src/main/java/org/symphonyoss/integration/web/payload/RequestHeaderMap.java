@@ -0,0 +1,112 @@
+/**
+ * Copyright 2016-2017 Symphony Integrations - Symphony LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.symphonyoss.integration.web.payload;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Enumeration;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+import javax.servlet.http.HttpServletRequest;
+
+/**
+ * Read-only view of the HTTP request headers. The lookups are delegated to the servlet request,
+ * so they're case-insensitive and nothing is copied unless the map is iterated.
+ */
+public class RequestHeaderMap extends AbstractMap<String, String> {
+
+  private final HttpServletRequest request;
+
+  public RequestHeaderMap(HttpServletRequest request) {
+    this.request = request;
+  }
+
+  @Override
+  public String get(Object key) {
+    if (key instanceof String) {
+      return request.getHeader((String) key);
+    }
+
+    return null;
+  }
+
+  @Override
+  public boolean containsKey(Object key) {
+    return get(key) != null;
+  }
+
+  @Override
+  public Set<Entry<String, String>> entrySet() {
+    return new AbstractSet<Entry<String, String>>() {
+
+      @Override
+      public Iterator<Entry<String, String>> iterator() {
+        return new HeaderIterator(request.getHeaderNames());
+      }
+
+      @Override
+      public int size() {
+        int size = 0;
+
+        Enumeration<String> names = request.getHeaderNames();
+        while (names.hasMoreElements()) {
+          names.nextElement();
+          size++;
+        }
+
+        return size;
+      }
+
+    };
+  }
+
+  /**
+   * Iterates over the header names resolving the values on demand.
+   */
+  private class HeaderIterator implements Iterator<Entry<String, String>> {
+
+    private final Enumeration<String> names;
+
+    HeaderIterator(Enumeration<String> names) {
+      this.names = names;
+    }
+
+    @Override
+    public boolean hasNext() {
+      return names.hasMoreElements();
+    }
+
+    @Override
+    public Entry<String, String> next() {
+      if (!names.hasMoreElements()) {
+        throw new NoSuchElementException();
+      }
+
+      String name = names.nextElement();
+      return new SimpleImmutableEntry<>(name, request.getHeader(name));
+    }
+
+    @Override
+    public void remove() {
+      throw new UnsupportedOperationException();
+    }
+
+  }
+
+}
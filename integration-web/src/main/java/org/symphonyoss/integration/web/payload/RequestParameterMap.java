@@ -0,0 +1,104 @@
+/**
+ * Copyright 2016-2017 Symphony Integrations - Symphony LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.symphonyoss.integration.web.payload;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Enumeration;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+import javax.servlet.http.HttpServletRequest;
+
+/**
+ * View of the HTTP request parameters. The lookups are delegated to the servlet request and the
+ * values added by the Integration Bridge (multipart form fields, for instance) are kept in a local
+ * map that overrides the request parameters.
+ */
+public class RequestParameterMap extends AbstractMap<String, String> {
+
+  private final HttpServletRequest request;
+
+  private final Map<String, String> overrides = new HashMap<>();
+
+  public RequestParameterMap(HttpServletRequest request) {
+    this.request = request;
+  }
+
+  @Override
+  public String get(Object key) {
+    if (overrides.containsKey(key)) {
+      return overrides.get(key);
+    }
+
+    if (key instanceof String) {
+      return request.getParameter((String) key);
+    }
+
+    return null;
+  }
+
+  @Override
+  public boolean containsKey(Object key) {
+    return overrides.containsKey(key) || get(key) != null;
+  }
+
+  @Override
+  public String put(String key, String value) {
+    String previous = get(key);
+    overrides.put(key, value);
+    return previous;
+  }
+
+  @Override
+  public Set<Entry<String, String>> entrySet() {
+    return new AbstractSet<Entry<String, String>>() {
+
+      @Override
+      public Iterator<Entry<String, String>> iterator() {
+        return snapshot().entrySet().iterator();
+      }
+
+      @Override
+      public int size() {
+        return snapshot().size();
+      }
+
+    };
+  }
+
+  /**
+   * Copies the request parameters and the overridden values. Only used when the map is iterated.
+   * @return Parameters snapshot
+   */
+  private Map<String, String> snapshot() {
+    Map<String, String> result = new LinkedHashMap<>();
+
+    Enumeration<String> names = request.getParameterNames();
+    while (names.hasMoreElements()) {
+      String name = names.nextElement();
+      result.put(name, request.getParameter(name));
+    }
+
+    result.putAll(overrides);
+    return result;
+  }
+
+}
@@ -0,0 +1,185 @@
+/**
+ * Copyright 2016-2017 Symphony Integrations - Symphony LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.symphonyoss.integration.web.payload;
+
+import static org.symphonyoss.integration.web.properties.WebHookDispatcherResourceProperties
+    .PAYLOAD_TOO_LARGE;
+import static org.symphonyoss.integration.web.properties.WebHookDispatcherResourceProperties
+    .PAYLOAD_TOO_LARGE_SOLUTION;
+
+import org.apache.commons.lang3.StringUtils;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.env.Environment;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.stereotype.Component;
+import org.symphonyoss.integration.logging.LogMessageSource;
+import org.symphonyoss.integration.web.exception.PayloadTooLargeException;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+import javax.servlet.http.HttpServletRequest;
+
+/**
+ * Reads the webhook request body enforcing the maximum payload size allowed for each integration.
+ *
+ * The size is checked against the Content-Length header before reading anything and again while
+ * reading the stream, so oversized payloads are never fully buffered. The bytes are read into a
+ * buffer reused by the servlet thread and decoded only once.
+ *
+ * <pre>
+ * webhook_payload:
+ *   max_size: 2097152
+ *   integrations:
+ *     jiraWebHookIntegration: 8388608
+ * </pre>
+ */
+@Component
+public class WebHookPayloadReader {
+
+  public static final String MAX_SIZE_KEY = "webhook_payload.max_size";
+
+  public static final String INTEGRATIONS_KEY = "webhook_payload.integrations.";
+
+  public static final int DEFAULT_MAX_SIZE = 2 * 1024 * 1024;
+
+  private static final int INITIAL_BUFFER_SIZE = 8 * 1024;
+
+  /**
+   * Buffers bigger than this aren't kept by the servlet threads to avoid pinning memory after a
+   * large payload.
+   */
+  private static final int RETAINED_BUFFER_SIZE = 256 * 1024;
+
+  private static final String MISSING_BODY = "Required request body is missing";
+
+  private static final ThreadLocal<byte[]> BUFFERS = new ThreadLocal<>();
+
+  @Autowired
+  private Environment environment;
+
+  @Autowired
+  private LogMessageSource logMessage;
+
+  /**
+   * Reads the request body.
+   * @param integrationType Integration type
+   * @param request HTTP request
+   * @return Request body
+   * @throws PayloadTooLargeException Payload exceeds the maximum size allowed for the integration
+   * @throws HttpMessageNotReadableException Request body is missing
+   * @throws IOException Report failure to read the request body
+   */
+  public String readBody(String integrationType, HttpServletRequest request) throws IOException {
+    int maxSize = getMaxSize(integrationType);
+    long contentLength = request.getContentLengthLong();
+
+    if (contentLength > maxSize) {
+      throw payloadTooLarge(integrationType, maxSize);
+    }
+
+    byte[] buffer = acquireBuffer((int) Math.max(contentLength, 0));
+    int length = 0;
+
+    try {
+      InputStream input = request.getInputStream();
+
+      // One byte beyond the maximum size is enough to tell the payload is too large
+      int readLimit = (int) Math.min(maxSize + 1L, Integer.MAX_VALUE);
+
+      while (true) {
+        if (length == buffer.length) {
+          buffer = Arrays.copyOf(buffer, (int) Math.min(buffer.length * 2L, readLimit));
+        }
+
+        // The reused buffer may be bigger than the maximum size of this integration
+        int read = input.read(buffer, length, Math.min(buffer.length, readLimit) - length);
+
+        if (read == -1) {
+          break;
+        }
+
+        length += read;
+
+        if (length > maxSize) {
+          throw payloadTooLarge(integrationType, maxSize);
+        }
+      }
+
+      if (length == 0) {
+        throw new HttpMessageNotReadableException(MISSING_BODY);
+      }
+
+      return new String(buffer, 0, length, getCharset(request));
+    } finally {
+      releaseBuffer(buffer);
+    }
+  }
+
+  /**
+   * Retrieves the maximum payload size allowed for the integration.
+   * @param integrationType Integration type
+   * @return Maximum payload size (in bytes)
+   */
+  public int getMaxSize(String integrationType) {
+    int defaultMaxSize = environment.getProperty(MAX_SIZE_KEY, Integer.class, DEFAULT_MAX_SIZE);
+    return environment.getProperty(INTEGRATIONS_KEY + integrationType, Integer.class,
+        defaultMaxSize);
+  }
+
+  private byte[] acquireBuffer(int contentLength) {
+    byte[] buffer = BUFFERS.get();
+
+    if (buffer == null) {
+      buffer = new byte[INITIAL_BUFFER_SIZE];
+    }
+
+    if (contentLength > buffer.length) {
+      buffer = new byte[contentLength];
+    }
+
+    BUFFERS.remove();
+    return buffer;
+  }
+
+  private void releaseBuffer(byte[] buffer) {
+    if (buffer.length <= RETAINED_BUFFER_SIZE) {
+      BUFFERS.set(buffer);
+    }
+  }
+
+  private Charset getCharset(HttpServletRequest request) {
+    String encoding = request.getCharacterEncoding();
+
+    if (StringUtils.isNotBlank(encoding) && Charset.isSupported(encoding)) {
+      return Charset.forName(encoding);
+    }
+
+    return StandardCharsets.UTF_8;
+  }
+
+  private PayloadTooLargeException payloadTooLarge(String integrationType, int maxSize) {
+    String message = logMessage.getMessage(PAYLOAD_TOO_LARGE, integrationType,
+        String.valueOf(maxSize));
+    String solution = logMessage.getMessage(PAYLOAD_TOO_LARGE_SOLUTION, integrationType);
+    return new PayloadTooLargeException(message, solution);
+  }
+
+}
@@ -0,0 +1,12 @@
+package org.symphonyoss.integration.web.properties;
+
+import org.symphonyoss.integration.web.async.AsyncRequestExecutor;
+
+/** Exception message keys used by the component {@link AsyncRequestExecutor}
+ */
+public class AsyncRequestProperties {
+
+  public static String ASYNC_REQUEST_TIMEOUT = "integration.web.async.request.timeout";
+
+  public static String ASYNC_REQUEST_TIMEOUT_SOLUTION = ASYNC_REQUEST_TIMEOUT + ".solution";
+}
@@ -10,4 +10,8 @@ public class WebHookDispatcherResourceProperties {
   public static String CANT_PARSE_PAYLOAD = "integration.web.payload.couldnt.parse.payload";
 
   public static String CANT_PARSE_PAYLOAD_SOLUTION = CANT_PARSE_PAYLOAD + ".solution";
+
+  public static String PAYLOAD_TOO_LARGE = "integration.web.payload.too.large";
+
+  public static String PAYLOAD_TOO_LARGE_SOLUTION = PAYLOAD_TOO_LARGE + ".solution";
 }
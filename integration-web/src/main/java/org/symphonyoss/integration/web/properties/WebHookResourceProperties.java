@@ -14,4 +14,8 @@ public class WebHookResourceProperties {
   public static String INTEGRATION_BRIDGE_UNAVAILABLE = "integration.web.integration.bridge.unavailable";
 
   public static String INTEGRATION_BRIDGE_UNAVAILABLE_SOLUTION = INTEGRATION_BRIDGE_UNAVAILABLE + ".solution";
+
+  public static String INTEGRATION_BULKHEAD_FULL = "integration.web.integration.bulkhead.full";
+
+  public static String INTEGRATION_BULKHEAD_FULL_SOLUTION = INTEGRATION_BULKHEAD_FULL + ".solution";
 }
@@ -22,17 +22,27 @@ import org.springframework.boot.web.servlet.FilterRegistrationBean;
 import org.springframework.boot.web.servlet.ServletRegistrationBean;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
 import org.springframework.web.context.WebApplicationContext;
 import org.springframework.web.servlet.DispatcherServlet;
+import org.springframework.web.servlet.config.annotation.AsyncSupportConfigurer;
 import org.springframework.web.servlet.config.annotation.CorsRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurerAdapter;
+import org.symphonyoss.integration.core.trace.StageRecorder;
+import org.symphonyoss.integration.web.async.AsyncRequestExecutor;
+import org.symphonyoss.integration.web.async.AsyncRequestInterceptor;
 import org.symphonyoss.integration.web.filter.IntegrationMetricsFilter;
+import org.symphonyoss.integration.web.filter.WebHookConcurrencyLimitFilter;
+import org.symphonyoss.integration.web.filter.WebHookDrainFilter;
 import org.symphonyoss.integration.web.filter.WebHookOriginCheckFilter;
 import org.symphonyoss.integration.web.filter.WebHookTracingFilter;
+import org.symphonyoss.integration.web.resource.MetricsResource;
 
 import java.util.Collections;
 
+import javax.servlet.DispatcherType;
+
 /**
  * Class responsible to register the web resources required by the application.
  * Created by rsanchez on 23/12/16.
@@ -55,6 +65,24 @@ public class WebResourcesRegistration {
 
   private static final String CORS_MAPPING = "/**";
 
+  private static final String IGNORE_URL_SEPARATOR = ",";
+
+  /**
+   * Right after the character encoding filter registered by Spring Boot
+   */
+  private static final int TRACING_FILTER_ORDER = Ordered.HIGHEST_PRECEDENCE + 1;
+
+  /**
+   * Right after the tracing filter, so the rejected requests are still traced
+   */
+  private static final int DRAIN_FILTER_ORDER = TRACING_FILTER_ORDER + 1;
+
+  /**
+   * Right after the drain filter, so the requests rejected during the shutdown don't take a permit
+   * and the shed requests skip the other webhook filters
+   */
+  private static final int CONCURRENCY_LIMIT_FILTER_ORDER = DRAIN_FILTER_ORDER + 1;
+
   /**
    * Register webhook check origin filter.
    * @return Filter registration object
@@ -71,14 +99,17 @@ public class WebResourcesRegistration {
   }
 
   /**
-   * Register webhook tracing filter.
+   * Register webhook tracing filter. It runs before the other filters, so their stages are part of
+   * the request trace.
+   * @param stageRecorder Stage recorder
    * @return Filter registration object
    */
   @Bean
-  public FilterRegistrationBean webhookTracingFilterRegistration() {
-    WebHookTracingFilter filter = new WebHookTracingFilter();
+  public FilterRegistrationBean webhookTracingFilterRegistration(StageRecorder stageRecorder) {
+    WebHookTracingFilter filter = new WebHookTracingFilter(stageRecorder);
     FilterRegistrationBean registration = new FilterRegistrationBean(filter);
     registration.setUrlPatterns(Collections.singletonList(baseUrlMapping()));
+    registration.setOrder(TRACING_FILTER_ORDER);
     return registration;
   }
 
@@ -91,11 +122,48 @@ public class WebResourcesRegistration {
     IntegrationMetricsFilter filter = new IntegrationMetricsFilter();
     FilterRegistrationBean registration = new FilterRegistrationBean(filter);
     registration.setUrlPatterns(Collections.singletonList(baseUrlMapping()));
-    registration.addInitParameter(IntegrationMetricsFilter.IGNORE_URL_PARAM, BASE_API_PATH + METRICS_PATH);
+    registration.addInitParameter(IntegrationMetricsFilter.IGNORE_URL_PARAM,
+        BASE_API_PATH + METRICS_PATH + IGNORE_URL_SEPARATOR + BASE_API_PATH
+            + MetricsResource.METRICS_PATH);
     registration.addInitParameter(IntegrationMetricsFilter.WEBHOOK_URL_PARAM, WebHookOriginCheckFilter.URL_PATTERN);
     return registration;
   }
 
+  /**
+   * Register webhook concurrency limit filter. It only runs on the original dispatch, the permit
+   * of an asynchronous request is released when the response is completed.
+   * @return Filter registration object
+   */
+  @Bean
+  public FilterRegistrationBean webhookConcurrencyLimitFilterRegistration() {
+    WebHookConcurrencyLimitFilter filter = new WebHookConcurrencyLimitFilter();
+    FilterRegistrationBean registration = new FilterRegistrationBean(filter);
+
+    String urlPattern = WebHookOriginCheckFilter.URL_PATTERN + PATH_WILDCARD;
+    registration.setUrlPatterns(Collections.singletonList(urlPattern));
+    registration.setDispatcherTypes(DispatcherType.REQUEST);
+    registration.setOrder(CONCURRENCY_LIMIT_FILTER_ORDER);
+
+    return registration;
+  }
+
+  /**
+   * Register webhook drain filter. It runs before the other webhook filters, so the requests
+   * rejected during the shutdown don't reach them.
+   * @return Filter registration object
+   */
+  @Bean
+  public FilterRegistrationBean webhookDrainFilterRegistration() {
+    WebHookDrainFilter filter = new WebHookDrainFilter();
+    FilterRegistrationBean registration = new FilterRegistrationBean(filter);
+
+    String urlPattern = WebHookOriginCheckFilter.URL_PATTERN + PATH_WILDCARD;
+    registration.setUrlPatterns(Collections.singletonList(urlPattern));
+    registration.setOrder(DRAIN_FILTER_ORDER);
+
+    return registration;
+  }
+
   /**
    * Register a dispatcher servlet to deal with API requests.
    * @param context Web application context
@@ -129,6 +197,22 @@ public class WebResourcesRegistration {
     };
   }
 
+  /**
+   * Configure the executor, timeout and context propagation of the asynchronous requests
+   * @param asyncRequestExecutor Asynchronous request executor
+   */
+  @Bean
+  public WebMvcConfigurer asyncSupportConfigurer(final AsyncRequestExecutor asyncRequestExecutor) {
+    return new WebMvcConfigurerAdapter() {
+      @Override
+      public void configureAsyncSupport(AsyncSupportConfigurer configurer) {
+        configurer.setTaskExecutor(asyncRequestExecutor.getExecutor());
+        configurer.setDefaultTimeout(asyncRequestExecutor.getTimeout());
+        configurer.registerCallableInterceptors(new AsyncRequestInterceptor());
+      }
+    };
+  }
+
   private String baseUrlMapping() {
     return BASE_API_PATH + PATH_SEPARATOR + PATH_WILDCARD;
   }
@@ -31,6 +31,7 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.async.WebAsyncTask;
 import org.symphonyoss.integration.Integration;
 import org.symphonyoss.integration.authentication.api.jwt.JwtAuthentication;
 import org.symphonyoss.integration.authentication.api.model.AppToken;
@@ -41,8 +42,10 @@ import org.symphonyoss.integration.json.JsonUtils;
 import org.symphonyoss.integration.logging.LogMessageSource;
 import org.symphonyoss.integration.model.ErrorResponse;
 import org.symphonyoss.integration.service.IntegrationBridge;
+import org.symphonyoss.integration.web.async.AsyncRequestExecutor;
 
 import java.io.IOException;
+import java.util.concurrent.Callable;
 
 /**
  * REST endpoint to handle requests for manage application authentication data.
@@ -81,6 +84,62 @@ public class ApplicationAuthenticationResource {
   @Autowired
   private IntegrationBridge integrationBridge;
 
+  @Autowired
+  private AsyncRequestExecutor asyncRequestExecutor;
+
+  /**
+   * Start the JWT authentication between the App and the SBE. The request is handled
+   * asynchronously.
+   * @param configurationId Application identifier.
+   * @param body Request body.
+   * @return Asynchronous task that returns the generated Token (Ta).
+   */
+  @PostMapping(value = "/authenticate/async")
+  public WebAsyncTask<ResponseEntity> authenticateAsync(@PathVariable final String configurationId,
+      @RequestBody final String body) {
+    return asyncRequestExecutor.submit(new Callable<ResponseEntity>() {
+      @Override
+      public ResponseEntity call() throws Exception {
+        return authenticate(configurationId, body);
+      }
+    });
+  }
+
+  /**
+   * Validate the provided JWT. The request is handled asynchronously.
+   * @param configurationId Application identifier.
+   * @param body Request body.
+   * @return Asynchronous task that returns 200 OK if it's a valid JWT token or a 401 otherwise.
+   */
+  @PostMapping(value = "/validate/async")
+  public WebAsyncTask<ResponseEntity> validateAsync(@PathVariable final String configurationId,
+      @RequestBody final String body) {
+    return asyncRequestExecutor.submit(new Callable<ResponseEntity>() {
+      @Override
+      public ResponseEntity call() throws Exception {
+        return validate(configurationId, body);
+      }
+    });
+  }
+
+  /**
+   * Validate the provided token pair (app token and symphony token). The request is handled
+   * asynchronously.
+   * @param configurationId Application identifier.
+   * @param body Request body.
+   * @return Asynchronous task that returns 200 OK if it's a valid pair or a 401 otherwise.
+   */
+  @PostMapping(value = "/tokens/validate/async")
+  public WebAsyncTask<ResponseEntity> validateTokensAsync(
+      @PathVariable final String configurationId, @RequestBody final String body) {
+    return asyncRequestExecutor.submit(new Callable<ResponseEntity>() {
+      @Override
+      public ResponseEntity call() throws Exception {
+        return validateTokens(configurationId, body);
+      }
+    });
+  }
+
   /**
    * Start the JWT authentication between the App and the SBE.
    * @param configurationId Application identifier.
@@ -30,6 +30,7 @@ import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.async.WebAsyncTask;
 import org.symphonyoss.integration.Integration;
 import org.symphonyoss.integration.authentication.api.jwt.JwtAuthentication;
 import org.symphonyoss.integration.authorization.AuthorizationException;
@@ -42,10 +43,12 @@ import org.symphonyoss.integration.model.ErrorResponse;
 import org.symphonyoss.integration.model.yaml.AppAuthorizationModel;
 import org.symphonyoss.integration.service.IntegrationBridge;
 import org.symphonyoss.integration.exception.IntegrationUnavailableException;
+import org.symphonyoss.integration.web.async.AsyncRequestExecutor;
 
 import java.util.Enumeration;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.Callable;
 
 import javax.servlet.http.HttpServletRequest;
 
@@ -70,11 +73,15 @@ public class ApplicationAuthorizationResource {
 
   private final JwtAuthentication jwtAuthentication;
 
+  private final AsyncRequestExecutor asyncRequestExecutor;
+
   public ApplicationAuthorizationResource(IntegrationBridge integrationBridge,
-      LogMessageSource logMessage, JwtAuthentication jwtAuthentication) {
+      LogMessageSource logMessage, JwtAuthentication jwtAuthentication,
+      AsyncRequestExecutor asyncRequestExecutor) {
     this.integrationBridge = integrationBridge;
     this.logMessage = logMessage;
     this.jwtAuthentication = jwtAuthentication;
+    this.asyncRequestExecutor = asyncRequestExecutor;
   }
 
   /**
@@ -97,6 +104,51 @@ public class ApplicationAuthorizationResource {
     return ResponseEntity.ok().body(authenticationModel);
   }
 
+  /**
+   * Get user authentication data according to the application identifier and integration URL.
+   * The request is handled asynchronously.
+   *
+   * @param configurationId Application identifier
+   * @param integrationUrl Integration URL
+   * @return Asynchronous task that returns the user authentication data if the user is
+   * authenticated or HTTP 401 (Unauthorized) otherwise.
+   */
+  @GetMapping("/userSession/async")
+  public WebAsyncTask<ResponseEntity> getUserAuthorizationDataAsync(
+      @PathVariable final String configurationId,
+      @RequestParam(name = "integrationUrl") final String integrationUrl,
+      @RequestHeader(value = "Authorization", required = false) final String authorizationHeader) {
+    return asyncRequestExecutor.submit(new Callable<ResponseEntity>() {
+      @Override
+      public ResponseEntity call() throws Exception {
+        return getUserAuthorizationData(configurationId, integrationUrl, authorizationHeader);
+      }
+    });
+  }
+
+  /**
+   * Callback for authorization by third-party applications. The request is handled
+   * asynchronously, but the parameters and headers are copied on the container thread.
+   * @param configurationId Application identifier
+   * @param request Parameters and headers from the HTTP request.
+   * @param body Request body (when it's called using HTTP POST method).
+   * @return Asynchronous task that returns 200 when there is a callback configuration for the
+   * informed integration or 404 otherwise.
+   */
+  @RequestMapping(value = "/authorize/async")
+  public WebAsyncTask<ResponseEntity> authorizeAsync(@PathVariable String configurationId,
+      HttpServletRequest request, @RequestBody(required = false) String body) {
+    final AuthorizedIntegration authIntegration = getAuthorizedIntegration(configurationId);
+    final AuthorizationPayload authPayload = getAuthorizationPayload(request, body);
+
+    return asyncRequestExecutor.submit(new Callable<ResponseEntity>() {
+      @Override
+      public ResponseEntity call() throws Exception {
+        return authorize(authIntegration, authPayload);
+      }
+    });
+  }
+
   /**
    * Get user authentication data according to the application identifier and integration URL.
    *
@@ -150,6 +202,11 @@ public class ApplicationAuthorizationResource {
     AuthorizedIntegration authIntegration = getAuthorizedIntegration(configurationId);
     AuthorizationPayload authPayload = getAuthorizationPayload(request, body);
 
+    return authorize(authIntegration, authPayload);
+  }
+
+  private ResponseEntity authorize(AuthorizedIntegration authIntegration,
+      AuthorizationPayload authPayload) {
     String url;
 
     try {
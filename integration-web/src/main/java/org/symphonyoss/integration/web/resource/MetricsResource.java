@@ -0,0 +1,69 @@
+/**
+ * Copyright 2016-2017 Symphony Integrations - Symphony LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.symphonyoss.integration.web.resource;
+
+import static org.symphonyoss.integration.web.metrics.OpenMetricsWriter.OPEN_METRICS_CONTENT_TYPE;
+import static org.symphonyoss.integration.web.metrics.OpenMetricsWriter.OPEN_METRICS_MEDIA_TYPE;
+import static org.symphonyoss.integration.web.metrics.OpenMetricsWriter.TEXT_CONTENT_TYPE;
+
+import com.codahale.metrics.MetricRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.symphonyoss.integration.web.metrics.OpenMetricsWriter;
+
+import java.io.IOException;
+import java.io.Writer;
+
+import javax.servlet.http.HttpServletResponse;
+
+/**
+ * REST endpoint to export the Integration Bridge metrics using the Prometheus text format, or the
+ * OpenMetrics format when requested through the Accept header.
+ */
+@RestController
+@RequestMapping(MetricsResource.METRICS_PATH)
+public class MetricsResource {
+
+  public static final String METRICS_PATH = "/v1/metrics";
+
+  @Autowired
+  private MetricRegistry metricRegistry;
+
+  /**
+   * Writes all the metrics to the response.
+   * @param accept Accept header
+   * @param response HTTP response
+   * @throws IOException Report failure to write the response
+   */
+  @GetMapping
+  public void getMetrics(@RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept,
+      HttpServletResponse response) throws IOException {
+    boolean openMetrics = accept != null && accept.contains(OPEN_METRICS_MEDIA_TYPE);
+
+    response.setStatus(HttpServletResponse.SC_OK);
+    response.setContentType(openMetrics ? OPEN_METRICS_CONTENT_TYPE : TEXT_CONTENT_TYPE);
+
+    Writer writer = response.getWriter();
+    new OpenMetricsWriter(writer, openMetrics).write(metricRegistry);
+    writer.flush();
+  }
+
+}
@@ -0,0 +1,166 @@
+/**
+ * Copyright 2016-2017 Symphony Integrations - Symphony LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.symphonyoss.integration.web.resource;
+
+import static org.symphonyoss.integration.metrics.IntegrationMetricsConstants.BASE_METRIC_NAME;
+
+import com.codahale.metrics.Gauge;
+import com.codahale.metrics.Meter;
+import com.codahale.metrics.MetricRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Semaphore;
+
+/**
+ * Bounded concurrency budget for each integration, so a single integration with a slow parser
+ * can't take every servlet thread.
+ *
+ * <pre>
+ * webhook_bulkhead:
+ *   max_concurrent: 50
+ *   integrations:
+ *     jiraWebHookIntegration: 20
+ * </pre>
+ */
+@Component
+public class WebHookBulkheads {
+
+  public static final String MAX_CONCURRENT_KEY = "webhook_bulkhead.max_concurrent";
+
+  public static final String INTEGRATIONS_KEY = "webhook_bulkhead.integrations.";
+
+  public static final int DEFAULT_MAX_CONCURRENT = 50;
+
+  private static final String BULKHEAD = "bulkhead";
+
+  private static final String UTILIZATION = "utilization";
+
+  private static final String REJECTED = "rejected";
+
+  @Autowired
+  private Environment environment;
+
+  @Autowired
+  private MetricRegistry metricRegistry;
+
+  private final ConcurrentMap<String, Bulkhead> bulkheads = new ConcurrentHashMap<>();
+
+  /**
+   * Reserves a slot in the integration bulkhead without waiting.
+   * @param integrationType Integration type
+   * @return true if the slot was reserved or false if the bulkhead is full
+   */
+  public boolean tryAcquire(String integrationType) {
+    Bulkhead bulkhead = getBulkhead(integrationType);
+
+    if (bulkhead.semaphore.tryAcquire()) {
+      return true;
+    }
+
+    bulkhead.rejected.mark();
+    return false;
+  }
+
+  /**
+   * Releases the slot reserved by {@link #tryAcquire(String)}.
+   * @param integrationType Integration type
+   */
+  public void release(String integrationType) {
+    getBulkhead(integrationType).semaphore.release();
+  }
+
+  /**
+   * Retrieves the maximum number of concurrent requests allowed for the integration.
+   * @param integrationType Integration type
+   * @return Bulkhead capacity
+   */
+  public int getCapacity(String integrationType) {
+    return getBulkhead(integrationType).capacity;
+  }
+
+  /**
+   * Retrieves the number of requests being handled by the integration.
+   * @param integrationType Integration type
+   * @return Slots in use
+   */
+  public int getInUse(String integrationType) {
+    Bulkhead bulkhead = getBulkhead(integrationType);
+    return bulkhead.capacity - bulkhead.semaphore.availablePermits();
+  }
+
+  private Bulkhead getBulkhead(String integrationType) {
+    Bulkhead bulkhead = bulkheads.get(integrationType);
+
+    if (bulkhead == null) {
+      Bulkhead newBulkhead = new Bulkhead(integrationType);
+      bulkhead = bulkheads.putIfAbsent(integrationType, newBulkhead);
+
+      if (bulkhead == null) {
+        bulkhead = newBulkhead;
+        registerMetrics(integrationType);
+      }
+    }
+
+    return bulkhead;
+  }
+
+  private void registerMetrics(final String integrationType) {
+    String name = MetricRegistry.name(BASE_METRIC_NAME, integrationType, BULKHEAD, UTILIZATION);
+
+    if (!metricRegistry.getGauges().containsKey(name)) {
+      metricRegistry.register(name, new Gauge<Double>() {
+        @Override
+        public Double getValue() {
+          return (double) getInUse(integrationType) / getCapacity(integrationType);
+        }
+      });
+    }
+  }
+
+  private int readCapacity(String integrationType) {
+    int defaultCapacity = environment.getProperty(MAX_CONCURRENT_KEY, Integer.class,
+        DEFAULT_MAX_CONCURRENT);
+    int capacity = environment.getProperty(INTEGRATIONS_KEY + integrationType, Integer.class,
+        defaultCapacity);
+    return capacity > 0 ? capacity : DEFAULT_MAX_CONCURRENT;
+  }
+
+  /**
+   * Concurrency budget of a single integration.
+   */
+  private class Bulkhead {
+
+    private final int capacity;
+
+    private final Semaphore semaphore;
+
+    private final Meter rejected;
+
+    Bulkhead(String integrationType) {
+      this.capacity = readCapacity(integrationType);
+      this.semaphore = new Semaphore(capacity);
+      this.rejected = metricRegistry.meter(
+          MetricRegistry.name(BASE_METRIC_NAME, integrationType, BULKHEAD, REJECTED));
+    }
+
+  }
+
+}
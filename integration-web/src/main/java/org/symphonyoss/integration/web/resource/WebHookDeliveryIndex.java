@@ -0,0 +1,223 @@
+/**
+ * Copyright 2016-2017 Symphony Integrations - Symphony LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.symphonyoss.integration.web.resource;
+
+import static org.symphonyoss.integration.metrics.IntegrationMetricsConstants.BASE_METRIC_NAME;
+
+import com.codahale.metrics.MetricRegistry;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import org.apache.commons.lang3.StringUtils;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+import org.symphonyoss.integration.webhook.WebHookPayload;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+
+import javax.annotation.PostConstruct;
+
+/**
+ * Memory-bounded and time-windowed index of the webhook deliveries already accepted by the
+ * Integration Bridge. It's used to acknowledge the retries sent by the third-party services
+ * without processing the same event twice.
+ *
+ * The deliveries are identified by a header defined per integration, falling back to a hash of
+ * the payload when the header is missing. Integrations that don't send a delivery identifier can
+ * be configured to use the payload hash only.
+ *
+ * A delivery is kept in progress until it's handled. Retries received meanwhile must be answered
+ * with HTTP 503 and the Retry-After header, since the first delivery may still fail. Only the
+ * retries of completed deliveries are acknowledged.
+ *
+ * <pre>
+ * webhook_dedupe:
+ *   window_seconds: 600
+ *   max_entries: 50000
+ *   retry_after_seconds: 5
+ *   integrations:
+ *     githubWebHookIntegration: X-GitHub-Delivery
+ *     zendeskWebHookIntegration: payload_hash
+ * </pre>
+ */
+@Component
+public class WebHookDeliveryIndex {
+
+  public static final String WINDOW_KEY = "webhook_dedupe.window_seconds";
+
+  public static final String MAX_ENTRIES_KEY = "webhook_dedupe.max_entries";
+
+  public static final String INTEGRATIONS_KEY = "webhook_dedupe.integrations.";
+
+  public static final String RETRY_AFTER_KEY = "webhook_dedupe.retry_after_seconds";
+
+  public static final String PAYLOAD_HASH = "payload_hash";
+
+  public static final long DEFAULT_WINDOW_SECONDS = 600;
+
+  public static final long DEFAULT_MAX_ENTRIES = 50000;
+
+  public static final long DEFAULT_RETRY_AFTER_SECONDS = 5;
+
+  private static final String DUPLICATES = "duplicates";
+
+  private static final String HASH_ALGORITHM = "SHA-256";
+
+  /**
+   * Number of segments of the index. Each segment is guarded by its own lock.
+   */
+  private static final int CONCURRENCY_LEVEL = 16;
+
+  private static final char KEY_SEPARATOR = ':';
+
+  /**
+   * Delivery states kept by the index.
+   */
+  public enum DeliveryState {
+
+    /**
+     * The delivery is being handled. It's released if the handling fails.
+     */
+    IN_PROGRESS,
+
+    /**
+     * The delivery was handled successfully.
+     */
+    COMPLETED
+
+  }
+
+  @Autowired
+  private Environment environment;
+
+  @Autowired
+  private MetricRegistry metricRegistry;
+
+  private Cache<String, DeliveryState> deliveries;
+
+  private long retryAfterSeconds;
+
+  @PostConstruct
+  public void init() {
+    long window = environment.getProperty(WINDOW_KEY, Long.class, DEFAULT_WINDOW_SECONDS);
+    long maxEntries = environment.getProperty(MAX_ENTRIES_KEY, Long.class, DEFAULT_MAX_ENTRIES);
+
+    this.retryAfterSeconds =
+        environment.getProperty(RETRY_AFTER_KEY, Long.class, DEFAULT_RETRY_AFTER_SECONDS);
+
+    this.deliveries = CacheBuilder.newBuilder()
+        .concurrencyLevel(CONCURRENCY_LEVEL)
+        .maximumSize(maxEntries)
+        .expireAfterWrite(window, TimeUnit.SECONDS)
+        .build();
+  }
+
+  /**
+   * Builds the delivery key for the webhook request.
+   * @param integrationType Integration type
+   * @param hash Configuration instance identifier
+   * @param payload Webhook payload
+   * @return Delivery key or null if the integration doesn't require deduplication
+   */
+  public String getDeliveryKey(String integrationType, String hash, WebHookPayload payload) {
+    String strategy = environment.getProperty(INTEGRATIONS_KEY + integrationType);
+
+    if (StringUtils.isBlank(strategy)) {
+      return null;
+    }
+
+    String deliveryId = null;
+
+    if (!PAYLOAD_HASH.equals(strategy)) {
+      deliveryId = payload.getHeaders().get(strategy);
+    }
+
+    if (StringUtils.isBlank(deliveryId)) {
+      deliveryId = hashPayload(payload);
+    }
+
+    return integrationType + KEY_SEPARATOR + hash + KEY_SEPARATOR + deliveryId;
+  }
+
+  /**
+   * Registers the delivery key as in progress if it wasn't seen inside the time window.
+   * @param integrationType Integration type
+   * @param key Delivery key
+   * @return State of the delivery already registered or null if it's a new delivery
+   */
+  public DeliveryState begin(String integrationType, String key) {
+    DeliveryState state = deliveries.asMap().putIfAbsent(key, DeliveryState.IN_PROGRESS);
+
+    if (state != null) {
+      metricRegistry.meter(MetricRegistry.name(BASE_METRIC_NAME, integrationType, DUPLICATES))
+          .mark();
+    }
+
+    return state;
+  }
+
+  /**
+   * Marks the delivery as completed, so the sender retries are acknowledged. It must be called
+   * when the delivery succeeds.
+   * @param key Delivery key
+   */
+  public void complete(String key) {
+    deliveries.put(key, DeliveryState.COMPLETED);
+  }
+
+  /**
+   * Removes the delivery key, so the sender retry can be processed. It must be called when the
+   * delivery fails.
+   * @param key Delivery key
+   */
+  public void release(String key) {
+    deliveries.invalidate(key);
+  }
+
+  /**
+   * Retrieves the delay (in seconds) the senders should wait before retrying a delivery that is
+   * still in progress.
+   * @return Retry delay (in seconds)
+   */
+  public long getRetryAfterSeconds() {
+    return retryAfterSeconds;
+  }
+
+  private String hashPayload(WebHookPayload payload) {
+    try {
+      MessageDigest digest = MessageDigest.getInstance(HASH_ALGORITHM);
+
+      if (payload.getBody() != null) {
+        digest.update(payload.getBody().getBytes(StandardCharsets.UTF_8));
+      } else {
+        Map<String, String> parameters = new TreeMap<>(payload.getParameters());
+        digest.update(parameters.toString().getBytes(StandardCharsets.UTF_8));
+      }
+
+      return Base64.getEncoder().encodeToString(digest.digest());
+    } catch (NoSuchAlgorithmException e) {
+      throw new IllegalStateException(HASH_ALGORITHM, e);
+    }
+  }
+
+}
@@ -24,23 +24,38 @@ import static org.symphonyoss.integration.web.properties.WebHookDispatcherResour
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.PathVariable;
-import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestMethod;
 import org.springframework.web.bind.annotation.RequestPart;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.async.WebAsyncTask;
+import org.symphonyoss.integration.core.trace.ProcessingStage;
+import org.symphonyoss.integration.core.trace.StageContext;
+import org.symphonyoss.integration.core.trace.StageTracingUtils;
 import org.symphonyoss.integration.entity.MessageMLParseException;
 import org.symphonyoss.integration.exception.RemoteApiException;
 import org.symphonyoss.integration.logging.LogMessageSource;
+import org.symphonyoss.integration.web.async.AsyncRequestExecutor;
+import org.symphonyoss.integration.web.capture.WebHookTrafficCapture;
+import org.symphonyoss.integration.web.jfr.WebHookEvent;
+import org.symphonyoss.integration.web.jfr.WebHookEvents;
+import org.symphonyoss.integration.web.limiter.LocalRejection;
+import org.symphonyoss.integration.web.payload.WebHookPayloadReader;
+import org.symphonyoss.integration.web.resource.WebHookDeliveryIndex.DeliveryState;
 import org.symphonyoss.integration.webhook.WebHookIntegration;
 import org.symphonyoss.integration.webhook.WebHookPayload;
 import org.symphonyoss.integration.webhook.exception.WebHookParseException;
 
+import java.io.IOException;
+import java.util.concurrent.Callable;
+import java.util.concurrent.atomic.AtomicBoolean;
+
 import javax.servlet.http.HttpServletRequest;
 
 /**
@@ -60,6 +75,18 @@ public class WebHookDispatcherResource extends WebHookResource {
   @Autowired
   private LogMessageSource logMessage;
 
+  @Autowired
+  private WebHookDeliveryIndex deliveryIndex;
+
+  @Autowired
+  private WebHookPayloadReader payloadReader;
+
+  @Autowired
+  private AsyncRequestExecutor asyncRequestExecutor;
+
+  @Autowired
+  private WebHookTrafficCapture trafficCapture;
+
   /**
    * Handle HTTP POST requests sent from third-party apps to post messages with Content-type
    * 'application/x-www-form-urlencoded'
@@ -90,8 +117,53 @@ public class WebHookDispatcherResource extends WebHookResource {
       consumes = MediaType.APPLICATION_FORM_URLENCODED_VALUE, method = RequestMethod.POST,
       produces = MediaType.TEXT_PLAIN_VALUE)
   public ResponseEntity<String> handleFormRequest(@PathVariable String hash,
-      @PathVariable String configurationId, HttpServletRequest request) throws RemoteApiException {
-    return handleRequest(hash, configurationId, null, request);
+      @PathVariable String configurationId, HttpServletRequest request)
+      throws RemoteApiException {
+    LOGGER.debug("Request received for hash {} and configuration {}", hash, configurationId);
+
+    WebHookIntegration whiIntegration = getWebHookIntegration(configurationId);
+    WebHookPayload payload = retrieveWebHookPayload(request, null);
+
+    return handleRequest(hash, configurationId, whiIntegration, payload, request);
+  }
+
+  /**
+   * Handle HTTP POST requests sent from third-party apps to post messages with Content-type
+   * 'application/x-www-form-urlencoded'. The request is handled asynchronously.
+   * @param hash Configuration instance identifier
+   * @param configurationId Configuration identifier
+   * @param configurationType Configuration type
+   * @param request HTTP request
+   * @return Asynchronous task that returns HTTP 200 if success or HTTP error otherwise.
+   */
+  @RequestMapping(value = "/{configurationType}/{configurationId}/{hash}/async",
+      consumes = MediaType.APPLICATION_FORM_URLENCODED_VALUE, method = RequestMethod.POST,
+      produces = MediaType.TEXT_PLAIN_VALUE)
+  public WebAsyncTask<ResponseEntity<String>> handleFormRequestAsync(@PathVariable String hash,
+      @PathVariable String configurationId, @PathVariable String configurationType,
+      HttpServletRequest request) {
+    return handleFormRequestAsync(hash, configurationId, request);
+  }
+
+  /**
+   * Handle HTTP POST requests sent from third-party apps to post messages with Content-type
+   * 'application/x-www-form-urlencoded'. The request is handled asynchronously.
+   * @param hash Configuration instance identifier
+   * @param configurationId Configuration identifier
+   * @param request HTTP request
+   * @return Asynchronous task that returns HTTP 200 if success or HTTP error otherwise.
+   */
+  @RequestMapping(value = "/{configurationId}/{hash}/async",
+      consumes = MediaType.APPLICATION_FORM_URLENCODED_VALUE, method = RequestMethod.POST,
+      produces = MediaType.TEXT_PLAIN_VALUE)
+  public WebAsyncTask<ResponseEntity<String>> handleFormRequestAsync(@PathVariable String hash,
+      @PathVariable String configurationId, HttpServletRequest request) {
+    LOGGER.debug("Request received for hash {} and configuration {}", hash, configurationId);
+
+    WebHookIntegration whiIntegration = getWebHookIntegration(configurationId);
+    WebHookPayload payload = retrieveDetachedWebHookPayload(request, null);
+
+    return handleRequestAsync(hash, configurationId, whiIntegration, payload, request);
   }
 
   /**
@@ -107,12 +179,14 @@ public class WebHookDispatcherResource extends WebHookResource {
       produces = MediaType.TEXT_PLAIN_VALUE)
   public ResponseEntity<String> handleRequest(@PathVariable String hash,
       @PathVariable String configurationId, @PathVariable String configurationType,
-      @RequestBody String body, HttpServletRequest request) throws RemoteApiException {
-    return handleRequest(hash, configurationId, body, request);
+      HttpServletRequest request) throws RemoteApiException, IOException {
+    return handleRequest(hash, configurationId, request);
   }
 
   /**
-   * Handle HTTP POST requests sent from third-party apps to post messages.
+   * Handle HTTP POST requests sent from third-party apps to post messages. The request body is
+   * read only after the integration is resolved, limited to the maximum payload size allowed for
+   * the integration.
    * @param hash Configuration instance identifier
    * @param configurationId Configuration identifier
    * @param request HTTP request
@@ -121,38 +195,217 @@ public class WebHookDispatcherResource extends WebHookResource {
   @RequestMapping(value = "/{configurationId}/{hash}", consumes = MediaType.ALL_VALUE,
       method = RequestMethod.POST, produces = MediaType.TEXT_PLAIN_VALUE)
   public ResponseEntity<String> handleRequest(@PathVariable String hash,
-      @PathVariable String configurationId, @RequestBody String body, HttpServletRequest request)
-      throws RemoteApiException {
-    LOGGER.info("Request received for hash {} and configuration {}", hash, configurationId);
+      @PathVariable String configurationId, HttpServletRequest request)
+      throws RemoteApiException, IOException {
+    LOGGER.debug("Request received for hash {} and configuration {}", hash, configurationId);
 
     WebHookIntegration whiIntegration = getWebHookIntegration(configurationId);
+
+    String body = payloadReader.readBody(whiIntegration.getSettings().getType(), request);
     WebHookPayload payload = retrieveWebHookPayload(request, body);
 
-    return handleRequest(hash, configurationId, whiIntegration, payload);
+    return handleRequest(hash, configurationId, whiIntegration, payload, request);
+  }
+
+  /**
+   * Handle HTTP POST requests sent from third-party apps to post messages. The request is handled
+   * asynchronously.
+   * @param hash Configuration instance identifier
+   * @param configurationId Configuration identifier
+   * @param configurationType Configuration type
+   * @param request HTTP request
+   * @return Asynchronous task that returns HTTP 200 if success or HTTP error otherwise.
+   */
+  @RequestMapping(value = "/{configurationType}/{configurationId}/{hash}/async",
+      consumes = MediaType.ALL_VALUE, method = RequestMethod.POST,
+      produces = MediaType.TEXT_PLAIN_VALUE)
+  public WebAsyncTask<ResponseEntity<String>> handleRequestAsync(@PathVariable String hash,
+      @PathVariable String configurationId, @PathVariable String configurationType,
+      HttpServletRequest request) throws IOException {
+    return handleRequestAsync(hash, configurationId, request);
+  }
+
+  /**
+   * Handle HTTP POST requests sent from third-party apps to post messages. The request is handled
+   * asynchronously, but the body is read on the container thread.
+   * @param hash Configuration instance identifier
+   * @param configurationId Configuration identifier
+   * @param request HTTP request
+   * @return Asynchronous task that returns HTTP 200 if success or HTTP error otherwise.
+   */
+  @RequestMapping(value = "/{configurationId}/{hash}/async", consumes = MediaType.ALL_VALUE,
+      method = RequestMethod.POST, produces = MediaType.TEXT_PLAIN_VALUE)
+  public WebAsyncTask<ResponseEntity<String>> handleRequestAsync(@PathVariable String hash,
+      @PathVariable String configurationId, HttpServletRequest request) throws IOException {
+    LOGGER.debug("Request received for hash {} and configuration {}", hash, configurationId);
+
+    WebHookIntegration whiIntegration = getWebHookIntegration(configurationId);
+
+    String body = payloadReader.readBody(whiIntegration.getSettings().getType(), request);
+    WebHookPayload payload = retrieveDetachedWebHookPayload(request, body);
+
+    return handleRequestAsync(hash, configurationId, whiIntegration, payload, request);
   }
 
   private ResponseEntity<String> handleRequest(String hash, String configurationId,
-      WebHookIntegration whiIntegration, WebHookPayload payload) throws RemoteApiException {
-    // Checks if the payload has the correct content type
-    if (!whiIntegration.isSupportedContentType(payload.getContentType())) {
-        String msg = String.format("Unsupported Content-Type [%s]. Accept %s", payload.getContentType(),
-                whiIntegration.getSupportedContentTypes());
-        LOGGER.error(msg);
-        return ResponseEntity.status(HttpStatus.UNSUPPORTED_MEDIA_TYPE).body(msg);
+      WebHookIntegration whiIntegration, WebHookPayload payload, HttpServletRequest request)
+      throws RemoteApiException {
+    trafficCapture.record(whiIntegration.getSettings().getType(), configurationId, hash, payload);
+
+    return handleRequest(hash, configurationId, whiIntegration, payload,
+        request.getContentLengthLong(), LocalRejection.of(request), null);
+  }
+
+  /**
+   * Submits the request handling to the asynchronous request executor. Everything the worker
+   * needs is taken from the servlet request on the container thread, since the request may be
+   * recycled by the container once the asynchronous request times out.
+   */
+  private WebAsyncTask<ResponseEntity<String>> handleRequestAsync(final String hash,
+      final String configurationId, final WebHookIntegration whiIntegration,
+      final WebHookPayload payload, HttpServletRequest request) {
+    trafficCapture.record(whiIntegration.getSettings().getType(), configurationId, hash, payload);
+
+    final long contentLength = request.getContentLengthLong();
+    final LocalRejection rejection = LocalRejection.of(request);
+    final AtomicBoolean timedOut = new AtomicBoolean();
+
+    return asyncRequestExecutor.submit(new Callable<ResponseEntity<String>>() {
+      @Override
+      public ResponseEntity<String> call() throws Exception {
+        return handleRequest(hash, configurationId, whiIntegration, payload, contentLength,
+            rejection, timedOut);
+      }
+    }, timedOut);
+  }
+
+  /**
+   * Handles the request holding a slot of the integration bulkhead. The slot is taken by the
+   * thread that performs the downstream calls, so it's also released by it when the request is
+   * handled asynchronously.
+   */
+  private ResponseEntity<String> handleRequest(String hash, String configurationId,
+      WebHookIntegration whiIntegration, WebHookPayload payload, long contentLength,
+      LocalRejection rejection, AtomicBoolean timedOut) throws RemoteApiException {
+    String integrationType = whiIntegration.getSettings().getType();
+    enterBulkhead(integrationType);
+
+    try {
+      return dispatchRequest(hash, configurationId, whiIntegration, payload, contentLength,
+          rejection, timedOut);
+    } finally {
+      exitBulkhead(integrationType);
     }
+  }
+
+  private ResponseEntity<String> dispatchRequest(String hash, String configurationId,
+      WebHookIntegration whiIntegration, WebHookPayload payload, long contentLength,
+      LocalRejection rejection, AtomicBoolean timedOut) throws RemoteApiException {
+    WebHookEvent event = WebHookEvents.newWebHookEvent();
+    event.begin();
+
+    String outcome = WebHookEvent.FAILED;
 
-    // handles the request
     try {
+      // Checks if the payload has the correct content type
+      if (!whiIntegration.isSupportedContentType(payload.getContentType())) {
+        String msg = String.format("Unsupported Content-Type [%s]. Accept %s",
+            payload.getContentType(), whiIntegration.getSupportedContentTypes());
+        LOGGER.error(msg);
+        outcome = WebHookEvent.UNSUPPORTED_CONTENT_TYPE;
+        return ResponseEntity.status(HttpStatus.UNSUPPORTED_MEDIA_TYPE).body(msg);
+      }
+
+      // The sender was already answered with HTTP 503, so it will retry the delivery
+      if (timedOut != null && timedOut.get()) {
+        LOGGER.warn("Request timed out before being handled for hash {} and configuration {}",
+            hash, configurationId);
+        outcome = WebHookEvent.TIMED_OUT;
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build();
+      }
+
       String configurationType = whiIntegration.getSettings().getType();
-      whiIntegration.handle(hash, configurationType, payload);
-      return ResponseEntity.ok().body("");
-    } catch (WebHookParseException | MessageMLParseException e) {
-      String message = logMessage.getMessage(CANT_PARSE_PAYLOAD, hash, configurationId);
-      String solution = logMessage.getMessage(CANT_PARSE_PAYLOAD_SOLUTION);
-      LOGGER.error(String.format("%s\n%s", message, solution), e);
-      return ResponseEntity.status(HttpStatus.BAD_REQUEST)
-          .body(String.format("Couldn't validate the incoming payload for the instance: %s", hash));
+
+      // Senders retry on timeouts, the retried deliveries are acknowledged without processing
+      String deliveryKey = deliveryIndex.getDeliveryKey(configurationType, hash, payload);
+
+      DeliveryState state =
+          deliveryKey != null ? deliveryIndex.begin(configurationType, deliveryKey) : null;
+
+      if (DeliveryState.COMPLETED.equals(state)) {
+        LOGGER.debug("Duplicate delivery acknowledged for hash {} and configuration {}", hash,
+            configurationId);
+        outcome = WebHookEvent.DUPLICATE;
+        return ResponseEntity.ok().body("");
+      }
+
+      // The first delivery may still fail, so the sender must retry it later
+      if (DeliveryState.IN_PROGRESS.equals(state)) {
+        LOGGER.debug("Delivery in progress for hash {} and configuration {}", hash,
+            configurationId);
+        outcome = WebHookEvent.IN_PROGRESS;
+        rejection.mark();
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+            .header(HttpHeaders.RETRY_AFTER,
+                String.valueOf(deliveryIndex.getRetryAfterSeconds()))
+            .body("Delivery in progress");
+      }
+
+      boolean delivered = false;
+      StageContext stage = StageTracingUtils.startStage(ProcessingStage.HANDLE);
+
+      // handles the request
+      try {
+        whiIntegration.handle(hash, configurationType, payload);
+        delivered = true;
+        outcome = WebHookEvent.DELIVERED;
+        return ResponseEntity.ok().body("");
+      } catch (WebHookParseException | MessageMLParseException e) {
+        String message = logMessage.getMessage(CANT_PARSE_PAYLOAD, hash, configurationId);
+        String solution = logMessage.getMessage(CANT_PARSE_PAYLOAD_SOLUTION);
+        LOGGER.error(String.format("%s\n%s", message, solution), e);
+        outcome = WebHookEvent.INVALID_PAYLOAD;
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+            .body(String.format("Couldn't validate the incoming payload for the instance: %s",
+                hash));
+      } finally {
+        StageTracingUtils.finishStage(stage);
+
+        if (deliveryKey != null) {
+          if (delivered) {
+            deliveryIndex.complete(deliveryKey);
+          } else {
+            deliveryIndex.release(deliveryKey);
+          }
+        }
+      }
+    } finally {
+      event.end();
+
+      if (event.shouldCommit()) {
+        event.commit(configurationId, hash, getPayloadSize(contentLength, payload), outcome);
+      }
+
+      if (StageTracingUtils.currentSpan() != null) {
+        StageTracingUtils.setOutcome(configurationId, hash, getPayloadSize(contentLength, payload),
+            outcome);
+      }
+    }
+  }
+
+  /**
+   * Retrieves the payload size from the Content-Length header, falling back to the body length
+   * when the header is missing.
+   * @param contentLength Content-Length header or -1 if it's missing
+   * @param payload Webhook payload
+   * @return Payload size
+   */
+  private long getPayloadSize(long contentLength, WebHookPayload payload) {
+    if (contentLength < 0 && payload.getBody() != null) {
+      return payload.getBody().length();
     }
+
+    return Math.max(contentLength, 0);
   }
 
   /**
@@ -177,12 +430,18 @@ public class WebHookDispatcherResource extends WebHookResource {
   @RequestMapping(value = "/{configurationId}/{hash}", method = RequestMethod.HEAD)
   public ResponseEntity<Void> handleHeadRequest(@PathVariable String hash,
       @PathVariable String configurationId) {
-    LOGGER.info("HEAD Request received for hash {} and configuration {}", hash, configurationId);
+    LOGGER.debug("HEAD Request received for hash {} and configuration {}", hash, configurationId);
 
     WebHookIntegration webHookIntegration = getWebHookIntegration(configurationId);
 
     String configurationType = webHookIntegration.getSettings().getType();
-    getConfigurationInstance(hash, configurationId, configurationType);
+    enterBulkhead(configurationType);
+
+    try {
+      getConfigurationInstance(hash, configurationId, configurationType);
+    } finally {
+      exitBulkhead(configurationType);
+    }
 
     return ResponseEntity.ok().build();
   }
@@ -214,13 +473,14 @@ public class WebHookDispatcherResource extends WebHookResource {
    * @param request HTTP request
    * @return HTTP 200 if success or HTTP error otherwise.
    */
-  @RequestMapping(value = "/{configurationId}/{hash}", consumes = MediaType.MULTIPART_FORM_DATA_VALUE,
-      method = RequestMethod.POST, produces = MediaType.TEXT_PLAIN_VALUE)
+  @RequestMapping(value = "/{configurationId}/{hash}",
+      consumes = MediaType.MULTIPART_FORM_DATA_VALUE, method = RequestMethod.POST,
+      produces = MediaType.TEXT_PLAIN_VALUE)
   public ResponseEntity<String> handleMultiPartFormDataRequest(@PathVariable String hash,
       @PathVariable String configurationId, @RequestPart(value = "message") String message,
       @RequestPart(value = "data", required = false) String data, HttpServletRequest request)
       throws RemoteApiException {
-    LOGGER.info("Request received for hash {} and configuration {}", hash, configurationId);
+    LOGGER.debug("Request received for hash {} and configuration {}", hash, configurationId);
 
     WebHookIntegration whiIntegration = getWebHookIntegration(configurationId);
 
@@ -228,7 +488,51 @@ public class WebHookDispatcherResource extends WebHookResource {
     payload.addParameter(MESSAGE, message);
     payload.addParameter(DATA, data);
 
-    return handleRequest(hash, configurationId, whiIntegration, payload);
+    return handleRequest(hash, configurationId, whiIntegration, payload, request);
+  }
+
+  /**
+   * Handle HTTP POST requests sent from third-party apps to post messages with Content-type
+   * 'multipart/form-data'. The request is handled asynchronously.
+   * @param hash Configuration instance identifier
+   * @param configurationId Configuration identifier
+   * @param request HTTP request
+   * @return Asynchronous task that returns HTTP 200 if success or HTTP error otherwise.
+   */
+  @RequestMapping(value = "/{configurationType}/{configurationId}/{hash}/async",
+      consumes = MediaType.MULTIPART_FORM_DATA_VALUE, method = RequestMethod.POST,
+      produces = MediaType.TEXT_PLAIN_VALUE)
+  public WebAsyncTask<ResponseEntity<String>> handleMultiPartFormDataRequestAsync(
+      @PathVariable String hash, @PathVariable String configurationId,
+      @PathVariable String configurationType, @RequestPart(value = "message") String message,
+      @RequestPart(value = "data", required = false) String data, HttpServletRequest request) {
+    return handleMultiPartFormDataRequestAsync(hash, configurationId, message, data, request);
+  }
+
+  /**
+   * Handle HTTP POST requests sent from third-party apps to post messages with Content-type
+   * 'multipart/form-data'. The request is handled asynchronously.
+   * @param hash Configuration instance identifier
+   * @param configurationId Configuration identifier
+   * @param request HTTP request
+   * @return Asynchronous task that returns HTTP 200 if success or HTTP error otherwise.
+   */
+  @RequestMapping(value = "/{configurationId}/{hash}/async",
+      consumes = MediaType.MULTIPART_FORM_DATA_VALUE, method = RequestMethod.POST,
+      produces = MediaType.TEXT_PLAIN_VALUE)
+  public WebAsyncTask<ResponseEntity<String>> handleMultiPartFormDataRequestAsync(
+      @PathVariable String hash, @PathVariable String configurationId,
+      @RequestPart(value = "message") String message,
+      @RequestPart(value = "data", required = false) String data, HttpServletRequest request) {
+    LOGGER.debug("Request received for hash {} and configuration {}", hash, configurationId);
+
+    WebHookIntegration whiIntegration = getWebHookIntegration(configurationId);
+
+    WebHookPayload payload = retrieveDetachedWebHookPayload(request, null);
+    payload.addParameter(MESSAGE, message);
+    payload.addParameter(DATA, data);
+
+    return handleRequestAsync(hash, configurationId, whiIntegration, payload, request);
   }
 
   @ExceptionHandler(RemoteApiException.class)
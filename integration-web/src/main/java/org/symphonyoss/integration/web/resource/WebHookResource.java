@@ -20,6 +20,10 @@ import static org.symphonyoss.integration.web.properties.WebHookResourceProperti
     .INTEGRATION_BRIDGE_UNAVAILABLE;
 import static org.symphonyoss.integration.web.properties.WebHookResourceProperties
     .INTEGRATION_BRIDGE_UNAVAILABLE_SOLUTION;
+import static org.symphonyoss.integration.web.properties.WebHookResourceProperties
+    .INTEGRATION_BULKHEAD_FULL;
+import static org.symphonyoss.integration.web.properties.WebHookResourceProperties
+    .INTEGRATION_BULKHEAD_FULL_SOLUTION;
 import static org.symphonyoss.integration.web.properties.WebHookResourceProperties
     .WEBHOOK_CONFIGURATION_UNAVAILABLE;
 import static org.symphonyoss.integration.web.properties.WebHookResourceProperties
@@ -38,6 +42,9 @@ import org.springframework.web.bind.annotation.ResponseBody;
 import org.springframework.web.bind.annotation.RestController;
 import org.springframework.web.multipart.support.MissingServletRequestPartException;
 import org.symphonyoss.integration.config.exception.InstanceNotFoundException;
+import org.symphonyoss.integration.core.trace.ProcessingStage;
+import org.symphonyoss.integration.core.trace.StageContext;
+import org.symphonyoss.integration.core.trace.StageTracingUtils;
 import org.symphonyoss.integration.exception.IntegrationUnavailableException;
 import org.symphonyoss.integration.exception.authentication.ConnectivityException;
 import org.symphonyoss.integration.exception.config.ForbiddenUserException;
@@ -48,16 +55,23 @@ import org.symphonyoss.integration.model.config.IntegrationInstance;
 import org.symphonyoss.integration.service.IntegrationBridge;
 import org.symphonyoss.integration.service.IntegrationService;
 import org.symphonyoss.integration.web.exception.IntegrationBridgeUnavailableException;
+import org.symphonyoss.integration.web.exception.IntegrationBulkheadFullException;
+import org.symphonyoss.integration.web.exception.PayloadTooLargeException;
+import org.symphonyoss.integration.web.exception.RequestTimeoutException;
+import org.symphonyoss.integration.web.limiter.LocalRejection;
+import org.symphonyoss.integration.web.payload.RequestHeaderMap;
+import org.symphonyoss.integration.web.payload.RequestParameterMap;
 import org.symphonyoss.integration.webhook.WebHookIntegration;
 import org.symphonyoss.integration.webhook.WebHookPayload;
 import org.symphonyoss.integration.webhook.exception.WebHookDisabledException;
 import org.symphonyoss.integration.webhook.exception.WebHookUnavailableException;
 import org.symphonyoss.integration.webhook.exception.WebHookUnprocessableEntityException;
 
-import java.util.Enumeration;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.TreeMap;
 import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
 
@@ -86,6 +100,9 @@ public abstract class WebHookResource {
   @Autowired
   private LogMessageSource logMessage;
 
+  @Autowired
+  private WebHookBulkheads bulkheads;
+
   /**
    * Represents the current circuit state that Integration Bridge uses to determine whether it is
    * available to receive messages or not. If this flag changes to false, the integration bridge
@@ -125,18 +142,50 @@ public abstract class WebHookResource {
    * @return the {@link WebHookIntegration} object if the process will continue.
    */
   protected WebHookIntegration checkIntegrationAvailability(String configurationId) {
-    // check general availability
-    checkIntegrationBridgeAvailability();
-
-    WebHookIntegration whiIntegration =
-        (WebHookIntegration) this.integrationBridge.getIntegrationById(configurationId);
-    if (whiIntegration == null) {
-      String message = logMessage.getMessage(WEBHOOK_CONFIGURATION_UNAVAILABLE, configurationId);
-      String solution = logMessage.getMessage(WEBHOOK_CONFIGURATION_UNAVAILABLE_SOLUTION);
-      throw new IntegrationUnavailableException(COMPONENT, message, solution);
+    StageContext stage = StageTracingUtils.startStage(ProcessingStage.AVAILABILITY_CHECK);
+
+    try {
+      // check general availability
+      checkIntegrationBridgeAvailability();
+
+      WebHookIntegration whiIntegration =
+          (WebHookIntegration) this.integrationBridge.getIntegrationById(configurationId);
+      if (whiIntegration == null) {
+        String message = logMessage.getMessage(WEBHOOK_CONFIGURATION_UNAVAILABLE, configurationId);
+        String solution = logMessage.getMessage(WEBHOOK_CONFIGURATION_UNAVAILABLE_SOLUTION);
+        throw new IntegrationUnavailableException(COMPONENT, message, solution);
+      }
+
+      StageTracingUtils.setIntegration(whiIntegration.getSettings().getType());
+
+      return whiIntegration;
+    } finally {
+      StageTracingUtils.finishStage(stage);
     }
+  }
 
-    return whiIntegration;
+  /**
+   * Reserves a slot in the integration bulkhead, failing fast if the integration is already
+   * handling the maximum number of concurrent requests allowed for it. Callers must release the
+   * slot with {@link #exitBulkhead(String)} in a finally block.
+   * @param integrationType Integration type
+   * @throws IntegrationBulkheadFullException Integration bulkhead is full
+   */
+  protected void enterBulkhead(String integrationType) {
+    if (!bulkheads.tryAcquire(integrationType)) {
+      String capacity = String.valueOf(bulkheads.getCapacity(integrationType));
+      String message = logMessage.getMessage(INTEGRATION_BULKHEAD_FULL, integrationType, capacity);
+      String solution = logMessage.getMessage(INTEGRATION_BULKHEAD_FULL_SOLUTION, integrationType);
+      throw new IntegrationBulkheadFullException(message, solution);
+    }
+  }
+
+  /**
+   * Releases the slot reserved by {@link #enterBulkhead(String)}.
+   * @param integrationType Integration type
+   */
+  protected void exitBulkhead(String integrationType) {
+    bulkheads.release(integrationType);
   }
 
   /**
@@ -155,26 +204,33 @@ public abstract class WebHookResource {
   }
 
   /**
-   * Retrieve the payload that will be sent to {@link WebHookIntegration}
+   * Retrieve the payload that will be sent to {@link WebHookIntegration}. Headers and parameters
+   * are exposed through views over the servlet request instead of being copied.
    * @param request
    * @param body
    * @return
    */
   protected WebHookPayload retrieveWebHookPayload(HttpServletRequest request, String body) {
-    Map<String, String> parameters = new HashMap<>();
-    Map<String, String> headers = new HashMap<>();
+    Map<String, String> parameters = new RequestParameterMap(request);
+    Map<String, String> headers = new RequestHeaderMap(request);
 
-    Enumeration<String> paramEnum = request.getParameterNames();
-    while (paramEnum.hasMoreElements()) {
-      String paramName = paramEnum.nextElement();
-      parameters.put(paramName, request.getParameter(paramName));
-    }
+    return new WebHookPayload(parameters, headers, body);
+  }
 
-    Enumeration<String> headerEnum = request.getHeaderNames();
-    while (headerEnum.hasMoreElements()) {
-      String headerName = headerEnum.nextElement();
-      headers.put(headerName, request.getHeader(headerName));
-    }
+  /**
+   * Retrieve the payload that will be sent to {@link WebHookIntegration} by the asynchronous
+   * requests. Headers and parameters are copied, since the servlet request may be recycled by the
+   * container before the payload is handled. Header lookups remain case-insensitive.
+   * @param request HTTP request
+   * @param body Request body
+   * @return Payload detached from the servlet request
+   */
+  protected WebHookPayload retrieveDetachedWebHookPayload(HttpServletRequest request,
+      String body) {
+    Map<String, String> parameters = new HashMap<>(new RequestParameterMap(request));
+
+    Map<String, String> headers = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+    headers.putAll(new RequestHeaderMap(request));
 
     return new WebHookPayload(parameters, headers, body);
   }
@@ -252,21 +308,50 @@ public abstract class WebHookResource {
   }
 
   /**
-   * Handle {@link IntegrationBridgeUnavailableException} and {@link WebHookUnavailableException}
-   * exceptions.
+   * Handle {@link IntegrationBridgeUnavailableException}, {@link WebHookUnavailableException}
+   * and {@link RequestTimeoutException} exceptions.
    * @param ex Exception object
    * @return HTTP 503 (Service Unavailable)
    */
   @ResponseBody
   @ExceptionHandler(
       {IntegrationBridgeUnavailableException.class, WebHookUnavailableException.class,
-          IntegrationUnavailableException.class})
+          IntegrationUnavailableException.class, RequestTimeoutException.class,
+          RejectedExecutionException.class})
   public ResponseEntity<String> handleServiceUnavailableException(Exception ex) {
     String message = ex.getMessage();
     LOGGER.error(message);
     return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(message);
   }
 
+  /**
+   * Handle {@link IntegrationBulkheadFullException} exceptions. The request didn't reach the
+   * downstream services, so it's marked as a {@link LocalRejection}.
+   * @param ex Exception object
+   * @param request HTTP request
+   * @return HTTP 503 (Service Unavailable)
+   */
+  @ResponseBody
+  @ExceptionHandler(IntegrationBulkheadFullException.class)
+  public ResponseEntity<String> handleBulkheadFullException(IntegrationBulkheadFullException ex,
+      HttpServletRequest request) {
+    LocalRejection.of(request).mark();
+    return handleServiceUnavailableException(ex);
+  }
+
+  /**
+   * Handle {@link PayloadTooLargeException} exceptions.
+   * @param e Exception object
+   * @return HTTP 413 (Payload Too Large)
+   */
+  @ResponseBody
+  @ExceptionHandler(PayloadTooLargeException.class)
+  public ResponseEntity<String> handlePayloadTooLargeException(PayloadTooLargeException e) {
+    String message = e.getMessage();
+    LOGGER.warn(message);
+    return ResponseEntity.status(HttpStatus.PAYLOAD_TOO_LARGE).body(message);
+  }
+
   /**
    * Handle {@link WebHookUnprocessableEntityException} exceptions.
    * @param e Exception object
@@ -72,10 +72,16 @@ public class WebHookWelcomeResource extends WebHookResource {
     WebHookIntegration whiIntegration = getWebHookIntegration(configurationId);
 
     String configurationType = whiIntegration.getSettings().getType();
-    IntegrationInstance instance =
-        getConfigurationInstance(hash, configurationId, configurationType);
+    enterBulkhead(configurationType);
 
-    whiIntegration.welcome(instance, configurationType, body);
+    try {
+      IntegrationInstance instance =
+          getConfigurationInstance(hash, configurationId, configurationType);
+
+      whiIntegration.welcome(instance, configurationType, body);
+    } finally {
+      exitBulkhead(configurationType);
+    }
 
     return ResponseEntity.ok().body("");
   }
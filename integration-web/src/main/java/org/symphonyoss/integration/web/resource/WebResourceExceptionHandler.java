@@ -15,6 +15,9 @@ import org.symphonyoss.integration.exception.authentication.ForbiddenAuthExcepti
 import org.symphonyoss.integration.exception.authentication.MissingRequiredParameterException;
 import org.symphonyoss.integration.exception.authentication.UnauthorizedUserException;
 import org.symphonyoss.integration.model.ErrorResponse;
+import org.symphonyoss.integration.web.exception.RequestTimeoutException;
+
+import java.util.concurrent.RejectedExecutionException;
 
 /**
  * Global exception handler for web resources.
@@ -43,6 +46,24 @@ public class WebResourceExceptionHandler {
     return ResponseEntity.status(status).body(errorResponse);
   }
 
+  /**
+   * Handle {@link RequestTimeoutException} and {@link RejectedExecutionException} exceptions raised
+   * while handling asynchronous requests.
+   * @param ex Exception object
+   * @return HTTP 503 (Service Unavailable)
+   */
+  @ResponseBody
+  @ExceptionHandler({RequestTimeoutException.class, RejectedExecutionException.class})
+  public ResponseEntity<ErrorResponse> handleAsyncRequestException(RuntimeException ex) {
+    String message = ex.getMessage();
+    LOGGER.error(message);
+
+    HttpStatus status = HttpStatus.SERVICE_UNAVAILABLE;
+    ErrorResponse errorResponse = buildErrorResponse(status.value(), message);
+
+    return ResponseEntity.status(status).body(errorResponse);
+  }
+
   /**
    * Handle {@link RemoteApiException} exception.
    * When an error occurs in the API call, whether this error is on account of the client or the API,
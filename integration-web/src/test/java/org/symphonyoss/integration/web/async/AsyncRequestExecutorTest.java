@@ -0,0 +1,91 @@
+/**
+ * Copyright 2016-2017 Symphony Integrations - Symphony LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.symphonyoss.integration.web.async;
+
+import static org.junit.Assert.assertEquals;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.runners.MockitoJUnitRunner;
+import org.springframework.core.env.MapPropertySource;
+import org.springframework.core.env.StandardEnvironment;
+import org.springframework.web.context.request.async.WebAsyncTask;
+import org.symphonyoss.integration.logging.LogMessageSource;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Unit test for {@link AsyncRequestExecutor}
+ */
+@RunWith(MockitoJUnitRunner.class)
+public class AsyncRequestExecutorTest {
+
+  private static final long TIMEOUT = 5000L;
+
+  private static final String RESULT = "result";
+
+  @Spy
+  private StandardEnvironment environment = new StandardEnvironment();
+
+  @Mock
+  private LogMessageSource logMessage;
+
+  @InjectMocks
+  private AsyncRequestExecutor asyncRequestExecutor;
+
+  @Before
+  public void init() {
+    Map<String, Object> properties = new HashMap<>();
+    properties.put(AsyncRequestExecutor.POOL_SIZE_KEY, 2);
+    properties.put(AsyncRequestExecutor.TIMEOUT_KEY, TIMEOUT);
+
+    environment.getPropertySources().addFirst(new MapPropertySource("test", properties));
+
+    asyncRequestExecutor.init();
+  }
+
+  @After
+  public void destroy() {
+    asyncRequestExecutor.destroy();
+  }
+
+  @Test
+  public void testSubmit() throws Exception {
+    WebAsyncTask<String> task = asyncRequestExecutor.submit(new Callable<String>() {
+      @Override
+      public String call() throws Exception {
+        return RESULT;
+      }
+    });
+
+    assertEquals(Long.valueOf(TIMEOUT), task.getTimeout());
+    assertEquals(asyncRequestExecutor.getExecutor(), task.getExecutor());
+
+    Future<?> result = task.getExecutor().submit(task.getCallable());
+    assertEquals(RESULT, result.get(5, TimeUnit.SECONDS));
+  }
+
+}
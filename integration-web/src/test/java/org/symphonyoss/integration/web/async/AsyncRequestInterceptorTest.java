@@ -0,0 +1,85 @@
+/**
+ * Copyright 2016-2017 Symphony Integrations - Symphony LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.symphonyoss.integration.web.async;
+
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.symphonyoss.integration.logging.DistributedTracingUtils.TRACE_ID;
+
+import org.junit.After;
+import org.junit.Test;
+import org.slf4j.MDC;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import java.util.concurrent.Callable;
+
+/**
+ * Unit test for {@link AsyncRequestInterceptor}
+ */
+public class AsyncRequestInterceptorTest {
+
+  private static final String PARENT_TRACE_ID = "aAa8Uk";
+
+  private AsyncRequestInterceptor interceptor = new AsyncRequestInterceptor();
+
+  private Callable<String> task = new Callable<String>() {
+    @Override
+    public String call() throws Exception {
+      return null;
+    }
+  };
+
+  @After
+  public void cleanUp() {
+    MDC.clear();
+    RequestContextHolder.resetRequestAttributes();
+  }
+
+  @Test
+  public void testPropagateContext() throws Exception {
+    ServletWebRequest request = new ServletWebRequest(new MockHttpServletRequest());
+
+    MDC.put(TRACE_ID, PARENT_TRACE_ID);
+    interceptor.beforeConcurrentHandling(request, task);
+    MDC.clear();
+
+    interceptor.preProcess(request, task);
+
+    assertTrue(MDC.get(TRACE_ID).startsWith(PARENT_TRACE_ID));
+
+    // The worker must not reach the servlet request through the request attributes
+    assertNull(RequestContextHolder.getRequestAttributes());
+
+    interceptor.postProcess(request, task, null);
+
+    assertNull(MDC.get(TRACE_ID));
+  }
+
+  @Test
+  public void testStartTrace() throws Exception {
+    ServletWebRequest request = new ServletWebRequest(new MockHttpServletRequest());
+
+    interceptor.beforeConcurrentHandling(request, task);
+    interceptor.preProcess(request, task);
+
+    assertNotNull(MDC.get(TRACE_ID));
+  }
+
+}
@@ -0,0 +1,181 @@
+/**
+ * Copyright 2016-2017 Symphony Integrations - Symphony LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.symphonyoss.integration.web.capture;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.symphonyoss.integration.metrics.IntegrationMetricsConstants.BASE_METRIC_NAME;
+
+import com.codahale.metrics.MetricRegistry;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.junit.runner.RunWith;
+import org.mockito.InjectMocks;
+import org.mockito.Spy;
+import org.mockito.runners.MockitoJUnitRunner;
+import org.springframework.core.env.MapPropertySource;
+import org.springframework.core.env.StandardEnvironment;
+import org.symphonyoss.integration.webhook.WebHookPayload;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Unit test for {@link WebHookTrafficCapture}
+ */
+@RunWith(MockitoJUnitRunner.class)
+public class WebHookTrafficCaptureTest {
+
+  private static final String TYPE = "jiraWebHookIntegration";
+
+  private static final String CONFIGURATION_ID = "57bf581ae4b079de6a1cbbf9";
+
+  private static final String HASH = "c518e9ed5fd5f9492f75fba443d014061cd63042";
+
+  private static final String BODY = "{\"webhookEvent\":\"jira:issue_created\"}";
+
+  private static final int SEGMENT_SIZE = 4096;
+
+  @Rule
+  public TemporaryFolder folder = new TemporaryFolder();
+
+  @Spy
+  private StandardEnvironment environment = new StandardEnvironment();
+
+  @Spy
+  private MetricRegistry metricRegistry = new MetricRegistry();
+
+  @InjectMocks
+  private WebHookTrafficCapture capture;
+
+  private File directory;
+
+  @Before
+  public void init() {
+    this.directory = new File(folder.getRoot(), "capture");
+
+    Map<String, Object> properties = new HashMap<>();
+    properties.put(WebHookTrafficCapture.ENABLED_KEY, true);
+    properties.put(WebHookTrafficCapture.DIRECTORY_KEY, directory.getAbsolutePath());
+    properties.put(WebHookTrafficCapture.SEGMENT_SIZE_KEY, SEGMENT_SIZE);
+    properties.put(WebHookTrafficCapture.MAX_SEGMENTS_KEY, 2);
+
+    environment.getPropertySources().addFirst(new MapPropertySource("test", properties));
+
+    capture.init();
+  }
+
+  @After
+  public void destroy() {
+    capture.destroy();
+  }
+
+  @Test
+  public void testDisabledByDefault() {
+    environment.getPropertySources().remove("test");
+    capture.init();
+
+    assertFalse(capture.isEnabled());
+
+    capture.record(TYPE, CONFIGURATION_ID, HASH, new WebHookPayload(
+        Collections.<String, String>emptyMap(), Collections.<String, String>emptyMap(), "{}"));
+
+    assertEquals(0, WebHookTrafficCapture.listSegments(directory).length);
+  }
+
+  @Test
+  public void testRecordAndRead() throws IOException {
+    Map<String, String> headers = new HashMap<>();
+    headers.put("Content-Type", "application/json");
+    headers.put("X-Atlassian-Webhook-Identifier", "1");
+
+    capture.record(TYPE, CONFIGURATION_ID, HASH, new WebHookPayload(
+        Collections.<String, String>emptyMap(), headers, BODY));
+
+    Map<String, String> parameters = new HashMap<>();
+    parameters.put("payload", "{}");
+
+    capture.record(TYPE, CONFIGURATION_ID, HASH,
+        new WebHookPayload(parameters, Collections.<String, String>emptyMap(), null));
+
+    capture.destroy();
+
+    WebHookCaptureReader reader = new WebHookCaptureReader(directory);
+
+    WebHookCaptureRecord first = reader.next();
+    assertEquals(TYPE, first.getConfigurationType());
+    assertEquals(CONFIGURATION_ID, first.getConfigurationId());
+    assertEquals(HASH, first.getHash());
+    assertEquals("application/json", first.getHeader("content-type"));
+    assertEquals(BODY, first.getBody());
+    assertTrue(first.getArrivalTime() > 0);
+
+    WebHookCaptureRecord second = reader.next();
+    assertEquals("{}", second.getParameters().get("payload"));
+    assertNull(second.getBody());
+
+    assertNull(reader.next());
+  }
+
+  @Test
+  public void testRotation() throws IOException {
+    String body = new String(new char[1000]).replace('\0', 'a');
+
+    for (int i = 0; i < 10; i++) {
+      capture.record(TYPE, CONFIGURATION_ID, String.valueOf(i), new WebHookPayload(
+          Collections.<String, String>emptyMap(), Collections.<String, String>emptyMap(), body));
+    }
+
+    capture.destroy();
+
+    assertEquals(2, WebHookTrafficCapture.listSegments(directory).length);
+
+    // Only the most recent records are kept
+    WebHookCaptureReader reader = new WebHookCaptureReader(directory);
+    WebHookCaptureRecord record;
+    String lastHash = null;
+    int count = 0;
+
+    while ((record = reader.next()) != null) {
+      lastHash = record.getHash();
+      count++;
+    }
+
+    assertEquals("9", lastHash);
+    assertTrue(count > 0 && count < 10);
+  }
+
+  @Test
+  public void testRecordTooLarge() throws IOException {
+    String body = new String(new char[SEGMENT_SIZE]).replace('\0', 'a');
+
+    capture.record(TYPE, CONFIGURATION_ID, HASH, new WebHookPayload(
+        Collections.<String, String>emptyMap(), Collections.<String, String>emptyMap(), body));
+
+    String name = MetricRegistry.name(BASE_METRIC_NAME, "capture", "dropped");
+    assertEquals(1, metricRegistry.getMeters().get(name).getCount());
+  }
+
+}
@@ -0,0 +1,129 @@
+/**
+ * Copyright 2016-2017 Symphony Integrations - Symphony LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.symphonyoss.integration.web.filter;
+
+import static org.junit.Assert.assertEquals;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+import org.springframework.beans.factory.config.AutowireCapableBeanFactory;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockFilterConfig;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.context.WebApplicationContext;
+import org.symphonyoss.integration.core.bootstrap.IntegrationDrain;
+
+import java.io.IOException;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.ServletRequest;
+import javax.servlet.ServletResponse;
+
+/**
+ * Unit tests to validate {@link WebHookDrainFilter}
+ */
+@RunWith(MockitoJUnitRunner.class)
+public class WebHookDrainFilterTest {
+
+  @Mock
+  private IntegrationDrain drain;
+
+  @InjectMocks
+  private WebHookDrainFilter filter = new WebHookDrainFilter();
+
+  @Before
+  public void init() throws ServletException {
+    MockFilterConfig config = new MockFilterConfig();
+
+    WebApplicationContext webApplicationContext = mock(WebApplicationContext.class);
+    AutowireCapableBeanFactory beanFactory = mock(AutowireCapableBeanFactory.class);
+
+    config.getServletContext()
+        .setAttribute(WebApplicationContext.ROOT_WEB_APPLICATION_CONTEXT_ATTRIBUTE,
+            webApplicationContext);
+
+    doReturn(beanFactory).when(webApplicationContext).getAutowireCapableBeanFactory();
+
+    filter.init(config);
+  }
+
+  @Test
+  public void testAccepted() throws IOException, ServletException {
+    doReturn(true).when(drain).tryAcquire();
+
+    MockHttpServletResponse response = new MockHttpServletResponse();
+    FilterChain chain = new MockFilterChain();
+
+    filter.doFilter(new MockHttpServletRequest(), response, chain);
+
+    assertEquals(200, response.getStatus());
+    verify(drain).release();
+  }
+
+  @Test
+  public void testAsyncReleasedOnComplete() throws IOException, ServletException {
+    doReturn(true).when(drain).tryAcquire();
+
+    final MockHttpServletRequest request = new MockHttpServletRequest();
+    request.setAsyncSupported(true);
+
+    MockHttpServletResponse response = new MockHttpServletResponse();
+
+    FilterChain chain = new FilterChain() {
+      @Override
+      public void doFilter(ServletRequest servletRequest, ServletResponse servletResponse) {
+        servletRequest.startAsync(servletRequest, servletResponse);
+      }
+    };
+
+    filter.doFilter(request, response, chain);
+
+    verify(drain, never()).release();
+
+    request.getAsyncContext().complete();
+
+    verify(drain).release();
+  }
+
+  @Test
+  public void testDraining() throws IOException, ServletException {
+    doReturn(false).when(drain).tryAcquire();
+    doReturn(5L).when(drain).getRetryAfter();
+
+    MockHttpServletResponse response = new MockHttpServletResponse();
+    FilterChain chain = mock(FilterChain.class);
+
+    filter.doFilter(new MockHttpServletRequest(), response, chain);
+
+    assertEquals(503, response.getStatus());
+    assertEquals("5", response.getHeader("Retry-After"));
+    verify(chain, never()).doFilter(any(ServletRequest.class), any(ServletResponse.class));
+    verify(drain, never()).release();
+  }
+
+}
@@ -16,12 +16,14 @@
 
 package org.symphonyoss.integration.web.filter;
 
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
 import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
 import static org.symphonyoss.integration.logging.DistributedTracingUtils.TRACE_ID;
 import static org.symphonyoss.integration.logging.DistributedTracingUtils.TRACE_ID_SIZE;
 
@@ -32,6 +34,8 @@ import org.mockito.invocation.InvocationOnMock;
 import org.mockito.runners.MockitoJUnitRunner;
 import org.mockito.stubbing.Answer;
 import org.slf4j.MDC;
+import org.symphonyoss.integration.core.trace.RequestSpan;
+import org.symphonyoss.integration.core.trace.StageRecorder;
 
 import java.io.IOException;
 
@@ -120,4 +124,30 @@ public class WebHookTracingFilterTest {
     webHookTracingFilter.doFilter(request, mock(ServletResponse.class), mock(FilterChain.class));
   }
 
+  /**
+   * Validates if the filter starts the request span and finishes it after processing the request.
+   */
+  @Test
+  public void testDoFilterRecordsSpan() throws IOException, ServletException {
+    StageRecorder stageRecorder = mock(StageRecorder.class);
+    RequestSpan span = new RequestSpan(RandomStringUtils.randomAlphanumeric(TRACE_ID_SIZE));
+    doReturn(span).when(stageRecorder).startSpan();
+
+    HttpServletRequest request = mock(HttpServletRequest.class);
+    doReturn("POST").when(request).getMethod();
+    doReturn("/integration/v1/whi/jiraWebHookIntegration/123/abc").when(request).getRequestURI();
+
+    HttpServletResponse response = mock(HttpServletResponse.class);
+    doReturn(200).when(response).getStatus();
+
+    WebHookTracingFilter filter = new WebHookTracingFilter(stageRecorder);
+    filter.doFilter(request, response, mock(FilterChain.class));
+
+    verify(stageRecorder).finishSpan(span);
+
+    assertEquals("POST", span.getMethod());
+    assertEquals("/integration/v1/whi/jiraWebHookIntegration/123/abc", span.getUri());
+    assertEquals(200, span.getStatus());
+  }
+
 }
@@ -0,0 +1,43 @@
+/**
+ * Copyright 2016-2017 Symphony Integrations - Symphony LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.symphonyoss.integration.web.jfr;
+
+import static org.junit.Assert.assertEquals;
+
+import org.junit.Test;
+import org.symphonyoss.integration.jfr.FlightRecorderUtils;
+
+/**
+ * Unit tests to validate {@link WebHookEvents}
+ */
+public class WebHookEventsTest {
+
+  @Test
+  public void testNewWebHookEvent() {
+    WebHookEvent event = WebHookEvents.newWebHookEvent();
+
+    assertEquals(FlightRecorderUtils.isAvailable(), event instanceof FlightRecorderWebHookEvent);
+
+    event.begin();
+    event.end();
+
+    if (event.shouldCommit()) {
+      event.commit("jiraWebHookIntegration", "hash", 0, WebHookEvent.DELIVERED);
+    }
+  }
+
+}
@@ -0,0 +1,152 @@
+/**
+ * Copyright 2016-2017 Symphony Integrations - Symphony LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.symphonyoss.integration.web.limiter;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import com.codahale.metrics.MetricRegistry;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.InjectMocks;
+import org.mockito.Spy;
+import org.mockito.runners.MockitoJUnitRunner;
+import org.springframework.core.env.MapPropertySource;
+import org.springframework.core.env.StandardEnvironment;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Unit test for {@link WebHookConcurrencyLimiter}
+ */
+@RunWith(MockitoJUnitRunner.class)
+public class WebHookConcurrencyLimiterTest {
+
+  private static final int INITIAL_LIMIT = 4;
+
+  private static final int MIN_LIMIT = 2;
+
+  private static final int MAX_LIMIT = 6;
+
+  private static final long LATENCY = 100;
+
+  @Spy
+  private StandardEnvironment environment = new StandardEnvironment();
+
+  @Spy
+  private MetricRegistry metricRegistry = new MetricRegistry();
+
+  @InjectMocks
+  private WebHookConcurrencyLimiter limiter;
+
+  @Before
+  public void init() {
+    Map<String, Object> properties = new HashMap<>();
+    properties.put(WebHookConcurrencyLimiter.ENABLED_KEY, true);
+    properties.put(WebHookConcurrencyLimiter.INITIAL_LIMIT_KEY, INITIAL_LIMIT);
+    properties.put(WebHookConcurrencyLimiter.MIN_LIMIT_KEY, MIN_LIMIT);
+    properties.put(WebHookConcurrencyLimiter.MAX_LIMIT_KEY, MAX_LIMIT);
+    properties.put(WebHookConcurrencyLimiter.BACKOFF_RATIO_KEY, 0.5);
+
+    environment.getPropertySources().addFirst(new MapPropertySource("test", properties));
+
+    limiter.init();
+  }
+
+  @Test
+  public void testShed() {
+    for (int i = 0; i < INITIAL_LIMIT; i++) {
+      assertTrue(limiter.tryAcquire());
+    }
+
+    assertFalse(limiter.tryAcquire());
+    assertEquals(INITIAL_LIMIT, limiter.getInFlight());
+    assertEquals(1, metricRegistry.meter(WebHookConcurrencyLimiter.SHED).getCount());
+  }
+
+  @Test
+  public void testIncreaseLimit() {
+    for (int i = 0; i < MAX_LIMIT; i++) {
+      limiter.tryAcquire();
+      limiter.tryAcquire();
+      limiter.tryAcquire();
+      release(LATENCY);
+      release(LATENCY);
+      release(LATENCY);
+    }
+
+    assertEquals(MAX_LIMIT, limiter.getLimit());
+    assertEquals(0, limiter.getInFlight());
+  }
+
+  @Test
+  public void testDecreaseLimitOnLatency() {
+    limiter.tryAcquire();
+    release(LATENCY);
+
+    limiter.tryAcquire();
+    release(LATENCY * 10);
+
+    assertEquals(MIN_LIMIT, limiter.getLimit());
+  }
+
+  @Test
+  public void testDecreaseLimitOnServerError() {
+    limiter.tryAcquire();
+    limiter.release(LATENCY, TimeUnit.MILLISECONDS, true);
+
+    assertEquals(MIN_LIMIT, limiter.getLimit());
+  }
+
+  @Test
+  public void testReleaseWithoutSample() {
+    limiter.tryAcquire();
+    limiter.release();
+
+    assertEquals(INITIAL_LIMIT, limiter.getLimit());
+    assertEquals(0, limiter.getInFlight());
+  }
+
+  @Test
+  public void testDisabledByDefault() {
+    environment.getPropertySources().remove("test");
+    limiter.init();
+
+    for (int i = 0; i < MAX_LIMIT * 2; i++) {
+      assertTrue(limiter.tryAcquire());
+    }
+  }
+
+  @Test
+  public void testMetrics() {
+    limiter.tryAcquire();
+
+    assertEquals(INITIAL_LIMIT,
+        metricRegistry.getGauges().get(WebHookConcurrencyLimiter.LIMIT).getValue());
+    assertEquals(1,
+        metricRegistry.getGauges().get(WebHookConcurrencyLimiter.IN_FLIGHT).getValue());
+  }
+
+  private void release(long latency) {
+    limiter.release(latency, TimeUnit.MILLISECONDS, false);
+  }
+
+}
@@ -0,0 +1,139 @@
+/**
+ * Copyright 2016-2017 Symphony Integrations - Symphony LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.symphonyoss.integration.web.metrics;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import com.codahale.metrics.Gauge;
+import com.codahale.metrics.MetricRegistry;
+import com.codahale.metrics.Timer;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Unit test for {@link OpenMetricsWriter}
+ */
+public class OpenMetricsWriterTest {
+
+  private MetricRegistry registry;
+
+  @Before
+  public void init() {
+    this.registry = new MetricRegistry();
+
+    registry.counter("integration.activeRequests").inc(3);
+    registry.meter("integration.responseCodes.ok").mark(5);
+    registry.register("integration.responseCodes.ok.ratio", new Gauge<Double>() {
+      @Override
+      public Double getValue() {
+        return 0.5;
+      }
+    });
+
+    Timer timer = registry.register("integration.requests",
+        new Timer(new SlidingWindowHdrReservoir(1, TimeUnit.MINUTES, 6, 2)));
+    timer.update(250, TimeUnit.MILLISECONDS);
+  }
+
+  @Test
+  public void testTextFormat() throws IOException {
+    String output = write(false);
+
+    assertTrue(output.contains("# TYPE integration_activeRequests gauge\n"
+        + "integration_activeRequests 3\n"));
+    assertTrue(output.contains("# TYPE integration_responseCodes_ok_total counter\n"
+        + "integration_responseCodes_ok_total 5\n"));
+    assertTrue(output.contains("integration_responseCodes_ok_ratio 0.5\n"));
+    assertTrue(output.contains("# TYPE integration_requests_seconds summary\n"));
+    assertTrue(output.contains("integration_requests_seconds{quantile=\"0.999\"} 0.25"));
+    assertTrue(output.contains("integration_requests_seconds_sum 0.25"));
+    assertTrue(output.contains("integration_requests_seconds_count 1\n"));
+    assertFalse(output.contains("# EOF"));
+  }
+
+  @Test
+  public void testOpenMetricsFormat() throws IOException {
+    String output = write(true);
+
+    assertTrue(output.contains("# TYPE integration_responseCodes_ok counter\n"
+        + "integration_responseCodes_ok_total 5\n"));
+    assertTrue(output.endsWith("# EOF\n"));
+  }
+
+  @Test
+  public void testSameFamily() throws IOException {
+    registry.counter("integration.activeRequests.jira").inc(1);
+    registry.counter("integration.activeRequests_jira").inc(2);
+
+    String output = write(true);
+
+    assertEquals(output.indexOf("# TYPE integration_activeRequests_jira gauge\n"),
+        output.lastIndexOf("# TYPE integration_activeRequests_jira"));
+    assertTrue(output.contains(
+        "integration_activeRequests_jira{metric=\"integration.activeRequests.jira\"} 1\n"));
+    assertTrue(output.contains(
+        "integration_activeRequests_jira{metric=\"integration.activeRequests_jira\"} 2\n"));
+  }
+
+  @Test
+  public void testSameFamilySummary() throws IOException {
+    registry.histogram("integration.payload.size").update(10);
+    registry.histogram("integration.payload_size").update(20);
+
+    String output = write(false);
+
+    assertEquals(output.indexOf("# TYPE integration_payload_size summary\n"),
+        output.lastIndexOf("# TYPE integration_payload_size"));
+    assertTrue(output.contains("integration_payload_size{metric=\"integration.payload.size\","
+        + "quantile=\"0.5\"} 10.0\n"));
+    assertTrue(output.contains(
+        "integration_payload_size_sum{metric=\"integration.payload_size\"} 20.0\n"));
+    assertTrue(output.contains(
+        "integration_payload_size_count{metric=\"integration.payload_size\"} 1\n"));
+  }
+
+  @Test
+  public void testSameFamilyDifferentTypes() throws IOException {
+    registry.meter("integration.activeRequests_").mark();
+    registry.counter("integration.activeRequests.").inc();
+
+    String output = write(true);
+
+    assertTrue(output.contains("# TYPE integration_activeRequests_ gauge\n"));
+    assertTrue(output.contains("# TYPE integration_activeRequests__counter counter\n"));
+  }
+
+  @Test
+  public void testSanitize() {
+    assertEquals("integration_api_POD_GET__v1_configuration__id__get",
+        OpenMetricsWriter.sanitize("integration.api.POD.GET /v1/configuration/{id}/get"));
+    assertEquals("_2xx", OpenMetricsWriter.sanitize("2xx"));
+  }
+
+  private String write(boolean openMetrics) throws IOException {
+    StringWriter writer = new StringWriter();
+    new OpenMetricsWriter(writer, openMetrics).write(registry);
+    return writer.toString();
+  }
+
+}
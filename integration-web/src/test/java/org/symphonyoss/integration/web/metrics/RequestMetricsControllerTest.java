@@ -19,6 +19,7 @@ package org.symphonyoss.integration.web.metrics;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
 import static org.mockito.Mockito.doReturn;
 import static org.symphonyoss.integration.web.metrics.RequestMetricsConstants.ACTIVE_REQUESTS;
 import static org.symphonyoss.integration.web.metrics.RequestMetricsConstants.INCOMING_REQUESTS;
@@ -34,6 +35,7 @@ import org.junit.runner.RunWith;
 import org.mockito.InjectMocks;
 import org.mockito.Spy;
 import org.mockito.runners.MockitoJUnitRunner;
+import org.springframework.core.env.StandardEnvironment;
 
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
@@ -51,10 +53,10 @@ public class RequestMetricsControllerTest {
   private MetricRegistry metricsRegistry = new MetricRegistry();
 
   @Spy
-  private Counter activeRequests;
+  private StandardEnvironment environment = new StandardEnvironment();
 
   @Spy
-  private Timer requestsTimer;
+  private Counter activeRequests;
 
   @Spy
   private Meter otherMeter;
@@ -71,7 +73,6 @@ public class RequestMetricsControllerTest {
   @Before
   public void init() {
     doReturn(activeRequests).when(metricsRegistry).counter(ACTIVE_REQUESTS);
-    doReturn(requestsTimer).when(metricsRegistry).timer(INCOMING_REQUESTS);
     doReturn(otherMeter).when(metricsRegistry).meter(OTHER_RESPONSE_CODE);
 
     controller.init();
@@ -86,6 +87,8 @@ public class RequestMetricsControllerTest {
 
     controller.finishRequest(context, 502);
 
+    Timer requestsTimer = metricsRegistry.getTimers().get(INCOMING_REQUESTS);
+
     assertEquals(0, activeRequests.getCount());
     assertEquals(1, requestsTimer.getCount());
     assertEquals(1, otherMeter.getCount());
@@ -118,4 +121,20 @@ public class RequestMetricsControllerTest {
 
     assertEquals(1, timerByIntegration.get(TEST_INTEGRATION).getCount());
   }
+
+  @Test
+  public void testHdrTimer() {
+    controller.initController(TEST_INTEGRATION);
+
+    Timer.Context context = controller.startRequest();
+    controller.finishRequest(context, 200);
+
+    Timer requestsTimer = metricsRegistry.getTimers().get(INCOMING_REQUESTS);
+    Timer integrationTimer = timerByIntegration.get(TEST_INTEGRATION);
+
+    assertTrue(requestsTimer.getSnapshot() instanceof HdrSnapshot);
+    assertTrue(integrationTimer.getSnapshot() instanceof HdrSnapshot);
+    assertEquals(1, requestsTimer.getSnapshot().size());
+  }
+
 }
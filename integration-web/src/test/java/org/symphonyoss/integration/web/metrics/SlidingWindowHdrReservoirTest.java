@@ -0,0 +1,124 @@
+/**
+ * Copyright 2016-2017 Symphony Integrations - Symphony LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.symphonyoss.integration.web.metrics;
+
+import static org.junit.Assert.assertEquals;
+
+import com.codahale.metrics.Clock;
+import com.codahale.metrics.Snapshot;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Unit test for {@link SlidingWindowHdrReservoir}
+ */
+public class SlidingWindowHdrReservoirTest {
+
+  private ManualClock clock;
+
+  private SlidingWindowHdrReservoir reservoir;
+
+  @Before
+  public void init() {
+    this.clock = new ManualClock();
+    this.reservoir = new SlidingWindowHdrReservoir(60, TimeUnit.SECONDS, 6, 3, clock);
+  }
+
+  @Test
+  public void testPercentiles() {
+    for (int i = 1; i <= 1000; i++) {
+      reservoir.update(i);
+    }
+
+    Snapshot snapshot = reservoir.getSnapshot();
+
+    assertEquals(1000, snapshot.size());
+    assertEquals(1, snapshot.getMin());
+    assertEquals(1000, snapshot.getMax());
+    assertEquals(500, snapshot.getMedian(), 1);
+    assertEquals(990, snapshot.get99thPercentile(), 1);
+    assertEquals(999, snapshot.get999thPercentile(), 1);
+  }
+
+  @Test
+  public void testTailIsNotSampledOut() {
+    for (int i = 0; i < 100000; i++) {
+      reservoir.update(10);
+    }
+
+    reservoir.update(5000);
+
+    assertEquals(5000, reservoir.getSnapshot().getMax(), 5);
+  }
+
+  @Test
+  public void testSlidingWindow() {
+    reservoir.update(1000);
+
+    clock.advance(30, TimeUnit.SECONDS);
+    reservoir.update(10);
+
+    assertEquals(2, reservoir.getSnapshot().size());
+
+    clock.advance(35, TimeUnit.SECONDS);
+
+    Snapshot snapshot = reservoir.getSnapshot();
+
+    assertEquals(1, snapshot.size());
+    assertEquals(10, snapshot.getMax());
+  }
+
+  @Test
+  public void testIdleLongerThanWindow() {
+    reservoir.update(1000);
+
+    clock.advance(10, TimeUnit.MINUTES);
+    reservoir.update(10);
+
+    Snapshot snapshot = reservoir.getSnapshot();
+
+    assertEquals(1, snapshot.size());
+    assertEquals(10, snapshot.getMin());
+  }
+
+  @Test
+  public void testEmpty() {
+    Snapshot snapshot = reservoir.getSnapshot();
+
+    assertEquals(0, snapshot.size());
+    assertEquals(0, snapshot.getMax());
+    assertEquals(0, snapshot.getMin());
+    assertEquals(0, snapshot.getMean(), 0);
+  }
+
+  private static final class ManualClock extends Clock {
+
+    private long tick;
+
+    @Override
+    public long getTick() {
+      return tick;
+    }
+
+    void advance(long duration, TimeUnit unit) {
+      tick += unit.toNanos(duration);
+    }
+  }
+
+}
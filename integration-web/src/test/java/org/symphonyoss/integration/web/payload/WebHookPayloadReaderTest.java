@@ -0,0 +1,163 @@
+/**
+ * Copyright 2016-2017 Symphony Integrations - Symphony LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.symphonyoss.integration.web.payload;
+
+import static org.junit.Assert.assertEquals;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.runners.MockitoJUnitRunner;
+import org.springframework.core.env.MapPropertySource;
+import org.springframework.core.env.StandardEnvironment;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.mock.web.DelegatingServletInputStream;
+import org.symphonyoss.integration.logging.LogMessageSource;
+import org.symphonyoss.integration.web.exception.PayloadTooLargeException;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+import javax.servlet.http.HttpServletRequest;
+
+/**
+ * Unit test for {@link WebHookPayloadReader}
+ */
+@RunWith(MockitoJUnitRunner.class)
+public class WebHookPayloadReaderTest {
+
+  private static final String JIRA = "jiraWebHookIntegration";
+
+  private static final String GITHUB = "githubWebHookIntegration";
+
+  private static final int JIRA_MAX_SIZE = 64 * 1024;
+
+  private static final int GITHUB_MAX_SIZE = 16;
+
+  @Spy
+  private StandardEnvironment environment = new StandardEnvironment();
+
+  @Mock
+  private LogMessageSource logMessage;
+
+  @Mock
+  private HttpServletRequest request;
+
+  @InjectMocks
+  private WebHookPayloadReader reader;
+
+  @Before
+  public void init() {
+    Map<String, Object> properties = new HashMap<>();
+    properties.put(WebHookPayloadReader.INTEGRATIONS_KEY + JIRA, JIRA_MAX_SIZE);
+    properties.put(WebHookPayloadReader.INTEGRATIONS_KEY + GITHUB, GITHUB_MAX_SIZE);
+
+    environment.getPropertySources().addFirst(new MapPropertySource("test", properties));
+
+    doReturn(-1L).when(request).getContentLengthLong();
+  }
+
+  @Test
+  public void testMaxSize() {
+    assertEquals(WebHookPayloadReader.DEFAULT_MAX_SIZE,
+        reader.getMaxSize("zapierWebHookIntegration"));
+    assertEquals(JIRA_MAX_SIZE, reader.getMaxSize(JIRA));
+  }
+
+  @Test
+  public void testReadBody() throws IOException {
+    String body = "{\"summary\":\"Ação concluída\"}";
+    mockBody(body.getBytes(StandardCharsets.UTF_8));
+
+    assertEquals(body, reader.readBody(JIRA, request));
+  }
+
+  @Test
+  public void testReadBodyBiggerThanInitialBuffer() throws IOException {
+    char[] content = new char[JIRA_MAX_SIZE];
+    Arrays.fill(content, 'a');
+
+    String body = new String(content);
+    mockBody(body.getBytes(StandardCharsets.UTF_8));
+
+    assertEquals(body, reader.readBody(JIRA, request));
+  }
+
+  @Test
+  public void testReadBodyCharset() throws IOException {
+    String body = "Ação";
+    mockBody(body.getBytes(StandardCharsets.ISO_8859_1));
+    doReturn(StandardCharsets.ISO_8859_1.name()).when(request).getCharacterEncoding();
+
+    assertEquals(body, reader.readBody(JIRA, request));
+  }
+
+  @Test(expected = PayloadTooLargeException.class)
+  public void testContentLengthTooLarge() throws IOException {
+    doReturn((long) GITHUB_MAX_SIZE + 1).when(request).getContentLengthLong();
+
+    try {
+      reader.readBody(GITHUB, request);
+    } finally {
+      verify(request, never()).getInputStream();
+    }
+  }
+
+  @Test(expected = PayloadTooLargeException.class)
+  public void testStreamTooLarge() throws IOException {
+    mockBody(new byte[GITHUB_MAX_SIZE + 1]);
+    reader.readBody(GITHUB, request);
+  }
+
+  @Test(expected = PayloadTooLargeException.class)
+  public void testStreamTooLargeWithReusedBuffer() throws IOException {
+    // Leaves a buffer bigger than the GitHub maximum size with the current thread
+    mockBody(new byte[JIRA_MAX_SIZE]);
+    reader.readBody(JIRA, request);
+
+    mockBody(new byte[GITHUB_MAX_SIZE * 4]);
+    reader.readBody(GITHUB, request);
+  }
+
+  @Test
+  public void testStreamWithMaxSize() throws IOException {
+    mockBody(new byte[GITHUB_MAX_SIZE]);
+    assertEquals(GITHUB_MAX_SIZE, reader.readBody(GITHUB, request).length());
+  }
+
+  @Test(expected = HttpMessageNotReadableException.class)
+  public void testMissingBody() throws IOException {
+    mockBody(new byte[0]);
+    reader.readBody(JIRA, request);
+  }
+
+  private void mockBody(byte[] body) throws IOException {
+    doReturn(new DelegatingServletInputStream(new ByteArrayInputStream(body))).when(request)
+        .getInputStream();
+  }
+
+}
@@ -34,6 +34,7 @@ import org.springframework.web.context.WebApplicationContext;
 import org.springframework.web.servlet.config.annotation.CorsRegistration;
 import org.springframework.web.servlet.config.annotation.CorsRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+import org.symphonyoss.integration.core.trace.StageRecorder;
 import org.symphonyoss.integration.web.resource.WebHookResourceTest;
 
 import java.util.List;
@@ -68,12 +69,25 @@ public class WebResourcesRegistrationTest extends WebHookResourceTest {
 
   @Test
   public void testWebhookTracingFilterRegistration() {
-    FilterRegistrationBean bean = registration.webhookTracingFilterRegistration();
+    FilterRegistrationBean bean =
+        registration.webhookTracingFilterRegistration(mock(StageRecorder.class));
     assertNotNull(bean);
     assertNotNull(bean.getUrlPatterns());
     assertFalse(bean.getUrlPatterns().isEmpty());
     String urlPattern = bean.getUrlPatterns().iterator().next();
     assertEquals(URL_PATTERN_TRACING, urlPattern);
+    assertTrue(bean.getOrder() < registration.webhookCheckOriginFilterRegistration().getOrder());
+  }
+
+  @Test
+  public void testWebhookDrainFilterRegistration() {
+    FilterRegistrationBean bean = registration.webhookDrainFilterRegistration();
+    assertNotNull(bean);
+    assertEquals(URL_PATTERN_CHECK_ORIGIN, bean.getUrlPatterns().iterator().next());
+    assertTrue(bean.getOrder() > registration.webhookTracingFilterRegistration(
+        mock(StageRecorder.class)).getOrder());
+    assertTrue(bean.getOrder() < registration.webhookConcurrencyLimitFilterRegistration()
+        .getOrder());
   }
 
   @Test
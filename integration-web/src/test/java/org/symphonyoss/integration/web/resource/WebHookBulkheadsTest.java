@@ -0,0 +1,96 @@
+/**
+ * Copyright 2016-2017 Symphony Integrations - Symphony LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.symphonyoss.integration.web.resource;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.symphonyoss.integration.metrics.IntegrationMetricsConstants.BASE_METRIC_NAME;
+
+import com.codahale.metrics.MetricRegistry;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.InjectMocks;
+import org.mockito.Spy;
+import org.mockito.runners.MockitoJUnitRunner;
+import org.springframework.core.env.MapPropertySource;
+import org.springframework.core.env.StandardEnvironment;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Unit test for {@link WebHookBulkheads}
+ */
+@RunWith(MockitoJUnitRunner.class)
+public class WebHookBulkheadsTest {
+
+  private static final String JIRA = "jiraWebHookIntegration";
+
+  private static final String GITHUB = "githubWebHookIntegration";
+
+  private static final int JIRA_CAPACITY = 2;
+
+  @Spy
+  private StandardEnvironment environment = new StandardEnvironment();
+
+  @Spy
+  private MetricRegistry metricRegistry = new MetricRegistry();
+
+  @InjectMocks
+  private WebHookBulkheads bulkheads;
+
+  @Before
+  public void init() {
+    Map<String, Object> properties = new HashMap<>();
+    properties.put(WebHookBulkheads.INTEGRATIONS_KEY + JIRA, JIRA_CAPACITY);
+
+    environment.getPropertySources().addFirst(new MapPropertySource("test", properties));
+  }
+
+  @Test
+  public void testCapacity() {
+    assertEquals(JIRA_CAPACITY, bulkheads.getCapacity(JIRA));
+    assertEquals(WebHookBulkheads.DEFAULT_MAX_CONCURRENT, bulkheads.getCapacity(GITHUB));
+  }
+
+  @Test
+  public void testIsolation() {
+    assertTrue(bulkheads.tryAcquire(JIRA));
+    assertTrue(bulkheads.tryAcquire(JIRA));
+    assertFalse(bulkheads.tryAcquire(JIRA));
+
+    assertTrue(bulkheads.tryAcquire(GITHUB));
+
+    bulkheads.release(JIRA);
+    assertTrue(bulkheads.tryAcquire(JIRA));
+
+    String rejected = MetricRegistry.name(BASE_METRIC_NAME, JIRA, "bulkhead", "rejected");
+    assertEquals(1, metricRegistry.meter(rejected).getCount());
+  }
+
+  @Test
+  public void testUtilization() {
+    bulkheads.tryAcquire(JIRA);
+
+    String utilization = MetricRegistry.name(BASE_METRIC_NAME, JIRA, "bulkhead", "utilization");
+    assertEquals(0.5, metricRegistry.getGauges().get(utilization).getValue());
+    assertEquals(1, bulkheads.getInUse(JIRA));
+  }
+
+}
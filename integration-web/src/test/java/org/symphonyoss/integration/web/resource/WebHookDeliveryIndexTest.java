@@ -0,0 +1,145 @@
+/**
+ * Copyright 2016-2017 Symphony Integrations - Symphony LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.symphonyoss.integration.web.resource;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNull;
+
+import com.codahale.metrics.MetricRegistry;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.InjectMocks;
+import org.mockito.Spy;
+import org.mockito.runners.MockitoJUnitRunner;
+import org.springframework.core.env.MapPropertySource;
+import org.springframework.core.env.StandardEnvironment;
+import org.symphonyoss.integration.web.resource.WebHookDeliveryIndex.DeliveryState;
+import org.symphonyoss.integration.webhook.WebHookPayload;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Unit test for {@link WebHookDeliveryIndex}
+ */
+@RunWith(MockitoJUnitRunner.class)
+public class WebHookDeliveryIndexTest {
+
+  private static final String GITHUB = "githubWebHookIntegration";
+
+  private static final String ZENDESK = "zendeskWebHookIntegration";
+
+  private static final String JIRA = "jiraWebHookIntegration";
+
+  private static final String DELIVERY_HEADER = "X-GitHub-Delivery";
+
+  private static final String HASH = "c518e9ed5fd5f9492f75fba443d014061cd63042";
+
+  @Spy
+  private StandardEnvironment environment = new StandardEnvironment();
+
+  @Spy
+  private MetricRegistry metricRegistry = new MetricRegistry();
+
+  @InjectMocks
+  private WebHookDeliveryIndex index;
+
+  @Before
+  public void init() {
+    Map<String, Object> properties = new HashMap<>();
+    properties.put(WebHookDeliveryIndex.INTEGRATIONS_KEY + GITHUB, DELIVERY_HEADER);
+    properties.put(WebHookDeliveryIndex.INTEGRATIONS_KEY + ZENDESK,
+        WebHookDeliveryIndex.PAYLOAD_HASH);
+
+    environment.getPropertySources().addFirst(new MapPropertySource("test", properties));
+
+    index.init();
+  }
+
+  @Test
+  public void testDeduplicationDisabled() {
+    assertNull(index.getDeliveryKey(JIRA, HASH, mockPayload("body")));
+  }
+
+  @Test
+  public void testDeliveryHeader() {
+    String deliveryId = "72d3162e-cc78-11e3-81ab-4c9367dc0958";
+
+    String first = index.getDeliveryKey(GITHUB, HASH, mockPayload("body", deliveryId));
+    String retry = index.getDeliveryKey(GITHUB, HASH, mockPayload("other body", deliveryId));
+
+    assertEquals(first, retry);
+    assertNull(index.begin(GITHUB, first));
+    assertEquals(DeliveryState.IN_PROGRESS, index.begin(GITHUB, retry));
+  }
+
+  @Test
+  public void testPayloadHashFallback() {
+    String first = index.getDeliveryKey(GITHUB, HASH, mockPayload("body"));
+    String retry = index.getDeliveryKey(GITHUB, HASH, mockPayload("body"));
+    String other = index.getDeliveryKey(GITHUB, HASH, mockPayload("other body"));
+
+    assertEquals(first, retry);
+    assertNotEquals(first, other);
+  }
+
+  @Test
+  public void testPayloadHash() {
+    String first = index.getDeliveryKey(ZENDESK, HASH, mockPayload("body", "ignored"));
+    String other = index.getDeliveryKey(ZENDESK, HASH, mockPayload("other body", "ignored"));
+
+    assertNotEquals(first, other);
+  }
+
+  @Test
+  public void testRelease() {
+    String key = index.getDeliveryKey(ZENDESK, HASH, mockPayload("body"));
+
+    assertNull(index.begin(ZENDESK, key));
+
+    index.release(key);
+
+    assertNull(index.begin(ZENDESK, key));
+    assertEquals(DeliveryState.IN_PROGRESS, index.begin(ZENDESK, key));
+  }
+
+  @Test
+  public void testComplete() {
+    String key = index.getDeliveryKey(ZENDESK, HASH, mockPayload("body"));
+
+    assertNull(index.begin(ZENDESK, key));
+
+    index.complete(key);
+
+    assertEquals(DeliveryState.COMPLETED, index.begin(ZENDESK, key));
+    assertEquals(WebHookDeliveryIndex.DEFAULT_RETRY_AFTER_SECONDS, index.getRetryAfterSeconds());
+  }
+
+  private WebHookPayload mockPayload(String body) {
+    return new WebHookPayload(Collections.<String, String>emptyMap(),
+        Collections.<String, String>emptyMap(), body);
+  }
+
+  private WebHookPayload mockPayload(String body, String deliveryId) {
+    return new WebHookPayload(Collections.<String, String>emptyMap(),
+        Collections.singletonMap(DELIVERY_HEADER, deliveryId), body);
+  }
+
+}
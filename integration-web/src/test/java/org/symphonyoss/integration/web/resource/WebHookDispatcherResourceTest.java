@@ -26,6 +26,9 @@ import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.reset;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import org.junit.Assert;
@@ -37,8 +40,10 @@ import org.mockito.Mock;
 import org.mockito.invocation.InvocationOnMock;
 import org.mockito.runners.MockitoJUnitRunner;
 import org.mockito.stubbing.Answer;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.web.context.request.async.WebAsyncTask;
 import org.symphonyoss.integration.IntegrationStatus;
 import org.symphonyoss.integration.entity.MessageMLParseException;
 import org.symphonyoss.integration.exception.IntegrationUnavailableException;
@@ -47,17 +52,27 @@ import org.symphonyoss.integration.exception.authentication.ConnectivityExceptio
 import org.symphonyoss.integration.exception.config.IntegrationConfigException;
 import org.symphonyoss.integration.logging.LogMessageSource;
 import org.symphonyoss.integration.model.config.IntegrationSettings;
+import org.symphonyoss.integration.web.async.AsyncRequestExecutor;
+import org.symphonyoss.integration.web.capture.WebHookTrafficCapture;
 import org.symphonyoss.integration.web.exception.IntegrationBridgeUnavailableException;
+import org.symphonyoss.integration.web.exception.IntegrationBulkheadFullException;
+import org.symphonyoss.integration.web.exception.RequestTimeoutException;
+import org.symphonyoss.integration.web.limiter.LocalRejection;
+import org.symphonyoss.integration.web.payload.WebHookPayloadReader;
+import org.symphonyoss.integration.web.resource.WebHookDeliveryIndex.DeliveryState;
 import org.symphonyoss.integration.webhook.WebHookPayload;
 import org.symphonyoss.integration.webhook.exception.WebHookDisabledException;
 import org.symphonyoss.integration.webhook.exception.WebHookParseException;
 import org.symphonyoss.integration.webhook.exception.WebHookUnavailableException;
 
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Enumeration;
 import java.util.List;
 import java.util.StringTokenizer;
+import java.util.concurrent.Callable;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 import javax.servlet.http.HttpServletRequest;
 import javax.ws.rs.core.MediaType;
@@ -84,14 +99,28 @@ public class WebHookDispatcherResourceTest extends WebHookResourceTest {
   @Mock
   private HttpServletRequest httpRequest;
 
+  @Mock
+  private WebHookDeliveryIndex deliveryIndex;
+
+  @Mock
+  private WebHookPayloadReader payloadReader;
+
+  @Mock
+  private AsyncRequestExecutor asyncRequestExecutor;
+
+  @Mock
+  private WebHookTrafficCapture trafficCapture;
+
   @InjectMocks
   private WebHookDispatcherResource webHookDispatcherResource = new WebHookDispatcherResource();
 
   private WebHookPayload payload;
 
   @Before
-  public void setup() {
+  public void setup() throws IOException {
     this.payload = null;
+
+    doReturn(MESSAGE_BODY).when(payloadReader).readBody(anyString(), any(HttpServletRequest.class));
   }
 
   /**
@@ -103,8 +132,7 @@ public class WebHookDispatcherResourceTest extends WebHookResourceTest {
     // mocking integration bridge
     when(integrationBridge.getIntegrationById(CONFIGURATION_ID)).thenReturn(null);
 
-    webHookDispatcherResource.handleRequest(TEST_HASH, CONFIGURATION_ID, TEST_USER, MESSAGE_BODY,
-        request);
+    webHookDispatcherResource.handleRequest(TEST_HASH, CONFIGURATION_ID, TEST_USER, request);
   }
 
   /**
@@ -124,7 +152,7 @@ public class WebHookDispatcherResourceTest extends WebHookResourceTest {
     assertEquals(ResponseEntity.badRequest()
             .body("Couldn't validate the incoming payload for the instance: " + TEST_HASH),
         webHookDispatcherResource.handleRequest(TEST_HASH, CONFIGURATION_ID, TEST_USER,
-            MESSAGE_BODY, request));
+            request));
   }
 
   /**
@@ -146,7 +174,7 @@ public class WebHookDispatcherResourceTest extends WebHookResourceTest {
     doReturn(supportedFormats).when(whiIntegration).getSupportedContentTypes();
 
     ResponseEntity response = webHookDispatcherResource.handleRequest(
-        TEST_HASH, CONFIGURATION_ID, TEST_USER, MESSAGE_BODY, request);
+        TEST_HASH, CONFIGURATION_ID, TEST_USER, request);
 
     assertEquals(HttpStatus.UNSUPPORTED_MEDIA_TYPE, response.getStatusCode());
   }
@@ -169,7 +197,7 @@ public class WebHookDispatcherResourceTest extends WebHookResourceTest {
         ResponseEntity.badRequest()
             .body("Couldn't validate the incoming payload for the instance: " + TEST_HASH),
         webHookDispatcherResource.handleRequest(TEST_HASH, CONFIGURATION_ID, TEST_USER,
-            MESSAGE_BODY, request));
+            request));
   }
 
   /**
@@ -183,7 +211,175 @@ public class WebHookDispatcherResourceTest extends WebHookResourceTest {
     mockRequest();
 
     assertEquals(webHookDispatcherResource.handleRequest(TEST_HASH, CONFIGURATION_ID, TEST_USER,
-        MESSAGE_BODY, request), ResponseEntity.ok().body(""));
+        request), ResponseEntity.ok().body(""));
+  }
+
+  /**
+   * Validates the asynchronous variant delegates to the request handling.
+   */
+  @Test
+  public void testHandleRequestAsync() throws Exception {
+    mockConfiguration(true);
+    mockStatus(IntegrationStatus.ACTIVE);
+    doReturn(true).when(whiIntegration).isSupportedContentType(MediaType.WILDCARD_TYPE);
+    mockRequest();
+
+    doAnswer(new Answer<WebAsyncTask<?>>() {
+      @Override
+      public WebAsyncTask<?> answer(InvocationOnMock invocation) throws Throwable {
+        return new WebAsyncTask((Callable) invocation.getArguments()[0]);
+      }
+    }).when(asyncRequestExecutor).submit(any(Callable.class), any(AtomicBoolean.class));
+
+    WebAsyncTask<ResponseEntity<String>> task =
+        webHookDispatcherResource.handleRequestAsync(TEST_HASH, CONFIGURATION_ID, TEST_USER,
+            request);
+
+    // The worker must not touch the servlet request
+    reset(request);
+
+    // The bulkhead slot is held by the worker
+    verify(bulkheads, never()).tryAcquire(TEST_USER);
+
+    assertEquals(ResponseEntity.ok().body(""), task.getCallable().call());
+    verify(request, never()).getHeader(anyString());
+    verify(request, never()).getParameter(anyString());
+    verify(bulkheads).release(TEST_USER);
+  }
+
+  /**
+   * Validates that a request that timed out before being handled isn't posted, since the sender
+   * was already answered with HTTP 503 and will retry it.
+   */
+  @Test
+  public void testHandleRequestAsyncTimedOut() throws Exception {
+    mockConfiguration(true);
+    mockStatus(IntegrationStatus.ACTIVE);
+    doReturn(true).when(whiIntegration).isSupportedContentType(MediaType.WILDCARD_TYPE);
+    mockRequest();
+
+    doAnswer(new Answer<WebAsyncTask<?>>() {
+      @Override
+      public WebAsyncTask<?> answer(InvocationOnMock invocation) throws Throwable {
+        ((AtomicBoolean) invocation.getArguments()[1]).set(true);
+        return new WebAsyncTask((Callable) invocation.getArguments()[0]);
+      }
+    }).when(asyncRequestExecutor).submit(any(Callable.class), any(AtomicBoolean.class));
+
+    WebAsyncTask<ResponseEntity<String>> task =
+        webHookDispatcherResource.handleRequestAsync(TEST_HASH, CONFIGURATION_ID, TEST_USER,
+            request);
+
+    ResponseEntity<String> response = (ResponseEntity<String>) task.getCallable().call();
+
+    assertEquals(HttpStatus.SERVICE_UNAVAILABLE, response.getStatusCode());
+    verify(whiIntegration, never()).handle(anyString(), anyString(), any(WebHookPayload.class));
+  }
+
+  @Test
+  public void testRequestTimeoutHandler() {
+    ResponseEntity<String> response = webHookDispatcherResource.handleServiceUnavailableException(
+        new RequestTimeoutException(TEST_USER));
+
+    Assert.assertEquals(HttpStatus.SERVICE_UNAVAILABLE, response.getStatusCode());
+  }
+
+  /**
+   * Validates that a retried delivery is acknowledged without being processed again.
+   */
+  @Test
+  public void testHandleRequestDuplicateDelivery() throws Exception {
+    mockConfiguration(true);
+    mockStatus(IntegrationStatus.ACTIVE);
+    doReturn(true).when(whiIntegration).isSupportedContentType(MediaType.WILDCARD_TYPE);
+    mockRequest();
+
+    String deliveryKey = TEST_USER + ":" + TEST_HASH + ":delivery";
+    doReturn(deliveryKey).when(deliveryIndex)
+        .getDeliveryKey(eq(TEST_USER), eq(TEST_HASH), any(WebHookPayload.class));
+    doReturn(DeliveryState.COMPLETED).when(deliveryIndex).begin(TEST_USER, deliveryKey);
+
+    assertEquals(ResponseEntity.ok().body(""),
+        webHookDispatcherResource.handleRequest(TEST_HASH, CONFIGURATION_ID, TEST_USER,
+            request));
+
+    verify(whiIntegration, never()).handle(anyString(), anyString(), any(WebHookPayload.class));
+  }
+
+  /**
+   * Validates that a retry received while the first delivery is in progress is answered with
+   * HTTP 503 and the Retry-After header.
+   */
+  @Test
+  public void testHandleRequestDeliveryInProgress() throws Exception {
+    mockConfiguration(true);
+    mockStatus(IntegrationStatus.ACTIVE);
+    doReturn(true).when(whiIntegration).isSupportedContentType(MediaType.WILDCARD_TYPE);
+    mockRequest();
+
+    String deliveryKey = TEST_USER + ":" + TEST_HASH + ":delivery";
+    doReturn(deliveryKey).when(deliveryIndex)
+        .getDeliveryKey(eq(TEST_USER), eq(TEST_HASH), any(WebHookPayload.class));
+    doReturn(DeliveryState.IN_PROGRESS).when(deliveryIndex).begin(TEST_USER, deliveryKey);
+    doReturn(5L).when(deliveryIndex).getRetryAfterSeconds();
+
+    LocalRejection rejection = new LocalRejection();
+    doReturn(rejection).when(request).getAttribute(LocalRejection.ATTRIBUTE);
+
+    ResponseEntity<String> response =
+        webHookDispatcherResource.handleRequest(TEST_HASH, CONFIGURATION_ID, TEST_USER, request);
+
+    assertEquals(HttpStatus.SERVICE_UNAVAILABLE, response.getStatusCode());
+    assertEquals("5", response.getHeaders().getFirst(HttpHeaders.RETRY_AFTER));
+    assertTrue(rejection.isRejected());
+
+    verify(whiIntegration, never()).handle(anyString(), anyString(), any(WebHookPayload.class));
+    verify(deliveryIndex, never()).release(deliveryKey);
+  }
+
+  /**
+   * Validates that a successful delivery is marked as completed, so the sender retries are
+   * acknowledged.
+   */
+  @Test
+  public void testHandleRequestDeliveryCompleted() throws Exception {
+    mockConfiguration(true);
+    mockStatus(IntegrationStatus.ACTIVE);
+    doReturn(true).when(whiIntegration).isSupportedContentType(MediaType.WILDCARD_TYPE);
+    mockRequest();
+
+    String deliveryKey = TEST_USER + ":" + TEST_HASH + ":delivery";
+    doReturn(deliveryKey).when(deliveryIndex)
+        .getDeliveryKey(eq(TEST_USER), eq(TEST_HASH), any(WebHookPayload.class));
+
+    assertEquals(ResponseEntity.ok().body(""),
+        webHookDispatcherResource.handleRequest(TEST_HASH, CONFIGURATION_ID, TEST_USER,
+            request));
+
+    verify(deliveryIndex).complete(deliveryKey);
+    verify(deliveryIndex, never()).release(deliveryKey);
+  }
+
+  /**
+   * Validates that a failed delivery is released from the index, so the sender retry can be
+   * processed.
+   */
+  @Test
+  public void testHandleRequestFailedDeliveryReleased() throws Exception {
+    mockConfiguration(true);
+    mockStatus(IntegrationStatus.ACTIVE);
+    doReturn(true).when(whiIntegration).isSupportedContentType(MediaType.WILDCARD_TYPE);
+    mockRequest();
+
+    String deliveryKey = TEST_USER + ":" + TEST_HASH + ":delivery";
+    doReturn(deliveryKey).when(deliveryIndex)
+        .getDeliveryKey(eq(TEST_USER), eq(TEST_HASH), any(WebHookPayload.class));
+    doThrow(WebHookParseException.class).when(whiIntegration)
+        .handle(anyString(), anyString(), any(WebHookPayload.class));
+
+    webHookDispatcherResource.handleRequest(TEST_HASH, CONFIGURATION_ID, TEST_USER, request);
+
+    verify(deliveryIndex).release(deliveryKey);
   }
 
   /**
@@ -204,7 +400,8 @@ public class WebHookDispatcherResourceTest extends WebHookResourceTest {
 
   @Test
   public void testWebHookPayload()
-      throws IntegrationConfigException, WebHookParseException, RemoteApiException {
+      throws IntegrationConfigException, WebHookParseException, RemoteApiException,
+      IOException {
     mockConfiguration(true);
     mockStatus(IntegrationStatus.ACTIVE);
     mockRequest();
@@ -220,8 +417,7 @@ public class WebHookDispatcherResourceTest extends WebHookResourceTest {
 
     doReturn(true).when(whiIntegration).isSupportedContentType(any(MediaType.class));
 
-    webHookDispatcherResource.handleRequest(TEST_HASH, CONFIGURATION_ID, TEST_USER, MESSAGE_BODY,
-        request);
+    webHookDispatcherResource.handleRequest(TEST_HASH, CONFIGURATION_ID, TEST_USER, request);
 
     assertTrue(payload.getHeaders().containsKey(HEADER_NAME));
     assertEquals(HEADER_VALUE, payload.getHeaders().get(HEADER_NAME));
@@ -275,8 +471,7 @@ public class WebHookDispatcherResourceTest extends WebHookResourceTest {
         .handle(anyString(), anyString(), any(WebHookPayload.class));
     doReturn(true).when(whiIntegration).isSupportedContentType(MediaType.WILDCARD_TYPE);
 
-    webHookDispatcherResource.handleRequest(TEST_HASH, CONFIGURATION_ID, TEST_USER, MESSAGE_BODY,
-        request);
+    webHookDispatcherResource.handleRequest(TEST_HASH, CONFIGURATION_ID, TEST_USER, request);
   }
 
   /**
@@ -292,12 +487,11 @@ public class WebHookDispatcherResourceTest extends WebHookResourceTest {
         .handle(anyString(), anyString(), any(WebHookPayload.class));
     doReturn(true).when(whiIntegration).isSupportedContentType(MediaType.WILDCARD_TYPE);
 
-    webHookDispatcherResource.handleRequest(TEST_HASH, CONFIGURATION_ID, TEST_USER, MESSAGE_BODY,
-        request);
+    webHookDispatcherResource.handleRequest(TEST_HASH, CONFIGURATION_ID, TEST_USER, request);
   }
 
   @Test(expected = ConnectivityException.class)
-  public void testConnectivityErrorException() throws RemoteApiException {
+  public void testConnectivityErrorException() throws RemoteApiException, IOException {
     doThrow(mock(ConnectivityException.class)).when(whiIntegration)
         .handle(anyString(), anyString(), any(WebHookPayload.class));
 
@@ -308,11 +502,11 @@ public class WebHookDispatcherResourceTest extends WebHookResourceTest {
     doReturn(whiIntegration).when(integrationBridge).getIntegrationById(CONFIGURATION_ID);
     doReturn(settings).when(whiIntegration).getSettings();
     doReturn(true).when(whiIntegration).isSupportedContentType(MediaType.WILDCARD_TYPE);
+    doReturn(true).when(bulkheads).tryAcquire(TEST_USER);
     // request must exist to reach "handle"
     mockRequest();
 
-    webHookDispatcherResource.handleRequest(TEST_HASH, CONFIGURATION_ID, TEST_USER, MESSAGE_BODY,
-        request);
+    webHookDispatcherResource.handleRequest(TEST_HASH, CONFIGURATION_ID, TEST_USER, request);
   }
 
   /**
@@ -320,13 +514,64 @@ public class WebHookDispatcherResourceTest extends WebHookResourceTest {
    * open state.
    */
   @Test(expected = IntegrationBridgeUnavailableException.class)
-  public void testIntegrationBridgeUnavailableException() throws RemoteApiException {
+  public void testIntegrationBridgeUnavailableException() throws RemoteApiException, IOException {
     // simulates an early call resulting in a connectivity exception
     webHookDispatcherResource.handleConnectivityException(mock(ConnectivityException.class));
 
     // should return an exception due to it's internal circuit breaker state being "open".
-    webHookDispatcherResource.handleRequest(TEST_HASH, CONFIGURATION_ID, TEST_USER, MESSAGE_BODY,
-        request);
+    webHookDispatcherResource.handleRequest(TEST_HASH, CONFIGURATION_ID, TEST_USER, request);
+  }
+
+  /**
+   * Tests if the request fails fast when the integration bulkhead is full.
+   */
+  @Test(expected = IntegrationBulkheadFullException.class)
+  public void testHandleRequestBulkheadFull() throws Exception {
+    mockConfiguration(true);
+    mockStatus(IntegrationStatus.ACTIVE);
+    mockRequest();
+
+    doReturn(false).when(bulkheads).tryAcquire(TEST_USER);
+
+    try {
+      webHookDispatcherResource.handleRequest(TEST_HASH, CONFIGURATION_ID, TEST_USER, request);
+    } finally {
+      verify(whiIntegration, never()).handle(anyString(), anyString(), any(WebHookPayload.class));
+      verify(bulkheads, never()).release(TEST_USER);
+    }
+  }
+
+  /**
+   * Tests if the bulkhead slot is released when the request handling fails.
+   */
+  @Test
+  public void testHandleRequestBulkheadReleased() throws Exception {
+    mockConfiguration(true);
+    mockStatus(IntegrationStatus.ACTIVE);
+    doReturn(true).when(whiIntegration).isSupportedContentType(MediaType.WILDCARD_TYPE);
+    mockRequest();
+
+    doThrow(WebHookUnavailableException.class).when(whiIntegration)
+        .handle(anyString(), anyString(), any(WebHookPayload.class));
+
+    try {
+      webHookDispatcherResource.handleRequest(TEST_HASH, CONFIGURATION_ID, TEST_USER, request);
+      Assert.fail();
+    } catch (WebHookUnavailableException e) {
+      verify(bulkheads).release(TEST_USER);
+    }
+  }
+
+  @Test
+  public void testBulkheadFullHandler() {
+    LocalRejection rejection = new LocalRejection();
+    doReturn(rejection).when(request).getAttribute(LocalRejection.ATTRIBUTE);
+
+    ResponseEntity<String> response = webHookDispatcherResource.handleBulkheadFullException(
+        new IntegrationBulkheadFullException(TEST_USER), request);
+
+    Assert.assertEquals(HttpStatus.SERVICE_UNAVAILABLE, response.getStatusCode());
+    assertTrue(rejection.isRejected());
   }
 
   @Test
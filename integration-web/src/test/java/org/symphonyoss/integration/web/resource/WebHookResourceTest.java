@@ -96,6 +96,9 @@ public abstract class WebHookResourceTest {
   @Mock
   protected ScheduledExecutorService scheduler;
 
+  @Mock
+  protected WebHookBulkheads bulkheads;
+
   protected void mockStatus(IntegrationStatus status) {
     IntegrationHealth integrationHealth = new IntegrationHealth();
     integrationHealth.setStatus(status.name());
@@ -140,5 +143,8 @@ public abstract class WebHookResourceTest {
     when(integrationBridge.getIntegrationById(CONFIGURATION_ID)).thenReturn(whiIntegration);
 
     when(whiIntegration.getSettings()).thenReturn(settings);
+
+    // mocking integration bulkhead
+    when(bulkheads.tryAcquire(TEST_USER)).thenReturn(true);
   }
 }